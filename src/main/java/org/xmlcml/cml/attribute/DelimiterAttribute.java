@@ -18,6 +18,8 @@ package org.xmlcml.cml.attribute;
 
 import nu.xom.Attribute;
 
+import org.xmlcml.cml.base.CMLAttribute;
+import org.xmlcml.cml.base.NumberScanner;
 import org.xmlcml.cml.base.StringSTAttribute;
 import org.xmlcml.euclid.Util;
 
@@ -72,6 +74,19 @@ public class DelimiterAttribute extends StringSTAttribute {
         super(att);
         this.setCMLValue(att.getValue());
     }
+
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        DelimiterAttribute att = new DelimiterAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
     
     /** set value and process.
      * 
@@ -176,7 +191,11 @@ public class DelimiterAttribute extends StringSTAttribute {
      * @throws RuntimeException if d is part of s
      */
     public void checkDelimiter(String s) throws RuntimeException {
-        if (s.split(splitter).length > 1) {
+        Boolean split = NumberScanner.isSplitBy(s, getScannerDelimiter());
+        if (split == null) {
+            split = s.split(splitter).length > 1;
+        }
+        if (split) {
             throw new RuntimeException("cannot delimit {" + s + "} with {" + concat + S_RCURLY);
         }
     }
@@ -230,6 +249,15 @@ public class DelimiterAttribute extends StringSTAttribute {
     	return S_WHITEREGEX.equals(splitter);
     }
 
+    /**
+     * delimiter for NumberScanner.
+     * 
+     * @return NumberScanner.WHITESPACE or the delimiter character
+     */
+    public char getScannerDelimiter() {
+    	return isWhitespace() ? NumberScanner.WHITESPACE : concat.charAt(0);
+    }
+
     /** set text content. if delimiter is not whitespace, prepend and append it
      *
      * @param ss
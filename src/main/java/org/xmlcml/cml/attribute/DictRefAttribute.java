@@ -20,6 +20,7 @@ import nu.xom.Attribute;
 import nu.xom.Element;
 import nu.xom.Node;
 
+import org.xmlcml.cml.base.CMLAttribute;
 import org.xmlcml.cml.base.CMLConstants;
 import org.xmlcml.cml.base.CMLElement;
 
@@ -58,6 +59,19 @@ public class DictRefAttribute extends NamespaceRefAttribute {
         super(att);
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        DictRefAttribute att = new DictRefAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * gets dictRef attribute from element or its parent. elements which might
      * carry dictRef such as scalar may be contained within a parent such as
@@ -16,6 +16,7 @@
 
 package org.xmlcml.cml.attribute;
 
+import org.xmlcml.cml.base.CMLAttribute;
 import org.xmlcml.cml.base.StringSTAttribute;
 
 import nu.xom.Attribute;
@@ -56,6 +57,19 @@ public class IdAttribute extends StringSTAttribute {
         super(att);
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        IdAttribute att = new IdAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /** copy constructor.
      * @return IdAttribute copy
      */
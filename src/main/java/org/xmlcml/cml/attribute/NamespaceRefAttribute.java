@@ -19,6 +19,7 @@ package org.xmlcml.cml.attribute;
 import nu.xom.Attribute;
 import nu.xom.Element;
 
+import org.xmlcml.cml.base.CMLAttribute;
 import org.xmlcml.cml.base.CMLConstants;
 import org.xmlcml.cml.base.CMLElement;
 import org.xmlcml.cml.base.StringSTAttribute;
@@ -52,6 +53,19 @@ public /*abstract*/ class NamespaceRefAttribute extends StringSTAttribute {
         this.setCMLValue(att.getValue());
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        NamespaceRefAttribute att = new NamespaceRefAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     void init(String name) {
 //        SpecialAttribute.updateCMLAttributeList(name, name, this);
     }
@@ -20,6 +20,7 @@ import java.util.List;
 
 import nu.xom.Attribute;
 
+import org.xmlcml.cml.base.CMLAttribute;
 import org.xmlcml.cml.base.CMLElement;
 import org.xmlcml.cml.base.StringSTAttribute;
 
@@ -57,6 +58,19 @@ public class RefAttribute extends StringSTAttribute {
     public RefAttribute(Attribute att) throws RuntimeException {
         super(att);
     }
+
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        RefAttribute att = new RefAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
     
     /** set value and process.
      * 
@@ -18,6 +18,8 @@ package org.xmlcml.cml.attribute;
 
 import nu.xom.Attribute;
 
+import org.xmlcml.cml.base.CMLAttribute;
+
 public class UnitTypeAttribute extends NamespaceRefAttribute{
     /** */
     public final static String NAME = "unitType";
@@ -49,4 +51,17 @@ public class UnitTypeAttribute extends NamespaceRefAttribute{
         super(att);
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        UnitTypeAttribute att = new UnitTypeAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
 }
@@ -18,6 +18,8 @@ package org.xmlcml.cml.attribute;
 
 import nu.xom.Attribute;
 
+import org.xmlcml.cml.base.CMLAttribute;
+
 /**
  * user-modifiable class supporting UnitsAttribute. supports units attribute
  */
@@ -53,4 +55,17 @@ public class UnitsAttribute extends NamespaceRefAttribute {
         super(att);
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        UnitsAttribute att = new UnitsAttribute();
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
 }
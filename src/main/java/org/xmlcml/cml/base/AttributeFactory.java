@@ -27,6 +27,12 @@ import nu.xom.Element;
 import nu.xom.Node;
 
 import org.apache.log4j.Logger;
+import org.xmlcml.cml.attribute.DelimiterAttribute;
+import org.xmlcml.cml.attribute.DictRefAttribute;
+import org.xmlcml.cml.attribute.IdAttribute;
+import org.xmlcml.cml.attribute.RefAttribute;
+import org.xmlcml.cml.attribute.UnitTypeAttribute;
+import org.xmlcml.cml.attribute.UnitsAttribute;
 
 /**
  * @author pm286
@@ -51,13 +57,46 @@ public class AttributeFactory implements CMLConstants {
 	private AttributeFactory() {
 	}
 	
+    /** uses the precomputed SchemaIndex if present, else reads
+     * and indexes the schema files.
+     */
     void init() {
 //        attributeGroupNameAttributeMap = new HashMap<String, CMLAttribute>();
         elementSynonymMap = new HashMap<String, Map<String, String>>();
         schemaManager = new SchemaManager();
-    	schemaManager.readAndCreateIndexesFromSchemaFiles();
     	AttributeFactory.attributeFactory.setSchemaManager(schemaManager);
-    	makeSynonymMap();
+    	SchemaIndex schemaIndex = null;
+    	try {
+    		schemaIndex = SchemaIndex.readResource();
+    	} catch (Exception e) {
+    		LOG.warn("Cannot read schema index, reading schema files: "+e);
+    	}
+    	if (schemaIndex != null) {
+    		initFromIndex(schemaIndex);
+    	} else {
+    		schemaManager.readAndCreateIndexesFromSchemaFiles();
+    		makeSynonymMap();
+    	}
+    	makeTemplates();
+    }
+
+    /** templates are shared by all threads so must not be modified;
+     * use CMLAttribute.newInstance() or copy().
+     */
+    private void makeTemplates() {
+    	for (CMLAttribute attribute : attributeGroupNameAttributeMap.values()) {
+    		attribute.setTemplate();
+    	}
+    	for (CMLAttribute attribute : schemaManager.getAttributeGenerator().getAttributeGroupMap().values()) {
+    		attribute.setTemplate();
+    	}
+    }
+
+    private void initFromIndex(SchemaIndex schemaIndex) {
+    	schemaManager.getAttributeGenerator().setAttributeGroupMap(
+    			schemaIndex.createAttributeGroupMap());
+    	attributeGroupNameAttributeMap = schemaIndex.createAttributeGroupNameAttributeMap();
+    	elementSynonymMap = schemaIndex.getElementSynonymMap();
     }
 
 	/** custom attributeFactory.
@@ -146,6 +185,37 @@ public class AttributeFactory implements CMLConstants {
 		return attribute;
     }
     
+    /** create special attribute from the simple name of its class.
+     * known classes are created directly; others by reflection.
+     * 
+     * @param className simple name of class in ATTRIBUTE_CLASS_BASE
+     * @return new attribute
+     * @throws RuntimeException if class cannot be created
+     */
+    static CMLAttribute createSpecialAttributeByClassName(String className) {
+        switch (className) {
+        case "DelimiterAttribute":
+            return new DelimiterAttribute();
+        case "DictRefAttribute":
+            return new DictRefAttribute();
+        case "IdAttribute":
+            return new IdAttribute();
+        case "RefAttribute":
+            return new RefAttribute();
+        case "UnitTypeAttribute":
+            return new UnitTypeAttribute();
+        case "UnitsAttribute":
+            return new UnitsAttribute();
+        default:
+            try {
+                return (CMLAttribute) Class.forName(ATTRIBUTE_CLASS_BASE+S_PERIOD+className)
+                        .getDeclaredConstructor().newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException("Cannot create special attribute: "+className, e);
+            }
+        }
+    }
+
     String getAttributeGroupName(String attributeName, String elementName) {
     	String attributeGroupName= null;
     	Map<String, String> attNameToAttGroupNameMap = elementSynonymMap.get(elementName);
@@ -206,26 +276,39 @@ public class AttributeFactory implements CMLConstants {
      */
     public static CMLAttribute createCMLAttribute(String name, CMLType type) {
         CMLAttribute newAtt = createSpecialAttribute(name);
-        String typeS = type.getJavaType();
-        if (newAtt != null) {
-        } else if (XSD_BOOLEAN.equals(typeS) && !type.getIsList()) {
+        if (newAtt == null) {
+            newAtt = createCMLAttribute(name, type.getJavaType(), type.getIsList());
+        }
+        return newAtt;
+    }
+
+    /** create standard (not special) attribute template for java type.
+     * 
+     * @param name
+     * @param typeS java type (XSD_BOOLEAN, XSD_DOUBLE, XSD_INTEGER, XSD_STRING)
+     * @param isList
+     * @return attribute or null if unknown type
+     */
+    static CMLAttribute createCMLAttribute(String name, String typeS, boolean isList) {
+        CMLAttribute newAtt = null;
+        if (XSD_BOOLEAN.equals(typeS) && !isList) {
             newAtt = new BooleanSTAttribute(name);
-        } else if (XSD_BOOLEAN.equals(typeS) && type.getIsList()) {
+        } else if (XSD_BOOLEAN.equals(typeS) && isList) {
             newAtt = new BooleanArraySTAttribute(name);
-        } else if (XSD_DOUBLE.equals(typeS) && !type.getIsList()) {
+        } else if (XSD_DOUBLE.equals(typeS) && !isList) {
             newAtt = new DoubleSTAttribute(name);
-        } else if (XSD_DOUBLE.equals(typeS) && type.getIsList()) {
+        } else if (XSD_DOUBLE.equals(typeS) && isList) {
             newAtt = new DoubleArraySTAttribute(name);
-        } else if (XSD_INTEGER.equals(typeS) && !type.getIsList()) {
+        } else if (XSD_INTEGER.equals(typeS) && !isList) {
             newAtt = new IntSTAttribute(name);
-        } else if (XSD_INTEGER.equals(typeS) && type.getIsList()) {
+        } else if (XSD_INTEGER.equals(typeS) && isList) {
             newAtt = new IntArraySTAttribute(name);
-        } else if (XSD_STRING.equals(typeS) && !type.getIsList()) {
+        } else if (XSD_STRING.equals(typeS) && !isList) {
             newAtt = new StringSTAttribute(name);
-        } else if (XSD_STRING.equals(typeS) && type.getIsList()) {
+        } else if (XSD_STRING.equals(typeS) && isList) {
             newAtt = new StringArraySTAttribute(name);
         } else {
-            LOG.error("unknown attribute type " + type);
+            LOG.error("unknown attribute type " + typeS);
         }
         return newAtt;
     }
@@ -66,10 +66,7 @@ public class BooleanArraySTAttribute extends CMLAttribute {
     public BooleanArraySTAttribute(BooleanArraySTAttribute att) {
         super(att);
         if (att.bb != null) {
-            this.bb = new boolean[att.bb.length];
-            for (int i = 0; i < bb.length; i++) {
-                this.bb[i] = att.bb[i];
-            }
+            this.bb = att.bb.clone();
         }
         this.length = att.length;
     }
@@ -85,17 +82,39 @@ public class BooleanArraySTAttribute extends CMLAttribute {
         super(att, value.trim().replace(S_WHITEREGEX, CMLConstants.S_SPACE));
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        BooleanArraySTAttribute att = new BooleanArraySTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.length = length;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * sets and checks value.
      * 
      * @param bb
      */
     public void setCMLValue(boolean[] bb) {
+        checkMutable();
+        this.setArray(bb.clone());
+    }
+
+    /**
+     * store array (not copied) as the value and format the string form.
+     * 
+     * @param bb
+     */
+    private void setArray(boolean[] bb) {
+        checkMutable();
         checkValue(bb);
-        this.bb = new boolean[bb.length];
-        for (int i = 0; i < bb.length; i++) {
-            this.bb[i] = bb[i];
-        }
+        this.bb = bb;
         this.setValue(Util.concatenate(bb, CMLConstants.S_SPACE));
     }
 
@@ -130,6 +149,10 @@ public class BooleanArraySTAttribute extends CMLAttribute {
                 || delim.equals(S_WHITEREGEX)) {
             delim = CMLConstants.S_WHITEREGEX;
             sss = sss.trim();
+            boolean[] bb = NumberScanner.parseBooleans(sss, NumberScanner.WHITESPACE);
+            if (bb != null) {
+                return bb;
+            }
         }
         String[] ss = sss.split(delim);
         boolean[] bb = new boolean[ss.length];
@@ -152,7 +175,8 @@ public class BooleanArraySTAttribute extends CMLAttribute {
      */
     public void setCMLValue(String s) {
         boolean[] bb = split(s.trim(), CMLConstants.S_WHITEREGEX);
-        this.setCMLValue(bb);
+        // freshly split so need not be copied
+        this.setArray(bb);
     }
 
     /**
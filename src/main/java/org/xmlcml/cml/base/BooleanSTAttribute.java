@@ -79,6 +79,19 @@ public class BooleanSTAttribute extends CMLAttribute {
         super(att, value.trim().replace(S_WHITEREGEX, S_SPACE));
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        BooleanSTAttribute att = new BooleanSTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * sets value. throws exception if of wrong type or violates restriction
      * 
@@ -102,6 +115,7 @@ public class BooleanSTAttribute extends CMLAttribute {
      * @param i
      */
     public void setCMLValue(boolean i) {
+        checkMutable();
         checkValue(i);
         this.b = new Boolean(i);
         this.setValue(S_EMPTY + i);
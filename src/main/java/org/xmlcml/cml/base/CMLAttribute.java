@@ -52,6 +52,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
     protected String summary;
     protected String description;
     protected String attributeGroupName; // used in code generation
+    private boolean template;
 
     /**
      * creates attribute without value. do not use directly
@@ -131,6 +132,56 @@ public class CMLAttribute extends Attribute implements CMLConstants {
         newAttribute.setValue(this.getValue());
         return newAttribute;
     }
+
+    /**
+     * creates new attribute of same class, name and type with given value.
+     * used to create attributes from (immutable) templates. subclasses
+     * override this to avoid copying the template value.
+     * 
+     * @param value
+     * @return new attribute (not a template)
+     * @throws RuntimeException if value is not valid
+     */
+    public CMLAttribute newInstance(String value) {
+    	CMLAttribute newAttribute = new CMLAttribute(this);
+    	newAttribute.setCMLValue(value);
+    	return newAttribute;
+    }
+
+    /**
+     * marks attribute as a template shared by AttributeFactory.
+     * a template cannot be modified; copies and instances are not templates.
+     */
+    public void setTemplate() {
+    	template = true;
+    }
+
+    /**
+     * @return true if this is a shared template
+     */
+    public boolean isTemplate() {
+    	return template;
+    }
+
+    /**
+     * @throws RuntimeException if this is a template
+     */
+    protected void checkMutable() {
+    	if (template) {
+    		throw new RuntimeException("Cannot modify attribute template: "+getLocalName());
+    	}
+    }
+
+    /**
+     * sets value.
+     * 
+     * @param value
+     * @throws RuntimeException if this is a template
+     */
+    public void setValue(String value) {
+    	checkMutable();
+    	super.setValue(value);
+    }
     
     /**
      * sets attributeGroup name. normally only useful when generating code when
@@ -140,6 +191,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
      * @param agn attributeGroup name
      */
     public void setAttributeGroupName(String agn) {
+        checkMutable();
         attributeGroupName = agn;
     }
 
@@ -252,6 +304,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
      * @param schemaType could be null
      */
     public void setSchemaType(CMLType schemaType) {
+        checkMutable();
         this.cmlType = schemaType;
     }
 
@@ -292,6 +345,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
      *            the summary
      */
     public void setSummary(String s) {
+        checkMutable();
         if (s != null) {
             summary = s;
             if (!summary.endsWith(S_PERIOD)) {
@@ -316,6 +370,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
      *            the description
      */
     public void setDescription(String d) {
+        checkMutable();
         description = d;
     }
 
@@ -330,6 +385,7 @@ public class CMLAttribute extends Attribute implements CMLConstants {
 	 * @param cmlType the cmlType to set
 	 */
 	public void setCmlType(CMLType cmlType) {
+		checkMutable();
 		this.cmlType = cmlType;
 	}
 
@@ -0,0 +1,442 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import nu.xom.Element;
+
+import org.apache.log4j.Logger;
+
+/**
+ * <p>
+ * Parses many small CML files in parallel.
+ * </p>
+ * <p>
+ * Files are taken from a directory (recursively) or a zip archive and parsed
+ * on a fixed pool of threads, each with its own CMLBuilder. At most
+ * <code>queueSize</code> files are read ahead of the consumer so memory stays
+ * bounded however slowly the results are used. Results are returned as a
+ * Stream either in source order (files sorted by path, zip entries in archive
+ * order) or in order of completion.
+ * </p>
+ * <p>
+ * A file which cannot be read or parsed does not abort the batch; it gives a
+ * {@link Result} carrying the exception, or is passed to the
+ * {@link ErrorHandler} when only elements are requested.
+ * </p>
+ * <p>
+ * Streams should be closed (e.g. with try-with-resources) to release zip
+ * files and cancel outstanding work; the reader itself should be closed
+ * to stop its threads.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class CMLBatchReader implements Closeable, CMLConstants {
+	private static Logger LOG = Logger.getLogger(CMLBatchReader.class);
+
+	/** default suffix of files to read */
+	public final static String CML_SUFFIX = ".cml";
+	/** suffix of zip archives */
+	public final static String ZIP_SUFFIX = ".zip";
+
+	/** outcome of parsing one file.
+	 */
+	public static class Result {
+		private String source;
+		private CMLElement element;
+		private Exception exception;
+
+		Result(String source, CMLElement element, Exception exception) {
+			this.source = source;
+			this.element = element;
+			this.exception = exception;
+		}
+
+		/**
+		 * @return file path or zip entry name
+		 */
+		public String getSource() {
+			return source;
+		}
+
+		/**
+		 * @return root element (null if failed)
+		 */
+		public CMLElement getElement() {
+			return element;
+		}
+
+		/**
+		 * @return cause of failure (null if OK)
+		 */
+		public Exception getException() {
+			return exception;
+		}
+
+		/**
+		 * @return true if parsed into CML
+		 */
+		public boolean isOK() {
+			return exception == null;
+		}
+
+		public String toString() {
+			return source + (isOK() ? "" : ": " + exception);
+		}
+	}
+
+	/** receives failures when only elements are streamed.
+	 */
+	public interface ErrorHandler {
+		/**
+		 * @param source file path or zip entry name
+		 * @param e cause
+		 */
+		void handleError(String source, Exception e);
+	}
+
+	/** logs and continues */
+	public final static ErrorHandler LOG_ERRORS = new ErrorHandler() {
+		public void handleError(String source, Exception e) {
+			LOG.warn("cannot read " + source + ": " + e);
+		}
+	};
+
+	private ExecutorService executor;
+	private int queueSize;
+	private boolean ordered = true;
+	private List<String> suffixes = Collections.singletonList(CML_SUFFIX);
+	private ErrorHandler errorHandler = LOG_ERRORS;
+	private final ThreadLocal<CMLBuilder> builders = new ThreadLocal<CMLBuilder>() {
+		protected CMLBuilder initialValue() {
+			return new CMLBuilder();
+		}
+	};
+
+	/** uses one thread per available processor.
+	 */
+	public CMLBatchReader() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param nThreads number of parsing threads
+	 */
+	public CMLBatchReader(int nThreads) {
+		if (nThreads < 1) {
+			throw new RuntimeException("nThreads must be positive: " + nThreads);
+		}
+		executor = Executors.newFixedThreadPool(nThreads, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "CMLBatchReader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		queueSize = 4 * nThreads;
+	}
+
+	/**
+	 * @param queueSize maximum number of files parsed ahead of the consumer
+	 */
+	public void setQueueSize(int queueSize) {
+		if (queueSize < 1) {
+			throw new RuntimeException("queueSize must be positive: " + queueSize);
+		}
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * @return maximum number of files parsed ahead of the consumer
+	 */
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	/**
+	 * @param ordered if true results are in source order else as completed
+	 */
+	public void setOrdered(boolean ordered) {
+		this.ordered = ordered;
+	}
+
+	/**
+	 * @return true if results are in source order
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * @param suffixes file suffixes to read (e.g. ".cml", ".xml")
+	 */
+	public void setSuffixes(String... suffixes) {
+		this.suffixes = Arrays.asList(suffixes);
+	}
+
+	/**
+	 * @param errorHandler receives failures from {@link #read(File)}
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = (errorHandler == null) ? LOG_ERRORS : errorHandler;
+	}
+
+	/** stream root elements of all files.
+	 * failures go to the errorHandler.
+	 *
+	 * @param file directory or zip archive
+	 * @return elements
+	 * @throws IOException if the directory or archive cannot be listed
+	 */
+	public Stream<CMLElement> read(File file) throws IOException {
+		final ErrorHandler handler = errorHandler;
+		return readResults(file)
+			.filter(new Predicate<Result>() {
+				public boolean test(Result result) {
+					if (!result.isOK()) {
+						handler.handleError(result.getSource(), result.getException());
+					}
+					return result.isOK();
+				}
+			})
+			.map(new Function<Result, CMLElement>() {
+				public CMLElement apply(Result result) {
+					return result.getElement();
+				}
+			});
+	}
+
+	/** stream results for all files including failures.
+	 *
+	 * @param file directory or zip archive
+	 * @return one result per file
+	 * @throws IOException if the directory or archive cannot be listed
+	 */
+	public Stream<Result> readResults(File file) throws IOException {
+		final List<Source> sources = new ArrayList<Source>();
+		final ZipFile zipFile;
+		if (file.isDirectory()) {
+			zipFile = null;
+			addFiles(file, sources);
+		} else if (file.getName().toLowerCase().endsWith(ZIP_SUFFIX)) {
+			zipFile = new ZipFile(file);
+			addEntries(zipFile, sources);
+		} else {
+			throw new IOException("not a directory or zip file: " + file);
+		}
+		final ResultIterator iterator = new ResultIterator(sources.iterator(), ordered, queueSize);
+		int characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+		Stream<Result> stream = StreamSupport.stream(
+			Spliterators.spliterator(iterator, sources.size(), characteristics), false);
+		return stream.onClose(new Runnable() {
+			public void run() {
+				iterator.cancel();
+				if (zipFile != null) {
+					try {
+						zipFile.close();
+					} catch (IOException e) {
+						LOG.warn("cannot close " + zipFile.getName());
+					}
+				}
+			}
+		});
+	}
+
+	/** stops parsing threads.
+	 */
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	private void addFiles(File dir, List<Source> sources) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			throw new IOException("cannot list " + dir);
+		}
+		Arrays.sort(files);
+		for (final File f : files) {
+			if (f.isDirectory()) {
+				addFiles(f, sources);
+			} else if (accept(f.getName())) {
+				sources.add(new Source(f.getPath()) {
+					InputStream open() throws IOException {
+						return new FileInputStream(f);
+					}
+				});
+			}
+		}
+	}
+
+	private void addEntries(final ZipFile zipFile, List<Source> sources) {
+		Enumeration<? extends ZipEntry> entries = zipFile.entries();
+		while (entries.hasMoreElements()) {
+			final ZipEntry entry = entries.nextElement();
+			if (!entry.isDirectory() && accept(entry.getName())) {
+				sources.add(new Source(entry.getName()) {
+					InputStream open() throws IOException {
+						return zipFile.getInputStream(entry);
+					}
+				});
+			}
+		}
+	}
+
+	private boolean accept(String name) {
+		String lower = name.toLowerCase();
+		for (String suffix : suffixes) {
+			if (lower.endsWith(suffix.toLowerCase())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Result parse(Source source) {
+		InputStream is = null;
+		try {
+			is = new BufferedInputStream(source.open());
+			Element root = builders.get().build(is).getRootElement();
+			if (!(root instanceof CMLElement)) {
+				throw new RuntimeException("root element is not CML: " + root.getQualifiedName());
+			}
+			return new Result(source.name, (CMLElement) root, null);
+		} catch (Exception e) {
+			return new Result(source.name, null, e);
+		} finally {
+			if (is != null) {
+				try {
+					is.close();
+				} catch (IOException e) {
+					// already have result
+				}
+			}
+		}
+	}
+
+	/** a file or zip entry. */
+	private abstract static class Source {
+		String name;
+		Source(String name) {
+			this.name = name;
+		}
+		abstract InputStream open() throws IOException;
+	}
+
+	/** submits parses as results are consumed, keeping at most
+	 * queueSize in flight.
+	 */
+	private class ResultIterator implements Iterator<Result> {
+		private Iterator<Source> sources;
+		private boolean ordered;
+		private int queueSize;
+		private ArrayDeque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+		private CompletionService<Result> completionService;
+
+		ResultIterator(Iterator<Source> sources, boolean ordered, int queueSize) {
+			this.sources = sources;
+			this.ordered = ordered;
+			this.queueSize = queueSize;
+			completionService = new ExecutorCompletionService<Result>(executor);
+		}
+
+		public boolean hasNext() {
+			fill();
+			return !pending.isEmpty();
+		}
+
+		public Result next() {
+			fill();
+			if (pending.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			Future<Result> future;
+			try {
+				if (ordered) {
+					future = pending.poll();
+				} else {
+					future = completionService.take();
+					pending.remove(future);
+				}
+				Result result = future.get();
+				fill();
+				return result;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("interrupted", e);
+			} catch (ExecutionException e) {
+				throw new RuntimeException("BUG: parse task failed", e.getCause());
+			}
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		void cancel() {
+			for (Future<Result> future : pending) {
+				future.cancel(true);
+			}
+			pending.clear();
+		}
+
+		private void fill() {
+			while (pending.size() < queueSize && sources.hasNext()) {
+				final Source source = sources.next();
+				Callable<Result> task = new Callable<Result>() {
+					public Result call() {
+						return parse(source);
+					}
+				};
+				// completionService queues every result so only use it
+				// when results are taken in order of completion
+				pending.add(ordered ? executor.submit(task) : completionService.submit(task));
+			}
+		}
+	}
+}
@@ -35,6 +35,11 @@ import nu.xom.ValidityException;
  * Class extending the XOM builder, constructs a XOM builder using either the
  * CML node factory as default or a passed node factory.
  * </p>
+ * <p>
+ * Each builder created without a node factory gets its own CMLNodeFactory,
+ * so independent builders can parse concurrently on different threads.
+ * A single builder, like any XOM Builder, is not thread-safe.
+ * </p>
  * 
  * @author Peter Murray-Rust
  * @version 5.0
@@ -43,21 +48,21 @@ import nu.xom.ValidityException;
 public class CMLBuilder extends Builder implements CMLConstants {
 
     /**
-     * Constructs a XOM builder using the (subclassed) CML node factory
+     * Constructs a XOM builder using a new (subclassed) CML node factory
      */
     public CMLBuilder() {
-        this(CMLNodeFactory.nodeFactory);
+        this(new CMLNodeFactory());
     }
     
 
     /**
-     * Constructs a XOM builder using the (subclassed) CML node factory
+     * Constructs a XOM builder using a new (subclassed) CML node factory
      * 
      * @param validate
      *            if true
      */
     public CMLBuilder(boolean validate) {
-        this(validate, CMLNodeFactory.nodeFactory);
+        this(validate, new CMLNodeFactory());
     }
 
     /**
@@ -480,13 +480,7 @@ public class CMLElement extends Element implements CMLConstants, Comparable<CMLE
         CMLElement element = (CMLElement) this.getFirstChildElement(name,
                 CMLConstants.CML_NS);
         if (element == null) {
-            try {
-                element = (CMLElement) Class.forName(
-                        ELEMENT_CLASS_BASE+".CML" + name.substring(0, 1)
-                                + name.substring(1)).newInstance();
-            } catch (Exception e) {
-                throw new RuntimeException("" + e);
-            }
+            element = CMLNodeFactory.createElement(name);
         }
         return element;
     }
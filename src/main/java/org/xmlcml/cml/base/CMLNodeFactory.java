@@ -16,22 +16,31 @@
 
 package org.xmlcml.cml.base;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import nu.xom.Attribute;
+import nu.xom.Document;
 import nu.xom.Element;
 import nu.xom.NodeFactory;
 import nu.xom.Nodes;
 import nu.xom.Text;
 
 import org.apache.log4j.Logger;
+import org.xmlcml.cml.element.ElementFactory;
 
 /** user-modifiable class supporting NodeFactory.
 *
 * autogenerated from schema
 * use as a shell which can be edited
+* <p>
+* The element stack is per-instance parse state, so a factory must only be
+* used by one builder at a time. The prototype elements used to create new
+* elements are immutable and shared between all factories, so independent
+* factories (e.g. those created by each new CMLBuilder()) can parse
+* concurrently on different threads.
+* </p>
 
 */
 public class CMLNodeFactory extends NodeFactory implements CMLConstants {
@@ -43,20 +52,26 @@ public class CMLNodeFactory extends NodeFactory implements CMLConstants {
     private Element current;
     /** current element stack*/
     private Stack<Element> stack = new Stack<Element>();
-    /** must give simple documentation.
+    /** prototypes for makeElementInContext() indexed by local name.
+     * shared by all factories and never mutated once added.
      */
-     private Map<String, CMLElement> factoryElementMap;
+    private static final ConcurrentMap<String, CMLElement> factoryElementMap =
+    	new ConcurrentHashMap<String, CMLElement>();
 
     // singleton
      /** singleton node factory.
+      * holds parse state so is NOT thread-safe. CMLBuilder() no longer
+      * uses it; retained for code which passes it explicitly.
       */
     public static final CMLNodeFactory nodeFactory = new CMLNodeFactory();
     static {
     	nodeFactory.init();
     }
     
-    private CMLNodeFactory() {
-    	factoryElementMap = new HashMap<String, CMLElement>();
+    /** new factory with its own parse state.
+     * normally created by CMLBuilder().
+     */
+    public CMLNodeFactory() {
     }
     
     void init() {
@@ -77,6 +92,27 @@ public class CMLNodeFactory extends NodeFactory implements CMLConstants {
 		return newClass;
 	}
 
+	/** create new CML element from local name.
+	 * uses the generated ElementFactory; falls back to reflection
+	 * for names not in the schema.
+	 * @param name local name, e.g. atomArray
+	 * @return new element
+	 * @throws RuntimeException if no class exists
+	 */
+	public static CMLElement createElement(String name) {
+		CMLElement element = ElementFactory.createElement(name);
+		if (element == null) {
+			Class<?> newClass = CMLNodeFactory.makeClass(ELEMENT_CLASS_BASE, name);
+			try {
+				element = (CMLElement) newClass.newInstance();
+			} catch (Exception e) {
+				LOG.error("CLASS "+newClass);
+				throw new RuntimeException("Cannot instantiate because: "+name+"["+e+"]");
+			}
+		}
+		return element;
+	}
+
 	/**
 	 * @param base
 	 * @param name
@@ -85,6 +121,16 @@ public class CMLNodeFactory extends NodeFactory implements CMLConstants {
 	private static String makeClassName(String base, String name) {
 		return base+S_PERIOD+CMLUtil.makeCMLName(name);
 	}
+    /** callback from start of document.
+     * clears any state left by a previous failed parse.
+     * @return Document
+     */
+    public Document startMakingDocument() {
+    	stack.clear();
+    	current = null;
+    	return super.startMakingDocument();
+    }
+
     /** callback from element end tag.
     *
     * @param element the context element
@@ -128,8 +174,9 @@ public class CMLNodeFactory extends NodeFactory implements CMLConstants {
             if (attributeGroupName == null) {
             	attribute = new Attribute(attributeName, value);
             } else {
-            	attribute = AttributeFactory.attributeFactory.getAttributeByGroupName(attributeGroupName);
-            	((CMLAttribute)attribute).setCMLValue(value);
+            	// template is shared between parses and cannot be modified
+            	CMLAttribute template = AttributeFactory.attributeFactory.getAttributeByGroupName(attributeGroupName);
+            	attribute = template.newInstance(value);
             }
         } else if (prefixLoc == -1) {
     // non-prefixed non-cml element
@@ -191,24 +238,8 @@ public class CMLNodeFactory extends NodeFactory implements CMLConstants {
         } else {
             CMLElement factoryElement = factoryElementMap.get(name);
             if (factoryElement == null) {
-            	// tacky until we get a list of CML-lite classes
-	            Class<?> newClass = CMLNodeFactory.makeClass(ELEMENT_CLASS_BASE, name);
-//		            Class<?> newClass = CMLNodeFactory.makeClass(ELEMENT_CLASS_BASE+S_PERIOD+LITE, name);
-//		        	if (newClass == null) {
-//			        	newClass = makeClass(ELEMENT_CLASS_BASE+S_PERIOD+MAIN, name);
-//		        	}
-	        	if (newClass == null) {
-	        		throw new RuntimeException("Cannot make class for: "+name);
-	        	}
-	            try {
-    	            factoryElement = (CMLElement) newClass.newInstance();
-    	        } catch (Exception e) {
-    	        	LOG.error("CLASS "+newClass);
-    	        	LOG.error(newClass.getName());
-    	        	e.printStackTrace();
-    	            throw new RuntimeException("Cannot instantiate because: "+name+"["+e+"]");
-    	        }
-    	        factoryElementMap.put(name, factoryElement);
+            	factoryElement = createElement(name);
+    	        factoryElementMap.putIfAbsent(name, factoryElement);
     	    }
             newElement = factoryElement.makeElementInContext((Element)current);
         }
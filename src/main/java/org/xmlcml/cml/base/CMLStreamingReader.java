@@ -0,0 +1,207 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.Nodes;
+import nu.xom.ParentNode;
+import nu.xom.ParsingException;
+import nu.xom.Text;
+
+/**
+ * <p>
+ * Reads very large CML documents one element at a time.
+ * </p>
+ * <p>
+ * Every completed top-level element with the chosen local name (by default
+ * <code>molecule</code>) in the CML namespace is passed to an
+ * {@link ElementHandler} and then pruned from the tree, so memory is bounded
+ * by the largest single element rather than by the size of the document.
+ * Elements of the same name nested inside a delivered element (e.g. child
+ * molecules) are delivered as part of their ancestor.
+ * </p>
+ * <p>
+ * The document returned by the read methods is the remaining skeleton
+ * (e.g. an empty moleculeList). Whitespace-only text outside delivered
+ * elements is discarded. If the root element itself matches it is delivered
+ * but cannot be detached.
+ * </p>
+ * <p>
+ * A reader holds parse state and must not be shared between threads.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class CMLStreamingReader implements CMLConstants {
+
+	/** receives each completed element.
+	 */
+	public interface ElementHandler {
+		/** called once for every completed top-level element.
+		 * the element has been detached from the document
+		 * and may be kept, modified or re-parented.
+		 * @param element
+		 */
+		void handleElement(CMLElement element);
+	}
+
+	/** default element name delivered */
+	public final static String MOLECULE = "molecule";
+
+	private String localName;
+	private ElementHandler handler;
+	private int count;
+
+	/** delivers top-level molecules.
+	 *
+	 * @param handler
+	 */
+	public CMLStreamingReader(ElementHandler handler) {
+		this(MOLECULE, handler);
+	}
+
+	/** delivers top-level elements with given local name.
+	 *
+	 * @param localName e.g. "molecule", "reaction"
+	 * @param handler
+	 */
+	public CMLStreamingReader(String localName, ElementHandler handler) {
+		if (localName == null) {
+			throw new RuntimeException("null localName");
+		}
+		if (handler == null) {
+			throw new RuntimeException("null handler");
+		}
+		this.localName = localName;
+		this.handler = handler;
+	}
+
+	/** parse stream delivering elements to handler.
+	 *
+	 * @param is
+	 * @return skeleton document with delivered elements removed
+	 * @throws IOException
+	 * @throws ParsingException
+	 */
+	public Document read(InputStream is) throws IOException, ParsingException {
+		return createBuilder().build(is);
+	}
+
+	/** parse reader delivering elements to handler.
+	 *
+	 * @param reader
+	 * @return skeleton document with delivered elements removed
+	 * @throws IOException
+	 * @throws ParsingException
+	 */
+	public Document read(Reader reader) throws IOException, ParsingException {
+		return createBuilder().build(reader);
+	}
+
+	/** parse file delivering elements to handler.
+	 *
+	 * @param file
+	 * @return skeleton document with delivered elements removed
+	 * @throws IOException
+	 * @throws ParsingException
+	 */
+	public Document read(File file) throws IOException, ParsingException {
+		return createBuilder().build(file);
+	}
+
+	/**
+	 * @return number of elements delivered since this reader was created
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return local name of delivered elements
+	 */
+	public String getLocalName() {
+		return localName;
+	}
+
+	private CMLBuilder createBuilder() {
+		return new CMLBuilder(new StreamingNodeFactory());
+	}
+
+	/** node factory which prunes completed elements.
+	 * a new one is created for every parse.
+	 */
+	private class StreamingNodeFactory extends CMLNodeFactory {
+
+		/** number of open matching elements */
+		private int depth = 0;
+
+		StreamingNodeFactory() {
+			super();
+		}
+
+		public Document startMakingDocument() {
+			depth = 0;
+			return super.startMakingDocument();
+		}
+
+		public Element startMakingElement(String name, String namespace) {
+			Element element = super.startMakingElement(name, namespace);
+			if (matches(element)) {
+				depth++;
+			}
+			return element;
+		}
+
+		public Nodes finishMakingElement(Element element) {
+			Nodes nodes = super.finishMakingElement(element);
+			if (matches(element)) {
+				depth--;
+				if (depth == 0) {
+					ParentNode parent = element.getParent();
+					if (parent != null && !(parent instanceof Document)) {
+						// XOM removes the last child of parent if we
+						// return other nodes so leave a placeholder there
+						parent.replaceChild(element, new Text(S_EMPTY));
+						nodes = new Nodes();
+					}
+					count++;
+					handler.handleElement((CMLElement) element);
+				}
+			}
+			return nodes;
+		}
+
+		public Nodes makeText(String text) {
+			if (depth == 0 && text.trim().length() == 0) {
+				return new Nodes();
+			}
+			return super.makeText(text);
+		}
+
+		private boolean matches(Element element) {
+			return element instanceof CMLElement &&
+				localName.equals(element.getLocalName());
+		}
+	}
+}
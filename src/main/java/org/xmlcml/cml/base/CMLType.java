@@ -18,7 +18,11 @@ package org.xmlcml.cml.base;
 
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.xmlcml.euclid.Util;
 
@@ -31,6 +35,18 @@ import nu.xom.Node;
  * supports XSD and derived types generated by software and only instantiated as
  * singletons
  * </p>
+ * <p>
+ * patterns are translated from XSD regular expressions and compiled once per
+ * type; string and int enumerations are checked against hash sets.
+ * </p>
+ * <p>
+ * Values are only checked for attributes which have been given a type with
+ * CMLAttribute.setSchemaType(). The attribute templates made by
+ * AttributeFactory (from the schema index or the schema files) carry no
+ * CMLType, so attributes read by CMLBuilder or set through the generated
+ * setters are parsed for their Java type but not checked against patterns,
+ * enumerations or ranges.
+ * </p>
  * 
  * @author Peter Murray-Rust
  * @version 5.0
@@ -41,6 +57,13 @@ public class CMLType implements CMLConstants {
     /** dewisott */
 	public final static String NO_BASE = "Cannot find base: ";
 
+	/** XSD whitespace (\s) as a Java class */
+	private final static String XSD_WHITESPACE = "[ \\t\\n\\r]";
+	/** XSD initial name character (\i) as a Java class, approximately */
+	private final static String XSD_NAME_START = "[\\p{L}_:]";
+	/** XSD name character (\c) as a Java class, approximately */
+	private final static String XSD_NAME_CHAR = "[\\p{L}\\p{M}\\p{Nd}._:\\-\\u00B7]";
+
 	protected String summary = "";
 	protected String description = "";
 	protected String base = null;
@@ -63,6 +86,12 @@ public class CMLType implements CMLConstants {
 	protected double[] dEnumerationValues = new double[0];
 	protected String javaType;
 
+	/** pattern compiled on first use; reset when pattern changes */
+	private Pattern compiledPattern;
+	/** lookup sets for sEnumerationValues and iEnumerationValues */
+	private Set<String> sEnumerationSet;
+	private Set<Integer> iEnumerationSet;
+
 	protected Element restriction;
 	protected Element union;
 	protected Element list;
@@ -84,6 +113,7 @@ public class CMLType implements CMLConstants {
 		id = null;
 		isList = false;
 		pattern = null;
+		compiledPattern = null;
 		listLength = Integer.MIN_VALUE;
 		iMinInclusive = Integer.MIN_VALUE;
 		iMinExclusive = Integer.MIN_VALUE;
@@ -304,6 +334,7 @@ public class CMLType implements CMLConstants {
 				+ XSD_RESTRICTION + CMLConstants.S_SLASH + XSD_PATTERN, XPATH_XSD);
 		if (patterns.size() > 0) {
 			pattern = ((Element) patterns.get(0)).getAttributeValue("value");
+			compiledPattern = null;
 		}
 	}
 
@@ -808,6 +839,7 @@ public class CMLType implements CMLConstants {
 	 */
 	public void setPattern(String p) {
 		this.pattern = p;
+		this.compiledPattern = null;
 	}
 
 	/**
@@ -1003,6 +1035,7 @@ public class CMLType implements CMLConstants {
 	 */
 	public void setEnumeration(String[] ss) {
 		this.sEnumerationValues = ss;
+		this.sEnumerationSet = null;
 	}
 
 	/**
@@ -1012,6 +1045,7 @@ public class CMLType implements CMLConstants {
 	 */
 	public void setEnumeration(int[] ii) {
 		this.iEnumerationValues = ii;
+		this.iEnumerationSet = null;
 	}
 
 	/**
@@ -1054,12 +1088,130 @@ public class CMLType implements CMLConstants {
 		if (s == null) {
 			throw new RuntimeException("Null strings not allowed");
 		}
-		if (pattern != null && !s.matches(pattern)) {
+		if (pattern != null && !getCompiledPattern().matcher(s).matches()) {
 			throw new RuntimeException("String (" + s
 					+ ") does not match pattern (" + pattern + ") for " + name);
 		}
 	}
 
+	/**
+	 * get pattern compiled as Java regex.
+	 * 
+	 * @return compiled pattern or null if there is no pattern
+	 * @throws RuntimeException
+	 *             if pattern cannot be compiled
+	 */
+	public Pattern getCompiledPattern() {
+		// benign race; all threads compile the same pattern
+		Pattern p = compiledPattern;
+		if (p == null && pattern != null) {
+			try {
+				p = Pattern.compile(translateXSDPattern(pattern));
+			} catch (PatternSyntaxException e) {
+				throw new RuntimeException("Cannot compile pattern ("
+						+ pattern + ") for " + name, e);
+			}
+			compiledPattern = p;
+		}
+		return p;
+	}
+
+	/**
+	 * translate XSD regular expression to Java syntax.
+	 * 
+	 * XSD patterns are implicitly anchored, treat ^ and $ as ordinary
+	 * characters, define \d, \w and \s differently, have the name
+	 * escapes \i and \c, use \p{IsX} for Unicode blocks and use -[...]
+	 * for character class subtraction. Other syntax is passed unchanged.
+	 * 
+	 * @param xsd
+	 *            XSD pattern
+	 * @return Java pattern to be used with Matcher.matches()
+	 */
+	public static String translateXSDPattern(String xsd) {
+		StringBuilder sb = new StringBuilder(xsd.length() + 16);
+		// nesting of character classes; subtractions add extra closing ]
+		int classDepth = 0;
+		for (int i = 0; i < xsd.length(); i++) {
+			char c = xsd.charAt(i);
+			if (c == '\\' && i + 1 < xsd.length()) {
+				char e = xsd.charAt(++i);
+				switch (e) {
+				case 'd':
+					sb.append("\\p{Nd}");
+					break;
+				case 'D':
+					sb.append("\\P{Nd}");
+					break;
+				case 's':
+					sb.append(XSD_WHITESPACE);
+					break;
+				case 'S':
+					sb.append("[^").append(XSD_WHITESPACE.substring(1));
+					break;
+				case 'i':
+					sb.append(XSD_NAME_START);
+					break;
+				case 'I':
+					sb.append("[^").append(XSD_NAME_START.substring(1));
+					break;
+				case 'c':
+					sb.append(XSD_NAME_CHAR);
+					break;
+				case 'C':
+					sb.append("[^").append(XSD_NAME_CHAR.substring(1));
+					break;
+				case 'w':
+					sb.append("[^\\p{P}\\p{Z}\\p{C}]");
+					break;
+				case 'W':
+					sb.append("[\\p{P}\\p{Z}\\p{C}]");
+					break;
+				case 'p':
+				case 'P':
+					sb.append('\\').append(e);
+					if (xsd.startsWith("{Is", i + 1)) {
+						sb.append("{In");
+						i += 3;
+					}
+					break;
+				default:
+					sb.append('\\').append(e);
+				}
+			} else if (classDepth > 0) {
+				if (c == '[') {
+					classDepth++;
+					sb.append(c);
+				} else if (c == ']') {
+					classDepth--;
+					sb.append(c);
+				} else if (c == '-' && i + 1 < xsd.length()
+						&& xsd.charAt(i + 1) == '[') {
+					// subtraction [a-z-[aeiou]] becomes [a-z&&[^aeiou]]
+					sb.append("&&[^");
+					i++;
+					classDepth++;
+				} else if (c == '&') {
+					sb.append("\\&");
+				} else {
+					sb.append(c);
+				}
+			} else if (c == '[') {
+				classDepth++;
+				sb.append(c);
+				if (i + 1 < xsd.length() && xsd.charAt(i + 1) == '^') {
+					sb.append('^');
+					i++;
+				}
+			} else if (c == '^' || c == '$') {
+				sb.append('\\').append(c);
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
 	private void checkMinMax(int i) throws RuntimeException {
 		if (iMinInclusive > Integer.MIN_VALUE && i < iMinInclusive) {
 			throw new RuntimeException("int (" + i + ") less than "
@@ -1100,14 +1252,15 @@ public class CMLType implements CMLConstants {
 
 	private void checkEnumeration(int i) throws RuntimeException {
 		if (iEnumerationValues.length != 0) {
-			boolean ok = false;
-			for (int j = 0; j < iEnumerationValues.length; j++) {
-				if (i == iEnumerationValues[j]) {
-					ok = true;
-					break;
+			Set<Integer> set = iEnumerationSet;
+			if (set == null) {
+				set = new HashSet<Integer>();
+				for (int value : iEnumerationValues) {
+					set.add(value);
 				}
+				iEnumerationSet = set;
 			}
-			if (!ok) {
+			if (!set.contains(i)) {
 				throw new RuntimeException("int (" + i
 						+ ") not contained in enumeration");
 			}
@@ -1135,15 +1288,16 @@ public class CMLType implements CMLConstants {
 			throw new RuntimeException(
 					"Null String cannot be checked against enumeration");
 		}
-		if (dEnumerationValues.length != 0) {
-			boolean ok = false;
-			for (int j = 0; j < sEnumerationValues.length; j++) {
-				if (s.equals(sEnumerationValues[j])) {
-					ok = true;
-					break;
+		if (sEnumerationValues.length != 0) {
+			Set<String> set = sEnumerationSet;
+			if (set == null) {
+				set = new HashSet<String>();
+				for (String value : sEnumerationValues) {
+					set.add(value);
 				}
+				sEnumerationSet = set;
 			}
-			if (!ok) {
+			if (!set.contains(s)) {
 				throw new RuntimeException("String (" + s
 						+ ") not contained in enumeration");
 			}
@@ -68,6 +68,20 @@ public class DoubleArraySTAttribute extends CMLAttribute {
 		super(att, value.trim().replace(S_WHITEREGEX, S_SPACE));
 	}
 
+	/**
+	 * creates attribute with same name and type.
+	 * 
+	 * @param value
+	 * @return new attribute
+	 */
+	public CMLAttribute newInstance(String value) {
+		DoubleArraySTAttribute att = new DoubleArraySTAttribute(getLocalName());
+		att.cmlType = cmlType;
+		att.length = length;
+		att.setCMLValue(value);
+		return att;
+	}
+
 	/**
 	 * copy constructor
 	 * 
@@ -76,10 +90,7 @@ public class DoubleArraySTAttribute extends CMLAttribute {
 	public DoubleArraySTAttribute(DoubleArraySTAttribute att) {
 		super(att);
 		if (att.dd != null) {
-			this.dd = new double[att.dd.length];
-			for (int i = 0; i < dd.length; i++) {
-				this.dd[i] = att.dd[i];
-			}
+			this.dd = att.dd.clone();
 		}
 		this.length = att.length;
 	}
@@ -103,7 +114,8 @@ public class DoubleArraySTAttribute extends CMLAttribute {
 		if (s != null && !s.trim().equals(S_EMPTY)) {
 			double[] dd = split(s.trim().replace(S_WHITEREGEX, S_SPACE),
 					S_WHITEREGEX);
-			this.setCMLValue(dd);
+			// freshly split so need not be copied
+			this.setArray(dd);
 		}
 	}
 
@@ -114,11 +126,19 @@ public class DoubleArraySTAttribute extends CMLAttribute {
 	 * @throws RuntimeException
 	 */
 	public void setCMLValue(double[] dd) throws RuntimeException {
+		checkMutable();
+		this.setArray(dd.clone());
+	}
+
+	/**
+	 * store array (not copied) as the value and format the string form.
+	 * 
+	 * @param dd
+	 */
+	private void setArray(double[] dd) {
+		checkMutable();
 		checkValue(dd);
-		this.dd = new double[dd.length];
-		for (int i = 0; i < dd.length; i++) {
-			this.dd[i] = dd[i];
-		}
+		this.dd = dd;
 		this.setValue(Util.concatenate(dd, S_SPACE));
 	}
 
@@ -155,6 +175,10 @@ public class DoubleArraySTAttribute extends CMLAttribute {
 				|| delim.equals(S_WHITEREGEX)) {
 			delim = S_WHITEREGEX;
 			sss = sss.trim();
+			double[] dd = NumberScanner.parseDoubles(sss, NumberScanner.WHITESPACE);
+			if (dd != null) {
+				return dd;
+			}
 		} else {
 		}
 		String[] ss = sss.split(delim);
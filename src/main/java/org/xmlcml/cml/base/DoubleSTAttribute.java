@@ -73,6 +73,19 @@ public class DoubleSTAttribute extends CMLAttribute {
 		super(att, value.trim());
 	}
 
+	/**
+	 * creates attribute with same name and type.
+	 * 
+	 * @param value
+	 * @return new attribute
+	 */
+	public CMLAttribute newInstance(String value) {
+		DoubleSTAttribute att = new DoubleSTAttribute(getLocalName());
+		att.cmlType = cmlType;
+		att.setCMLValue(value);
+		return att;
+	}
+
 	/**
 	 * copy constructor
 	 * 
@@ -150,6 +163,7 @@ public class DoubleSTAttribute extends CMLAttribute {
 	 * @param d
 	 */
 	public void setCMLValue(double d) {
+		checkMutable();
 		checkValue(d);
 		this.d = new Double(d);
 		this.setValue("" + d);
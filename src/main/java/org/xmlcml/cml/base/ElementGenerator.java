@@ -19,14 +19,19 @@
  */
 package org.xmlcml.cml.base;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import nu.xom.Element;
 import nu.xom.Node;
 
+import org.apache.commons.io.FileUtils;
 import org.xmlcml.euclid.Util;
 
 
@@ -36,6 +41,9 @@ import org.xmlcml.euclid.Util;
  */
 public class ElementGenerator extends AbstractGenerator {
 
+	/** simple name of generated element factory */
+	public final static String ELEMENT_FACTORY = "ElementFactory";
+
 	private Map<String, CMLElementType> elementTypeMap;
 	/**
 	 * @param schemaManager 
@@ -88,6 +96,84 @@ public class ElementGenerator extends AbstractGenerator {
 		}
 	}
 	
+	/** creates source of a reflection-free factory for all elements
+	 * in nameList which have a CMLFoo class in ELEMENT_CLASS_BASE.
+	 * the output is checked in as org.xmlcml.cml.element.ElementFactory
+	 * and must be regenerated whenever element classes are added.
+	 * @return java source
+	 */
+	public String createElementFactorySource() {
+		Set<String> names = new TreeSet<String>();
+		for (String name : nameList) {
+			try {
+				Class.forName(ELEMENT_CLASS_BASE+S_PERIOD+CMLUtil.makeCMLName(name));
+				names.add(name);
+			} catch (ClassNotFoundException e) {
+				// no class for this schema element
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("/**\n");
+		sb.append(" *    Copyright 2011 Peter Murray-Rust et. al.\n");
+		sb.append(" *\n");
+		sb.append(" *    Licensed under the Apache License, Version 2.0 (the \"License\");\n");
+		sb.append(" *    you may not use this file except in compliance with the License.\n");
+		sb.append(" *    You may obtain a copy of the License at\n");
+		sb.append(" *\n");
+		sb.append(" *        http://www.apache.org/licenses/LICENSE-2.0\n");
+		sb.append(" *\n");
+		sb.append(" *    Unless required by applicable law or agreed to in writing, software\n");
+		sb.append(" *    distributed under the License is distributed on an \"AS IS\" BASIS,\n");
+		sb.append(" *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n");
+		sb.append(" *    See the License for the specific language governing permissions and\n");
+		sb.append(" *    limitations under the License.\n");
+		sb.append(" */\n");
+		sb.append("\n");
+		sb.append("package "+ELEMENT_CLASS_BASE+";\n");
+		sb.append("\n");
+		sb.append("import org.xmlcml.cml.base.CMLElement;\n");
+		sb.append("\n");
+		sb.append("/* ======AUTOGENERATED FROM SCHEMA BY ElementGenerator; DO NOT EDIT ====== */\n");
+		sb.append("/** creates CML elements by local name without reflection.\n");
+		sb.append(" */\n");
+		sb.append("public final class "+ELEMENT_FACTORY+" {\n");
+		sb.append("\n");
+		sb.append("    /** number of elements known to factory */\n");
+		sb.append("    public final static int SIZE = "+names.size()+";\n");
+		sb.append("\n");
+		sb.append("    private "+ELEMENT_FACTORY+"() {\n");
+		sb.append("    }\n");
+		sb.append("\n");
+		sb.append("    /** create new element.\n");
+		sb.append("     * @param localName CML name, e.g. atomArray\n");
+		sb.append("     * @return new element (null if not a known CML element)\n");
+		sb.append("     */\n");
+		sb.append("    public static CMLElement createElement(String localName) {\n");
+		sb.append("        switch (localName) {\n");
+		for (String name : names) {
+			sb.append("        case \""+name+"\":\n");
+			sb.append("            return new "+CMLUtil.makeCMLName(name)+"();\n");
+		}
+		sb.append("        default:\n");
+		sb.append("            return null;\n");
+		sb.append("        }\n");
+		sb.append("    }\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	/** writes element factory source to schemaManager outdir.
+	 * @throws IOException
+	 */
+	public void writeElementFactory() throws IOException {
+		String outdir = schemaManager.getOutdir();
+		if (outdir == null) {
+			throw new RuntimeException("null outdir");
+		}
+		File file = new File(outdir, ELEMENT_FACTORY+".java");
+		FileUtils.writeStringToFile(file, createElementFactorySource(), "UTF-8");
+	}
+
 	void printElements() {
 		for (String name : nameList) {
 			CMLElementType elementType = elementTypeMap.get(name);
@@ -64,10 +64,7 @@ public class IntArraySTAttribute extends CMLAttribute {
     public IntArraySTAttribute(IntArraySTAttribute att) {
         super(att);
         if (att.ii != null) {
-            this.ii = new int[att.ii.length];
-            for (int i = 0; i < ii.length; i++) {
-                this.ii[i] = att.ii[i];
-            }
+            this.ii = att.ii.clone();
         }
         this.length = att.length;
     }
@@ -91,17 +88,39 @@ public class IntArraySTAttribute extends CMLAttribute {
         super(att, value.trim().replace(S_WHITEREGEX, CMLConstants.S_SPACE));
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        IntArraySTAttribute att = new IntArraySTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.length = length;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * set and check value.
      * 
      * @param ii
      */
     public void setCMLValue(int[] ii) {
+        checkMutable();
+        this.setArray(ii.clone());
+    }
+
+    /**
+     * store array (not copied) as the value and format the string form.
+     * 
+     * @param ii
+     */
+    private void setArray(int[] ii) {
+        checkMutable();
         checkValue(ii);
-        this.ii = new int[ii.length];
-        for (int i = 0; i < ii.length; i++) {
-            this.ii[i] = ii[i];
-        }
+        this.ii = ii;
         this.setValue(Util.concatenate(ii, CMLConstants.S_SPACE));
     }
 
@@ -134,6 +153,10 @@ public class IntArraySTAttribute extends CMLAttribute {
                 || delim.equals(S_WHITEREGEX)) {
             delim = CMLConstants.S_WHITEREGEX;
             sss = sss.trim();
+            int[] ii = NumberScanner.parseInts(sss, NumberScanner.WHITESPACE);
+            if (ii != null) {
+                return ii;
+            }
         }
         String[] ss = sss.split(delim);
         int[] ii = new int[ss.length];
@@ -156,7 +179,8 @@ public class IntArraySTAttribute extends CMLAttribute {
      */
     public void setCMLValue(String s) {
         int[] ii = split(s.trim(), CMLConstants.S_WHITEREGEX);
-        this.setCMLValue(ii);
+        // freshly split so need not be copied
+        this.setArray(ii);
     }
 
     /**
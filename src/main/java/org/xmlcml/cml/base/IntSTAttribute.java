@@ -86,6 +86,19 @@ public class IntSTAttribute extends CMLAttribute {
         super(att, value.trim().replace(S_WHITEREGEX, CMLConstants.S_SPACE));
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        IntSTAttribute att = new IntSTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * sets value. throws exception if of wrong type or violates restriction
      * 
@@ -110,6 +123,7 @@ public class IntSTAttribute extends CMLAttribute {
      * @param i
      */
     public void setCMLValue(int i) {
+        checkMutable();
         checkValue(i);
         this.i = new Integer(i);
         this.setValue(S_EMPTY + i);
@@ -0,0 +1,380 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.text.ParseException;
+
+import org.xmlcml.euclid.Util;
+
+/**
+ * <p>
+ * Single-pass parsing of delimited array content into primitive arrays.
+ * </p>
+ * <p>
+ * Tokens are found and parsed in place in the content without creating a
+ * String for each value. The tokens are those that
+ * DelimiterAttribute.getSplitContent() would give: for whitespace the
+ * trimmed content is split at runs of whitespace; otherwise one leading and
+ * one trailing delimiter are removed and the content is split at each
+ * delimiter. Doubles are parsed as Util.parseFlexibleDouble() and ints as
+ * Integer.parseInt(); values that cannot be parsed exactly in place are
+ * handed to those methods.
+ * </p>
+ * <p>
+ * Methods return null for empty content, empty tokens, delimiters the regex
+ * split would treat specially and values that do not parse, so that callers
+ * can fall back to splitting as before (and report errors in the usual way).
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public final class NumberScanner {
+
+	/** delimiter argument meaning whitespace */
+	public final static char WHITESPACE = ' ';
+
+	/** regex metacharacters not escaped by DelimiterAttribute */
+	private final static String REGEX_CHARS = "\\^$+()[]{}";
+
+	/** largest mantissa that is exact as a double */
+	private final static long MAX_EXACT = 1L << 53;
+
+	/** powers of ten exactly representable as doubles */
+	private final static double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+		1e21, 1e22,
+	};
+
+	private final CharSequence s;
+	private final char delimiter;
+	private int lo;
+	private int hi;
+	/** bounds of current token */
+	private int start;
+	private int end;
+	/** start of next token, or -1 at end */
+	private int next;
+
+	private NumberScanner(CharSequence s, char delimiter) {
+		this.s = s;
+		this.delimiter = delimiter;
+	}
+
+	/**
+	 * parse doubles.
+	 *
+	 * @param s content
+	 * @param delimiter single character or WHITESPACE
+	 * @return values or null if content must be split by regex
+	 */
+	public static double[] parseDoubles(CharSequence s, char delimiter) {
+		NumberScanner scanner = new NumberScanner(s, delimiter);
+		int n = scanner.count();
+		if (n <= 0) {
+			return null;
+		}
+		double[] dd = new double[n];
+		for (int i = 0; i < n; i++) {
+			scanner.nextToken();
+			if (!scanner.parseDouble(dd, i)) {
+				return null;
+			}
+		}
+		return dd;
+	}
+
+	/**
+	 * parse ints.
+	 *
+	 * @param s content
+	 * @param delimiter single character or WHITESPACE
+	 * @return values or null if content must be split by regex
+	 */
+	public static int[] parseInts(CharSequence s, char delimiter) {
+		NumberScanner scanner = new NumberScanner(s, delimiter);
+		int n = scanner.count();
+		if (n <= 0) {
+			return null;
+		}
+		int[] ii = new int[n];
+		for (int i = 0; i < n; i++) {
+			scanner.nextToken();
+			if (!scanner.parseInt(ii, i)) {
+				return null;
+			}
+		}
+		return ii;
+	}
+
+	/**
+	 * parse booleans; as Boolean.parseBoolean() anything except "true"
+	 * (ignoring case) is false.
+	 *
+	 * @param s content
+	 * @param delimiter single character or WHITESPACE
+	 * @return values or null if content must be split by regex
+	 */
+	public static boolean[] parseBooleans(CharSequence s, char delimiter) {
+		NumberScanner scanner = new NumberScanner(s, delimiter);
+		int n = scanner.count();
+		if (n <= 0) {
+			return null;
+		}
+		boolean[] bb = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			scanner.nextToken();
+			bb[i] = scanner.isTrue();
+		}
+		return bb;
+	}
+
+	/**
+	 * would s be split into more than one token by delimiter.
+	 * as DelimiterAttribute.checkDelimiter() this is true if a delimiter
+	 * is followed by a non-delimiter.
+	 *
+	 * @param s
+	 * @param delimiter single character or WHITESPACE
+	 * @return true if delimiter splits s; null if s must be split by regex
+	 */
+	public static Boolean isSplitBy(CharSequence s, char delimiter) {
+		if (!isPlain(delimiter)) {
+			return null;
+		}
+		boolean seen = false;
+		for (int i = 0; i < s.length(); i++) {
+			if (isDelimiter(s.charAt(i), delimiter)) {
+				seen = true;
+			} else if (seen) {
+				return Boolean.TRUE;
+			}
+		}
+		return Boolean.FALSE;
+	}
+
+	private static boolean isPlain(char delimiter) {
+		return REGEX_CHARS.indexOf(delimiter) == -1;
+	}
+
+	/** characters matched by regex \s */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' ||
+			c == '\f' || c == '\u000B';
+	}
+
+	private static boolean isDelimiter(char c, char delimiter) {
+		return (delimiter == WHITESPACE) ? isWhitespace(c) : c == delimiter;
+	}
+
+	/**
+	 * counts tokens and positions scanner at the first.
+	 *
+	 * @return number of tokens or -1 if content must be split by regex
+	 */
+	private int count() {
+		if (!isPlain(delimiter)) {
+			return -1;
+		}
+		// trim as String.trim()
+		lo = 0;
+		hi = s.length();
+		while (lo < hi && s.charAt(lo) <= ' ') {
+			lo++;
+		}
+		while (hi > lo && s.charAt(hi - 1) <= ' ') {
+			hi--;
+		}
+		if (lo == hi) {
+			return -1;
+		}
+		if (delimiter != WHITESPACE) {
+			if (s.charAt(lo) == delimiter) {
+				lo++;
+			}
+			if (hi > lo && s.charAt(hi - 1) == delimiter) {
+				hi--;
+			}
+			// trailing empty tokens are dropped by split
+			while (hi > lo && s.charAt(hi - 1) == delimiter) {
+				hi--;
+			}
+			if (lo == hi) {
+				return -1;
+			}
+		}
+		int n = 0;
+		next = lo;
+		while (next != -1) {
+			nextToken();
+			if (start == end) {
+				return -1;
+			}
+			n++;
+		}
+		next = lo;
+		return n;
+	}
+
+	/** moves start and end to the next token. */
+	private void nextToken() {
+		start = next;
+		end = start;
+		while (end < hi && !isDelimiter(s.charAt(end), delimiter)) {
+			end++;
+		}
+		if (end == hi) {
+			next = -1;
+		} else if (delimiter == WHITESPACE) {
+			next = end;
+			while (isWhitespace(s.charAt(next))) {
+				next++;
+			}
+		} else {
+			next = end + 1;
+		}
+	}
+
+	/** current token is "true" ignoring case. */
+	private boolean isTrue() {
+		if (end - start != 4) {
+			return false;
+		}
+		for (int i = 0; i < 4; i++) {
+			if (Character.toLowerCase(s.charAt(start + i)) != "true".charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * parses current token. Decimal values with up to 15 significant
+	 * digits and small exponents are exact in double arithmetic; others
+	 * are passed to Util.parseFlexibleDouble().
+	 */
+	private boolean parseDouble(double[] dd, int index) {
+		int i = start;
+		boolean negative = false;
+		char c = s.charAt(i);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean seenDigit = false;
+		boolean seenPoint = false;
+		for (; i < end; i++) {
+			c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				seenDigit = true;
+				if (mantissa != 0 || c != '0') {
+					digits++;
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				if (seenPoint) {
+					scale--;
+				}
+			} else if (c == '.' && !seenPoint) {
+				seenPoint = true;
+			} else {
+				break;
+			}
+		}
+		if (i < end && seenDigit && (c == 'e' || c == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+				negativeExponent = (s.charAt(i) == '-');
+				i++;
+			}
+			int exponent = 0;
+			int exponentStart = i;
+			for (; i < end && i - exponentStart < 4; i++) {
+				c = s.charAt(i);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				exponent = exponent * 10 + (c - '0');
+			}
+			if (i == exponentStart) {
+				return parseFlexibleDouble(dd, index);
+			}
+			scale += negativeExponent ? -exponent : exponent;
+		}
+		if (i < end || !seenDigit || digits > 15 || mantissa > MAX_EXACT ||
+				scale < -22 || scale > 22) {
+			return parseFlexibleDouble(dd, index);
+		}
+		double d = (double) mantissa;
+		if (scale < 0) {
+			d /= POWERS_OF_TEN[-scale];
+		} else {
+			d *= POWERS_OF_TEN[scale];
+		}
+		dd[index] = negative ? -d : d;
+		return true;
+	}
+
+	private boolean parseFlexibleDouble(double[] dd, int index) {
+		try {
+			dd[index] = Util.parseFlexibleDouble(
+					s.subSequence(start, end).toString());
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		} catch (ParseException e) {
+			return false;
+		}
+	}
+
+	/** parses current token as Integer.parseInt(). */
+	private boolean parseInt(int[] ii, int index) {
+		int i = start;
+		boolean negative = false;
+		char c = s.charAt(i);
+		if (c == '-' || c == '+') {
+			negative = (c == '-');
+			i++;
+		}
+		if (i == end || end - i > 9) {
+			return parseInteger(ii, index);
+		}
+		int value = 0;
+		for (; i < end; i++) {
+			c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return parseInteger(ii, index);
+			}
+			value = value * 10 + (c - '0');
+		}
+		ii[index] = negative ? -value : value;
+		return true;
+	}
+
+	private boolean parseInteger(int[] ii, int index) {
+		try {
+			ii[index] = Integer.parseInt(s.subSequence(start, end).toString());
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nu.xom.Element;
+import nu.xom.Node;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * <p>
+ * Precomputed summary of the schema used by AttributeFactory.
+ * </p>
+ * <p>
+ * Reading types.xsd, attributes.xsd and elements.xsd and querying them with
+ * XPath costs a noticeable time at every startup. The only information the
+ * AttributeFactory needs at runtime is, for every attributeGroup, the
+ * attribute name, its Java type and any special attribute class, and for
+ * every element the map from attribute names to attributeGroup names. This is
+ * generated from the schema into the resource {@link #SCHEMA_INDEX}, which is
+ * checked in and must be regenerated (with {@link #writeIndex(File)})
+ * whenever the schema changes.
+ * </p>
+ * <p>
+ * Attribute templates created from the index do not carry the schema summary
+ * and description; code generators should index the schema files through
+ * SchemaManager directly.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class SchemaIndex implements CMLConstants {
+
+	/** classpath resource holding the index */
+	public final static String SCHEMA_INDEX = "org/xmlcml/cml/base/schemaIndex.txt";
+
+	private final static String ATTRIBUTE_GROUP_LINE = "A";
+	private final static String ELEMENT_LINE = "E";
+	private final static String NONE = "-";
+	private final static String COMMENT = "#";
+
+	/** one attributeGroup. */
+	private static class AttributeGroup {
+		String groupName;
+		String attributeName;
+		String javaType;
+		boolean isList;
+		/** special class for attribute name (or null) */
+		String nameClass;
+		/** special class for group name (or null) */
+		String groupClass;
+	}
+
+	private List<AttributeGroup> attributeGroupList;
+	private Map<String, Map<String, String>> elementSynonymMap;
+
+	private SchemaIndex() {
+		attributeGroupList = new ArrayList<AttributeGroup>();
+		elementSynonymMap = new LinkedHashMap<String, Map<String, String>>();
+	}
+
+	/** create index from schema files.
+	 *
+	 * @param schemaManager must have read and indexed the schema files
+	 * @return index
+	 */
+	public static SchemaIndex createIndex(SchemaManager schemaManager) {
+		SchemaIndex index = new SchemaIndex();
+		Map<String, CMLType> typeMap = schemaManager.getTypeGenerator().getMap();
+		Map<String, String> attributeNameByGroup = new HashMap<String, String>();
+		Element attributeTop = schemaManager.getAttributeGenerator().getSchema();
+		List<Node> attributeGroups = CMLUtil.getQueryNodes(attributeTop, "./"+XSD_ATTRIBUTE_GROUP, XPATH_XSD);
+		for (Node node : attributeGroups) {
+			Element xsdAttributeGroup = (Element) node;
+			AttributeGroup group = new AttributeGroup();
+			group.groupName = xsdAttributeGroup.getAttributeValue("name");
+			Element xsdAttribute = (Element) CMLUtil.getQueryNodes(
+					xsdAttributeGroup, "./"+XSD_ATTRIBUTE, XPATH_XSD).get(0);
+			group.attributeName = xsdAttribute.getAttributeValue("name");
+			String typeS = xsdAttribute.getAttributeValue("type");
+			CMLType type = typeMap.get(typeS);
+			if (type == null) {
+				throw new RuntimeException("Cannot find CMLType for "+typeS);
+			}
+			group.javaType = type.getJavaType();
+			group.isList = type.getIsList();
+			group.nameClass = getSpecialClassName(group.attributeName);
+			group.groupClass = getSpecialClassName(group.groupName);
+			index.attributeGroupList.add(group);
+			attributeNameByGroup.put(group.groupName, group.attributeName);
+		}
+		Element elementTop = schemaManager.getElementGenerator().getSchema();
+		List<Node> elements = CMLUtil.getQueryNodes(elementTop, "./"+XSD_ELEMENT, XPATH_XSD);
+		for (Node node : elements) {
+			Element xsdElement = (Element) node;
+			Map<String, String> synonymMap = new LinkedHashMap<String, String>();
+			index.elementSynonymMap.put(xsdElement.getAttributeValue("name"), synonymMap);
+			List<Node> refs = CMLUtil.getQueryNodes(xsdElement, ".//"+XSD_ATTRIBUTE_GROUP, XPATH_XSD);
+			for (Node ref : refs) {
+				String groupName = ((Element) ref).getAttributeValue("ref");
+				synonymMap.put(attributeNameByGroup.get(groupName), groupName);
+			}
+		}
+		return index;
+	}
+
+	private static String getSpecialClassName(String name) {
+		CMLAttribute attribute = AttributeFactory.createSpecialAttribute(name);
+		return (attribute == null) ? null : attribute.getClass().getSimpleName();
+	}
+
+	/** read index from classpath resource.
+	 *
+	 * @return index or null if resource is missing
+	 * @throws IOException if resource is corrupt
+	 */
+	public static SchemaIndex readResource() throws IOException {
+		InputStream is = SchemaIndex.class.getClassLoader().getResourceAsStream(SCHEMA_INDEX);
+		if (is == null) {
+			return null;
+		}
+		try {
+			return read(new BufferedReader(new InputStreamReader(is, "UTF-8")));
+		} finally {
+			is.close();
+		}
+	}
+
+	/** read index.
+	 *
+	 * @param reader
+	 * @return index
+	 * @throws IOException if corrupt
+	 */
+	public static SchemaIndex read(BufferedReader reader) throws IOException {
+		SchemaIndex index = new SchemaIndex();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.length() == 0 || line.startsWith(COMMENT)) {
+				continue;
+			}
+			String[] fields = line.split(S_SPACE);
+			if (ATTRIBUTE_GROUP_LINE.equals(fields[0]) && fields.length == 7) {
+				AttributeGroup group = new AttributeGroup();
+				group.groupName = fields[1];
+				group.attributeName = fields[2];
+				group.javaType = fields[3];
+				group.isList = Boolean.parseBoolean(fields[4]);
+				group.nameClass = NONE.equals(fields[5]) ? null : fields[5];
+				group.groupClass = NONE.equals(fields[6]) ? null : fields[6];
+				index.attributeGroupList.add(group);
+			} else if (ELEMENT_LINE.equals(fields[0]) && fields.length >= 2) {
+				Map<String, String> synonymMap = new HashMap<String, String>();
+				for (int i = 2; i < fields.length; i++) {
+					int idx = fields[i].indexOf(S_EQUALS);
+					if (idx == -1) {
+						throw new IOException("bad synonym in index: "+line);
+					}
+					synonymMap.put(fields[i].substring(0, idx), fields[i].substring(idx+1));
+				}
+				index.elementSynonymMap.put(fields[1], synonymMap);
+			} else {
+				throw new IOException("bad line in index: "+line);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return index as text (as stored in SCHEMA_INDEX)
+	 */
+	public String toIndexString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(COMMENT+" CML schema index generated by SchemaIndex from types.xsd, attributes.xsd, elements.xsd\n");
+		sb.append(COMMENT+" DO NOT EDIT; regenerate with SchemaIndex.writeIndex()\n");
+		sb.append(COMMENT+" A groupName attributeName javaType isList nameClass groupClass\n");
+		sb.append(COMMENT+" E elementName attributeName=groupName ...\n");
+		for (AttributeGroup group : attributeGroupList) {
+			sb.append(ATTRIBUTE_GROUP_LINE);
+			sb.append(S_SPACE+group.groupName);
+			sb.append(S_SPACE+group.attributeName);
+			sb.append(S_SPACE+group.javaType);
+			sb.append(S_SPACE+group.isList);
+			sb.append(S_SPACE+(group.nameClass == null ? NONE : group.nameClass));
+			sb.append(S_SPACE+(group.groupClass == null ? NONE : group.groupClass));
+			sb.append("\n");
+		}
+		for (String elementName : elementSynonymMap.keySet()) {
+			sb.append(ELEMENT_LINE+S_SPACE+elementName);
+			Map<String, String> synonymMap = elementSynonymMap.get(elementName);
+			for (String attributeName : synonymMap.keySet()) {
+				sb.append(S_SPACE+attributeName+S_EQUALS+synonymMap.get(attributeName));
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	/** write index.
+	 *
+	 * @param file normally src/main/resources/ + SCHEMA_INDEX
+	 * @throws IOException
+	 */
+	public void writeIndex(File file) throws IOException {
+		FileUtils.writeStringToFile(file, toIndexString(), "UTF-8");
+	}
+
+	/** attribute templates indexed by attributeGroup name.
+	 * special attributes are chosen by attribute name.
+	 * @return new map
+	 */
+	public Map<String, CMLAttribute> createAttributeGroupNameAttributeMap() {
+		Map<String, CMLAttribute> map = new HashMap<String, CMLAttribute>();
+		for (AttributeGroup group : attributeGroupList) {
+			map.put(group.groupName, createAttribute(group, group.nameClass));
+		}
+		return map;
+	}
+
+	/** attribute templates indexed by attributeGroup name.
+	 * special attributes are chosen by attributeGroup name if
+	 * one exists else by attribute name.
+	 * @return new map
+	 */
+	public Map<String, CMLAttribute> createAttributeGroupMap() {
+		Map<String, CMLAttribute> map = new HashMap<String, CMLAttribute>();
+		for (AttributeGroup group : attributeGroupList) {
+			String className = (group.groupClass != null) ? group.groupClass : group.nameClass;
+			map.put(group.groupName, createAttribute(group, className));
+		}
+		return map;
+	}
+
+	/**
+	 * @return attributeGroup names for attribute names, indexed by element name
+	 */
+	public Map<String, Map<String, String>> getElementSynonymMap() {
+		return elementSynonymMap;
+	}
+
+	private static CMLAttribute createAttribute(AttributeGroup group, String className) {
+		if (className == null) {
+			return AttributeFactory.createCMLAttribute(
+					group.attributeName, group.javaType, group.isList);
+		}
+		return AttributeFactory.createSpecialAttributeByClassName(className);
+	}
+}
@@ -59,7 +59,6 @@ public class StringArraySTAttribute extends CMLAttribute {
      */
     @Override
     public void setValue(String s){
-    	super.setValue(s);
     	this.setCMLValue(s);
     }
     
@@ -71,10 +70,7 @@ public class StringArraySTAttribute extends CMLAttribute {
     public StringArraySTAttribute(StringArraySTAttribute att) {
         super(att);
         if (att.ss != null) {
-            this.ss = new String[att.ss.length];
-            for (int i = 0; i < ss.length; i++) {
-                this.ss[i] = att.ss[i];
-            }
+            this.ss = att.ss.clone();
         }
     }
     /** copy.
@@ -98,6 +94,19 @@ public class StringArraySTAttribute extends CMLAttribute {
         this.setCMLValue(value);
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        StringArraySTAttribute att = new StringArraySTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * sets value. throws exception if of wrong type or violates restriction
      * 
@@ -123,6 +132,7 @@ public class StringArraySTAttribute extends CMLAttribute {
      * @param ss
      */
     public void setCMLValue(String[] ss) {
+        checkMutable();
         checkValue(ss);
         this.ss = ss;
         super.setValue(stringFromArray(ss));
@@ -82,6 +82,19 @@ public class StringSTAttribute extends CMLAttribute {
         super(att, value.trim().replace(S_WHITEREGEX, CMLConstants.S_SPACE));
     }
 
+    /**
+     * creates attribute with same name and type.
+     * 
+     * @param value
+     * @return new attribute
+     */
+    public CMLAttribute newInstance(String value) {
+        StringSTAttribute att = new StringSTAttribute(getLocalName());
+        att.cmlType = cmlType;
+        att.setCMLValue(value);
+        return att;
+    }
+
     /**
      * set and check value.
      * trims by default
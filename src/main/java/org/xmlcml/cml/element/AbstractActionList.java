@@ -105,6 +105,12 @@ public abstract class AbstractActionList extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "actionList");
@@ -480,6 +486,12 @@ public abstract class AbstractActionList extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "actionList");
@@ -497,6 +509,12 @@ public abstract class AbstractActionList extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "actionList");
            if (_att_count == null) {
@@ -105,6 +105,12 @@ public abstract class AbstractAmount extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "amount");
@@ -110,6 +110,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "array");
@@ -289,6 +295,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_errorvaluearray == null) {
             _att_errorvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("errorValueArray", "array");
@@ -307,6 +319,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_errorvaluearray == null) {
             _att_errorvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("errorValueArray", "array");
            if (_att_errorvaluearray == null) {
@@ -383,6 +401,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_minvaluearray == null) {
             _att_minvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("minValueArray", "array");
@@ -399,6 +423,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_minvaluearray == null) {
             _att_minvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("minValueArray", "array");
            if (_att_minvaluearray == null) {
@@ -437,6 +467,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_maxvaluearray == null) {
             _att_maxvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("maxValueArray", "array");
@@ -453,6 +489,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_maxvaluearray == null) {
             _att_maxvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("maxValueArray", "array");
            if (_att_maxvaluearray == null) {
@@ -643,6 +685,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSize(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("size");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_size == null) {
             _att_size = (IntSTAttribute) attributeFactory.getAttribute("size", "array");
@@ -659,6 +707,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSize(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("size");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_size == null) {
             _att_size = (IntSTAttribute) attributeFactory.getAttribute("size", "array");
            if (_att_size == null) {
@@ -732,6 +786,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "array");
@@ -748,6 +808,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "array");
            if (_att_constanttosi == null) {
@@ -786,6 +852,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "array");
@@ -802,6 +874,12 @@ public abstract class AbstractArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "array");
            if (_att_multipliertosi == null) {
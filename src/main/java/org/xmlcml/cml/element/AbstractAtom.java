@@ -71,6 +71,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "atom");
@@ -241,6 +247,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "atom");
@@ -258,6 +270,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "atom");
            if (_att_count == null) {
@@ -334,6 +352,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "atom");
@@ -350,6 +374,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "atom");
            if (_att_formalcharge == null) {
@@ -388,6 +418,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setHydrogenCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("hydrogenCount");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_hydrogencount == null) {
             _att_hydrogencount = (IntSTAttribute) attributeFactory.getAttribute("hydrogenCount", "atom");
@@ -404,6 +440,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setHydrogenCount(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("hydrogenCount");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_hydrogencount == null) {
             _att_hydrogencount = (IntSTAttribute) attributeFactory.getAttribute("hydrogenCount", "atom");
            if (_att_hydrogencount == null) {
@@ -442,6 +484,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setIsotope(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("isotope");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_isotope == null) {
             _att_isotope = (DoubleSTAttribute) attributeFactory.getAttribute("isotope", "atom");
@@ -458,6 +506,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setIsotope(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("isotope");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_isotope == null) {
             _att_isotope = (DoubleSTAttribute) attributeFactory.getAttribute("isotope", "atom");
            if (_att_isotope == null) {
@@ -496,6 +550,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setIsotopeNumber(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("isotopeNumber");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_isotopenumber == null) {
             _att_isotopenumber = (IntSTAttribute) attributeFactory.getAttribute("isotopeNumber", "atom");
@@ -512,6 +572,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setIsotopeNumber(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("isotopeNumber");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_isotopenumber == null) {
             _att_isotopenumber = (IntSTAttribute) attributeFactory.getAttribute("isotopeNumber", "atom");
            if (_att_isotopenumber == null) {
@@ -626,6 +692,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setOccupancy(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("occupancy");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_occupancy == null) {
             _att_occupancy = (DoubleSTAttribute) attributeFactory.getAttribute("occupancy", "atom");
@@ -642,6 +714,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setOccupancy(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("occupancy");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_occupancy == null) {
             _att_occupancy = (DoubleSTAttribute) attributeFactory.getAttribute("occupancy", "atom");
            if (_att_occupancy == null) {
@@ -680,6 +758,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpinMultiplicity(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spinMultiplicity");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_spinmultiplicity == null) {
             _att_spinmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spinMultiplicity", "atom");
@@ -696,6 +780,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpinMultiplicity(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spinMultiplicity");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_spinmultiplicity == null) {
             _att_spinmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spinMultiplicity", "atom");
            if (_att_spinmultiplicity == null) {
@@ -734,6 +824,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX2(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x2");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_x2 == null) {
             _att_x2 = (DoubleSTAttribute) attributeFactory.getAttribute("x2", "atom");
@@ -750,6 +846,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX2(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x2");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_x2 == null) {
             _att_x2 = (DoubleSTAttribute) attributeFactory.getAttribute("x2", "atom");
            if (_att_x2 == null) {
@@ -797,6 +899,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY2(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y2");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_y2 == null) {
             _att_y2 = (DoubleSTAttribute) attributeFactory.getAttribute("y2", "atom");
@@ -816,6 +924,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY2(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y2");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_y2 == null) {
             _att_y2 = (DoubleSTAttribute) attributeFactory.getAttribute("y2", "atom");
            if (_att_y2 == null) {
@@ -860,6 +974,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_x3 == null) {
             _att_x3 = (DoubleSTAttribute) attributeFactory.getAttribute("x3", "atom");
@@ -878,6 +998,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_x3 == null) {
             _att_x3 = (DoubleSTAttribute) attributeFactory.getAttribute("x3", "atom");
            if (_att_x3 == null) {
@@ -922,6 +1048,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_y3 == null) {
             _att_y3 = (DoubleSTAttribute) attributeFactory.getAttribute("y3", "atom");
@@ -940,6 +1072,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_y3 == null) {
             _att_y3 = (DoubleSTAttribute) attributeFactory.getAttribute("y3", "atom");
            if (_att_y3 == null) {
@@ -984,6 +1122,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_z3 == null) {
             _att_z3 = (DoubleSTAttribute) attributeFactory.getAttribute("z3", "atom");
@@ -1002,6 +1146,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_z3 == null) {
             _att_z3 = (DoubleSTAttribute) attributeFactory.getAttribute("z3", "atom");
            if (_att_z3 == null) {
@@ -1040,6 +1190,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xFract");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_xfract == null) {
             _att_xfract = (DoubleSTAttribute) attributeFactory.getAttribute("xFract", "atom");
@@ -1056,6 +1212,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXFract(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xFract");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xfract == null) {
             _att_xfract = (DoubleSTAttribute) attributeFactory.getAttribute("xFract", "atom");
            if (_att_xfract == null) {
@@ -1100,6 +1262,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yFract");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_yfract == null) {
             _att_yfract = (DoubleSTAttribute) attributeFactory.getAttribute("yFract", "atom");
@@ -1118,6 +1286,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYFract(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yFract");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_yfract == null) {
             _att_yfract = (DoubleSTAttribute) attributeFactory.getAttribute("yFract", "atom");
            if (_att_yfract == null) {
@@ -1162,6 +1336,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("zFract");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_zfract == null) {
             _att_zfract = (DoubleSTAttribute) attributeFactory.getAttribute("zFract", "atom");
@@ -1180,6 +1360,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZFract(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("zFract");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_zfract == null) {
             _att_zfract = (DoubleSTAttribute) attributeFactory.getAttribute("zFract", "atom");
            if (_att_zfract == null) {
@@ -1321,6 +1507,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpaceGroupMultiplicity(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spaceGroupMultiplicity");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_spacegroupmultiplicity == null) {
             _att_spacegroupmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spaceGroupMultiplicity", "atom");
@@ -1346,6 +1538,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpaceGroupMultiplicity(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spaceGroupMultiplicity");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_spacegroupmultiplicity == null) {
             _att_spacegroupmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spaceGroupMultiplicity", "atom");
            if (_att_spacegroupmultiplicity == null) {
@@ -1408,6 +1606,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPointGroupMultiplicity(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("pointGroupMultiplicity");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_pointgroupmultiplicity == null) {
             _att_pointgroupmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("pointGroupMultiplicity", "atom");
@@ -1432,6 +1636,12 @@ public abstract class AbstractAtom extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPointGroupMultiplicity(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("pointGroupMultiplicity");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_pointgroupmultiplicity == null) {
             _att_pointgroupmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("pointGroupMultiplicity", "atom");
            if (_att_pointgroupmultiplicity == null) {
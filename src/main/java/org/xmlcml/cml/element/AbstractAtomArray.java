@@ -110,6 +110,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "atomArray");
@@ -331,6 +337,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleArraySTAttribute) attributeFactory.getAttribute("count", "atomArray");
@@ -347,6 +359,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleArraySTAttribute) attributeFactory.getAttribute("count", "atomArray");
            if (_att_count == null) {
@@ -385,6 +403,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntArraySTAttribute att = null;
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntArraySTAttribute) attributeFactory.getAttribute("formalCharge", "atomArray");
@@ -401,6 +425,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(int[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntArraySTAttribute) {
+            // update existing attribute in place
+            ((IntArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntArraySTAttribute) attributeFactory.getAttribute("formalCharge", "atomArray");
            if (_att_formalcharge == null) {
@@ -439,6 +469,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setHydrogenCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("hydrogenCount");
+        if (oldAtt instanceof IntArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntArraySTAttribute att = null;
         if (_att_hydrogencount == null) {
             _att_hydrogencount = (IntArraySTAttribute) attributeFactory.getAttribute("hydrogenCount", "atomArray");
@@ -455,6 +491,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setHydrogenCount(int[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("hydrogenCount");
+        if (oldAtt instanceof IntArraySTAttribute) {
+            // update existing attribute in place
+            ((IntArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_hydrogencount == null) {
             _att_hydrogencount = (IntArraySTAttribute) attributeFactory.getAttribute("hydrogenCount", "atomArray");
            if (_att_hydrogencount == null) {
@@ -493,6 +535,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setOccupancy(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("occupancy");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_occupancy == null) {
             _att_occupancy = (DoubleArraySTAttribute) attributeFactory.getAttribute("occupancy", "atomArray");
@@ -509,6 +557,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setOccupancy(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("occupancy");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_occupancy == null) {
             _att_occupancy = (DoubleArraySTAttribute) attributeFactory.getAttribute("occupancy", "atomArray");
            if (_att_occupancy == null) {
@@ -547,6 +601,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX2(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x2");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_x2 == null) {
             _att_x2 = (DoubleArraySTAttribute) attributeFactory.getAttribute("x2", "atomArray");
@@ -563,6 +623,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX2(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x2");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_x2 == null) {
             _att_x2 = (DoubleArraySTAttribute) attributeFactory.getAttribute("x2", "atomArray");
            if (_att_x2 == null) {
@@ -601,6 +667,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY2(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y2");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_y2 == null) {
             _att_y2 = (DoubleArraySTAttribute) attributeFactory.getAttribute("y2", "atomArray");
@@ -617,6 +689,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY2(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y2");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_y2 == null) {
             _att_y2 = (DoubleArraySTAttribute) attributeFactory.getAttribute("y2", "atomArray");
            if (_att_y2 == null) {
@@ -655,6 +733,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_x3 == null) {
             _att_x3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("x3", "atomArray");
@@ -671,6 +755,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_x3 == null) {
             _att_x3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("x3", "atomArray");
            if (_att_x3 == null) {
@@ -709,6 +799,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_y3 == null) {
             _att_y3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("y3", "atomArray");
@@ -725,6 +821,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_y3 == null) {
             _att_y3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("y3", "atomArray");
            if (_att_y3 == null) {
@@ -763,6 +865,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_z3 == null) {
             _att_z3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("z3", "atomArray");
@@ -779,6 +887,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_z3 == null) {
             _att_z3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("z3", "atomArray");
            if (_att_z3 == null) {
@@ -817,6 +931,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xFract");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_xfract == null) {
             _att_xfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("xFract", "atomArray");
@@ -833,6 +953,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXFract(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xFract");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xfract == null) {
             _att_xfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("xFract", "atomArray");
            if (_att_xfract == null) {
@@ -871,6 +997,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yFract");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_yfract == null) {
             _att_yfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("yFract", "atomArray");
@@ -887,6 +1019,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYFract(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yFract");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_yfract == null) {
             _att_yfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("yFract", "atomArray");
            if (_att_yfract == null) {
@@ -925,6 +1063,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZFract(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("zFract");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_zfract == null) {
             _att_zfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("zFract", "atomArray");
@@ -941,6 +1085,12 @@ public abstract class AbstractAtomArray extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZFract(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("zFract");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_zfract == null) {
             _att_zfract = (DoubleArraySTAttribute) attributeFactory.getAttribute("zFract", "atomArray");
            if (_att_zfract == null) {
@@ -145,6 +145,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "atomicBasisFunction");
@@ -277,6 +283,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setN(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("n");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_n == null) {
             _att_n = (IntSTAttribute) attributeFactory.getAttribute("n", "atomicBasisFunction");
@@ -293,6 +305,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setN(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("n");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_n == null) {
             _att_n = (IntSTAttribute) attributeFactory.getAttribute("n", "atomicBasisFunction");
            if (_att_n == null) {
@@ -331,6 +349,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setL(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("l");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_l == null) {
             _att_l = (IntSTAttribute) attributeFactory.getAttribute("l", "atomicBasisFunction");
@@ -347,6 +371,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setL(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("l");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_l == null) {
             _att_l = (IntSTAttribute) attributeFactory.getAttribute("l", "atomicBasisFunction");
            if (_att_l == null) {
@@ -385,6 +415,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setM(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("m");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_m == null) {
             _att_m = (IntSTAttribute) attributeFactory.getAttribute("m", "atomicBasisFunction");
@@ -401,6 +437,12 @@ public abstract class AbstractAtomicBasisFunction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setM(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("m");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_m == null) {
             _att_m = (IntSTAttribute) attributeFactory.getAttribute("m", "atomicBasisFunction");
            if (_att_m == null) {
@@ -73,6 +73,12 @@ public abstract class AbstractBand extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setKpoint(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("kpoint");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_kpoint == null) {
             _att_kpoint = (DoubleArraySTAttribute) attributeFactory.getAttribute("kpoint", "band");
@@ -89,6 +95,12 @@ public abstract class AbstractBand extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setKpoint(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("kpoint");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_kpoint == null) {
             _att_kpoint = (DoubleArraySTAttribute) attributeFactory.getAttribute("kpoint", "band");
            if (_att_kpoint == null) {
@@ -165,6 +177,12 @@ public abstract class AbstractBand extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setWeight(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("weight");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_weight == null) {
             _att_weight = (DoubleSTAttribute) attributeFactory.getAttribute("weight", "band");
@@ -181,6 +199,12 @@ public abstract class AbstractBand extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setWeight(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("weight");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_weight == null) {
             _att_weight = (DoubleSTAttribute) attributeFactory.getAttribute("weight", "band");
            if (_att_weight == null) {
@@ -292,6 +316,12 @@ public abstract class AbstractBand extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "band");
@@ -105,6 +105,12 @@ public abstract class AbstractBondSet extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "bondSet");
@@ -237,6 +243,12 @@ public abstract class AbstractBondSet extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSize(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("size");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_size == null) {
             _att_size = (IntSTAttribute) attributeFactory.getAttribute("size", "bondSet");
@@ -253,6 +265,12 @@ public abstract class AbstractBondSet extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSize(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("size");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_size == null) {
             _att_size = (IntSTAttribute) attributeFactory.getAttribute("size", "bondSet");
            if (_att_size == null) {
@@ -161,6 +161,12 @@ public abstract class AbstractCellParameter extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "cellParameter");
@@ -310,6 +316,12 @@ public abstract class AbstractCellParameter extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setError(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("error");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_error == null) {
             _att_error = (DoubleArraySTAttribute) attributeFactory.getAttribute("error", "cellParameter");
@@ -326,6 +338,12 @@ public abstract class AbstractCellParameter extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setError(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("error");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_error == null) {
             _att_error = (DoubleArraySTAttribute) attributeFactory.getAttribute("error", "cellParameter");
            if (_att_error == null) {
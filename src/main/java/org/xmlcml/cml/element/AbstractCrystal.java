@@ -72,6 +72,12 @@ public abstract class AbstractCrystal extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_z == null) {
             _att_z = (IntSTAttribute) attributeFactory.getAttribute("z", "crystal");
@@ -88,6 +94,12 @@ public abstract class AbstractCrystal extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_z == null) {
             _att_z = (IntSTAttribute) attributeFactory.getAttribute("z", "crystal");
            if (_att_z == null) {
@@ -161,6 +173,12 @@ public abstract class AbstractCrystal extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "crystal");
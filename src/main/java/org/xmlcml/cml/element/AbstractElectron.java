@@ -106,6 +106,12 @@ public abstract class AbstractElectron extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "electron");
@@ -425,6 +431,12 @@ public abstract class AbstractElectron extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "electron");
@@ -442,6 +454,12 @@ public abstract class AbstractElectron extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "electron");
            if (_att_count == null) {
@@ -106,6 +106,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "entry");
@@ -244,6 +250,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "entry");
@@ -260,6 +272,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "entry");
            if (_att_rows == null) {
@@ -298,6 +316,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "entry");
@@ -314,6 +338,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "entry");
            if (_att_columns == null) {
@@ -387,6 +417,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinExclusive(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minExclusive");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_minexclusive == null) {
             _att_minexclusive = (DoubleSTAttribute) attributeFactory.getAttribute("minExclusive", "entry");
@@ -403,6 +439,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinExclusive(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minExclusive");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_minexclusive == null) {
             _att_minexclusive = (DoubleSTAttribute) attributeFactory.getAttribute("minExclusive", "entry");
            if (_att_minexclusive == null) {
@@ -441,6 +483,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinInclusive(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minInclusive");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_mininclusive == null) {
             _att_mininclusive = (DoubleSTAttribute) attributeFactory.getAttribute("minInclusive", "entry");
@@ -457,6 +505,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinInclusive(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minInclusive");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_mininclusive == null) {
             _att_mininclusive = (DoubleSTAttribute) attributeFactory.getAttribute("minInclusive", "entry");
            if (_att_mininclusive == null) {
@@ -495,6 +549,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxExclusive(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxExclusive");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_maxexclusive == null) {
             _att_maxexclusive = (DoubleSTAttribute) attributeFactory.getAttribute("maxExclusive", "entry");
@@ -511,6 +571,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxExclusive(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxExclusive");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_maxexclusive == null) {
             _att_maxexclusive = (DoubleSTAttribute) attributeFactory.getAttribute("maxExclusive", "entry");
            if (_att_maxexclusive == null) {
@@ -549,6 +615,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxInclusive(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxInclusive");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_maxinclusive == null) {
             _att_maxinclusive = (DoubleSTAttribute) attributeFactory.getAttribute("maxInclusive", "entry");
@@ -565,6 +637,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxInclusive(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxInclusive");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_maxinclusive == null) {
             _att_maxinclusive = (DoubleSTAttribute) attributeFactory.getAttribute("maxInclusive", "entry");
            if (_att_maxinclusive == null) {
@@ -603,6 +681,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setTotalDigits(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("totalDigits");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_totaldigits == null) {
             _att_totaldigits = (IntSTAttribute) attributeFactory.getAttribute("totalDigits", "entry");
@@ -619,6 +703,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setTotalDigits(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("totalDigits");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_totaldigits == null) {
             _att_totaldigits = (IntSTAttribute) attributeFactory.getAttribute("totalDigits", "entry");
            if (_att_totaldigits == null) {
@@ -657,6 +747,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFractionDigits(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("fractionDigits");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_fractiondigits == null) {
             _att_fractiondigits = (IntSTAttribute) attributeFactory.getAttribute("fractionDigits", "entry");
@@ -673,6 +769,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFractionDigits(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("fractionDigits");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_fractiondigits == null) {
             _att_fractiondigits = (IntSTAttribute) attributeFactory.getAttribute("fractionDigits", "entry");
            if (_att_fractiondigits == null) {
@@ -714,6 +816,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setLength(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("length");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_length == null) {
             _att_length = (IntSTAttribute) attributeFactory.getAttribute("length", "entry");
@@ -731,6 +839,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setLength(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("length");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_length == null) {
             _att_length = (IntSTAttribute) attributeFactory.getAttribute("length", "entry");
            if (_att_length == null) {
@@ -769,6 +883,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinLength(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minLength");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_minlength == null) {
             _att_minlength = (IntSTAttribute) attributeFactory.getAttribute("minLength", "entry");
@@ -785,6 +905,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinLength(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minLength");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_minlength == null) {
             _att_minlength = (IntSTAttribute) attributeFactory.getAttribute("minLength", "entry");
            if (_att_minlength == null) {
@@ -823,6 +949,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxLength(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxLength");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_maxlength == null) {
             _att_maxlength = (IntSTAttribute) attributeFactory.getAttribute("maxLength", "entry");
@@ -839,6 +971,12 @@ public abstract class AbstractEntry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxLength(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxLength");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_maxlength == null) {
             _att_maxlength = (IntSTAttribute) attributeFactory.getAttribute("maxLength", "entry");
            if (_att_maxlength == null) {
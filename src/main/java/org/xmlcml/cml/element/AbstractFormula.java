@@ -108,6 +108,12 @@ public abstract class AbstractFormula extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "formula");
@@ -243,6 +249,12 @@ public abstract class AbstractFormula extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "formula");
@@ -260,6 +272,12 @@ public abstract class AbstractFormula extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "formula");
            if (_att_count == null) {
@@ -298,6 +316,12 @@ public abstract class AbstractFormula extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "formula");
@@ -314,6 +338,12 @@ public abstract class AbstractFormula extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "formula");
            if (_att_formalcharge == null) {
@@ -108,6 +108,12 @@ public abstract class AbstractIsotope extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "isotope");
@@ -240,6 +246,12 @@ public abstract class AbstractIsotope extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setNumber(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("number");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_number == null) {
             _att_number = (IntSTAttribute) attributeFactory.getAttribute("number", "isotope");
@@ -256,6 +268,12 @@ public abstract class AbstractIsotope extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setNumber(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("number");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_number == null) {
             _att_number = (IntSTAttribute) attributeFactory.getAttribute("number", "isotope");
            if (_att_number == null) {
@@ -70,6 +70,12 @@ public abstract class AbstractKpoint extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setWeight(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("weight");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_weight == null) {
             _att_weight = (DoubleSTAttribute) attributeFactory.getAttribute("weight", "kpoint");
@@ -86,6 +92,12 @@ public abstract class AbstractKpoint extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setWeight(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("weight");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_weight == null) {
             _att_weight = (DoubleSTAttribute) attributeFactory.getAttribute("weight", "kpoint");
            if (_att_weight == null) {
@@ -197,6 +209,12 @@ public abstract class AbstractKpoint extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "kpoint");
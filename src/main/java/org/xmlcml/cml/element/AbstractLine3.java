@@ -161,6 +161,12 @@ public abstract class AbstractLine3 extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "line3");
@@ -275,6 +281,12 @@ public abstract class AbstractLine3 extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPoint3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("point3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_point3 == null) {
             _att_point3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("point3", "line3");
@@ -292,6 +304,12 @@ public abstract class AbstractLine3 extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPoint3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("point3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_point3 == null) {
             _att_point3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("point3", "line3");
            if (_att_point3 == null) {
@@ -333,6 +351,12 @@ public abstract class AbstractLine3 extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setVector3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("vector3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_vector3 == null) {
             _att_vector3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("vector3", "line3");
@@ -350,6 +374,12 @@ public abstract class AbstractLine3 extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setVector3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("vector3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_vector3 == null) {
             _att_vector3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("vector3", "line3");
            if (_att_vector3 == null) {
@@ -148,6 +148,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "matrix");
@@ -164,6 +170,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "matrix");
            if (_att_rows == null) {
@@ -202,6 +214,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "matrix");
@@ -218,6 +236,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "matrix");
            if (_att_columns == null) {
@@ -326,6 +350,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "matrix");
@@ -502,6 +532,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_errorvaluearray == null) {
             _att_errorvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("errorValueArray", "matrix");
@@ -520,6 +556,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_errorvaluearray == null) {
             _att_errorvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("errorValueArray", "matrix");
            if (_att_errorvaluearray == null) {
@@ -596,6 +638,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_minvaluearray == null) {
             _att_minvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("minValueArray", "matrix");
@@ -612,6 +660,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMinValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("minValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_minvaluearray == null) {
             _att_minvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("minValueArray", "matrix");
            if (_att_minvaluearray == null) {
@@ -650,6 +704,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxValueArray(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_maxvaluearray == null) {
             _att_maxvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("maxValueArray", "matrix");
@@ -666,6 +726,12 @@ public abstract class AbstractMatrix extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMaxValueArray(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("maxValueArray");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_maxvaluearray == null) {
             _att_maxvaluearray = (DoubleArraySTAttribute) attributeFactory.getAttribute("maxValueArray", "matrix");
            if (_att_maxvaluearray == null) {
@@ -204,6 +204,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "molecule");
@@ -403,6 +409,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "molecule");
@@ -420,6 +432,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setCount(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("count");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_count == null) {
             _att_count = (DoubleSTAttribute) attributeFactory.getAttribute("count", "molecule");
            if (_att_count == null) {
@@ -496,6 +514,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "molecule");
@@ -512,6 +536,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setFormalCharge(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("formalCharge");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_formalcharge == null) {
             _att_formalcharge = (IntSTAttribute) attributeFactory.getAttribute("formalCharge", "molecule");
            if (_att_formalcharge == null) {
@@ -550,6 +580,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpinMultiplicity(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spinMultiplicity");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_spinmultiplicity == null) {
             _att_spinmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spinMultiplicity", "molecule");
@@ -566,6 +602,12 @@ public abstract class AbstractMolecule extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSpinMultiplicity(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("spinMultiplicity");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_spinmultiplicity == null) {
             _att_spinmultiplicity = (IntSTAttribute) attributeFactory.getAttribute("spinMultiplicity", "molecule");
            if (_att_spinmultiplicity == null) {
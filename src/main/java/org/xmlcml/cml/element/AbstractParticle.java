@@ -104,6 +104,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "particle");
@@ -280,6 +286,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_x3 == null) {
             _att_x3 = (DoubleSTAttribute) attributeFactory.getAttribute("x3", "particle");
@@ -298,6 +310,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setX3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("x3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_x3 == null) {
             _att_x3 = (DoubleSTAttribute) attributeFactory.getAttribute("x3", "particle");
            if (_att_x3 == null) {
@@ -342,6 +360,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_y3 == null) {
             _att_y3 = (DoubleSTAttribute) attributeFactory.getAttribute("y3", "particle");
@@ -360,6 +384,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setY3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("y3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_y3 == null) {
             _att_y3 = (DoubleSTAttribute) attributeFactory.getAttribute("y3", "particle");
            if (_att_y3 == null) {
@@ -404,6 +434,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_z3 == null) {
             _att_z3 = (DoubleSTAttribute) attributeFactory.getAttribute("z3", "particle");
@@ -422,6 +458,12 @@ public abstract class AbstractParticle extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setZ3(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("z3");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_z3 == null) {
             _att_z3 = (DoubleSTAttribute) attributeFactory.getAttribute("z3", "particle");
            if (_att_z3 == null) {
@@ -203,6 +203,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "peakGroup");
@@ -282,6 +288,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPeakHeight(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("peakHeight");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_peakheight == null) {
             _att_peakheight = (DoubleSTAttribute) attributeFactory.getAttribute("peakHeight", "peakGroup");
@@ -300,6 +312,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPeakHeight(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("peakHeight");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_peakheight == null) {
             _att_peakheight = (DoubleSTAttribute) attributeFactory.getAttribute("peakHeight", "peakGroup");
            if (_att_peakheight == null) {
@@ -505,6 +523,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXMin(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xMin");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_xmin == null) {
             _att_xmin = (DoubleSTAttribute) attributeFactory.getAttribute("xMin", "peakGroup");
@@ -526,6 +550,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXMin(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xMin");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xmin == null) {
             _att_xmin = (DoubleSTAttribute) attributeFactory.getAttribute("xMin", "peakGroup");
            if (_att_xmin == null) {
@@ -579,6 +609,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXMax(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xMax");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_xmax == null) {
             _att_xmax = (DoubleSTAttribute) attributeFactory.getAttribute("xMax", "peakGroup");
@@ -600,6 +636,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXMax(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xMax");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xmax == null) {
             _att_xmax = (DoubleSTAttribute) attributeFactory.getAttribute("xMax", "peakGroup");
            if (_att_xmax == null) {
@@ -644,6 +686,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXValue(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xValue");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_xvalue == null) {
             _att_xvalue = (DoubleSTAttribute) attributeFactory.getAttribute("xValue", "peakGroup");
@@ -662,6 +710,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXValue(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xValue");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xvalue == null) {
             _att_xvalue = (DoubleSTAttribute) attributeFactory.getAttribute("xValue", "peakGroup");
            if (_att_xvalue == null) {
@@ -706,6 +760,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXWidth(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xWidth");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_xwidth == null) {
             _att_xwidth = (DoubleSTAttribute) attributeFactory.getAttribute("xWidth", "peakGroup");
@@ -724,6 +784,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setXWidth(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("xWidth");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_xwidth == null) {
             _att_xwidth = (DoubleSTAttribute) attributeFactory.getAttribute("xWidth", "peakGroup");
            if (_att_xwidth == null) {
@@ -815,6 +881,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYMin(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yMin");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_ymin == null) {
             _att_ymin = (DoubleSTAttribute) attributeFactory.getAttribute("yMin", "peakGroup");
@@ -836,6 +908,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYMin(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yMin");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_ymin == null) {
             _att_ymin = (DoubleSTAttribute) attributeFactory.getAttribute("yMin", "peakGroup");
            if (_att_ymin == null) {
@@ -889,6 +967,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYMax(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yMax");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_ymax == null) {
             _att_ymax = (DoubleSTAttribute) attributeFactory.getAttribute("yMax", "peakGroup");
@@ -910,6 +994,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYMax(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yMax");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_ymax == null) {
             _att_ymax = (DoubleSTAttribute) attributeFactory.getAttribute("yMax", "peakGroup");
            if (_att_ymax == null) {
@@ -954,6 +1044,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYValue(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yValue");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_yvalue == null) {
             _att_yvalue = (DoubleSTAttribute) attributeFactory.getAttribute("yValue", "peakGroup");
@@ -972,6 +1068,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYValue(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yValue");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_yvalue == null) {
             _att_yvalue = (DoubleSTAttribute) attributeFactory.getAttribute("yValue", "peakGroup");
            if (_att_yvalue == null) {
@@ -1016,6 +1118,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYWidth(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yWidth");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_ywidth == null) {
             _att_ywidth = (DoubleSTAttribute) attributeFactory.getAttribute("yWidth", "peakGroup");
@@ -1034,6 +1142,12 @@ public abstract class AbstractPeakGroup extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYWidth(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yWidth");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_ywidth == null) {
             _att_ywidth = (DoubleSTAttribute) attributeFactory.getAttribute("yWidth", "peakGroup");
            if (_att_ywidth == null) {
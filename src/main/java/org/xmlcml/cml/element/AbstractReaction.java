@@ -202,6 +202,12 @@ public abstract class AbstractReaction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "reaction");
@@ -541,6 +547,12 @@ public abstract class AbstractReaction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYield(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yield");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_yield == null) {
             _att_yield = (DoubleSTAttribute) attributeFactory.getAttribute("yield", "reaction");
@@ -557,6 +569,12 @@ public abstract class AbstractReaction extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYield(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yield");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_yield == null) {
             _att_yield = (DoubleSTAttribute) attributeFactory.getAttribute("yield", "reaction");
            if (_att_yield == null) {
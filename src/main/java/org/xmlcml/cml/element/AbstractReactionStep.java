@@ -202,6 +202,12 @@ public abstract class AbstractReactionStep extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "reactionStep");
@@ -275,6 +281,12 @@ public abstract class AbstractReactionStep extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYield(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yield");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_yield == null) {
             _att_yield = (DoubleSTAttribute) attributeFactory.getAttribute("yield", "reactionStep");
@@ -291,6 +303,12 @@ public abstract class AbstractReactionStep extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setYield(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("yield");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_yield == null) {
             _att_yield = (DoubleSTAttribute) attributeFactory.getAttribute("yield", "reactionStep");
            if (_att_yield == null) {
@@ -329,6 +347,12 @@ public abstract class AbstractReactionStep extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRatio(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("ratio");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_ratio == null) {
             _att_ratio = (DoubleSTAttribute) attributeFactory.getAttribute("ratio", "reactionStep");
@@ -345,6 +369,12 @@ public abstract class AbstractReactionStep extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRatio(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("ratio");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_ratio == null) {
             _att_ratio = (DoubleSTAttribute) attributeFactory.getAttribute("ratio", "reactionStep");
            if (_att_ratio == null) {
@@ -69,6 +69,12 @@ public abstract class AbstractRegion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSphere3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("sphere3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_sphere3 == null) {
             _att_sphere3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("sphere3", "region");
@@ -85,6 +91,12 @@ public abstract class AbstractRegion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setSphere3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("sphere3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_sphere3 == null) {
             _att_sphere3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("sphere3", "region");
            if (_att_sphere3 == null) {
@@ -123,6 +135,12 @@ public abstract class AbstractRegion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setBox3(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("box3");
+        if (oldAtt instanceof DoubleArraySTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleArraySTAttribute att = null;
         if (_att_box3 == null) {
             _att_box3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("box3", "region");
@@ -139,6 +157,12 @@ public abstract class AbstractRegion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setBox3(double[] value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("box3");
+        if (oldAtt instanceof DoubleArraySTAttribute) {
+            // update existing attribute in place
+            ((DoubleArraySTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_box3 == null) {
             _att_box3 = (DoubleArraySTAttribute) attributeFactory.getAttribute("box3", "region");
            if (_att_box3 == null) {
@@ -288,6 +312,12 @@ public abstract class AbstractRegion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "region");
@@ -107,6 +107,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "scalar");
@@ -280,6 +286,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValue(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValue");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_errorvalue == null) {
             _att_errorvalue = (DoubleSTAttribute) attributeFactory.getAttribute("errorValue", "scalar");
@@ -296,6 +308,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValue(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValue");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_errorvalue == null) {
             _att_errorvalue = (DoubleSTAttribute) attributeFactory.getAttribute("errorValue", "scalar");
            if (_att_errorvalue == null) {
@@ -518,6 +536,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "scalar");
@@ -534,6 +558,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "scalar");
            if (_att_constanttosi == null) {
@@ -572,6 +602,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "scalar");
@@ -588,6 +624,12 @@ public abstract class AbstractScalar extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "scalar");
            if (_att_multipliertosi == null) {
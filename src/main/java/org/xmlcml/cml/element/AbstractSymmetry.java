@@ -201,6 +201,12 @@ public abstract class AbstractSymmetry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "symmetry");
@@ -353,6 +359,12 @@ public abstract class AbstractSymmetry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setNumber(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("number");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_number == null) {
             _att_number = (IntSTAttribute) attributeFactory.getAttribute("number", "symmetry");
@@ -369,6 +381,12 @@ public abstract class AbstractSymmetry extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setNumber(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("number");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_number == null) {
             _att_number = (IntSTAttribute) attributeFactory.getAttribute("number", "symmetry");
            if (_att_number == null) {
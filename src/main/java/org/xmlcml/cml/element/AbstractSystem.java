@@ -81,6 +81,12 @@ public abstract class AbstractSystem extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setDimensionality(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("dimensionality");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_dimensionality == null) {
             _att_dimensionality = (IntSTAttribute) attributeFactory.getAttribute("dimensionality", "system");
@@ -101,6 +107,12 @@ public abstract class AbstractSystem extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setDimensionality(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("dimensionality");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_dimensionality == null) {
             _att_dimensionality = (IntSTAttribute) attributeFactory.getAttribute("dimensionality", "system");
            if (_att_dimensionality == null) {
@@ -139,6 +151,12 @@ public abstract class AbstractSystem extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPeriodicity(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("periodicity");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_periodicity == null) {
             _att_periodicity = (IntSTAttribute) attributeFactory.getAttribute("periodicity", "system");
@@ -155,6 +173,12 @@ public abstract class AbstractSystem extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setPeriodicity(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("periodicity");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_periodicity == null) {
             _att_periodicity = (IntSTAttribute) attributeFactory.getAttribute("periodicity", "system");
            if (_att_periodicity == null) {
@@ -228,6 +252,12 @@ public abstract class AbstractSystem extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "system");
@@ -73,6 +73,12 @@ public abstract class AbstractTable extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "table");
@@ -89,6 +95,12 @@ public abstract class AbstractTable extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setRows(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("rows");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_rows == null) {
             _att_rows = (IntSTAttribute) attributeFactory.getAttribute("rows", "table");
            if (_att_rows == null) {
@@ -127,6 +139,12 @@ public abstract class AbstractTable extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IntSTAttribute att = null;
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "table");
@@ -143,6 +161,12 @@ public abstract class AbstractTable extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setColumns(int value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("columns");
+        if (oldAtt instanceof IntSTAttribute) {
+            // update existing attribute in place
+            ((IntSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_columns == null) {
             _att_columns = (IntSTAttribute) attributeFactory.getAttribute("columns", "table");
            if (_att_columns == null) {
@@ -289,6 +313,12 @@ public abstract class AbstractTable extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "table");
@@ -106,6 +106,12 @@ public abstract class AbstractTableHeaderCell extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "tableHeaderCell");
@@ -314,6 +320,12 @@ public abstract class AbstractTableHeaderCell extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "tableHeaderCell");
@@ -330,6 +342,12 @@ public abstract class AbstractTableHeaderCell extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_constanttosi == null) {
             _att_constanttosi = (DoubleSTAttribute) attributeFactory.getAttribute("constantToSI", "tableHeaderCell");
            if (_att_constanttosi == null) {
@@ -368,6 +386,12 @@ public abstract class AbstractTableHeaderCell extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "tableHeaderCell");
@@ -384,6 +408,12 @@ public abstract class AbstractTableHeaderCell extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToSI(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToSI");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_multipliertosi == null) {
             _att_multipliertosi = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToSI", "tableHeaderCell");
            if (_att_multipliertosi == null) {
@@ -107,6 +107,12 @@ public abstract class AbstractTorsion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "torsion");
@@ -332,6 +338,12 @@ public abstract class AbstractTorsion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValue(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValue");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_errorvalue == null) {
             _att_errorvalue = (DoubleSTAttribute) attributeFactory.getAttribute("errorValue", "torsion");
@@ -348,6 +360,12 @@ public abstract class AbstractTorsion extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setErrorValue(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("errorValue");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_errorvalue == null) {
             _att_errorvalue = (DoubleSTAttribute) attributeFactory.getAttribute("errorValue", "torsion");
            if (_att_errorvalue == null) {
@@ -202,6 +202,12 @@ public abstract class AbstractYaxis extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setId(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("id");
+        if (oldAtt instanceof IdAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((IdAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         IdAttribute att = null;
         if (_att_id == null) {
             _att_id = (IdAttribute) attributeFactory.getAttribute("id", "yaxis");
@@ -281,6 +287,12 @@ public abstract class AbstractYaxis extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToData(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToData");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_multipliertodata == null) {
             _att_multipliertodata = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToData", "yaxis");
@@ -299,6 +311,12 @@ public abstract class AbstractYaxis extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setMultiplierToData(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("multiplierToData");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_multipliertodata == null) {
             _att_multipliertodata = (DoubleSTAttribute) attributeFactory.getAttribute("multiplierToData", "yaxis");
            if (_att_multipliertodata == null) {
@@ -337,6 +355,12 @@ public abstract class AbstractYaxis extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToData(String value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToData");
+        if (oldAtt instanceof DoubleSTAttribute && value != null && !value.equals(S_EMPTY)) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         DoubleSTAttribute att = null;
         if (_att_constanttodata == null) {
             _att_constanttodata = (DoubleSTAttribute) attributeFactory.getAttribute("constantToData", "yaxis");
@@ -353,6 +377,12 @@ public abstract class AbstractYaxis extends CMLElement {
     * @throws RuntimeException attribute wrong value/type
     */
     public void setConstantToData(double value) throws RuntimeException {
+        Attribute oldAtt = getAttribute("constantToData");
+        if (oldAtt instanceof DoubleSTAttribute) {
+            // update existing attribute in place
+            ((DoubleSTAttribute) oldAtt).setCMLValue(value);
+            return;
+        }
         if (_att_constanttodata == null) {
             _att_constanttodata = (DoubleSTAttribute) attributeFactory.getAttribute("constantToData", "yaxis");
            if (_att_constanttodata == null) {
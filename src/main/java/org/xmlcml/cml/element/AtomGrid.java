@@ -0,0 +1,307 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
+
+/**
+ * <p>
+ * Cell list for finding atoms within a cutoff distance of each other.
+ * </p>
+ * <p>
+ * Atoms are sorted into cubic cells no smaller than the cutoff so that
+ * neighbours of an atom can only be in its own or the 26 surrounding
+ * cells. Finding all pairs is O(n) for atoms at normal densities rather
+ * than the O(n^2) of comparing every pair. Cells are made larger if the
+ * atoms are sparse so the number of cells does not greatly exceed the
+ * number of atoms.
+ * </p>
+ * <p>
+ * The grid is a snapshot of the 3D coordinates (x3, y3, z3) when it was
+ * made; atoms without 3D coordinates are omitted. Atoms are numbered in
+ * the order given (after omission).
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class AtomGrid {
+
+	/** max number of cells per atom.*/
+	private final static int CELLS_PER_ATOM = 8;
+
+	private final CMLAtom[] atoms;
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+	private final double cutoff;
+	private double cellSize;
+	private double xmin;
+	private double ymin;
+	private double zmin;
+	private int nx;
+	private int ny;
+	private int nz;
+	/** atoms in cell c are cellAtoms[cellStart[c]] .. cellAtoms[cellStart[c+1]-1] */
+	private int[] cellStart;
+	private int[] cellAtoms;
+	private int[] atomCell;
+
+	/**
+	 * grid of atoms with 3D coordinates.
+	 *
+	 * @param atomList
+	 * @param cutoff largest distance to be searched (must be positive)
+	 */
+	public AtomGrid(List<CMLAtom> atomList, double cutoff) {
+		List<CMLAtom> atoms3 = new ArrayList<CMLAtom>(atomList.size());
+		for (CMLAtom atom : atomList) {
+			if (atom.hasCoordinates(CoordinateType.CARTESIAN)) {
+				atoms3.add(atom);
+			}
+		}
+		atoms = atoms3.toArray(new CMLAtom[atoms3.size()]);
+		int n = atoms.length;
+		x = new double[n];
+		y = new double[n];
+		z = new double[n];
+		for (int i = 0; i < n; i++) {
+			x[i] = atoms[i].getX3();
+			y[i] = atoms[i].getY3();
+			z[i] = atoms[i].getZ3();
+		}
+		this.cutoff = cutoff;
+		makeCells();
+	}
+
+	/**
+	 * grid of points; getAtom() will return null.
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @param cutoff largest distance to be searched (must be positive)
+	 */
+	public AtomGrid(double[] x, double[] y, double[] z, double cutoff) {
+		if (x.length != y.length || x.length != z.length) {
+			throw new RuntimeException("coordinate arrays of different lengths: "+
+					x.length+", "+y.length+", "+z.length);
+		}
+		this.atoms = null;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.cutoff = cutoff;
+		makeCells();
+	}
+
+	private void makeCells() {
+		if (!(cutoff > 0.0)) {
+			throw new RuntimeException("cutoff must be positive: "+cutoff);
+		}
+		int n = x.length;
+		xmin = Double.MAX_VALUE;
+		ymin = Double.MAX_VALUE;
+		zmin = Double.MAX_VALUE;
+		double xmax = -Double.MAX_VALUE;
+		double ymax = -Double.MAX_VALUE;
+		double zmax = -Double.MAX_VALUE;
+		for (int i = 0; i < n; i++) {
+			if (!isFinite(x[i]) || !isFinite(y[i]) || !isFinite(z[i])) {
+				throw new RuntimeException("coordinate is not finite for point "+i);
+			}
+			xmin = Math.min(xmin, x[i]);
+			ymin = Math.min(ymin, y[i]);
+			zmin = Math.min(zmin, z[i]);
+			xmax = Math.max(xmax, x[i]);
+			ymax = Math.max(ymax, y[i]);
+			zmax = Math.max(zmax, z[i]);
+		}
+		cellSize = cutoff;
+		long maxCells = (long) CELLS_PER_ATOM * n + 1;
+		while (true) {
+			nx = (n == 0) ? 1 : getCellCount(xmax - xmin);
+			ny = (n == 0) ? 1 : getCellCount(ymax - ymin);
+			nz = (n == 0) ? 1 : getCellCount(zmax - zmin);
+			if ((double) nx * ny * nz <= maxCells) {
+				break;
+			}
+			cellSize *= 1.5;
+		}
+		int ncells = nx * ny * nz;
+		atomCell = new int[n];
+		cellStart = new int[ncells + 1];
+		for (int i = 0; i < n; i++) {
+			int c = getCell(cellIndex(x[i], xmin, nx),
+					cellIndex(y[i], ymin, ny), cellIndex(z[i], zmin, nz));
+			atomCell[i] = c;
+			cellStart[c + 1]++;
+		}
+		for (int c = 0; c < ncells; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		cellAtoms = new int[n];
+		int[] next = Arrays.copyOf(cellStart, ncells);
+		for (int i = 0; i < n; i++) {
+			cellAtoms[next[atomCell[i]]++] = i;
+		}
+	}
+
+	private static boolean isFinite(double d) {
+		return !Double.isNaN(d) && !Double.isInfinite(d);
+	}
+
+	/** cells of cellSize to cover range, at least 1.
+	 * range (and then cellSize) may overflow to infinity for extreme
+	 * coordinates; the count is then NaN and one cell is used.
+	 */
+	private int getCellCount(double range) {
+		double count = Math.floor(range / cellSize) + 1;
+		return (count > 1) ? (int) Math.min(Integer.MAX_VALUE, count) : 1;
+	}
+
+	private int cellIndex(double coord, double min, int ncell) {
+		int i = (int) ((coord - min) / cellSize);
+		return (i >= ncell) ? ncell - 1 : i;
+	}
+
+	private int getCell(int ix, int iy, int iz) {
+		return (iz * ny + iy) * nx + ix;
+	}
+
+	/** number of atoms (or points) in grid.
+	 *
+	 * @return count
+	 */
+	public int size() {
+		return x.length;
+	}
+
+	/** atom by index.
+	 *
+	 * @param i
+	 * @return atom or null if grid was made from coordinates
+	 */
+	public CMLAtom getAtom(int i) {
+		return (atoms == null) ? null : atoms[i];
+	}
+
+	/** cutoff.
+	 *
+	 * @return cutoff
+	 */
+	public double getCutoff() {
+		return cutoff;
+	}
+
+	/** distance between two atoms.
+	 *
+	 * @param i
+	 * @param j
+	 * @return distance
+	 */
+	public double getDistance(int i, int j) {
+		double dx = x[i] - x[j];
+		double dy = y[i] - y[j];
+		double dz = z[i] - z[j];
+		return Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+
+	/**
+	 * all pairs of atoms no further apart than the cutoff.
+	 * each pair is given once as i &lt; j; pairs are ordered by i then j.
+	 *
+	 * @return pairs as i0, j0, i1, j1 ...
+	 */
+	public int[] getPairs() {
+		int n = x.length;
+		double cutoff2 = cutoff * cutoff;
+		int[] pairs = new int[Math.max(16, 4 * n)];
+		int npairs = 0;
+		int[] found = new int[16];
+		for (int i = 0; i < n; i++) {
+			int nfound = 0;
+			int c = atomCell[i];
+			int ix = c % nx;
+			int iy = (c / nx) % ny;
+			int iz = c / (nx * ny);
+			for (int kz = Math.max(0, iz - 1); kz <= Math.min(nz - 1, iz + 1); kz++) {
+				for (int ky = Math.max(0, iy - 1); ky <= Math.min(ny - 1, iy + 1); ky++) {
+					for (int kx = Math.max(0, ix - 1); kx <= Math.min(nx - 1, ix + 1); kx++) {
+						int cell = getCell(kx, ky, kz);
+						for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+							int j = cellAtoms[k];
+							if (j <= i) {
+								continue;
+							}
+							double dx = x[i] - x[j];
+							double dy = y[i] - y[j];
+							double dz = z[i] - z[j];
+							if (dx * dx + dy * dy + dz * dz <= cutoff2) {
+								if (nfound == found.length) {
+									found = Arrays.copyOf(found, 2 * nfound);
+								}
+								found[nfound++] = j;
+							}
+						}
+					}
+				}
+			}
+			Arrays.sort(found, 0, nfound);
+			if (npairs + 2 * nfound > pairs.length) {
+				pairs = Arrays.copyOf(pairs, Math.max(2 * pairs.length, npairs + 2 * nfound));
+			}
+			for (int k = 0; k < nfound; k++) {
+				pairs[npairs++] = i;
+				pairs[npairs++] = found[k];
+			}
+		}
+		return Arrays.copyOf(pairs, npairs);
+	}
+
+	/**
+	 * all pairs by comparing every atom with every other.
+	 * for checking and comparison; same result as getPairs().
+	 *
+	 * @return pairs as i0, j0, i1, j1 ...
+	 */
+	public int[] getPairsPairwise() {
+		int n = x.length;
+		double cutoff2 = cutoff * cutoff;
+		int[] pairs = new int[Math.max(16, 4 * n)];
+		int npairs = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double dx = x[i] - x[j];
+				double dy = y[i] - y[j];
+				double dz = z[i] - z[j];
+				if (dx * dx + dy * dy + dz * dz <= cutoff2) {
+					if (npairs + 2 > pairs.length) {
+						pairs = Arrays.copyOf(pairs, 2 * pairs.length);
+					}
+					pairs[npairs++] = i;
+					pairs[npairs++] = j;
+				}
+			}
+		}
+		return Arrays.copyOf(pairs, npairs);
+	}
+}
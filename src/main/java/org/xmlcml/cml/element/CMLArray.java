@@ -16,6 +16,7 @@
 
 package org.xmlcml.cml.element;
 
+import java.lang.reflect.Array;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +35,7 @@ import org.xmlcml.cml.base.CMLAttribute;
 import org.xmlcml.cml.base.CMLConstants;
 import org.xmlcml.cml.base.CMLElement;
 import org.xmlcml.cml.base.CMLType;
+import org.xmlcml.cml.base.NumberScanner;
 import org.xmlcml.cml.interfacex.HasArraySize;
 import org.xmlcml.cml.interfacex.HasDataType;
 import org.xmlcml.cml.interfacex.HasDelimiter;
@@ -58,6 +60,26 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 	public final static String NS = C_E + TAG;
 	private DelimiterAttribute delimiterAttribute = null;
 
+	/** used when no delimiter attribute is present; never attached */
+	private final static DelimiterAttribute WHITESPACE_DELIMITER =
+		new DelimiterAttribute(S_SPACE);
+
+	/**
+	 * typed copy of content (double[], int[], boolean[] or String[]) with
+	 * spare capacity, or null if not yet known. Kept in step by the methods of
+	 * this class and discarded when children are changed; content must not be
+	 * edited through the Text children themselves.
+	 */
+	private Object buffer;
+	private int bufferSize;
+	/**
+	 * values appended since the XML content was last written, joined by the
+	 * delimiter; null if none. Written to the content by the first
+	 * getChildCount() or getChild().
+	 */
+	private StringBuilder pendingText;
+	private boolean writingContent;
+
 	/**
 	 * constructor.
 	 */
@@ -185,6 +207,113 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		return delimiterAttribute;
 	}
 
+	/**
+	 * set content. discards buffered and pending values.
+	 * 
+	 * @param value
+	 */
+	@Override
+	public void setXMLContent(String value) {
+		if (!writingContent) {
+			pendingText = null;
+			clearBuffer();
+		}
+		super.setXMLContent(value);
+	}
+
+	/**
+	 * override getChildCount. writes pending appended values first.
+	 * XOM reads content through this (toXML(), getValue(), copy(),
+	 * Serializer).
+	 * 
+	 * @return child count
+	 */
+	@Override
+	public int getChildCount() {
+		writeContent();
+		return super.getChildCount();
+	}
+
+	/**
+	 * override getChild. writes pending appended values first.
+	 * 
+	 * @param pos
+	 * @return child
+	 */
+	@Override
+	public Node getChild(int pos) {
+		writeContent();
+		return super.getChild(pos);
+	}
+
+	/**
+	 * override insertChild. discards buffered values.
+	 * 
+	 * @param newNode
+	 * @param pos
+	 */
+	@Override
+	public void insertChild(Node newNode, int pos) {
+		if (!writingContent) {
+			writeContent();
+			clearBuffer();
+		}
+		super.insertChild(newNode, pos);
+	}
+
+	/**
+	 * override removeChild. discards buffered values.
+	 * 
+	 * @param pos
+	 * @return removed node
+	 */
+	@Override
+	public Node removeChild(int pos) {
+		if (!writingContent) {
+			writeContent();
+			clearBuffer();
+		}
+		return super.removeChild(pos);
+	}
+
+	/**
+	 * override removeChild. discards buffered values.
+	 * 
+	 * @param child
+	 * @return removed node
+	 */
+	@Override
+	public Node removeChild(Node child) {
+		if (!writingContent) {
+			writeContent();
+			clearBuffer();
+		}
+		return super.removeChild(child);
+	}
+
+	/**
+	 * adds pending appended values to the XML content as a single text
+	 * child. buffered values are kept.
+	 */
+	private void writeContent() {
+		if (pendingText != null) {
+			String s = pendingText.toString();
+			pendingText = null;
+			writingContent = true;
+			try {
+				this.setXMLContent(getDelimiterOrWhitespace().appendXMLContent(
+						this.getXMLContent(), s));
+			} finally {
+				writingContent = false;
+			}
+		}
+	}
+
+	private DelimiterAttribute getDelimiterOrWhitespace() {
+		DelimiterAttribute delimiter = (DelimiterAttribute) this.getDelimiterAttribute();
+		return (delimiter == null) ? WHITESPACE_DELIMITER : delimiter;
+	}
+
 	// =========================== additional constructors
 	// ========================
 
@@ -440,7 +569,12 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 	public String[] getStrings() {
 		String[] ss = null;
 		if (this.getDataType().equals(XSD_STRING)) {
-			ss = getSplitContent();
+			if (buffer instanceof String[]) {
+				ss = Arrays.copyOf((String[]) buffer, bufferSize);
+			} else {
+				ss = getSplitContent();
+				setBuffer(ss.clone());
+			}
 		}
 		return ss;
 	}
@@ -479,6 +613,19 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		return ss;
 	}
 
+	/**
+	 * delimiter for NumberScanner. As getSplitContent() removes a whitespace
+	 * delimiter attribute.
+	 * 
+	 * @return delimiter character or NumberScanner.WHITESPACE
+	 */
+	private char getScannerDelimiter() {
+		DelimiterAttribute delimiter = (DelimiterAttribute) this.getDelimiterAttribute();
+		this.removeWhitespaceDelimiterAttribute();
+		return (delimiter == null) ? NumberScanner.WHITESPACE
+				: delimiter.getScannerDelimiter();
+	}
+
 	/**
 	 * get doubles.
 	 * 
@@ -490,11 +637,18 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		String dataType = this.getDataType();
 		if (dataType != null
 				&& XSD_BOOLEAN.equals(CMLType.getNormalizedValue(dataType))) {
-			String[] ss = getSplitContent();
-			dd = new boolean[ss.length];
-			for (int i = 0; i < dd.length; i++) {
-				dd[i] = new Boolean(ss[i]);
+			if (buffer instanceof boolean[]) {
+				return Arrays.copyOf((boolean[]) buffer, bufferSize);
+			}
+			dd = NumberScanner.parseBooleans(this.getValue(), getScannerDelimiter());
+			if (dd == null) {
+				String[] ss = getSplitContent();
+				dd = new boolean[ss.length];
+				for (int i = 0; i < dd.length; i++) {
+					dd[i] = new Boolean(ss[i]);
+				}
 			}
+			setBuffer(dd.clone());
 		}
 		return dd;
 	}
@@ -510,19 +664,26 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		String dataType = this.getDataType();
 		if (dataType != null
 				&& XSD_DOUBLE.equals(CMLType.getNormalizedValue(dataType))) {
-			String[] ss = getSplitContent();
-			dd = new double[ss.length];
-			for (int i = 0; i < dd.length; i++) {
-				try {
-					dd[i] = Util.parseFlexibleDouble(ss[i]);
-				} catch (NumberFormatException nfe) {
-					throw new RuntimeException("Bad double :" + ss[i]
-							+ " at position: " + i, nfe);
-				} catch (ParseException e) {
-					throw new RuntimeException("Bad double : " + ss[i]
-							+ "at position " + i, e);
+			if (buffer instanceof double[]) {
+				return Arrays.copyOf((double[]) buffer, bufferSize);
+			}
+			dd = NumberScanner.parseDoubles(this.getValue(), getScannerDelimiter());
+			if (dd == null) {
+				String[] ss = getSplitContent();
+				dd = new double[ss.length];
+				for (int i = 0; i < dd.length; i++) {
+					try {
+						dd[i] = Util.parseFlexibleDouble(ss[i]);
+					} catch (NumberFormatException nfe) {
+						throw new RuntimeException("Bad double :" + ss[i]
+								+ " at position: " + i, nfe);
+					} catch (ParseException e) {
+						throw new RuntimeException("Bad double : " + ss[i]
+								+ "at position " + i, e);
+					}
 				}
 			}
+			setBuffer(dd.clone());
 		}
 		return dd;
 	}
@@ -574,16 +735,23 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		int[] ii = null;
 		String dataType = this.getDataType();
 		if (XSD_INTEGER.equals(dataType)) {
-			String[] ss = getSplitContent();
-			ii = new int[ss.length];
-			for (int i = 0; i < ii.length; i++) {
-				try {
-					ii[i] = new Integer(ss[i]).intValue();
-				} catch (NumberFormatException nfe) {
-					throw new RuntimeException("Bad int (" + ss[i]
-							+ ") at position: " + i);
+			if (buffer instanceof int[]) {
+				return Arrays.copyOf((int[]) buffer, bufferSize);
+			}
+			ii = NumberScanner.parseInts(this.getValue(), getScannerDelimiter());
+			if (ii == null) {
+				String[] ss = getSplitContent();
+				ii = new int[ss.length];
+				for (int i = 0; i < ii.length; i++) {
+					try {
+						ii[i] = new Integer(ss[i]).intValue();
+					} catch (NumberFormatException nfe) {
+						throw new RuntimeException("Bad int (" + ss[i]
+								+ ") at position: " + i);
+					}
 				}
 			}
+			setBuffer(ii.clone());
 		}
 		return ii;
 	}
@@ -678,11 +846,13 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			delimiterAttribute.checkDelimiter(s);
 		}
 		setXMLContent(delimiterAttribute.getDelimitedXMLContent(array));
+		setBuffer(array.clone());
 		resetSize(array.length);
 		this.removeWhitespaceDelimiterAttribute();
 	}
 
 	private void resetDataType(String type) {
+		clearBuffer();
 		Attribute a = (this.getAttribute("dataType"));
 		if (a != null) {
 			this.removeAttribute(a);
@@ -692,6 +862,11 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 
 	private void resetSize(int size) {
 		Attribute a = (this.getAttribute("size"));
+		if (a != null && a == this.getAttribute(this.getAttributeCount() - 1)) {
+			// already last so can be updated in place
+			super.setSize(size);
+			return;
+		}
 		if (a != null) {
 			this.removeAttribute(a);
 		}
@@ -721,6 +896,7 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		resetDataType(XSD_BOOLEAN);
 		ensureDelimiterAttribute(Action.PRESERVE);
 		setXMLContent(delimiterAttribute.getDelimitedXMLContent(array));
+		setBuffer(array.clone());
 		resetSize(array.length);
 		this.removeWhitespaceDelimiterAttribute();
 	}
@@ -734,6 +910,7 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		resetDataType(XSD_DOUBLE);
 		ensureDelimiterAttribute(Action.PRESERVE);
 		setXMLContent(delimiterAttribute.getDelimitedXMLContent(array));
+		setBuffer(array.clone());
 		resetSize(array.length);
 		this.removeWhitespaceDelimiterAttribute();
 	}
@@ -747,6 +924,7 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		resetDataType(XSD_INTEGER);
 		ensureDelimiterAttribute(Action.PRESERVE);
 		setXMLContent(delimiterAttribute.getDelimitedXMLContent(array));
+		setBuffer(array.clone());
 		resetSize(array.length);
 		this.removeWhitespaceDelimiterAttribute();
 	}
@@ -760,6 +938,8 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 		int size = -1;
 		if (this.getSizeAttribute() != null) {
 			size = super.getSize();
+		} else if (buffer != null) {
+			size = bufferSize;
 		} else {
 			String[] array = this.getSplitContent();
 			size = array.length;
@@ -957,7 +1137,15 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			throw new RuntimeException("Cannot add string (" + s
 					+ ") to array of: " + dataType);
 		}
+		Object known = growBuffer(new String[0]);
+		int n = bufferSize;
 		appendXML(s, 1);
+		if (known != null && s.length() > 0 && s.trim().length() == s.length()) {
+			((String[]) known)[n] = s;
+			keepBuffer(known, n);
+		} else {
+			clearBuffer();
+		}
 	}
 
 	/**
@@ -974,7 +1162,13 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			throw new RuntimeException("Cannot add boolean to array of: "
 					+ dataType);
 		}
+		Object known = growBuffer(new boolean[0]);
+		int n = bufferSize;
 		appendXML(S_EMPTY + b, 1);
+		if (known != null) {
+			((boolean[]) known)[n] = b;
+			keepBuffer(known, n);
+		}
 	}
 
 	/**
@@ -991,7 +1185,13 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			throw new RuntimeException("Cannot add double to array of: "
 					+ dataType);
 		}
+		Object known = growBuffer(new double[0]);
+		int n = bufferSize;
 		appendXML(Double.toString(d), 1);
+		if (known != null) {
+			((double[]) known)[n] = d;
+			keepBuffer(known, n);
+		}
 	}
 
 	/**
@@ -1008,7 +1208,13 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			throw new RuntimeException("Cannot add int to array of: "
 					+ dataType);
 		}
+		Object known = growBuffer(new int[0]);
+		int n = bufferSize;
 		appendXML(S_EMPTY + i, 1);
+		if (known != null) {
+			((int[]) known)[n] = i;
+			keepBuffer(known, n);
+		}
 	}
 
 	public void append(CMLArray array) {
@@ -1035,22 +1241,80 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 			arrayString = arrayString.substring(1, arrayString.length() - 1);
 		}
 		appendXML(arrayString, array.getSize());
+		clearBuffer();
 	}
 
 	private void appendXML(String s, int toAdd) {
 		int size = (this.getSizeAttribute() == null) ? 0 : this.getSize();
-		ensureDelimiterAttribute(Action.PRESERVE);
+		DelimiterAttribute delimiter = getDelimiterOrWhitespace();
 		if (toAdd <= 1) {
-			delimiterAttribute.checkDelimiter(s);
+			delimiter.checkDelimiter(s);
+		}
+		if (s.length() > 0 && s.trim().length() == s.length()) {
+			if (pendingText == null) {
+				pendingText = new StringBuilder(s);
+			} else {
+				pendingText.append(delimiter.getConcat()).append(s);
+			}
+		} else {
+			// value needs the content to be normalized
+			String xmlContent = this.getXMLContent();
+			String delimitedContent = delimiter.appendXMLContent(
+					xmlContent, s);
+			this.setXMLContent(delimitedContent);
 		}
-		String xmlContent = this.getXMLContent();
-		String delimitedContent = delimiterAttribute.appendXMLContent(
-				xmlContent, s);
-		this.setXMLContent(delimitedContent);
 		resetSize(size + toAdd);
 		this.removeWhitespaceDelimiterAttribute();
 	}
 
+	/**
+	 * ensures buffer has room for one more value of the given type.
+	 * 
+	 * @param empty
+	 *            empty array of buffer type
+	 * @return the buffer or null if content is not held in buffer
+	 */
+	private Object growBuffer(Object empty) {
+		if (buffer == null && pendingText == null && super.getChildCount() == 0) {
+			buffer = empty;
+			bufferSize = 0;
+		}
+		if (buffer == null || buffer.getClass() != empty.getClass()) {
+			clearBuffer();
+			return null;
+		}
+		int capacity = Array.getLength(buffer);
+		if (bufferSize == capacity) {
+			Object newBuffer = Array.newInstance(empty.getClass()
+					.getComponentType(), Math.max(16, 2 * capacity));
+			System.arraycopy(buffer, 0, newBuffer, 0, bufferSize);
+			buffer = newBuffer;
+		}
+		return buffer;
+	}
+
+	/**
+	 * restores buffer (which may have been cleared by rewriting the content)
+	 * after a value has been stored at n.
+	 * 
+	 * @param known
+	 * @param n
+	 */
+	private void keepBuffer(Object known, int n) {
+		buffer = known;
+		bufferSize = n + 1;
+	}
+
+	private void setBuffer(Object array) {
+		buffer = array;
+		bufferSize = Array.getLength(array);
+	}
+
+	private void clearBuffer() {
+		buffer = null;
+		bufferSize = 0;
+	}
+
 	public void append(CMLScalar scalar) {
 		if (scalar != null) {
 			String dataType = this.getDataType();
@@ -1126,6 +1390,7 @@ public class CMLArray extends AbstractArray implements HasUnits, HasArraySize,
 					+ dataType);
 		}
 		appendXML(d.toString(), 1);
+		clearBuffer();
 	}
 
 	/**
@@ -56,6 +56,13 @@ public class CMLAtom extends AbstractAtom {
     List<CMLAtom> ligandAtoms = null;
     List<CMLBond> ligandBonds = null;
 
+    /** molecule which numbered this atom for CMLAtomSet bitsets; null if not yet numbered.
+     * never changes once set, even if the atom is moved.
+     */
+    CMLMolecule serialMolecule = null;
+    /** serial number of atom in serialMolecule */
+    int serial;
+
     /**
      * Construct a new CMLAtom element without id.
      */
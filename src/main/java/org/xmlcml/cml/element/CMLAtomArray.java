@@ -24,6 +24,7 @@ import java.util.Map;
 
 import nu.xom.Element;
 import nu.xom.Node;
+import nu.xom.Nodes;
 import nu.xom.ParentNode;
 
 import org.apache.log4j.Logger;
@@ -50,6 +51,15 @@ public class CMLAtomArray extends AbstractAtomArray {
     /** map of atom ids to atoms.*/
     Map<String, CMLAtom> atomMap;
 
+    /** child atoms in order; null when children have changed.*/
+    private CMLAtom[] atomCache;
+
+    /** index of each atom in atomCache; built on demand.*/
+    private Map<CMLAtom, Integer> atomIndexMap;
+
+    /** incremented whenever children are added or removed.*/
+    private int version;
+
     /**
      * constructor.
      */
@@ -178,7 +188,118 @@ public class CMLAtomArray extends AbstractAtomArray {
      * @return count
      */
     public int size() {
-        return this.getAtomElements().size();
+        return this.getAtomCache().length;
+    }
+
+    /** get atom by position.
+     *
+     * @param i index of atom
+     * @return atom or null if index is out of range
+     */
+    public CMLAtom getAtom(int i) {
+        CMLAtom[] atoms = this.getAtomCache();
+        return (i < 0 || i >= atoms.length) ? null : atoms[i];
+    }
+
+    /** get position of atom.
+     *
+     * @param atom
+     * @return index as in getAtoms() or -1 if atom is not a child
+     */
+    public int getAtomIndex(CMLAtom atom) {
+        Map<CMLAtom, Integer> indexMap = atomIndexMap;
+        if (indexMap == null) {
+            CMLAtom[] atoms = this.getAtomCache();
+            indexMap = new HashMap<CMLAtom, Integer>(2 * atoms.length);
+            for (int i = 0; i < atoms.length; i++) {
+                indexMap.put(atoms[i], i);
+            }
+            atomIndexMap = indexMap;
+        }
+        Integer index = indexMap.get(atom);
+        return (index == null) ? -1 : index.intValue();
+    }
+
+    /** number of times children have been added or removed.
+     *
+     * @return version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /** atoms in order.
+     * the array is shared and must not be altered; it is
+     * replaced (not changed) when children are added or removed.
+     *
+     * @return atoms
+     */
+    CMLAtom[] getAtomCache() {
+        CMLAtom[] atoms = atomCache;
+        if (atoms == null) {
+            CMLElements<CMLAtom> atomElements = this.getAtomElements();
+            atoms = new CMLAtom[atomElements.size()];
+            int i = 0;
+            for (CMLAtom atom : atomElements) {
+                atoms[i++] = atom;
+            }
+            atomCache = atoms;
+        }
+        return atoms;
+    }
+
+    /** discard cached atoms here and in the parent molecules.
+     */
+    private void childrenChanged() {
+        atomCache = null;
+        atomIndexMap = null;
+        version++;
+        ParentNode parent = this.getParent();
+        if (parent instanceof CMLMolecule) {
+            ((CMLMolecule) parent).atomsChanged();
+        }
+    }
+
+    /** insert child.
+     * overrides to keep cached atoms in step
+     * @param newNode
+     * @param pos
+     */
+    public void insertChild(Node newNode, int pos) {
+        super.insertChild(newNode, pos);
+        childrenChanged();
+    }
+
+    /** remove child.
+     * overrides to keep cached atoms in step
+     * @param pos
+     * @return removed node
+     */
+    public Node removeChild(int pos) {
+        Node node = super.removeChild(pos);
+        childrenChanged();
+        return node;
+    }
+
+    /** remove child.
+     * overrides to keep cached atoms in step
+     * @param child
+     * @return removed node
+     */
+    public Node removeChild(Node child) {
+        Node node = super.removeChild(child);
+        childrenChanged();
+        return node;
+    }
+
+    /** remove children.
+     * overrides to keep cached atoms in step
+     * @return removed nodes
+     */
+    public Nodes removeChildren() {
+        Nodes nodes = super.removeChildren();
+        childrenChanged();
+        return nodes;
     }
     
     /** sorts atomArray.
@@ -302,6 +423,42 @@ public class CMLAtomArray extends AbstractAtomArray {
         return atom;
     }
 
+    /**
+     * adds atoms at the end in one update.
+     * cached atoms are discarded once rather than for each atom.
+     *
+     * @param atoms to add
+     * @throws RuntimeException if an atom has no id, a duplicate id or
+     * already has a parent (no atoms are then added)
+     */
+    public void addAtoms(List<CMLAtom> atoms) {
+        Map<String, CMLAtom> newMap = new HashMap<String, CMLAtom>();
+        for (CMLAtom atom : atoms) {
+            String id = atom.getId();
+            if (id == null) {
+                throw new RuntimeException("Atom must have id");
+            }
+            ParentNode parent = atom.getParent();
+            if (parent != null && parent.equals(this)) {
+                throw new RuntimeException("atom already added");
+            }
+            if (parent != null) {
+                throw new RuntimeException("atom already has parent: "+id);
+            }
+            if ((atomMap != null && atomMap.containsKey(id)) || newMap.put(id, atom) != null) {
+                throw new RuntimeException("atom already in array: "+id);
+            }
+        }
+        try {
+            for (CMLAtom atom : atoms) {
+                super.insertChild(atom, this.getChildCount());
+                indexAtom(atom);
+            }
+        } finally {
+            childrenChanged();
+        }
+    }
+
     void indexAtom(CMLAtom atom) {
         if (atomMap == null) {
             atomMap = new HashMap<String, CMLAtom>();
@@ -330,6 +487,7 @@ public class CMLAtomArray extends AbstractAtomArray {
         CMLAtom deletedAtom = null;
         if (this.equals(atom.getParent())) {
             super.removeChild(atom);
+            childrenChanged();
             if (atomMap != null) {
                 atomMap.remove(atom.getId());
             }
@@ -454,12 +612,7 @@ public class CMLAtomArray extends AbstractAtomArray {
      * @return atoms
      */
     public List<CMLAtom> getAtoms() {
-        List<CMLAtom> atomList = new ArrayList<CMLAtom>();
-        CMLElements<CMLAtom> atoms = this.getAtomElements();
-        for (CMLAtom atom : atoms) {
-            atomList.add(atom);
-        }
-        return atomList;
+        return new ArrayList<CMLAtom>(Arrays.asList(this.getAtomCache()));
     }
 
     /** get atom by id.
@@ -499,6 +652,10 @@ public class CMLAtomArray extends AbstractAtomArray {
     public void setElementTypeAndCount(String[] elem, double[] count)
         throws RuntimeException {
         if (elem.length > 0 && count.length > 0) {
+            // replace the pair so elementType and count stay together
+            // (count would otherwise be updated in place)
+            this.removeAttribute("elementType");
+            this.removeAttribute("count");
             StringArraySTAttribute att = new StringArraySTAttribute("elementType");
             att.setCMLValue(elem);
             this.addAttribute(att);
@@ -17,8 +17,8 @@
 package org.xmlcml.cml.element;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +26,7 @@ import java.util.Set;
 
 import nu.xom.Element;
 import nu.xom.Node;
+import nu.xom.Nodes;
 
 import org.apache.log4j.Logger;
 import org.xmlcml.cml.base.CMLConstants;
@@ -37,7 +38,6 @@ import org.xmlcml.euclid.Real2;
 import org.xmlcml.euclid.Real3Range;
 import org.xmlcml.euclid.RealMatrix;
 import org.xmlcml.euclid.Transform2;
-import org.xmlcml.euclid.Util;
 import org.xmlcml.euclid.Vector3;
 import org.xmlcml.molutil.ChemicalElement.AS;
 
@@ -46,6 +46,18 @@ import org.xmlcml.molutil.ChemicalElement.AS;
  * autogenerated from schema use as
  * a shell which can be edited
  *
+ * <p>
+ * Membership is held in a BitSet indexed by atom serial numbers from the
+ * owning molecule (CMLMolecule.nextAtomSerial()) so set algebra between
+ * sets from the same molecule is done word by word. Sets containing atoms
+ * without a molecule, or from different molecules, fall back to a
+ * LinkedHashSet. Atoms are kept in order of addition.
+ * </p>
+ * <p>
+ * The XML content (atom ids) is not rewritten as atoms are added or
+ * removed; it is written when the content is next read, e.g. by
+ * getXMLContent(), getValue(), toXML(), copy() or serialization.
+ * </p>
  */
 public class CMLAtomSet extends AbstractAtomSet {
 
@@ -57,9 +69,28 @@ public class CMLAtomSet extends AbstractAtomSet {
     /** */
     public final static int MAX_DIST = 999999;
     protected CMLMolecule molecule;
-    protected LinkedHashSet<CMLAtom> set = new LinkedHashSet<CMLAtom>();
+    /** members if they are not all numbered by one molecule, else null */
+    protected LinkedHashSet<CMLAtom> set;
     protected Map<String, CMLAtom> idTable;
     protected boolean checkDuplicates = false;
+    /** atoms in order of addition; includes removed atoms until compacted */
+    private List<CMLAtom> atomList = new ArrayList<CMLAtom>();
+    /** number of removed atoms still in atomList */
+    private int removedCount;
+    /** members indexed by serial in serialMolecule; null if set is used */
+    private BitSet bits = new BitSet();
+    /** molecule which numbered the members; null until first member */
+    private CMLMolecule serialMolecule;
+    /** ids in the XML content which are not ids of members, e.g. from parsing */
+    private String[] foreignIds;
+    // flags are not initialized as they may be set while super() copies children
+    /** XML content has been altered other than by this class */
+    private boolean externalContent;
+    /** XML content must be rewritten from atomList before it is read */
+    private boolean contentStale;
+    /** XML content is being rewritten */
+    private boolean writingContent;
+
     /**
      * constructor.
      */
@@ -69,9 +100,16 @@ public class CMLAtomSet extends AbstractAtomSet {
     }
     
     private void init() {
-    	set = new LinkedHashSet<CMLAtom>();
+    	set = null;
+    	atomList = new ArrayList<CMLAtom>();
+    	removedCount = 0;
+    	bits = new BitSet();
+    	serialMolecule = null;
+    	foreignIds = null;
+    	contentStale = false;
     	idTable = new HashMap<String, CMLAtom>();
     	this.setXMLContent(S_EMPTY);
+    	externalContent = false;
     	this.setSize(0);
     }
 
@@ -82,7 +120,7 @@ public class CMLAtomSet extends AbstractAtomSet {
     public CMLAtomSet(CMLAtomSet old) {
         super(old);
         init();
-        for (CMLAtom atom : old.set) {
+        for (CMLAtom atom : old.getAtomList()) {
             this.addAtom(atom);
         }
     }
@@ -237,21 +275,19 @@ public class CMLAtomSet extends AbstractAtomSet {
         updateContent();
     }
 
-    /** update the string content and size attribute.
+    /** update the size attribute and mark the string content for rewriting.
      * only required for lazy addition of atoms.
      * most people won't use this.
      *
      */
     public void updateContent() {
-        String[] ids = this.getAtomIDs();
-        this.setXMLContent(ids);
-        this.setSize(ids.length);
+        contentChanged();
+        this.setSize(getContentSize());
     }
 
     /**
      * adds atom to set.
-     * SLOW. alters text content in XOM. Only use if adding single atoms
-     * for lists of atoms, use addAtoms()
+     * updates size attribute; text content is updated when next read.
      * @param atom
      *            to add
      */
@@ -266,17 +302,23 @@ public class CMLAtomSet extends AbstractAtomSet {
      * atomSet.update(); Use forceUpdate=false with care.
      * for lists of atoms, use addAtoms()
      * @param atom to add
-     * @param forceUpdate if true forces update of text content (QUADRATIC and SLOW)
+     * @param forceUpdate if true updates size attribute
      */
     public void addAtom(CMLAtom atom, boolean forceUpdate) {
-        if (atom != null && !set.contains(atom)) {
-            set.add(atom);
+        if (atom != null && !contains(atom)) {
+            contentChanged();
+            if (removedCount > 0) {
+                // atom may be in list as removed
+                compact();
+            }
+            addMember(atom);
+            atomList.add(atom);
             if (idTable == null) {
                 idTable = new HashMap<String, CMLAtom>();
             }
             idTable.put(atom.getId(), atom);
             if (forceUpdate) {
-            	addAtomId(atom.getId());
+            	this.setSize(getContentSize());
             }
         }
         if (molecule == null) {
@@ -291,24 +333,222 @@ public class CMLAtomSet extends AbstractAtomSet {
         }
     }
 
-    /** add atom id.
-     * SLOW: updates set content. Only use when adding a few single atoms
-     * else use addAtoms();
-     * @param id
-     * @param updateXOM if false do not update XML content (valuable when adding many atoms)
+    /** numbers atom from its molecule if not already numbered.
+     * @param atom
+     * @return molecule which numbered atom or null if atom has no molecule
+     */
+    private static CMLMolecule getSerialMolecule(CMLAtom atom) {
+        if (atom.serialMolecule == null) {
+            CMLMolecule mol = atom.getMolecule();
+            if (mol != null) {
+                atom.serial = mol.nextAtomSerial();
+                atom.serialMolecule = mol;
+            }
+        }
+        return atom.serialMolecule;
+    }
+
+    /** adds atom (not already a member) to bits or set.
+     * switches to set if atom is not numbered by serialMolecule.
+     * @param atom
+     */
+    private void addMember(CMLAtom atom) {
+        if (bits != null) {
+            CMLMolecule mol = getSerialMolecule(atom);
+            if (mol != null && bits.isEmpty()) {
+                serialMolecule = mol;
+            }
+            if (mol != null && mol == serialMolecule) {
+                bits.set(atom.serial);
+                return;
+            }
+            set = new LinkedHashSet<CMLAtom>(getAtomList());
+            bits = null;
+            serialMolecule = null;
+        }
+        set.add(atom);
+    }
+
+    /** removes member atom from bits or set.
+     * @param atom
+     */
+    private void removeMember(CMLAtom atom) {
+        if (bits != null) {
+            bits.clear(atom.serial);
+        } else {
+            set.remove(atom);
+        }
+        removedCount++;
+    }
+
+    /** are both sets numbered by the same molecule.
+     * @param atomSet2
+     * @return true if set algebra can use bits
+     */
+    private boolean hasSameNumbering(CMLAtomSet atomSet2) {
+        return bits != null && atomSet2.bits != null &&
+            (serialMolecule == atomSet2.serialMolecule ||
+                bits.isEmpty() || atomSet2.bits.isEmpty());
+    }
+
+    /** removes removed atoms from atomList.
+     */
+    private void compact() {
+        List<CMLAtom> newList = new ArrayList<CMLAtom>(atomList.size() - removedCount);
+        for (CMLAtom atom : atomList) {
+            if (contains(atom)) {
+                newList.add(atom);
+            }
+        }
+        atomList = newList;
+        removedCount = 0;
+    }
+
+    /** atoms in order.
+     * @return compacted atomList; not a copy
+     */
+    private List<CMLAtom> getAtomList() {
+        if (removedCount > 0) {
+            compact();
+        }
+        return atomList;
+    }
+
+    /** number of ids in content.
+     * @return size including foreign ids
+     */
+    private int getContentSize() {
+        return size() + ((foreignIds == null) ? 0 : foreignIds.length);
+    }
+
+    /** records that XML content must be rewritten.
+     * must be called before members change.
+     * if content was set from elsewhere, keeps any ids which are not
+     * ids of members.
      */
-    private void addAtomId(String id) {
-        String[] content = {};
-        int size = 0;
+    private void contentChanged() {
+        if (externalContent) {
+            externalContent = false;
+            foreignIds = null;
+            String value = this.getValue().trim();
+            if (value.length() > 0) {
+                List<String> foreign = new ArrayList<String>();
+                for (String id : value.split(S_WHITEREGEX)) {
+                    if (idTable == null || !idTable.containsKey(id)) {
+                        foreign.add(id);
+                    }
+                }
+                if (foreign.size() > 0) {
+                    foreignIds = foreign.toArray(new String[0]);
+                }
+            }
+        }
+        contentStale = true;
+    }
 
-        if (this.getSizeAttribute() != null) {
-            content = this.getXMLContent();
-            size = this.getSize();
+    /** rewrites XML content if atoms have changed since it was written.
+     */
+    private void writeContent() {
+        if (contentStale) {
+            contentStale = false;
+            writingContent = true;
+            try {
+                String[] ids = this.getAtomIDs();
+                if (foreignIds != null) {
+                    String[] allIds = new String[foreignIds.length + ids.length];
+                    System.arraycopy(foreignIds, 0, allIds, 0, foreignIds.length);
+                    System.arraycopy(ids, 0, allIds, foreignIds.length, ids.length);
+                    ids = allIds;
+                }
+                this.setXMLContent(ids);
+            } finally {
+                writingContent = false;
+            }
         }
+    }
 
-        this.setXMLContent(Util.addElementToStringArray(content, id));
-        this.setSize(size + 1);
+    /**
+     * override getChildCount. writes pending XML content first.
+     * XOM reads content through this (toXML(), getValue(), copy(),
+     * Serializer).
+     *
+     * @return child count
+     */
+    @Override
+    public int getChildCount() {
+        writeContent();
+        return super.getChildCount();
+    }
+
+    /**
+     * override getChild. writes pending XML content first.
+     *
+     * @param pos
+     * @return child
+     */
+    @Override
+    public Node getChild(int pos) {
+        writeContent();
+        return super.getChild(pos);
+    }
+
+    /**
+     * override insertChild. content no longer only reflects atoms.
+     *
+     * @param newNode
+     * @param pos
+     */
+    @Override
+    public void insertChild(Node newNode, int pos) {
+        if (!writingContent) {
+            writeContent();
+            externalContent = true;
+        }
+        super.insertChild(newNode, pos);
+    }
+
+    /**
+     * override removeChild. content no longer only reflects atoms.
+     *
+     * @param pos
+     * @return removed node
+     */
+    @Override
+    public Node removeChild(int pos) {
+        if (!writingContent) {
+            writeContent();
+            externalContent = true;
+        }
+        return super.removeChild(pos);
+    }
+
+    /**
+     * override removeChild. content no longer only reflects atoms.
+     *
+     * @param child
+     * @return removed node
+     */
+    @Override
+    public Node removeChild(Node child) {
+        if (!writingContent) {
+            writeContent();
+            externalContent = true;
+        }
+        return super.removeChild(child);
+    }
 
+    /**
+     * override removeChildren. discards any pending content.
+     *
+     * @return removed nodes
+     */
+    @Override
+    public Nodes removeChildren() {
+        if (!writingContent) {
+            contentStale = false;
+            externalContent = true;
+        }
+        return super.removeChildren();
     }
 
     /**
@@ -327,25 +567,17 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @return the atom
      */
     public CMLAtom getAtom(int i) {
-        List<CMLAtom> atomList = this.getAtoms();
-        return (atomList == null || i < 0 || i >= atomList.size()) ? null :
-            atomList.get(i);
+        List<CMLAtom> atomList = this.getAtomList();
+        return (i < 0 || i >= atomList.size()) ? null : atomList.get(i);
     }
 
     /**
      * gets all atoms in set.
      *
-     * (not cached - need synchronising with addAtom)
-     *
-     * @return the atoms
+     * @return copy of the atoms
      */
     public List<CMLAtom> getAtoms() {
-        List<CMLAtom> atoms = new ArrayList<CMLAtom>();
-
-        for (Iterator<CMLAtom> e = set.iterator(); e.hasNext();) {
-            atoms.add(e.next());
-        }
-        return atoms;
+        return new ArrayList<CMLAtom>(getAtomList());
     }
 
     /**
@@ -354,8 +586,7 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @return the size
      */
     public int size() {
-        // getAtoms();
-        return set.size();
+        return atomList.size() - removedCount;
     }
 
     /**
@@ -364,11 +595,11 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @return the atomIds
      */
     public String[] getAtomIDs() {
-
-        String[] atomIDs = new String[set.size()];
+        List<CMLAtom> atomList = this.getAtomList();
+        String[] atomIDs = new String[atomList.size()];
         int count = 0;
-        for (Iterator<CMLAtom> ii = set.iterator(); ii.hasNext();) {
-            atomIDs[count++] = ii.next().getId();
+        for (CMLAtom atom : atomList) {
+            atomIDs[count++] = atom.getId();
         }
         return atomIDs;
     }
@@ -444,7 +675,11 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @return true if contains atom
      */
     public boolean contains(CMLAtom atom) {
-        return set.contains(atom);
+        if (bits == null) {
+            return set.contains(atom);
+        }
+        return atom != null && serialMolecule != null &&
+            atom.serialMolecule == serialMolecule && bits.get(atom.serial);
     }
 
     /**
@@ -457,18 +692,16 @@ public class CMLAtomSet extends AbstractAtomSet {
      */
     public void removeAtom(CMLAtom atom) throws RuntimeException {
         if (atom != null) {
-            if (set.contains(atom)) {
+            if (contains(atom)) {
 //                throw new RuntimeException("atom not in set:" + atom.getId() + CMLConstants.S_COLON
 //                        + Util.concatenate(this.getXMLContent(), CMLConstants.S_SLASH));
+	            contentChanged();
 	            // remove from set
-	            set.remove(atom);
+	            removeMember(atom);
 	            // and from id table
 	            String id = atom.getId();
 	            idTable.remove(id);
-	            // and from XOM XMLContent
-	            String[] content = this.getXMLContent();
-	            content = Util.removeElementFromStringArray(content, id);
-	            this.setXMLContent(content);
+	            // XOM XMLContent is rewritten when read
 	            // and adjust size
 	            int c = this.getSize();
 	            this.setSize(c - 1);
@@ -770,7 +1003,10 @@ public class CMLAtomSet extends AbstractAtomSet {
      */
     public boolean hasContentEqualTo(CMLAtomSet otherAtomSet) {
         boolean result = false;
-        if (otherAtomSet != null && this.size() == otherAtomSet.size()) {
+        if (otherAtomSet != null && this.size() == otherAtomSet.size()
+                && hasSameNumbering(otherAtomSet)) {
+            result = bits.equals(otherAtomSet.bits);
+        } else if (otherAtomSet != null && this.size() == otherAtomSet.size()) {
             CMLAtomSet atomSet = this.complement(otherAtomSet);
             result = atomSet.size() == 0;
         }
@@ -887,6 +1123,11 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @throws RuntimeException
      */
     public CMLAtomSet intersection(CMLAtomSet atomSet2) throws RuntimeException {
+        if (hasSameNumbering(atomSet2)) {
+            BitSet newBits = (BitSet) bits.clone();
+            newBits.and(atomSet2.bits);
+            return createFromBits(newBits, this, null, false);
+        }
         CMLAtomSet newAtomSet = new CMLAtomSet();
 
         List<CMLAtom> atoms = this.getAtoms();
@@ -917,6 +1158,11 @@ public class CMLAtomSet extends AbstractAtomSet {
         if (atomSet2 == null) {
             return this;
         }
+        if (hasSameNumbering(atomSet2)) {
+            BitSet newBits = (BitSet) bits.clone();
+            newBits.andNot(atomSet2.bits);
+            return createFromBits(newBits, this, null, false);
+        }
         CMLAtomSet newAtomSet = new CMLAtomSet();
 
         List<CMLAtom> atoms = this.getAtoms();
@@ -943,6 +1189,11 @@ public class CMLAtomSet extends AbstractAtomSet {
      * @return atom set
      */
     public CMLAtomSet union(CMLAtomSet atomSet2) throws RuntimeException {
+        if (hasSameNumbering(atomSet2)) {
+            BitSet newBits = (BitSet) bits.clone();
+            newBits.or(atomSet2.bits);
+            return createFromBits(newBits, this, atomSet2, true);
+        }
         CMLAtomSet newAtomSet = new CMLAtomSet();
 
         List<CMLAtom> atoms = this.getAtoms();
@@ -969,6 +1220,11 @@ public class CMLAtomSet extends AbstractAtomSet {
      */
     public CMLAtomSet symmetricDifference(CMLAtomSet atomSet2)
             {
+        if (hasSameNumbering(atomSet2)) {
+            BitSet newBits = (BitSet) bits.clone();
+            newBits.xor(atomSet2.bits);
+            return createFromBits(newBits, this, atomSet2, false);
+        }
         CMLAtomSet newAtomSet = new CMLAtomSet();
 
         List<CMLAtom> atoms = this.getAtoms();
@@ -988,6 +1244,54 @@ public class CMLAtomSet extends AbstractAtomSet {
         return newAtomSet;
     }
 
+    /** creates result of set algebra from bits.
+     * atoms are taken in order from atomSet1 then atomSet2.
+     * @param newBits members; owned by the new set
+     * @param atomSet1
+     * @param atomSet2 may be null
+     * @param alwaysUpdate if false leaves an empty set without size
+     *     attribute (as if made by addAtom())
+     * @return new atomSet
+     */
+    private static CMLAtomSet createFromBits(BitSet newBits,
+            CMLAtomSet atomSet1, CMLAtomSet atomSet2, boolean alwaysUpdate) {
+        CMLAtomSet newAtomSet = new CMLAtomSet();
+        int size = newBits.cardinality();
+        List<CMLAtom> newList = new ArrayList<CMLAtom>(size);
+        Map<String, CMLAtom> newIdTable = new HashMap<String, CMLAtom>();
+        CMLAtomSet[] atomSets = {atomSet1, atomSet2};
+        for (CMLAtomSet atomSet : atomSets) {
+            if (atomSet == null || atomSet.bits.isEmpty()) {
+                continue;
+            }
+            for (CMLAtom atom : atomSet.getAtomList()) {
+                if (newList.size() == size) {
+                    break;
+                }
+                // clear bits as taken so atoms in both sets are taken once
+                if (newBits.get(atom.serial)) {
+                    newBits.clear(atom.serial);
+                    newList.add(atom);
+                    newIdTable.put(atom.getId(), atom);
+                }
+            }
+        }
+        for (CMLAtom atom : newList) {
+            newBits.set(atom.serial);
+        }
+        newAtomSet.atomList = newList;
+        newAtomSet.bits = newBits;
+        newAtomSet.idTable = newIdTable;
+        if (size > 0) {
+            newAtomSet.serialMolecule = newList.get(0).serialMolecule;
+            newAtomSet.molecule = newList.get(0).getMolecule();
+        }
+        if (size > 0 || alwaysUpdate) {
+            newAtomSet.updateContent();
+        }
+        return newAtomSet;
+    }
+
     /**
      * Returns intersection of this atomSet's atomIds with another's.
      *
@@ -1358,6 +1662,132 @@ public class CMLAtomSet extends AbstractAtomSet {
 
     }
 
+    /**
+     * optimal superposition onto another atomSet.
+     * atoms are paired by position in the sets. see Superposition.
+     *
+     * @param reference
+     *            atoms to superpose onto
+     * @return fit; its transform moves this onto reference
+     * @throws RuntimeException
+     *             different sizes or atoms without 3D coordinates
+     */
+    public Superposition.Fit fitTo(CMLAtomSet reference) {
+        List<CMLAtom> atoms = this.getAtoms();
+        List<CMLAtom> refAtoms = reference.getAtoms();
+        if (atoms.size() != refAtoms.size()) {
+            throw new RuntimeException("atomSets of different sizes: "
+                    + atoms.size() + ", " + refAtoms.size());
+        }
+        return fit(atoms, refAtoms);
+    }
+
+    /**
+     * optimal superposition onto another atomSet.
+     *
+     * @param reference
+     *            atoms to superpose onto
+     * @param pairs
+     *            index in this, index in reference, ...
+     * @return fit; its transform moves this onto reference
+     * @throws RuntimeException
+     *             bad pairs or atoms without 3D coordinates
+     */
+    public Superposition.Fit fitTo(CMLAtomSet reference, int[] pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new RuntimeException("pairs must have even length: " + pairs.length);
+        }
+        List<CMLAtom> atoms = this.getAtoms();
+        List<CMLAtom> refAtoms = reference.getAtoms();
+        List<CMLAtom> atoms0 = new ArrayList<CMLAtom>();
+        List<CMLAtom> atoms1 = new ArrayList<CMLAtom>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            atoms0.add(atoms.get(pairs[i]));
+            atoms1.add(refAtoms.get(pairs[i + 1]));
+        }
+        return fit(atoms0, atoms1);
+    }
+
+    /**
+     * optimal superposition onto another atomSet.
+     * atoms in this which are not in the map are ignored.
+     *
+     * @param reference
+     *            atoms to superpose onto
+     * @param map
+     *            links between atoms in this and reference
+     * @param toFrom
+     *            attribute for reference atom (as getMappedAtom())
+     * @return fit; its transform moves this onto reference
+     * @throws RuntimeException
+     *             mapped atom not in reference or atoms without 3D
+     *             coordinates
+     */
+    public Superposition.Fit fitTo(CMLAtomSet reference, CMLMap map,
+            Direction toFrom) {
+        List<CMLAtom> atoms0 = new ArrayList<CMLAtom>();
+        List<CMLAtom> atoms1 = new ArrayList<CMLAtom>();
+        for (CMLAtom atom : this.getAtoms()) {
+            String targetId = map.getRef(atom.getId(), toFrom);
+            if (targetId != null) {
+                CMLAtom targetAtom = reference.getAtomById(targetId);
+                if (targetAtom == null) {
+                    throw new RuntimeException("mapped atom not in reference: "
+                            + targetId);
+                }
+                atoms0.add(atom);
+                atoms1.add(targetAtom);
+            }
+        }
+        return fit(atoms0, atoms1);
+    }
+
+    /**
+     * optimal superposition of many atomSets onto one reference.
+     * atoms are paired by position in the sets. the reference is only
+     * centred once.
+     *
+     * @param atomSets
+     *            each the size of reference
+     * @param reference
+     *            atoms to superpose onto
+     * @param parallel
+     *            fit in several threads
+     * @return fits in order of atomSets
+     * @throws RuntimeException
+     *             different sizes or atoms without 3D coordinates
+     */
+    public static List<Superposition.Fit> fitAllTo(List<CMLAtomSet> atomSets,
+            CMLAtomSet reference, boolean parallel) {
+        double[][] ref = getCoordinateArrays(reference.getAtoms());
+        List<double[][]> coordinates = new ArrayList<double[][]>();
+        // XOM is not read in the worker threads
+        for (CMLAtomSet atomSet : atomSets) {
+            coordinates.add(getCoordinateArrays(atomSet.getAtoms()));
+        }
+        return new Superposition(ref[0], ref[1], ref[2]).fitAll(coordinates, parallel);
+    }
+
+    private static Superposition.Fit fit(List<CMLAtom> atoms, List<CMLAtom> refAtoms) {
+        double[][] xyz = getCoordinateArrays(atoms);
+        double[][] ref = getCoordinateArrays(refAtoms);
+        return new Superposition(ref[0], ref[1], ref[2]).fit(xyz[0], xyz[1], xyz[2]);
+    }
+
+    private static double[][] getCoordinateArrays(List<CMLAtom> atoms) {
+        double[][] xyz = new double[3][atoms.size()];
+        for (int i = 0; i < atoms.size(); i++) {
+            CMLAtom atom = atoms.get(i);
+            if (!atom.hasCoordinates(CoordinateType.CARTESIAN)) {
+                throw new RuntimeException("atom has no 3D coordinates: " + atom.getId());
+            }
+            xyz[0][i] = atom.getX3();
+            xyz[1][i] = atom.getY3();
+            xyz[2][i] = atom.getZ3();
+        }
+        return xyz;
+    }
+
     /**
      * remove any atoms which occur in Direction.FROM or Direction.TO links..
      * probably works with sets
@@ -17,12 +17,14 @@
 package org.xmlcml.cml.element;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import nu.xom.Element;
 import nu.xom.Node;
+import nu.xom.Nodes;
 import nu.xom.ParentNode;
 
 import org.apache.log4j.Logger;
@@ -58,6 +60,12 @@ public class CMLBondArray extends AbstractBondArray {
     Map<String, CMLBond> bondIdMap;
     /** map of atomRefs2 to bonds.*/
     Map<String, CMLBond> bondMap;
+    /** child bonds in order; null when children have changed.*/
+    private CMLBond[] bondCache;
+    /** index of each bond in bondCache; built on demand.*/
+    private Map<CMLBond, Integer> bondIndexMap;
+    /** incremented whenever children are added or removed.*/
+    private int version;
 
 //    static int count = 0;
     /**
@@ -133,7 +141,118 @@ public class CMLBondArray extends AbstractBondArray {
      * @return count
      */
     public int size() {
-        return this.getBondElements().size();
+        return this.getBondCache().length;
+    }
+
+    /** get bond by position.
+     *
+     * @param i index of bond
+     * @return bond or null if index is out of range
+     */
+    public CMLBond getBond(int i) {
+        CMLBond[] bonds = this.getBondCache();
+        return (i < 0 || i >= bonds.length) ? null : bonds[i];
+    }
+
+    /** get position of bond.
+     *
+     * @param bond
+     * @return index as in getBonds() or -1 if bond is not a child
+     */
+    public int getBondIndex(CMLBond bond) {
+        Map<CMLBond, Integer> indexMap = bondIndexMap;
+        if (indexMap == null) {
+            CMLBond[] bonds = this.getBondCache();
+            indexMap = new HashMap<CMLBond, Integer>(2 * bonds.length);
+            for (int i = 0; i < bonds.length; i++) {
+                indexMap.put(bonds[i], i);
+            }
+            bondIndexMap = indexMap;
+        }
+        Integer index = indexMap.get(bond);
+        return (index == null) ? -1 : index.intValue();
+    }
+
+    /** number of times children have been added or removed.
+     *
+     * @return version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /** bonds in order.
+     * the array is shared and must not be altered; it is
+     * replaced (not changed) when children are added or removed.
+     *
+     * @return bonds
+     */
+    CMLBond[] getBondCache() {
+        CMLBond[] bonds = bondCache;
+        if (bonds == null) {
+            CMLElements<CMLBond> bondElements = this.getBondElements();
+            bonds = new CMLBond[bondElements.size()];
+            int i = 0;
+            for (CMLBond bond : bondElements) {
+                bonds[i++] = bond;
+            }
+            bondCache = bonds;
+        }
+        return bonds;
+    }
+
+    /** discard cached bonds here and in the parent molecules.
+     */
+    private void childrenChanged() {
+        bondCache = null;
+        bondIndexMap = null;
+        version++;
+        ParentNode parent = this.getParent();
+        if (parent instanceof CMLMolecule) {
+            ((CMLMolecule) parent).bondsChanged();
+        }
+    }
+
+    /** insert child.
+     * overrides to keep cached bonds in step
+     * @param newNode
+     * @param pos
+     */
+    public void insertChild(Node newNode, int pos) {
+        super.insertChild(newNode, pos);
+        childrenChanged();
+    }
+
+    /** remove child.
+     * overrides to keep cached bonds in step
+     * @param pos
+     * @return removed node
+     */
+    public Node removeChild(int pos) {
+        Node node = super.removeChild(pos);
+        childrenChanged();
+        return node;
+    }
+
+    /** remove child.
+     * overrides to keep cached bonds in step
+     * @param child
+     * @return removed node
+     */
+    public Node removeChild(Node child) {
+        Node node = super.removeChild(child);
+        childrenChanged();
+        return node;
+    }
+
+    /** remove children.
+     * overrides to keep cached bonds in step
+     * @return removed nodes
+     */
+    public Nodes removeChildren() {
+        Nodes nodes = super.removeChildren();
+        childrenChanged();
+        return nodes;
     }
 
     /** adds a bond.
@@ -300,6 +419,7 @@ public class CMLBondArray extends AbstractBondArray {
                 ; // is this an error?
             }
             super.removeChild(bond);
+            childrenChanged();
             this.getBondMap().remove(CMLBond.atomHash(bond));
             this.getBondIdMap().remove(bond.getId());
         }
@@ -333,12 +453,7 @@ public class CMLBondArray extends AbstractBondArray {
      * @return bonds
      */
     public List<CMLBond> getBonds() {
-        List<CMLBond> bondList = new ArrayList<CMLBond>();
-        CMLElements<CMLBond> bonds = this.getBondElements();
-        for (CMLBond bond : bonds) {
-            bondList.add(bond);
-        }
-        return bondList;
+        return new ArrayList<CMLBond>(Arrays.asList(this.getBondCache()));
     }
 
     /** get bond by hash.
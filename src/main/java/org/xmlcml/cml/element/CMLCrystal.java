@@ -26,6 +26,7 @@ import nu.xom.Nodes;
 
 import org.xmlcml.cml.base.CMLConstants;
 import org.xmlcml.cml.base.CMLElement;
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
 import org.xmlcml.cml.base.CMLElements;
 import org.xmlcml.cml.element.CMLCellParameter.Type;
 import org.xmlcml.euclid.RealArray;
@@ -43,6 +44,23 @@ public class CMLCrystal extends AbstractCrystal {
 	/** namespaced element name.*/
 	public final static String NS = C_E+TAG;
 
+    /** orthogonalization and its inverse for the cell parameters in key.
+     * replaced (not changed) when the cell parameters change.
+     */
+    private static class Orthogonalization {
+        final String key;
+        final double[][] orth;
+        final double[][] deorth;
+
+        Orthogonalization(String key, double[][] orth, double[][] deorth) {
+            this.key = key;
+            this.orth = orth;
+            this.deorth = deorth;
+        }
+    }
+
+    private Orthogonalization orthogonalization;
+
    /**
      * crystal systems.
      */
@@ -262,14 +280,61 @@ public class CMLCrystal extends AbstractCrystal {
      * matrix has zeros above the diagonal: a*sin(beta)*sin(gamma*) 0.0 0.0
      * -a*sin(beta)*cos(gamma*) b*sin(alpha) 0.0 a*cos(beta) b*cos(alpha) c
      *
+     * the matrix is cached until the cell parameters change.
+     *
      * @return the orthogonalization matrix
      * @throws RuntimeException
      */
 
     public RealSquareMatrix getOrthogonalizationMatrix() {
-        double[] param = getCellParameterValues();
-        RealSquareMatrix orthMat = new RealSquareMatrix(3);
+        return new RealSquareMatrix(getOrthogonalization().orth);
+    }
+
+    /** get the inverse of the orthogonalization matrix.
+     * converts cartesian to fractional coordinates. cached with
+     * the orthogonalization matrix.
+     *
+     * @return the deorthogonalization matrix
+     * @throws RuntimeException
+     */
+    public RealSquareMatrix getDeorthogonalizationMatrix() {
+        return new RealSquareMatrix(getOrthogonalization().deorth);
+    }
+
+    /** cached orthogonalization, recalculated if the cell parameters have
+     * changed. the cell parameter children are compared as text which is
+     * much quicker than finding and parsing them.
+     */
+    private Orthogonalization getOrthogonalization() {
+        String key = getCellKey();
+        Orthogonalization orthog = orthogonalization;
+        if (orthog == null || !orthog.key.equals(key)) {
+            double[][] orth = createOrthogonalization(getCellParameterValues());
+            orthog = new Orthogonalization(key, orth, invertLowerTriangle(orth));
+            orthogonalization = orthog;
+        }
+        return orthog;
+    }
 
+    /** attributes and content of scalar and cellParameter children.
+     */
+    private String getCellKey() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < this.getChildCount(); i++) {
+            Node child = this.getChild(i);
+            if (child instanceof CMLScalar || child instanceof CMLCellParameter) {
+                Element element = (Element) child;
+                sb.append(element.getLocalName());
+                for (int j = 0; j < element.getAttributeCount(); j++) {
+                    sb.append(S_SPACE).append(element.getAttribute(j).getValue());
+                }
+                sb.append(S_SPACE).append(element.getValue()).append(S_NEWLINE);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double[][] createOrthogonalization(double[] param) {
         // Rollett "Computing Methods in Crystallography" Pergamon 1965 p.23
         double dtor = Math.PI / 180.0;
 
@@ -280,7 +345,7 @@ public class CMLCrystal extends AbstractCrystal {
         double cosg = Math.cos(dtor * param[5]);
         double cosgstar = (cosa * cosb - cosg) / (sina * sinb);
         double singstar = Math.sqrt(1.0 - cosgstar * cosgstar);
-        double[][] flmat = orthMat.getMatrix();
+        double[][] flmat = new double[3][3];
         flmat[0][0] = param[0] * sinb * singstar;
         flmat[0][1] = 0.0;
         flmat[0][2] = 0.0;
@@ -290,7 +355,147 @@ public class CMLCrystal extends AbstractCrystal {
         flmat[2][0] = param[0] * cosb;
         flmat[2][1] = param[1] * cosa;
         flmat[2][2] = param[2];
-        return orthMat;
+        return flmat;
+    }
+
+    private static double[][] invertLowerTriangle(double[][] m) {
+        double[][] inv = new double[3][3];
+        inv[0][0] = 1.0 / m[0][0];
+        inv[1][1] = 1.0 / m[1][1];
+        inv[2][2] = 1.0 / m[2][2];
+        inv[1][0] = -m[1][0] / (m[0][0] * m[1][1]);
+        inv[2][1] = -m[2][1] / (m[1][1] * m[2][2]);
+        inv[2][0] = (m[1][0] * m[2][1] - m[1][1] * m[2][0]) / (m[0][0] * m[1][1] * m[2][2]);
+        return inv;
+    }
+
+    /** converts fractional to cartesian coordinates.
+     * output arrays may be the same as the input arrays.
+     *
+     * @param xFract
+     * @param yFract
+     * @param zFract
+     * @param x3 filled with cartesian x
+     * @param y3 filled with cartesian y
+     * @param z3 filled with cartesian z
+     * @throws RuntimeException if arrays are of different lengths
+     */
+    public void fractionalToCartesian(double[] xFract, double[] yFract, double[] zFract,
+            double[] x3, double[] y3, double[] z3) {
+        transform(getOrthogonalization().orth, xFract, yFract, zFract, x3, y3, z3);
+    }
+
+    /** converts cartesian to fractional coordinates.
+     * output arrays may be the same as the input arrays.
+     *
+     * @param x3
+     * @param y3
+     * @param z3
+     * @param xFract filled with fractional x
+     * @param yFract filled with fractional y
+     * @param zFract filled with fractional z
+     * @throws RuntimeException if arrays are of different lengths
+     */
+    public void cartesianToFractional(double[] x3, double[] y3, double[] z3,
+            double[] xFract, double[] yFract, double[] zFract) {
+        transform(getOrthogonalization().deorth, x3, y3, z3, xFract, yFract, zFract);
+    }
+
+    private static void transform(double[][] m, double[] x, double[] y, double[] z,
+            double[] xx, double[] yy, double[] zz) {
+        int n = x.length;
+        if (y.length != n || z.length != n || xx.length != n || yy.length != n || zz.length != n) {
+            throw new RuntimeException("coordinate arrays of different lengths");
+        }
+        double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+        double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+        double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+        for (int i = 0; i < n; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            double zi = z[i];
+            xx[i] = m00 * xi + m01 * yi + m02 * zi;
+            yy[i] = m10 * xi + m11 * yi + m12 * zi;
+            zz[i] = m20 * xi + m21 * yi + m22 * zi;
+        }
+    }
+
+    /** sets x3, y3, z3 of atoms from their fractional coordinates.
+     * atoms without fractional coordinates are skipped.
+     *
+     * @param atomSet
+     * @return number of atoms converted
+     */
+    public int fractionalToCartesian(CMLAtomSet atomSet) {
+        return convert(atomSet.getAtoms(), true);
+    }
+
+    /** sets x3, y3, z3 of atoms from their fractional coordinates.
+     * atoms without fractional coordinates are skipped.
+     *
+     * @param molecule (including child molecules)
+     * @return number of atoms converted
+     */
+    public int fractionalToCartesian(CMLMolecule molecule) {
+        return convert(molecule.getAtoms(), true);
+    }
+
+    /** sets xFract, yFract, zFract of atoms from their cartesian coordinates.
+     * atoms without cartesian coordinates are skipped.
+     *
+     * @param atomSet
+     * @return number of atoms converted
+     */
+    public int cartesianToFractional(CMLAtomSet atomSet) {
+        return convert(atomSet.getAtoms(), false);
+    }
+
+    /** sets xFract, yFract, zFract of atoms from their cartesian coordinates.
+     * atoms without cartesian coordinates are skipped.
+     *
+     * @param molecule (including child molecules)
+     * @return number of atoms converted
+     */
+    public int cartesianToFractional(CMLMolecule molecule) {
+        return convert(molecule.getAtoms(), false);
+    }
+
+    private int convert(List<CMLAtom> atomList, boolean toCartesian) {
+        CoordinateType type = (toCartesian) ? CoordinateType.FRACTIONAL : CoordinateType.CARTESIAN;
+        List<CMLAtom> atoms = new ArrayList<CMLAtom>(atomList.size());
+        for (CMLAtom atom : atomList) {
+            if (atom.hasCoordinates(type)) {
+                atoms.add(atom);
+            }
+        }
+        int n = atoms.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double[] z = new double[n];
+        for (int i = 0; i < n; i++) {
+            CMLAtom atom = atoms.get(i);
+            x[i] = (toCartesian) ? atom.getXFract() : atom.getX3();
+            y[i] = (toCartesian) ? atom.getYFract() : atom.getY3();
+            z[i] = (toCartesian) ? atom.getZFract() : atom.getZ3();
+        }
+        if (toCartesian) {
+            fractionalToCartesian(x, y, z, x, y, z);
+        } else {
+            cartesianToFractional(x, y, z, x, y, z);
+        }
+        for (int i = 0; i < n; i++) {
+            CMLAtom atom = atoms.get(i);
+            if (toCartesian) {
+                atom.setX3(x[i]);
+                atom.setY3(y[i]);
+                atom.setZ3(z[i]);
+            } else {
+                atom.setXFract(x[i]);
+                atom.setYFract(y[i]);
+                atom.setZFract(z[i]);
+            }
+        }
+        return n;
     }
 
     /**
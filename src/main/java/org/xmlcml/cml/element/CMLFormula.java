@@ -252,67 +252,11 @@ public class CMLFormula extends AbstractFormula {
 	 */
 	public CMLFormula(CMLMolecule molecule) {
 		init();
-		int formalCharge = 0;
-		// iterate through atoms adding elements, occupancies and charges
-
-//		HydrogenStrategy strategy = null;
-		for (CMLAtom atom : molecule.getAtoms()) {
-			double occupancy = 1.0;
-			if (atom.getOccupancyAttribute() != null) {
-				occupancy = atom.getOccupancy();
-			}
-			if (occupancy <= 0.0) {
-				throw new RuntimeException("zero or negative occupancy: " + occupancy);
-			}
-			String elementType = atom.getElementType();
-			if (elementType == null
-					|| ChemicalElement.getChemicalElement(elementType) == null) {
-				throw new RuntimeException(
-						"Missing or invalid elementType for atom : "+atom.getId()+" .. "
-						+ elementType);
-			}
-//			if (AS.H.equals(elementType) && strategy == null) {
-//				strategy = HydrogenStrategy.EXPLICIT_HYDROGENS;
-//			}
-			if (!AS.H.equals(elementType) ) {
-//				HydrogenStrategy.EXPLICIT_HYDROGENS == strategy) {
-					this.add(elementType, 1.0);
-	//			}
-				
-				if (atom.getFormalChargeAttribute() != null) {
-					formalCharge += atom.getFormalCharge();
-				}
-	
-				int hydrogenCount = atom.getHydrogenCount();
-				if (hydrogenCount > 0) {
-					this.add(AS.H.value, hydrogenCount);
-				}
-			}
-			else {
-				// only count a H if it is not bonded to non-hydrogens
-				List<CMLAtom> oatoms = atom.getLigandAtoms();
-				boolean countit = true;
-				for (CMLAtom chk : oatoms) {
-					String ctype = chk.getElementType();
-					if ( !AS.H.equals(ctype)) {
-						countit = false;
-					}
-				}
-				if ( countit ) {
-					this.add(AS.H.value, 1.0);
-					if (atom.getFormalChargeAttribute() != null) {
-						formalCharge += atom.getFormalCharge();
-					}
-				}
-			}
-		}
-		// has the molecule a net computed charge?
-		if (formalCharge != Integer.MIN_VALUE) {
-			this.setFormalCharge(formalCharge);
-		} else if (molecule.getFormalChargeAttribute() != null) {
-			this.setFormalCharge(molecule.getFormalCharge());
-		}
-		
+		// counts are accumulated before the atomArray is written
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		accumulator.addMolecule(molecule);
+		accumulator.setFormula(this);
+		this.setFormalCharge(accumulator.getFormalCharge());
 	}
 
 	/**
@@ -627,6 +571,23 @@ public class CMLFormula extends AbstractFormula {
 		super.appendChild(atomArray);
 	}
 
+	/** sets atomArray and concise from elements already in CHFIRST order.
+	 * used by FormulaAccumulator; does not re-read or sort the atomArray.
+	 *
+	 * @param elementTypes
+	 * @param counts
+	 * @param formalCharge set if non-zero
+	 */
+	void setElementTypesAndCounts(String[] elementTypes, double[] counts, int formalCharge) {
+		CMLAtomArray atomArray = new CMLAtomArray();
+		atomArray.setElementTypeAndCount(elementTypes, counts);
+		setAtomArray(atomArray);
+		if (formalCharge != 0) {
+			super.setFormalCharge(formalCharge);
+		}
+		super.setConcise(atomArray.generateConcise(formalCharge));
+	}
+
 	/**
 	 * checks that atomArray is in array format with unduplicated valid
 	 * elements. must have elementType and count attributes of equal lengths.
@@ -1828,6 +1789,30 @@ public class CMLFormula extends AbstractFormula {
 		return getCount() * mwt;
 	}
 
+	/**
+	 * get isotope pattern with default resolution and threshold.
+	 *
+	 * @return pattern
+	 * @throws RuntimeException non-integer counts or element without isotopes
+	 */
+	public IsotopePattern getIsotopePattern() {
+		return new IsotopePattern(this);
+	}
+
+	/**
+	 * get isotope pattern.
+	 * pattern.createSpectrum() gives a mass spectrum for comparison with
+	 * measured spectra.
+	 *
+	 * @param resolution width of mass bins (1.0 gives nominal masses)
+	 * @param threshold peaks less than threshold times the largest are dropped
+	 * @return pattern
+	 * @throws RuntimeException non-integer counts or element without isotopes
+	 */
+	public IsotopePattern getIsotopePattern(double resolution, double threshold) {
+		return new IsotopePattern(this, resolution, threshold);
+	}
+
 	/**
 	 * get mass for elementType.
 	 *
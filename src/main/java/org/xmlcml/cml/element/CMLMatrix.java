@@ -23,6 +23,7 @@ import org.xmlcml.cml.attribute.DelimiterAttribute;
 import org.xmlcml.cml.attribute.NamespaceRefAttribute;
 import org.xmlcml.cml.base.CMLElement;
 import org.xmlcml.cml.base.CMLType;
+import org.xmlcml.cml.base.NumberScanner;
 import org.xmlcml.cml.interfacex.HasDataType;
 import org.xmlcml.cml.interfacex.HasDelimiter;
 import org.xmlcml.cml.interfacex.HasDictRef;
@@ -500,7 +501,11 @@ public class CMLMatrix extends AbstractMatrix
     public double[] getDoubleArray() {
         double[] dd = null;
         if (this.getDataType().equals(XSD_DOUBLE) || this.getDataType().equals(FPX_REAL)) {
-            dd = Util.splitToDoubleArray(this.getXMLContent(), S_WHITEREGEX);
+            String content = this.getXMLContent();
+            dd = NumberScanner.parseDoubles(content, NumberScanner.WHITESPACE);
+            if (dd == null) {
+                dd = Util.splitToDoubleArray(content, S_WHITEREGEX);
+            }
         }
         return dd;
     }
@@ -514,7 +519,11 @@ public class CMLMatrix extends AbstractMatrix
         int[] ii = null;
         if (XSD_INTEGER.equals(this.getDataType())) {
             try {
-                ii = Util.splitToIntArray(this.getXMLContent(), S_WHITEREGEX);
+                String content = this.getXMLContent();
+                ii = NumberScanner.parseInts(content, NumberScanner.WHITESPACE);
+                if (ii == null) {
+                    ii = Util.splitToIntArray(content, S_WHITEREGEX);
+                }
             } catch (EuclidRuntimeException e) {
                 throw new RuntimeException("bug " + e);
             }
@@ -17,6 +17,7 @@
 package org.xmlcml.cml.element;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,6 +31,7 @@ import nu.xom.Element;
 import nu.xom.Elements;
 import nu.xom.Node;
 import nu.xom.Nodes;
+import nu.xom.ParentNode;
 
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
@@ -40,6 +42,7 @@ import org.xmlcml.cml.base.CMLElements;
 import org.xmlcml.cml.base.CMLUtil;
 import org.xmlcml.euclid.Real2;
 import org.xmlcml.euclid.Real2Vector;
+import org.xmlcml.molutil.ChemicalElement;
 
 /**
  * Class representing the CML molecule element, this class can be used to
@@ -85,6 +88,10 @@ public class CMLMolecule
 	/** 3-d coordinates. */
 	public final static String D3 = "3D";
 
+	/** attributes not copied to symmetry images of atoms. */
+	private final static Set<String> IMAGE_SKIPPED_ATTRIBUTES = new HashSet<String>(
+			Arrays.asList(new String[] {"id", "x3", "y3", "z3", "xFract", "yFract", "zFract"}));
+
 //	/** default single or LH R group.
 //	*/
 //	public final static String R1 = "defr1";
@@ -160,6 +167,39 @@ public class CMLMolecule
 	 */
 	Map<CMLAtom, CMLMolecule> atomChildMoleculeMap = null;
 
+	/** number of atoms numbered by nextAtomSerial().
+	 */
+	private int atomSerialCount = 0;
+
+	/** next serial number for atoms in this molecule.
+	 * serials index CMLAtomSet bitsets; they are never reused so are
+	 * unaffected by removal of other atoms.
+	 * @return serial
+	 */
+	int nextAtomSerial() {
+		return atomSerialCount++;
+	}
+
+	/** atoms of molecule or child molecules in order; null when out of date.
+	 */
+	private CMLAtom[] atomCache;
+
+	/** index of each atom in atomCache; built on demand.
+	 */
+	private Map<CMLAtom, Integer> atomIndexMap;
+
+	/** bonds of molecule or child molecules in order; null when out of date.
+	 */
+	private CMLBond[] bondCache;
+
+	/** index of each bond in bondCache; built on demand.
+	 */
+	private Map<CMLBond, Integer> bondIndexMap;
+
+	/** incremented whenever atoms or bonds are added or removed.
+	 */
+	private int version;
+
 	// =========================== main constructors ========================
 
 	/**
@@ -320,6 +360,7 @@ public class CMLMolecule
 			(atomArrays.size() == 0) ? null : atomArrays.get(0);
 		if (atomArray != null) {
 			super.removeChild(atomArray);
+			atomsChanged();
 			this.removeBondArray();
 		}
 	}
@@ -344,6 +385,7 @@ public class CMLMolecule
 			(bondArrays.size() == 0) ? null : bondArrays.get(0);
 		if (bondArray != null) {
 			super.removeChild(bondArray);
+			bondsChanged();
 		}
 	}
 
@@ -706,8 +748,207 @@ public class CMLMolecule
 	 *
 	 */
 	public CMLAtom getAtom(int i) {
-		List<CMLAtom> atoms = this.getAtoms();
-		return (i < 0 || i >= atoms.size()) ? null : atoms.get(i);
+		CMLAtom[] atoms = this.getAtomCache();
+		return (i < 0 || i >= atoms.length) ? null : atoms[i];
+	}
+
+	/**
+	 * gets position of atom.
+	 *
+	 * @param atom
+	 * @return index as in getAtoms() or -1 if not in molecule
+	 */
+	public int getAtomIndex(CMLAtom atom) {
+		Map<CMLAtom, Integer> indexMap = atomIndexMap;
+		if (indexMap == null) {
+			CMLAtom[] atoms = this.getAtomCache();
+			indexMap = new HashMap<CMLAtom, Integer>(2 * atoms.length);
+			for (int i = 0; i < atoms.length; i++) {
+				indexMap.put(atoms[i], i);
+			}
+			atomIndexMap = indexMap;
+		}
+		Integer index = indexMap.get(atom);
+		return (index == null) ? -1 : index.intValue();
+	}
+
+	/**
+	 * Convenience method for accessing i'th CMLBond.
+	 *
+	 * @param i
+	 *            the index of the bond to access
+	 * @return the bond, or null if index is out of bounds.
+	 */
+	public CMLBond getBond(int i) {
+		CMLBond[] bonds = this.getBondCache();
+		return (i < 0 || i >= bonds.length) ? null : bonds[i];
+	}
+
+	/**
+	 * gets position of bond.
+	 *
+	 * @param bond
+	 * @return index as in getBonds() or -1 if not in molecule
+	 */
+	public int getBondIndex(CMLBond bond) {
+		Map<CMLBond, Integer> indexMap = bondIndexMap;
+		if (indexMap == null) {
+			CMLBond[] bonds = this.getBondCache();
+			indexMap = new HashMap<CMLBond, Integer>(2 * bonds.length);
+			for (int i = 0; i < bonds.length; i++) {
+				indexMap.put(bonds[i], i);
+			}
+			bondIndexMap = indexMap;
+		}
+		Integer index = indexMap.get(bond);
+		return (index == null) ? -1 : index.intValue();
+	}
+
+	/**
+	 * number of times atoms or bonds have been added to or removed from
+	 * this molecule or its child molecules. Data derived from the atoms
+	 * and bonds is out of date if the version has changed.
+	 *
+	 * @return version
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/** atoms in order.
+	 * the array is shared and must not be altered; it is
+	 * replaced (not changed) when atoms are added or removed.
+	 *
+	 * @return atoms
+	 */
+	CMLAtom[] getAtomCache() {
+		CMLAtom[] atoms = atomCache;
+		if (atoms == null) {
+			List<CMLMolecule> molecules = this.getDescendantsOrMolecule();
+			if (molecules.size() == 1) {
+				CMLAtomArray atomArray = molecules.get(0).getAtomArray();
+				atoms = (atomArray == null) ? new CMLAtom[0] : atomArray.getAtomCache();
+			} else {
+				List<CMLAtom> atomList = new ArrayList<CMLAtom>();
+				for (CMLMolecule molecule : molecules) {
+					CMLAtomArray atomArray = molecule.getAtomArray();
+					if (atomArray != null) {
+						atomList.addAll(Arrays.asList(atomArray.getAtomCache()));
+					}
+				}
+				atoms = atomList.toArray(new CMLAtom[atomList.size()]);
+			}
+			atomCache = atoms;
+		}
+		return atoms;
+	}
+
+	/** bonds in order.
+	 * the array is shared and must not be altered; it is
+	 * replaced (not changed) when bonds are added or removed.
+	 *
+	 * @return bonds
+	 */
+	CMLBond[] getBondCache() {
+		CMLBond[] bonds = bondCache;
+		if (bonds == null) {
+			List<CMLMolecule> molecules = this.getDescendantsOrMolecule();
+			if (molecules.size() == 1) {
+				CMLBondArray bondArray = molecules.get(0).getBondArray();
+				bonds = (bondArray == null) ? new CMLBond[0] : bondArray.getBondCache();
+			} else {
+				List<CMLBond> bondList = new ArrayList<CMLBond>();
+				for (CMLMolecule molecule : molecules) {
+					CMLBondArray bondArray = molecule.getBondArray();
+					if (bondArray != null) {
+						bondList.addAll(Arrays.asList(bondArray.getBondCache()));
+					}
+				}
+				bonds = bondList.toArray(new CMLBond[bondList.size()]);
+			}
+			bondCache = bonds;
+		}
+		return bonds;
+	}
+
+	/** discard cached atoms here and in parent molecules.
+	 * called when atoms are added or removed
+	 */
+	void atomsChanged() {
+		atomCache = null;
+		atomIndexMap = null;
+		version++;
+		ParentNode parent = this.getParent();
+		if (parent instanceof CMLMolecule) {
+			((CMLMolecule) parent).atomsChanged();
+		}
+	}
+
+	/** discard cached bonds here and in parent molecules.
+	 * called when bonds are added or removed
+	 */
+	void bondsChanged() {
+		bondCache = null;
+		bondIndexMap = null;
+		version++;
+		ParentNode parent = this.getParent();
+		if (parent instanceof CMLMolecule) {
+			((CMLMolecule) parent).bondsChanged();
+		}
+	}
+
+	private void childChanged(Node node) {
+		if (node instanceof CMLAtomArray) {
+			atomsChanged();
+		} else if (node instanceof CMLBondArray) {
+			bondsChanged();
+		} else if (node instanceof CMLMolecule) {
+			atomsChanged();
+			bondsChanged();
+		}
+	}
+
+	/** insert child.
+	 * overrides to keep cached atoms and bonds in step
+	 * @param newNode
+	 * @param pos
+	 */
+	public void insertChild(Node newNode, int pos) {
+		super.insertChild(newNode, pos);
+		childChanged(newNode);
+	}
+
+	/** remove child.
+	 * overrides to keep cached atoms and bonds in step
+	 * @param pos
+	 * @return removed node
+	 */
+	public Node removeChild(int pos) {
+		Node node = super.removeChild(pos);
+		childChanged(node);
+		return node;
+	}
+
+	/** remove child.
+	 * overrides to keep cached atoms and bonds in step
+	 * @param child
+	 * @return removed node
+	 */
+	public Node removeChild(Node child) {
+		Node node = super.removeChild(child);
+		childChanged(node);
+		return node;
+	}
+
+	/** remove children.
+	 * overrides to keep cached atoms and bonds in step
+	 * @return removed nodes
+	 */
+	public Nodes removeChildren() {
+		Nodes nodes = super.removeChildren();
+		atomsChanged();
+		bondsChanged();
+		return nodes;
 	}
 
 	/**
@@ -777,8 +1018,7 @@ public class CMLMolecule
 			// use atomArray first in case there are child molecules
 			if (atomArray != null) {
 				// crude check for update index
-				if (atomArray.atomMap.size() !=
-					atomArray.getAtomElements().size()) {
+				if (atomArray.atomMap.size() != atomArray.size()) {
 					atomArray.indexAtoms();
 				}
 				atom = atomArray.getAtomById(id);
@@ -889,9 +1129,15 @@ public class CMLMolecule
 	public Map<CMLAtom, CMLAtom> getCloseContacts() {
 		Map<CMLAtom, CMLAtom> contactMap = new HashMap<CMLAtom, CMLAtom>();
 		for (CMLAtom atom : this.getAtoms()) {
-			for (CMLAtom ligand : atom.getLigandAtoms()) {
+			List<CMLAtom> ligands = atom.getLigandAtoms();
+			if (ligands.size() == 0) {
+				continue;
+			}
+			// look up element once per atom rather than once per bond
+			double atomRadius = atom.getChemicalElement().getCovalentRadius();
+			for (CMLAtom ligand : ligands) {
 				if (!contactMap.containsKey(ligand)) {
-					double valenceDist = atom.getChemicalElement().getCovalentRadius()+ligand.getChemicalElement().getCovalentRadius();
+					double valenceDist = atomRadius+ligand.getChemicalElement().getCovalentRadius();
 					double dist = atom.getDistanceTo(ligand);
 					if ((valenceDist/2) > dist) {
 						contactMap.put(atom, ligand);
@@ -902,6 +1148,249 @@ public class CMLMolecule
 		return contactMap;
 	}
 
+	/**
+	 * finds all pairs of atoms, bonded or not, that are too close together
+	 * in 3D. As getCloseContacts() atoms are too close if they are nearer
+	 * than half the sum of their covalent radii. Neighbours are found with
+	 * an AtomGrid so the time is linear in the number of atoms; atoms
+	 * without 3D coordinates are skipped.
+	 *
+	 * @return pairs of atoms (empty if none)
+	 * @throws RuntimeException if an atom has no chemical element
+	 */
+	public List<CMLAtom[]> getCloseContactPairs() {
+		List<CMLAtom> atomList = getAtoms3();
+		int n = atomList.size();
+		double[] radii = new double[n];
+		double maxRadius = 0.0;
+		for (int i = 0; i < n; i++) {
+			radii[i] = getChemicalElement(atomList.get(i)).getCovalentRadius();
+			maxRadius = Math.max(maxRadius, radii[i]);
+		}
+		List<CMLAtom[]> contactList = new ArrayList<CMLAtom[]>();
+		if (n > 1) {
+			AtomGrid grid = new AtomGrid(atomList, maxRadius);
+			int[] pairs = grid.getPairs();
+			for (int k = 0; k < pairs.length; k += 2) {
+				int i = pairs[k];
+				int j = pairs[k + 1];
+				if (grid.getDistance(i, j) < (radii[i] + radii[j]) / 2) {
+					contactList.add(new CMLAtom[] {grid.getAtom(i), grid.getAtom(j)});
+				}
+			}
+		}
+		return contactList;
+	}
+
+	/**
+	 * creates bonds between atoms within bonding distance in 3D.
+	 * Atoms are bonded if they are closer than the sum of their covalent
+	 * radii plus ChemicalElement.getBondingRadiusTolerance(). Neighbours are
+	 * found with an AtomGrid so the time is linear in the number of atoms.
+	 * Atoms without 3D coordinates and atoms already bonded are skipped; for
+	 * a container each child molecule is bonded separately.
+	 *
+	 * @return bonds added, ordered by atoms
+	 * @throws RuntimeException if an atom has no chemical element
+	 */
+	public List<CMLBond> createBondsFromCartesians() {
+		List<CMLBond> bondList = new ArrayList<CMLBond>();
+		for (CMLMolecule molecule : this.getDescendantsOrMolecule()) {
+			molecule.createBondsFromCartesians(bondList);
+		}
+		return bondList;
+	}
+
+	private void createBondsFromCartesians(List<CMLBond> bondList) {
+		List<CMLAtom> atomList = getAtoms3();
+		int n = atomList.size();
+		if (n < 2) {
+			return;
+		}
+		double tolerance = ChemicalElement.getBondingRadiusTolerance();
+		double[] radii = new double[n];
+		double maxRadius = 0.0;
+		for (int i = 0; i < n; i++) {
+			radii[i] = getChemicalElement(atomList.get(i)).getCovalentRadius();
+			maxRadius = Math.max(maxRadius, radii[i]);
+		}
+		AtomGrid grid = new AtomGrid(atomList, 2 * maxRadius + tolerance);
+		int[] pairs = grid.getPairs();
+		CMLBondArray bondArray = getBondArray();
+		Map<String, CMLBond> bondMap = (bondArray == null) ? null : bondArray.getBondMap();
+		for (int k = 0; k < pairs.length; k += 2) {
+			int i = pairs[k];
+			int j = pairs[k + 1];
+			if (grid.getDistance(i, j) < radii[i] + radii[j] + tolerance) {
+				CMLAtom atom0 = grid.getAtom(i);
+				CMLAtom atom1 = grid.getAtom(j);
+				if (bondMap != null && bondMap.containsKey(CMLBond.atomHash(atom0, atom1))) {
+					continue;
+				}
+				CMLBond bond = new CMLBond(atom0, atom1);
+				this.addBond(bond);
+				bondList.add(bond);
+			}
+		}
+	}
+
+	/**
+	 * expands an asymmetric unit into the unit cell. Each operator is
+	 * applied to the fractional coordinates of each atom and the results are
+	 * moved into the cell; images of an atom on the same site (as for an
+	 * atom on a special position) are kept once (see UnitCellExpansion).
+	 * The first image of each atom is the atom itself, moved if necessary;
+	 * the others are copies with ids atomId_n where n is the (1-based)
+	 * operator. Copies are added to the atomArray in one update. Moved
+	 * atoms lose their 3D coordinates; bonds are not copied. Atoms without
+	 * fractional coordinates are left unchanged; for a container each child
+	 * molecule is expanded separately.
+	 *
+	 * @param symmetry operators on fractional coordinates
+	 * @return atoms added
+	 * @throws RuntimeException if an image id is already used (no molecule
+	 * is then changed)
+	 */
+	public List<CMLAtom> expandToUnitCell(CMLSymmetry symmetry) {
+		List<UnitCellImages> imagesList = new ArrayList<UnitCellImages>();
+		for (CMLMolecule molecule : this.getDescendantsOrMolecule()) {
+			UnitCellImages images = molecule.createUnitCellImages(symmetry);
+			if (images != null) {
+				imagesList.add(images);
+			}
+		}
+		// all image ids have been checked before any atom is changed
+		List<CMLAtom> addedList = new ArrayList<CMLAtom>();
+		for (UnitCellImages images : imagesList) {
+			images.apply();
+			addedList.addAll(images.newAtoms);
+		}
+		return addedList;
+	}
+
+	/** changes to one molecule from expandToUnitCell().
+	 */
+	private static class UnitCellImages {
+		final CMLAtomArray atomArray;
+		final List<CMLAtom> movedAtoms = new ArrayList<CMLAtom>();
+		/** new x, y, z fract of each moved atom */
+		final List<double[]> moves = new ArrayList<double[]>();
+		final List<CMLAtom> newAtoms;
+
+		UnitCellImages(CMLAtomArray atomArray, int nNew) {
+			this.atomArray = atomArray;
+			this.newAtoms = new ArrayList<CMLAtom>(nNew);
+		}
+
+		void apply() {
+			for (int i = 0; i < movedAtoms.size(); i++) {
+				CMLAtom atom = movedAtoms.get(i);
+				double[] fract = moves.get(i);
+				atom.unsetXYZ3();
+				atom.setXFract(fract[0]);
+				atom.setYFract(fract[1]);
+				atom.setZFract(fract[2]);
+			}
+			atomArray.addAtoms(newAtoms);
+		}
+	}
+
+	/** images of the atoms of this molecule with ids checked; the molecule
+	 * is not changed.
+	 *
+	 * @return images or null if no atoms have fractional coordinates
+	 * @throws RuntimeException if an image id is already used
+	 */
+	private UnitCellImages createUnitCellImages(CMLSymmetry symmetry) {
+		List<CMLAtom> atomList = new ArrayList<CMLAtom>();
+		for (CMLAtom atom : this.getAtomCache()) {
+			if (atom.hasCoordinates(CoordinateType.FRACTIONAL)) {
+				atomList.add(atom);
+			}
+		}
+		int n = atomList.size();
+		if (n == 0) {
+			return null;
+		}
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[] z = new double[n];
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = atomList.get(i);
+			x[i] = atom.getXFract();
+			y[i] = atom.getYFract();
+			z[i] = atom.getZFract();
+		}
+		UnitCellExpansion expansion = new UnitCellExpansion(x, y, z, symmetry);
+		double[] xFract = expansion.getXFract();
+		double[] yFract = expansion.getYFract();
+		double[] zFract = expansion.getZFract();
+		int[] source = expansion.getSource();
+		int[] operator = expansion.getOperator();
+		CMLAtomArray atomArray = getAtomArray();
+		UnitCellImages images = new UnitCellImages(atomArray, expansion.size() - n);
+		Set<String> newIds = new HashSet<String>();
+		int last = -1;
+		for (int k = 0; k < expansion.size(); k++) {
+			int i = source[k];
+			CMLAtom atom = atomList.get(i);
+			if (i != last) {
+				last = i;
+				if (xFract[k] != x[i] || yFract[k] != y[i] || zFract[k] != z[i]) {
+					images.movedAtoms.add(atom);
+					images.moves.add(new double[] {xFract[k], yFract[k], zFract[k]});
+				}
+			} else {
+				String id = atom.getId()+"_"+(operator[k] + 1);
+				if (atomArray.getAtomById(id) != null || !newIds.add(id)) {
+					throw new RuntimeException("atom already in array: "+id);
+				}
+				CMLAtom image = createImageAtom(atom, id);
+				image.setXFract(xFract[k]);
+				image.setYFract(yFract[k]);
+				image.setZFract(zFract[k]);
+				images.newAtoms.add(image);
+			}
+		}
+		return images;
+	}
+
+	/** copy of atom without id and coordinates.
+	 * quicker than copying and then removing attributes.
+	 */
+	private static CMLAtom createImageAtom(CMLAtom atom, String id) {
+		CMLAtom image = new CMLAtom(id);
+		for (int i = 0; i < atom.getAttributeCount(); i++) {
+			Attribute attribute = atom.getAttribute(i);
+			if (!IMAGE_SKIPPED_ATTRIBUTES.contains(attribute.getLocalName())) {
+				image.addAttribute(attribute.copy());
+			}
+		}
+		image.copyChildrenFrom(atom);
+		return image;
+	}
+
+	/** atoms with 3D coordinates.
+	 */
+	private List<CMLAtom> getAtoms3() {
+		List<CMLAtom> atomList = new ArrayList<CMLAtom>();
+		for (CMLAtom atom : this.getAtomCache()) {
+			if (atom.hasCoordinates(CoordinateType.CARTESIAN)) {
+				atomList.add(atom);
+			}
+		}
+		return atomList;
+	}
+
+	private static ChemicalElement getChemicalElement(CMLAtom atom) {
+		ChemicalElement element = atom.getChemicalElement();
+		if (element == null) {
+			throw new RuntimeException("cannot find chemicalElement for atom ("+
+					atom.getId()+"):"+atom.getElementType());
+		}
+		return element;
+	}
+
 	/**
 	 * gets bond by id
 	 *
@@ -982,7 +1471,7 @@ public class CMLMolecule
 	 * @return int the atom count
 	 */
 	public int getAtomCount() {
-		return getAtoms().size();
+		return getAtomCache().length;
 	}
 
 	/**
@@ -991,13 +1480,7 @@ public class CMLMolecule
 	 * @return the atoms (none returns emptyList)
 	 */
 	public List<CMLAtom> getAtoms() {
-		List<CMLAtom> atomList = new ArrayList<CMLAtom>();
-		for (CMLMolecule molecule : this.getDescendantsOrMolecule()) {
-			CMLAtomArray atomArray = molecule.getAtomArray();
-			if (atomArray != null) {
-				atomList.addAll(atomArray.getAtoms());
-			}
-		}
+		List<CMLAtom> atomList = new ArrayList<CMLAtom>(Arrays.asList(getAtomCache()));
 		/*
         if (isMoleculeContainer()) {
             atomList = new ArrayList<CMLAtom>();
@@ -1053,8 +1536,7 @@ public class CMLMolecule
 	 * @return int the Bond count
 	 */
 	public int getBondCount() {
-		List<CMLBond> bonds = getBonds();
-		return bonds.size();
+		return getBondCache().length;
 	}
 
 	/**
@@ -1063,14 +1545,7 @@ public class CMLMolecule
 	 * @return a typed list
 	 */
 	public List<CMLBond> getBonds() {
-		List<CMLBond> bondList = new ArrayList<CMLBond>();
-		for (CMLMolecule molecule : this.getDescendantsOrMolecule()) {
-			CMLBondArray bondArray = molecule.getBondArray();
-			if (bondArray != null) {
-				bondList.addAll(bondArray.getBonds());
-			}
-		}
-		return bondList;
+		return new ArrayList<CMLBond>(Arrays.asList(getBondCache()));
 	}
 
 	/**
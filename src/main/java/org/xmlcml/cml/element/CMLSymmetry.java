@@ -17,7 +17,9 @@
 package org.xmlcml.cml.element;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import nu.xom.Element;
 import nu.xom.Node;
@@ -37,6 +39,13 @@ public class CMLSymmetry extends AbstractSymmetry {
 
 	/** namespaced element name.*/
 	public final static String NS = C_E+TAG;
+
+    /** translations of integer operators are multiples of 1/TRANSLATION_DENOMINATOR. */
+    public final static int TRANSLATION_DENOMINATOR = 24;
+    /** tolerance for reading matrix elements as integers or fractions. */
+    private final static double OPERATOR_EPS = 1.0E-6;
+    private final static int MAX_ROTATION = 7;
+    private final static int MAX_TRANSLATION = 255;
 	
     /**
      * constructor.
@@ -291,60 +300,81 @@ public class CMLSymmetry extends AbstractSymmetry {
 
     /**
      * do the elements form a group. translation is included but not normalized
-     * (see isSpaceGroup()) iterates through all n^2 combinations (a*b and b*a)
-     * and tests them against group members. therefore O(n^3) and expensive for
-     * (say) spacegroups with 192 elements
+     * (see isSpaceGroup()) tests all n^2 combinations (a*b and b*a) against
+     * group members. crystallographic operators are compared as integer
+     * operators in a hash set so this is O(n^2); other operators fall back to
+     * comparing every pair of transforms which is O(n^3).
      * 
      * @return true if group
      */
     public boolean isGroup() {
         this.normalizeCrystallographically();
         CMLElements<CMLTransform3> transform3s = this.getTransform3Elements();
-        int i = 0;
-        boolean group = false;
-        for (CMLTransform3 tr1 : transform3s) {
-            int j = 0;
-            for (CMLTransform3 tr2 : transform3s) {
-                CMLTransform3 tr3 = tr1.concatenate(tr2);
-                group = false;
-                for (CMLTransform3 tr : transform3s) {
-                    if (tr.isEqualTo(tr3, EPS)) {
-                        group = true;
-                        break;
-                    }
-                }
-                if (!group) {
-                    // LOG.debug("operators "+i+" and "+j+" do not
-                    // generate a group element: ");
-                    break;
-                }
-                j++;
-            }
-            i++;
+        Boolean group = isClosed(transform3s, false);
+        if (group == null) {
+            group = isClosedByComparison(transform3s, false);
         }
         return group;
     }
 
     /**
      * do the elements form a spacegroup. operates on a cpoy so does not
-     * normalize this translation is normalized to range 0 -&gt; 1-eps iterates
-     * through all n^2 combinations (a*b and b*a) and tests them against group
-     * members
+     * normalize this translation is normalized to range 0 -&gt; 1-eps tests
+     * all n^2 combinations (a*b and b*a) against group members (see isGroup()).
      * 
      * @return true if group
      */
     public boolean isSpaceGroup() {
-        CMLSymmetry symmetryCopy = new CMLSymmetry(this);
-        symmetryCopy.normalizeCrystallographically();
-        CMLElements<CMLTransform3> transform3s = symmetryCopy
-                .getTransform3Elements();
-        int i = 0;
+        CMLElements<CMLTransform3> transform3s = this.getTransform3Elements();
+        Boolean group = isClosed(transform3s, true);
+        if (group == null) {
+            CMLSymmetry symmetryCopy = new CMLSymmetry(this);
+            symmetryCopy.normalizeCrystallographically();
+            group = isClosedByComparison(symmetryCopy.getTransform3Elements(), true);
+        }
+        return group;
+    }
+
+    /**
+     * closure of integer operators.
+     * 
+     * @param transform3s
+     * @param modulo reduce translations to the unit cell
+     * @return closed or null if any transform is not crystallographic
+     */
+    private static Boolean isClosed(CMLElements<CMLTransform3> transform3s, boolean modulo) {
+        List<int[]> operators = new ArrayList<int[]>(transform3s.size());
+        Set<Long> keys = new HashSet<Long>();
+        for (CMLTransform3 tr : transform3s) {
+            int[] operator = getIntegerOperator(tr);
+            long key = (operator == null) ? -1 : getKey(operator, modulo);
+            if (key < 0) {
+                return null;
+            }
+            operators.add(operator);
+            keys.add(key);
+        }
+        if (operators.size() == 0) {
+            return Boolean.FALSE;
+        }
+        for (int[] operator1 : operators) {
+            for (int[] operator2 : operators) {
+                if (!keys.contains(getKey(multiply(operator1, operator2), modulo))) {
+                    return Boolean.FALSE;
+                }
+            }
+        }
+        return Boolean.TRUE;
+    }
+
+    private static boolean isClosedByComparison(CMLElements<CMLTransform3> transform3s, boolean normalize) {
         boolean group = false;
         for (CMLTransform3 tr1 : transform3s) {
-            int j = 0;
             for (CMLTransform3 tr2 : transform3s) {
                 CMLTransform3 tr3 = tr1.concatenate(tr2);
-                tr3.normalizeCrystallographically();
+                if (normalize) {
+                    tr3.normalizeCrystallographically();
+                }
                 group = false;
                 for (CMLTransform3 tr : transform3s) {
                     if (tr.isEqualTo(tr3, EPS)) {
@@ -353,16 +383,171 @@ public class CMLSymmetry extends AbstractSymmetry {
                     }
                 }
                 if (!group) {
-                    // LOG.debug("operators "+i+" and "+j+" do not generate a group element: ");
-                    break;
+                    return false;
                 }
-                j++;
             }
-            i++;
         }
         return group;
     }
 
+    /**
+     * generates the spacegroup from its generators. products of the operators
+     * are formed until no new operators appear. translations are normalized
+     * to range 0 -&gt; 1 so the result is the spacegroup modulo lattice
+     * translations. the identity is always included. operators are compared
+     * as integer operators in a hash set.
+     * 
+     * @return new symmetry with the identity first followed by the
+     *         (normalized) operators of this and their products
+     * @throws RuntimeException if any operator is not crystallographic or
+     *             they do not generate a finite group
+     */
+    public CMLSymmetry generateSpaceGroup() {
+        List<CMLTransform3> generators = new ArrayList<CMLTransform3>();
+        for (CMLTransform3 tr : this.getTransform3Elements()) {
+            generators.add(tr);
+        }
+        return CMLSymmetry.generateSpaceGroup(generators);
+    }
+
+    /**
+     * generates a spacegroup from generators. see generateSpaceGroup()
+     * 
+     * @param generators
+     * @return new symmetry
+     * @throws RuntimeException if any generator is not crystallographic or
+     *             they do not generate a finite group
+     */
+    public static CMLSymmetry generateSpaceGroup(List<CMLTransform3> generators) {
+        List<int[]> generatorOperators = new ArrayList<int[]>(generators.size());
+        for (CMLTransform3 tr : generators) {
+            int[] operator = getIntegerOperator(tr);
+            if (operator == null) {
+                throw new RuntimeException("not a crystallographic operator: "+tr.getValue());
+            }
+            generatorOperators.add(normalize(operator));
+        }
+        List<int[]> operators = new ArrayList<int[]>();
+        Set<Long> keys = new HashSet<Long>();
+        int[] unit = new int[] {1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0};
+        operators.add(unit);
+        keys.add(getKey(unit, true));
+        for (int[] operator : generatorOperators) {
+            if (keys.add(getKey(operator, true))) {
+                operators.add(operator);
+            }
+        }
+        // every element is a product of generators
+        for (int i = 0; i < operators.size(); i++) {
+            for (int[] generator : generatorOperators) {
+                int[] product = normalize(multiply(operators.get(i), generator));
+                long key = getKey(product, true);
+                if (key < 0) {
+                    throw new RuntimeException("operators do not generate a finite group");
+                }
+                if (keys.add(key)) {
+                    operators.add(product);
+                }
+            }
+        }
+        List<CMLTransform3> trList = new ArrayList<CMLTransform3>(operators.size());
+        for (int[] operator : operators) {
+            trList.add(getTransform3(operator));
+        }
+        return new CMLSymmetry(trList);
+    }
+
+    /**
+     * gets transform as integer operator. the 3x3 rotation by rows followed
+     * by the translation in multiples of 1/TRANSLATION_DENOMINATOR.
+     * 
+     * @param tr
+     * @return 12 integers or null if tr is not crystallographic
+     */
+    static int[] getIntegerOperator(CMLTransform3 tr) {
+        double[] dd = tr.getXMLContent();
+        if (dd.length != 16 || dd[12] != 0.0 || dd[13] != 0.0 || dd[14] != 0.0 || dd[15] != 1.0) {
+            return null;
+        }
+        int[] operator = new int[12];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                long r = Math.round(dd[4 * i + j]);
+                if (Math.abs(dd[4 * i + j] - r) > OPERATOR_EPS || Math.abs(r) > MAX_ROTATION) {
+                    return null;
+                }
+                operator[3 * i + j] = (int) r;
+            }
+            double t = dd[4 * i + 3] * TRANSLATION_DENOMINATOR;
+            long it = Math.round(t);
+            if (Math.abs(t - it) > OPERATOR_EPS || Math.abs(it) > MAX_TRANSLATION) {
+                return null;
+            }
+            operator[9 + i] = (int) it;
+        }
+        return operator;
+    }
+
+    /**
+     * packs integer operator into a key.
+     * 
+     * @param operator
+     * @param modulo reduce translations to the unit cell
+     * @return non-negative key or -1 if elements are out of range
+     */
+    static long getKey(int[] operator, boolean modulo) {
+        long key = 0;
+        for (int i = 0; i < 9; i++) {
+            if (Math.abs(operator[i]) > MAX_ROTATION) {
+                return -1;
+            }
+            key = (key << 4) | (operator[i] + 8);
+        }
+        for (int i = 9; i < 12; i++) {
+            int t = (modulo) ? Math.floorMod(operator[i], TRANSLATION_DENOMINATOR) : operator[i];
+            if (Math.abs(t) > MAX_TRANSLATION) {
+                return -1;
+            }
+            key = (key << 9) | (t + 256);
+        }
+        return key;
+    }
+
+    /** product of integer operators; applies operator2 then operator1.*/
+    private static int[] multiply(int[] operator1, int[] operator2) {
+        int[] product = new int[12];
+        for (int i = 0; i < 3; i++) {
+            int t = operator1[9 + i];
+            for (int k = 0; k < 3; k++) {
+                t += operator1[3 * i + k] * operator2[9 + k];
+                for (int j = 0; j < 3; j++) {
+                    product[3 * i + j] += operator1[3 * i + k] * operator2[3 * k + j];
+                }
+            }
+            product[9 + i] = t;
+        }
+        return product;
+    }
+
+    private static int[] normalize(int[] operator) {
+        for (int i = 9; i < 12; i++) {
+            operator[i] = Math.floorMod(operator[i], TRANSLATION_DENOMINATOR);
+        }
+        return operator;
+    }
+
+    private static CMLTransform3 getTransform3(int[] operator) {
+        double[] dd = new double[16];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                dd[4 * i + j] = operator[3 * i + j];
+            }
+            dd[4 * i + 3] = (double) operator[9 + i] / TRANSLATION_DENOMINATOR;
+        }
+        dd[15] = 1.0;
+        return new CMLTransform3(dd);
+    }
+
     /**
      * gets count of operations which transform point into itself. applies all
      * opertions to point and count which transform point into itself WITHOUT
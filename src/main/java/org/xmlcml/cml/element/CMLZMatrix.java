@@ -161,6 +161,15 @@ public class CMLZMatrix extends AbstractZMatrix {
         }
     }
 
+    /** compile into primitive arrays for repeated conversion.
+     *
+     * @param molecule containing the referenced atoms
+     * @return compiled zMatrix
+     */
+    public CompiledZMatrix compile(CMLMolecule molecule) {
+        return new CompiledZMatrix(this, molecule);
+    }
+
     private void setCoordinates(CMLAngle angle, CMLLength length0, CMLLength length1,
             CMLMolecule molecule) {
         int i0 = -1;
@@ -0,0 +1,628 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import nu.xom.Elements;
+
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
+
+/**
+ * <p>
+ * Z-matrix held in primitive arrays for fast conversion to and from
+ * cartesian coordinates.
+ * </p>
+ * <p>
+ * Atoms are numbered in the order they are placed. Atom 0 is at the
+ * origin, atom 1 on the x axis, and atom 2 in the xy plane, bonded to
+ * atom 1. Each later atom i is placed from three earlier atoms: it is
+ * bonded to getBondRefs()[i] (length), makes an angle with
+ * getAngleRefs()[i] (angle bondRef-i) and a torsion with
+ * getTorsionRefs()[i] (torsionRef-angleRef-bondRef-i). This is the layout
+ * used by CMLZMatrix.addCartesiansTo(), and the coordinates are the same.
+ * </p>
+ * <p>
+ * Coordinates are passed in a buffer of 3 * size() doubles, x, y, z for
+ * each atom in order. toCartesians() and fromCartesians() do not create
+ * objects, so the same buffer can be reused for many conformations.
+ * Lengths are in the units of the coordinates, angles and torsions in
+ * degrees.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class CompiledZMatrix {
+
+	/** sine of angle below which three reference atoms are treated as
+	 * collinear when choosing references.*/
+	private final static double MIN_SIN = 0.05;
+
+	private final int n;
+	private final CMLAtom[] atoms;
+	private final int[] bondRefs;
+	private final int[] angleRefs;
+	private final int[] torsionRefs;
+	private final double[] lengths;
+	private final double[] angles;
+	private final double[] torsions;
+
+	private CompiledZMatrix(CMLAtom[] atoms) {
+		this.n = atoms.length;
+		this.atoms = atoms;
+		bondRefs = new int[n];
+		angleRefs = new int[n];
+		torsionRefs = new int[n];
+		Arrays.fill(bondRefs, -1);
+		Arrays.fill(angleRefs, -1);
+		Arrays.fill(torsionRefs, -1);
+		lengths = new double[n];
+		angles = new double[n];
+		torsions = new double[n];
+	}
+
+	/**
+	 * compiles the length, angle and torsion children of a zMatrix.
+	 * they are interpreted as in CMLZMatrix.addCartesiansTo().
+	 *
+	 * @param zMatrix
+	 * @param molecule containing the referenced atoms
+	 * @throws RuntimeException if atoms are missing or the children do not
+	 * describe a zMatrix
+	 */
+	public CompiledZMatrix(CMLZMatrix zMatrix, CMLMolecule molecule) {
+		this(getAtoms(zMatrix, molecule));
+		Elements lengthElements = zMatrix.getChildCMLElements(CMLLength.TAG);
+		Elements angleElements = zMatrix.getChildCMLElements(CMLAngle.TAG);
+		Elements torsionElements = zMatrix.getChildCMLElements(CMLTorsion.TAG);
+		if (n > 1) {
+			bondRefs[1] = 0;
+			lengths[1] = ((CMLLength) lengthElements.get(0)).getXMLContent();
+		}
+		if (n > 2) {
+			bondRefs[2] = 1;
+			angleRefs[2] = 0;
+			lengths[2] = ((CMLLength) lengthElements.get(1)).getXMLContent();
+			angles[2] = ((CMLAngle) angleElements.get(0)).getXMLContent();
+		}
+		Map<String, Integer> positionMap = new HashMap<String, Integer>();
+		for (int i = 0; i < n; i++) {
+			positionMap.put(atoms[i].getId(), i);
+		}
+		for (int i = 3; i < n; i++) {
+			CMLTorsion torsion = (CMLTorsion) torsionElements.get(i - 3);
+			String[] atomRefs4 = torsion.getAtomRefs4();
+			torsionRefs[i] = getPosition(positionMap, atomRefs4[0], i);
+			angleRefs[i] = getPosition(positionMap, atomRefs4[1], i);
+			bondRefs[i] = getPosition(positionMap, atomRefs4[2], i);
+			lengths[i] = ((CMLLength) lengthElements.get(i - 1)).getXMLContent();
+			angles[i] = ((CMLAngle) angleElements.get(i - 2)).getXMLContent();
+			torsions[i] = torsion.getXMLContent();
+		}
+	}
+
+	/** atoms in order of placement, as addCartesiansTo() */
+	private static CMLAtom[] getAtoms(CMLZMatrix zMatrix, CMLMolecule molecule) {
+		Elements lengthElements = zMatrix.getChildCMLElements(CMLLength.TAG);
+		Elements angleElements = zMatrix.getChildCMLElements(CMLAngle.TAG);
+		Elements torsionElements = zMatrix.getChildCMLElements(CMLTorsion.TAG);
+		int nlength = lengthElements.size();
+		int nangle = angleElements.size();
+		int ntorsion = torsionElements.size();
+		String[] ids;
+		if (nlength == 0) {
+			ids = new String[0];
+		} else if (nlength == 1) {
+			String[] atomRefs2 = ((CMLLength) lengthElements.get(0)).getAtomRefs2();
+			ids = new String[] {atomRefs2[1], atomRefs2[0]};
+		} else {
+			if (nangle == 0 || nlength < ntorsion + 2 || nangle < ntorsion + 1) {
+				throw new RuntimeException("Bad zMatrix: "+nlength+" lengths, "+
+						nangle+" angles, "+ntorsion+" torsions");
+			}
+			String[] atomRefs3 = ((CMLAngle) angleElements.get(0)).getAtomRefs3();
+			String hash = ((CMLLength) lengthElements.get(0)).atomHash();
+			ids = new String[ntorsion + 3];
+			if (hash.equals(CMLBond.atomHash(atomRefs3[0], atomRefs3[1]))) {
+				ids[0] = atomRefs3[0];
+				ids[2] = atomRefs3[2];
+			} else if (hash.equals(CMLBond.atomHash(atomRefs3[2], atomRefs3[1]))) {
+				ids[0] = atomRefs3[2];
+				ids[2] = atomRefs3[0];
+			} else {
+				throw new RuntimeException("Cannot match lengths to angle");
+			}
+			ids[1] = atomRefs3[1];
+			for (int i = 0; i < ntorsion; i++) {
+				ids[i + 3] = ((CMLTorsion) torsionElements.get(i)).getAtomRefs4()[3];
+			}
+		}
+		Map<String, CMLAtom> atomMap = new HashMap<String, CMLAtom>();
+		CMLAtom[] moleculeAtoms = molecule.getAtomCache();
+		for (int i = moleculeAtoms.length - 1; i >= 0; i--) {
+			atomMap.put(moleculeAtoms[i].getId(), moleculeAtoms[i]);
+		}
+		CMLAtom[] atoms = new CMLAtom[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			atoms[i] = atomMap.remove(ids[i]);
+			if (atoms[i] == null) {
+				throw new RuntimeException((molecule.getAtomById(ids[i]) == null) ?
+						"Cannot find atom: "+ids[i] : "Atom placed twice: "+ids[i]);
+			}
+		}
+		return atoms;
+	}
+
+	/** position of atom placed before atom i */
+	private int getPosition(Map<String, Integer> positionMap, String id, int i) {
+		Integer j = positionMap.get(id);
+		if (j == null || j.intValue() >= i) {
+			throw new RuntimeException("Atom not placed before "+atoms[i].getId()+": "+id);
+		}
+		return j.intValue();
+	}
+
+	/**
+	 * creates a zMatrix from the 3D coordinates of a molecule.
+	 * atoms are placed in breadth-first order along bonds, each bonded to
+	 * the atom it was reached from where possible. disconnected fragments
+	 * are placed relative to the previous atom.
+	 *
+	 * @param molecule all atoms must have 3D coordinates
+	 * @return compiled zMatrix
+	 * @throws RuntimeException if atoms lack coordinates
+	 */
+	public static CompiledZMatrix createFromCartesians(CMLMolecule molecule) {
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		int natoms = graph.getAtomCount();
+		int[] start = graph.getNeighborStart();
+		int[] neighbors = graph.getNeighbors();
+		int[] order = new int[natoms];
+		int[] parent = new int[natoms];
+		int[] position = new int[natoms];
+		Arrays.fill(position, -1);
+		int count = 0;
+		for (int root = 0; root < natoms; root++) {
+			if (position[root] >= 0) {
+				continue;
+			}
+			parent[root] = (count == 0) ? -1 : order[count - 1];
+			int head = count;
+			position[root] = count;
+			order[count++] = root;
+			while (head < count) {
+				int atom = order[head++];
+				for (int k = start[atom]; k < start[atom + 1]; k++) {
+					int ligand = neighbors[k];
+					if (position[ligand] < 0) {
+						parent[ligand] = atom;
+						position[ligand] = count;
+						order[count++] = ligand;
+					}
+				}
+			}
+		}
+		// atom 2 must be bonded to atom 1
+		if (natoms > 2 && parent[order[2]] == order[0]) {
+			int a0 = order[0];
+			order[0] = order[1];
+			order[1] = a0;
+			position[order[0]] = 0;
+			position[order[1]] = 1;
+			parent[order[0]] = -1;
+			parent[order[1]] = order[0];
+		}
+		CMLAtom[] atoms = new CMLAtom[natoms];
+		for (int i = 0; i < natoms; i++) {
+			atoms[i] = graph.getAtom(order[i]);
+		}
+		CompiledZMatrix zMatrix = new CompiledZMatrix(atoms);
+		double[] xyz = new double[3 * natoms];
+		zMatrix.readCoordinates(xyz);
+		if (natoms > 1) {
+			zMatrix.bondRefs[1] = 0;
+		}
+		if (natoms > 2) {
+			zMatrix.bondRefs[2] = 1;
+			zMatrix.angleRefs[2] = 0;
+		}
+		for (int i = 3; i < natoms; i++) {
+			int a = position[parent[order[i]]];
+			int b = -1;
+			int pa = parent[order[a]];
+			if (pa >= 0) {
+				b = position[pa];
+			} else {
+				// root: an earlier placed neighbour, else the previous atom
+				for (int k = start[order[a]]; k < start[order[a] + 1] && b < 0; k++) {
+					int j = position[neighbors[k]];
+					if (j < i && j != a) {
+						b = j;
+					}
+				}
+				if (b < 0) {
+					b = (a == i - 1) ? i - 2 : i - 1;
+				}
+			}
+			zMatrix.bondRefs[i] = a;
+			zMatrix.angleRefs[i] = b;
+			zMatrix.torsionRefs[i] = zMatrix.getTorsionRef(graph, position, xyz, i, a, b);
+		}
+		zMatrix.fromCartesians(xyz);
+		return zMatrix;
+	}
+
+	/** earlier atom c, preferably bonded to b or a, not collinear with b-a */
+	private int getTorsionRef(MoleculeGraph graph, int[] position, double[] xyz,
+			int i, int a, int b) {
+		int[] start = graph.getNeighborStart();
+		int[] neighbors = graph.getNeighbors();
+		int first = -1;
+		for (int pass = 0; pass < 3; pass++) {
+			int from = 0;
+			int to = i;
+			if (pass < 2) {
+				int centre = graph.getAtomIndex(atoms[(pass == 0) ? b : a]);
+				from = start[centre];
+				to = start[centre + 1];
+			}
+			for (int k = from; k < to; k++) {
+				int c = (pass < 2) ? position[neighbors[k]] : k;
+				if (c >= i || c == a || c == b) {
+					continue;
+				}
+				if (first < 0) {
+					first = c;
+				}
+				if (getSin(xyz, c, b, a) > MIN_SIN) {
+					return c;
+				}
+			}
+		}
+		return first;
+	}
+
+	/** sine of angle p-q-r */
+	private static double getSin(double[] xyz, int p, int q, int r) {
+		double ux = xyz[3 * p] - xyz[3 * q];
+		double uy = xyz[3 * p + 1] - xyz[3 * q + 1];
+		double uz = xyz[3 * p + 2] - xyz[3 * q + 2];
+		double vx = xyz[3 * r] - xyz[3 * q];
+		double vy = xyz[3 * r + 1] - xyz[3 * q + 1];
+		double vz = xyz[3 * r + 2] - xyz[3 * q + 2];
+		double cx = uy * vz - uz * vy;
+		double cy = uz * vx - ux * vz;
+		double cz = ux * vy - uy * vx;
+		double uv = Math.sqrt((ux * ux + uy * uy + uz * uz) * (vx * vx + vy * vy + vz * vz));
+		return (uv == 0.0) ? 0.0 : Math.sqrt(cx * cx + cy * cy + cz * cz) / uv;
+	}
+
+	/** number of atoms.
+	 *
+	 * @return count
+	 */
+	public int size() {
+		return n;
+	}
+
+	/** atom at position.
+	 *
+	 * @param i
+	 * @return atom
+	 */
+	public CMLAtom getAtom(int i) {
+		return atoms[i];
+	}
+
+	/** atom each atom is bonded to.
+	 *
+	 * @return new array; -1 for atom 0
+	 */
+	public int[] getBondRefs() {
+		return bondRefs.clone();
+	}
+
+	/** atom defining angle for each atom.
+	 *
+	 * @return new array; -1 for atoms 0 and 1
+	 */
+	public int[] getAngleRefs() {
+		return angleRefs.clone();
+	}
+
+	/** atom defining torsion for each atom.
+	 *
+	 * @return new array; -1 for atoms 0, 1 and 2
+	 */
+	public int[] getTorsionRefs() {
+		return torsionRefs.clone();
+	}
+
+	/** length from bondRef to atom.
+	 *
+	 * @param i
+	 * @return length
+	 */
+	public double getLength(int i) {
+		return lengths[i];
+	}
+
+	/** sets length from bondRef to atom.
+	 *
+	 * @param i
+	 * @param length
+	 */
+	public void setLength(int i, double length) {
+		lengths[i] = length;
+	}
+
+	/** angle angleRef-bondRef-atom.
+	 *
+	 * @param i
+	 * @return angle in degrees
+	 */
+	public double getAngle(int i) {
+		return angles[i];
+	}
+
+	/** sets angle angleRef-bondRef-atom.
+	 *
+	 * @param i
+	 * @param angle in degrees
+	 */
+	public void setAngle(int i, double angle) {
+		angles[i] = angle;
+	}
+
+	/** torsion torsionRef-angleRef-bondRef-atom.
+	 *
+	 * @param i
+	 * @return torsion in degrees
+	 */
+	public double getTorsion(int i) {
+		return torsions[i];
+	}
+
+	/** sets torsion torsionRef-angleRef-bondRef-atom.
+	 *
+	 * @param i
+	 * @param torsion in degrees
+	 */
+	public void setTorsion(int i, double torsion) {
+		torsions[i] = torsion;
+	}
+
+	/**
+	 * calculates cartesian coordinates.
+	 *
+	 * @param xyz buffer of at least 3 * size() filled with x, y, z of each
+	 * atom
+	 */
+	public void toCartesians(double[] xyz) {
+		checkBuffer(xyz);
+		if (n > 0) {
+			xyz[0] = 0.0;
+			xyz[1] = 0.0;
+			xyz[2] = 0.0;
+		}
+		if (n > 1) {
+			xyz[3] = lengths[1];
+			xyz[4] = 0.0;
+			xyz[5] = 0.0;
+		}
+		if (n > 2) {
+			double l = lengths[2];
+			double angle = Math.toRadians(angles[2]);
+			xyz[6] = lengths[1] - l * Math.cos(angle);
+			xyz[7] = l * Math.sin(angle);
+			xyz[8] = 0.0;
+		}
+		for (int i = 3; i < n; i++) {
+			int a = 3 * bondRefs[i];
+			int b = 3 * angleRefs[i];
+			int c = 3 * torsionRefs[i];
+			// unit vector b->a
+			double bcx = xyz[a] - xyz[b];
+			double bcy = xyz[a + 1] - xyz[b + 1];
+			double bcz = xyz[a + 2] - xyz[b + 2];
+			double r = Math.sqrt(bcx * bcx + bcy * bcy + bcz * bcz);
+			bcx /= r;
+			bcy /= r;
+			bcz /= r;
+			// normal to plane c-b-a
+			double ux = xyz[c] - xyz[b];
+			double uy = xyz[c + 1] - xyz[b + 1];
+			double uz = xyz[c + 2] - xyz[b + 2];
+			double nx = uy * bcz - uz * bcy;
+			double ny = uz * bcx - ux * bcz;
+			double nz = ux * bcy - uy * bcx;
+			r = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			if (r == 0.0) {
+				// collinear; any normal
+				if (Math.abs(bcx) < 0.5) {
+					nx = 0.0; ny = bcz; nz = -bcy;
+				} else {
+					nx = -bcz; ny = 0.0; nz = bcx;
+				}
+				r = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			}
+			nx /= r;
+			ny /= r;
+			nz /= r;
+			// m = bc x n
+			double mx = bcy * nz - bcz * ny;
+			double my = bcz * nx - bcx * nz;
+			double mz = bcx * ny - bcy * nx;
+			double l = lengths[i];
+			double angle = Math.toRadians(angles[i]);
+			double torsion = Math.toRadians(torsions[i]);
+			double lcos = -l * Math.cos(angle);
+			double lsin = l * Math.sin(angle);
+			double cost = lsin * Math.cos(torsion);
+			double sint = -lsin * Math.sin(torsion);
+			int p = 3 * i;
+			xyz[p] = xyz[a] + lcos * bcx + cost * mx + sint * nx;
+			xyz[p + 1] = xyz[a + 1] + lcos * bcy + cost * my + sint * ny;
+			xyz[p + 2] = xyz[a + 2] + lcos * bcz + cost * mz + sint * nz;
+		}
+	}
+
+	/**
+	 * sets lengths, angles and torsions from cartesian coordinates.
+	 *
+	 * @param xyz buffer of at least 3 * size() with x, y, z of each atom
+	 */
+	public void fromCartesians(double[] xyz) {
+		checkBuffer(xyz);
+		for (int i = 1; i < n; i++) {
+			int p = 3 * i;
+			int a = 3 * bondRefs[i];
+			double ux = xyz[p] - xyz[a];
+			double uy = xyz[p + 1] - xyz[a + 1];
+			double uz = xyz[p + 2] - xyz[a + 2];
+			lengths[i] = Math.sqrt(ux * ux + uy * uy + uz * uz);
+			if (i < 2) {
+				continue;
+			}
+			int b = 3 * angleRefs[i];
+			double vx = xyz[b] - xyz[a];
+			double vy = xyz[b + 1] - xyz[a + 1];
+			double vz = xyz[b + 2] - xyz[a + 2];
+			double cx = uy * vz - uz * vy;
+			double cy = uz * vx - ux * vz;
+			double cz = ux * vy - uy * vx;
+			angles[i] = Math.toDegrees(Math.atan2(
+					Math.sqrt(cx * cx + cy * cy + cz * cz), ux * vx + uy * vy + uz * vz));
+			if (i < 3) {
+				continue;
+			}
+			// torsion c-b-a-p
+			int c = 3 * torsionRefs[i];
+			double b1x = xyz[b] - xyz[c];
+			double b1y = xyz[b + 1] - xyz[c + 1];
+			double b1z = xyz[b + 2] - xyz[c + 2];
+			double b2x = -vx;
+			double b2y = -vy;
+			double b2z = -vz;
+			double n1x = b1y * b2z - b1z * b2y;
+			double n1y = b1z * b2x - b1x * b2z;
+			double n1z = b1x * b2y - b1y * b2x;
+			double n2x = b2y * uz - b2z * uy;
+			double n2y = b2z * ux - b2x * uz;
+			double n2z = b2x * uy - b2y * ux;
+			double r2 = Math.sqrt(b2x * b2x + b2y * b2y + b2z * b2z);
+			torsions[i] = Math.toDegrees(Math.atan2(
+					r2 * (b1x * n2x + b1y * n2y + b1z * n2z),
+					n1x * n2x + n1y * n2y + n1z * n2z));
+		}
+	}
+
+	private void checkBuffer(double[] xyz) {
+		if (xyz.length < 3 * n) {
+			throw new RuntimeException("coordinate buffer too small: "+xyz.length+
+					" (need "+3 * n+")");
+		}
+	}
+
+	/**
+	 * copies 3D coordinates of atoms into buffer.
+	 *
+	 * @param xyz buffer of at least 3 * size()
+	 * @throws RuntimeException if atoms lack 3D coordinates
+	 */
+	public void readCoordinates(double[] xyz) {
+		checkBuffer(xyz);
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = atoms[i];
+			if (!atom.hasCoordinates(CoordinateType.CARTESIAN)) {
+				throw new RuntimeException("atom has no 3D coordinates: "+atom.getId());
+			}
+			xyz[3 * i] = atom.getX3();
+			xyz[3 * i + 1] = atom.getY3();
+			xyz[3 * i + 2] = atom.getZ3();
+		}
+	}
+
+	/**
+	 * sets 3D coordinates of atoms from buffer.
+	 *
+	 * @param xyz buffer of at least 3 * size()
+	 */
+	public void writeCoordinates(double[] xyz) {
+		checkBuffer(xyz);
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = atoms[i];
+			atom.setX3(xyz[3 * i]);
+			atom.setY3(xyz[3 * i + 1]);
+			atom.setZ3(xyz[3 * i + 2]);
+		}
+	}
+
+	/**
+	 * calculates cartesian coordinates and sets them on the atoms.
+	 */
+	public void addCartesians() {
+		double[] xyz = new double[3 * n];
+		toCartesians(xyz);
+		writeCoordinates(xyz);
+	}
+
+	/**
+	 * creates zMatrix element with current values.
+	 * children are in the order used by CMLZMatrix.addCartesiansTo().
+	 *
+	 * @return new zMatrix
+	 */
+	public CMLZMatrix createZMatrix() {
+		CMLZMatrix zMatrix = new CMLZMatrix();
+		if (n > 1) {
+			zMatrix.appendChild(createLength(1, 0));
+		}
+		if (n > 2) {
+			zMatrix.appendChild(createLength(2, 1));
+			zMatrix.appendChild(createAngle(2, 1, 0));
+		}
+		for (int i = 3; i < n; i++) {
+			zMatrix.appendChild(createLength(i, bondRefs[i]));
+			zMatrix.appendChild(createAngle(i, bondRefs[i], angleRefs[i]));
+			CMLTorsion torsion = new CMLTorsion();
+			torsion.setAtomRefs4(new String[] {atoms[torsionRefs[i]].getId(),
+					atoms[angleRefs[i]].getId(), atoms[bondRefs[i]].getId(), atoms[i].getId()});
+			torsion.setXMLContent(torsions[i]);
+			zMatrix.appendChild(torsion);
+		}
+		return zMatrix;
+	}
+
+	private CMLLength createLength(int i, int a) {
+		CMLLength length = new CMLLength();
+		// addCartesiansTo() puts the second atom of the first length at the origin
+		length.setAtomRefs2(new String[] {atoms[i].getId(), atoms[a].getId()});
+		length.setXMLContent(lengths[i]);
+		return length;
+	}
+
+	private CMLAngle createAngle(int i, int a, int b) {
+		CMLAngle angle = new CMLAngle();
+		angle.setAtomRefs3(new String[] {atoms[b].getId(), atoms[a].getId(), atoms[i].getId()});
+		angle.setXMLContent(angles[i]);
+		return angle;
+	}
+}
@@ -0,0 +1,278 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import org.xmlcml.cml.base.CMLElement;
+
+/* ======AUTOGENERATED FROM SCHEMA BY ElementGenerator; DO NOT EDIT ====== */
+/** creates CML elements by local name without reflection.
+ */
+public final class ElementFactory {
+
+    /** number of elements known to factory */
+    public final static int SIZE = 118;
+
+    private ElementFactory() {
+    }
+
+    /** create new element.
+     * @param localName CML name, e.g. atomArray
+     * @return new element (null if not a known CML element)
+     */
+    public static CMLElement createElement(String localName) {
+        switch (localName) {
+        case "abundance":
+            return new CMLAbundance();
+        case "action":
+            return new CMLAction();
+        case "actionList":
+            return new CMLActionList();
+        case "amount":
+            return new CMLAmount();
+        case "angle":
+            return new CMLAngle();
+        case "arg":
+            return new CMLArg();
+        case "array":
+            return new CMLArray();
+        case "arrayList":
+            return new CMLArrayList();
+        case "atom":
+            return new CMLAtom();
+        case "atomArray":
+            return new CMLAtomArray();
+        case "atomParity":
+            return new CMLAtomParity();
+        case "atomSet":
+            return new CMLAtomSet();
+        case "atomType":
+            return new CMLAtomType();
+        case "atomTypeList":
+            return new CMLAtomTypeList();
+        case "atomicBasisFunction":
+            return new CMLAtomicBasisFunction();
+        case "band":
+            return new CMLBand();
+        case "bandList":
+            return new CMLBandList();
+        case "basisSet":
+            return new CMLBasisSet();
+        case "bond":
+            return new CMLBond();
+        case "bondArray":
+            return new CMLBondArray();
+        case "bondSet":
+            return new CMLBondSet();
+        case "bondStereo":
+            return new CMLBondStereo();
+        case "bondType":
+            return new CMLBondType();
+        case "bondTypeList":
+            return new CMLBondTypeList();
+        case "cellParameter":
+            return new CMLCellParameter();
+        case "cml":
+            return new CMLCml();
+        case "complexObject":
+            return new CMLComplexObject();
+        case "conditionList":
+            return new CMLConditionList();
+        case "crystal":
+            return new CMLCrystal();
+        case "definition":
+            return new CMLDefinition();
+        case "description":
+            return new CMLDescription();
+        case "dictionary":
+            return new CMLDictionary();
+        case "eigen":
+            return new CMLEigen();
+        case "electron":
+            return new CMLElectron();
+        case "entry":
+            return new CMLEntry();
+        case "expression":
+            return new CMLExpression();
+        case "formula":
+            return new CMLFormula();
+        case "fragment":
+            return new CMLFragment();
+        case "fragmentList":
+            return new CMLFragmentList();
+        case "gradient":
+            return new CMLGradient();
+        case "identifier":
+            return new CMLIdentifier();
+        case "isotope":
+            return new CMLIsotope();
+        case "isotopeList":
+            return new CMLIsotopeList();
+        case "join":
+            return new CMLJoin();
+        case "kpoint":
+            return new CMLKpoint();
+        case "kpointList":
+            return new CMLKpointList();
+        case "label":
+            return new CMLLabel();
+        case "lattice":
+            return new CMLLattice();
+        case "latticeVector":
+            return new CMLLatticeVector();
+        case "length":
+            return new CMLLength();
+        case "line3":
+            return new CMLLine3();
+        case "link":
+            return new CMLLink();
+        case "list":
+            return new CMLList();
+        case "map":
+            return new CMLMap();
+        case "matrix":
+            return new CMLMatrix();
+        case "mechanism":
+            return new CMLMechanism();
+        case "mechanismComponent":
+            return new CMLMechanismComponent();
+        case "metadata":
+            return new CMLMetadata();
+        case "metadataList":
+            return new CMLMetadataList();
+        case "module":
+            return new CMLModule();
+        case "molecule":
+            return new CMLMolecule();
+        case "moleculeList":
+            return new CMLMoleculeList();
+        case "name":
+            return new CMLName();
+        case "object":
+            return new CMLObject();
+        case "observation":
+            return new CMLObservation();
+        case "operator":
+            return new CMLOperator();
+        case "parameter":
+            return new CMLParameter();
+        case "parameterList":
+            return new CMLParameterList();
+        case "particle":
+            return new CMLParticle();
+        case "peak":
+            return new CMLPeak();
+        case "peakGroup":
+            return new CMLPeakGroup();
+        case "peakList":
+            return new CMLPeakList();
+        case "peakStructure":
+            return new CMLPeakStructure();
+        case "plane3":
+            return new CMLPlane3();
+        case "point3":
+            return new CMLPoint3();
+        case "potential":
+            return new CMLPotential();
+        case "potentialForm":
+            return new CMLPotentialForm();
+        case "potentialList":
+            return new CMLPotentialList();
+        case "product":
+            return new CMLProduct();
+        case "productList":
+            return new CMLProductList();
+        case "property":
+            return new CMLProperty();
+        case "propertyList":
+            return new CMLPropertyList();
+        case "reactant":
+            return new CMLReactant();
+        case "reactantList":
+            return new CMLReactantList();
+        case "reaction":
+            return new CMLReaction();
+        case "reactionList":
+            return new CMLReactionList();
+        case "reactionScheme":
+            return new CMLReactionScheme();
+        case "reactionStep":
+            return new CMLReactionStep();
+        case "reactionStepList":
+            return new CMLReactionStepList();
+        case "reactiveCentre":
+            return new CMLReactiveCentre();
+        case "region":
+            return new CMLRegion();
+        case "relatedEntry":
+            return new CMLRelatedEntry();
+        case "sample":
+            return new CMLSample();
+        case "scalar":
+            return new CMLScalar();
+        case "spectator":
+            return new CMLSpectator();
+        case "spectatorList":
+            return new CMLSpectatorList();
+        case "spectrum":
+            return new CMLSpectrum();
+        case "spectrumData":
+            return new CMLSpectrumData();
+        case "spectrumList":
+            return new CMLSpectrumList();
+        case "sphere3":
+            return new CMLSphere3();
+        case "substance":
+            return new CMLSubstance();
+        case "substanceList":
+            return new CMLSubstanceList();
+        case "symmetry":
+            return new CMLSymmetry();
+        case "system":
+            return new CMLSystem();
+        case "table":
+            return new CMLTable();
+        case "tableCell":
+            return new CMLTableCell();
+        case "tableContent":
+            return new CMLTableContent();
+        case "tableHeader":
+            return new CMLTableHeader();
+        case "tableHeaderCell":
+            return new CMLTableHeaderCell();
+        case "tableRow":
+            return new CMLTableRow();
+        case "tableRowList":
+            return new CMLTableRowList();
+        case "torsion":
+            return new CMLTorsion();
+        case "transform3":
+            return new CMLTransform3();
+        case "transitionState":
+            return new CMLTransitionState();
+        case "vector3":
+            return new CMLVector3();
+        case "xaxis":
+            return new CMLXaxis();
+        case "yaxis":
+            return new CMLYaxis();
+        case "zMatrix":
+            return new CMLZMatrix();
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.xmlcml.cml.base.CMLElements;
+import org.xmlcml.molutil.ChemicalElement;
+import org.xmlcml.molutil.ChemicalElement.AS;
+
+/**
+ * <p>
+ * Mutable element counts and charge for building a CMLFormula.
+ * </p>
+ * <p>
+ * Counts are held in an array indexed by atomic number, so atoms and
+ * formulae can be added without touching XOM. createFormula() then makes
+ * the CMLFormula once, with the atomArray and concise in the order used
+ * by CMLFormula.normalize() (C, H, then alphabetical). Symbols which do
+ * not map to their own atomic number (D, T, R, Dummy or strings which are
+ * not elements) are counted separately under the symbol.
+ * </p>
+ * <p>
+ * clear() resets the counts, so one accumulator can be reused for many
+ * molecules.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class FormulaAccumulator {
+
+	private final static Comparator<String> CHFIRST = new Comparator<String>() {
+		public int compare(String s0, String s1) {
+			int r0 = getRank(s0);
+			int r1 = getRank(s1);
+			return (r0 != r1) ? r0 - r1 : s0.compareTo(s1);
+		}
+		private int getRank(String s) {
+			return AS.C.value.equals(s) ? 0 : (AS.H.value.equals(s) ? 1 : 2);
+		}
+	};
+
+	private final double[] counts;
+	private final boolean[] present;
+	/** atomic numbers in order first added */
+	private final int[] added;
+	private int nadded;
+	private final Map<String, Double> otherCounts;
+	private int formalCharge;
+
+	/**
+	 * empty accumulator.
+	 */
+	public FormulaAccumulator() {
+		counts = new double[ChemicalElement.MAXELEM];
+		present = new boolean[ChemicalElement.MAXELEM];
+		added = new int[ChemicalElement.MAXELEM];
+		otherCounts = new HashMap<String, Double>();
+	}
+
+	/**
+	 * removes all counts and charge.
+	 */
+	public void clear() {
+		for (int i = 0; i < nadded; i++) {
+			counts[added[i]] = 0.0;
+			present[added[i]] = false;
+		}
+		nadded = 0;
+		otherCounts.clear();
+		formalCharge = 0;
+	}
+
+	/** atomic number under which symbol is counted.
+	 *
+	 * @param elementType
+	 * @return atomic number or -1 if counted by symbol
+	 */
+	private static int getAtomicNumber(String elementType) {
+		ChemicalElement element = ChemicalElement.getChemicalElement(elementType);
+		if (element != null) {
+			int atomicNumber = element.getAtomicNumber();
+			if (ChemicalElement.getElement(atomicNumber) == element) {
+				return atomicNumber;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * adds count of element.
+	 *
+	 * @param atomicNumber
+	 * @param count
+	 * @throws RuntimeException if not an element
+	 */
+	public void add(int atomicNumber, double count) {
+		if (ChemicalElement.getElement(atomicNumber) == null) {
+			throw new RuntimeException("not an element: " + atomicNumber);
+		}
+		if (!present[atomicNumber]) {
+			present[atomicNumber] = true;
+			added[nadded++] = atomicNumber;
+		}
+		counts[atomicNumber] += count;
+	}
+
+	/**
+	 * adds count of element. as CMLFormula.add().
+	 *
+	 * @param elementType
+	 * @param count
+	 */
+	public void add(String elementType, double count) {
+		int atomicNumber = getAtomicNumber(elementType);
+		if (atomicNumber >= 0) {
+			add(atomicNumber, count);
+		} else {
+			Double c = otherCounts.get(elementType);
+			otherCounts.put(elementType, (c == null) ? count : c.doubleValue() + count);
+		}
+	}
+
+	/**
+	 * adds to formal charge.
+	 *
+	 * @param charge
+	 */
+	public void addFormalCharge(int charge) {
+		formalCharge += charge;
+	}
+
+	/**
+	 * adds atom as new CMLFormula(CMLMolecule).
+	 * count is the occupancy (default 1.0) and hydrogenCount is added. H
+	 * atoms are only counted if not bonded to other elements.
+	 *
+	 * @param atom
+	 * @throws RuntimeException if missing or invalid elementType or
+	 * occupancy is not positive
+	 */
+	public void addAtom(CMLAtom atom) {
+		double occupancy = 1.0;
+		if (atom.getOccupancyAttribute() != null) {
+			occupancy = atom.getOccupancy();
+		}
+		if (occupancy <= 0.0) {
+			throw new RuntimeException("zero or negative occupancy: " + occupancy);
+		}
+		String elementType = atom.getElementType();
+		ChemicalElement element = (elementType == null) ? null :
+			ChemicalElement.getChemicalElement(elementType);
+		if (element == null) {
+			throw new RuntimeException(
+					"Missing or invalid elementType for atom : "+atom.getId()+" .. "
+					+ elementType);
+		}
+		if (!AS.H.equals(elementType)) {
+			// occupancy is not applied, as CMLFormula(CMLMolecule)
+			add(elementType, 1.0);
+			if (atom.getFormalChargeAttribute() != null) {
+				formalCharge += atom.getFormalCharge();
+			}
+			int hydrogenCount = atom.getHydrogenCount();
+			if (hydrogenCount > 0) {
+				add(AS.H.value, hydrogenCount);
+			}
+		} else {
+			// only count a H if it is not bonded to non-hydrogens
+			for (CMLAtom ligand : atom.getLigandAtoms()) {
+				if (!AS.H.equals(ligand.getElementType())) {
+					return;
+				}
+			}
+			add(AS.H.value, 1.0);
+			if (atom.getFormalChargeAttribute() != null) {
+				formalCharge += atom.getFormalCharge();
+			}
+		}
+	}
+
+	/**
+	 * adds all atoms of molecule (including child molecules).
+	 *
+	 * @param molecule
+	 */
+	public void addMolecule(CMLMolecule molecule) {
+		for (CMLAtom atom : molecule.getAtomCache()) {
+			addAtom(atom);
+		}
+	}
+
+	/**
+	 * adds formula, including child formulae.
+	 * counts and charge are multiplied by the count attribute of each
+	 * formula.
+	 *
+	 * @param formula
+	 */
+	public void addFormula(CMLFormula formula) {
+		addFormula(formula, 1.0);
+	}
+
+	/**
+	 * adds multiple of formula, including child formulae.
+	 *
+	 * @param formula
+	 * @param multiplier
+	 */
+	public void addFormula(CMLFormula formula, double multiplier) {
+		double m = multiplier *
+			((formula.getCountAttribute() == null) ? 1.0 : formula.getCount());
+		CMLElements<CMLFormula> formulas = formula.getFormulaElements();
+		if (formulas.size() > 0) {
+			for (CMLFormula child : formulas) {
+				addFormula(child, m);
+			}
+			return;
+		}
+		String[] elementTypes = formula.getElementTypes();
+		double[] elementCounts = formula.getCounts();
+		if (elementTypes == null && formula.getConciseAttribute() != null) {
+			CMLFormula parsed = CMLFormula.createFormula(formula.getConcise(), true);
+			elementTypes = parsed.getElementTypes();
+			elementCounts = parsed.getCounts();
+		}
+		if (elementTypes != null) {
+			for (int i = 0; i < elementTypes.length; i++) {
+				add(elementTypes[i], elementCounts[i] * m);
+			}
+		}
+		if (formula.getFormalChargeAttribute() != null) {
+			formalCharge += (int) Math.round(formula.getFormalCharge() * m);
+		}
+	}
+
+	/**
+	 * count of element.
+	 *
+	 * @param elementType
+	 * @return count (0.0 if absent)
+	 */
+	public double getCount(String elementType) {
+		int atomicNumber = getAtomicNumber(elementType);
+		if (atomicNumber >= 0) {
+			return counts[atomicNumber];
+		}
+		Double c = otherCounts.get(elementType);
+		return (c == null) ? 0.0 : c.doubleValue();
+	}
+
+	/**
+	 * count of element.
+	 *
+	 * @param atomicNumber
+	 * @return count (0.0 if absent)
+	 */
+	public double getCount(int atomicNumber) {
+		return (atomicNumber < 0 || atomicNumber >= counts.length) ? 0.0 : counts[atomicNumber];
+	}
+
+	/** formal charge.
+	 *
+	 * @return charge
+	 */
+	public int getFormalCharge() {
+		return formalCharge;
+	}
+
+	/**
+	 * has anything been added since creation or clear().
+	 *
+	 * @return true if no elements
+	 */
+	public boolean isEmpty() {
+		return nadded == 0 && otherCounts.isEmpty();
+	}
+
+	/** element types in concise order.
+	 *
+	 * @return new array
+	 */
+	public String[] getElementTypes() {
+		List<String> elementTypes = new ArrayList<String>(nadded + otherCounts.size());
+		for (int i = 0; i < nadded; i++) {
+			elementTypes.add(ChemicalElement.getElement(added[i]).getSymbol());
+		}
+		elementTypes.addAll(otherCounts.keySet());
+		Collections.sort(elementTypes, CHFIRST);
+		return elementTypes.toArray(new String[0]);
+	}
+
+	/**
+	 * creates formula with atomArray, concise and (if non-zero)
+	 * formalCharge.
+	 *
+	 * @return new formula
+	 */
+	public CMLFormula createFormula() {
+		CMLFormula formula = new CMLFormula();
+		setFormula(formula);
+		return formula;
+	}
+
+	/** adds atomArray, concise and non-zero charge to empty formula */
+	void setFormula(CMLFormula formula) {
+		if (!isEmpty()) {
+			String[] elementTypes = getElementTypes();
+			double[] elementCounts = new double[elementTypes.length];
+			for (int i = 0; i < elementTypes.length; i++) {
+				elementCounts[i] = getCount(elementTypes[i]);
+			}
+			formula.setElementTypesAndCounts(elementTypes, elementCounts, formalCharge);
+		} else if (formalCharge != 0) {
+			formula.setFormalCharge(formalCharge);
+		}
+	}
+}
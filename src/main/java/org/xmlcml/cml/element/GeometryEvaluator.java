@@ -0,0 +1,332 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
+
+/**
+ * <p>
+ * Calculates many lengths, angles and torsions of a molecule at once.
+ * </p>
+ * <p>
+ * The atomRefs of each CMLLength, CMLAngle and CMLTorsion are resolved to
+ * atom indexes once, and the 3D coordinates of the atoms are copied into
+ * arrays. The calculate methods then give the same values as
+ * getCalculatedLength(molecule), getCalculatedAngle(molecule) and
+ * getCalculatedTorsion(molecule) (angles in degrees) without creating
+ * objects for each value. Values for atoms without 3D coordinates are NaN.
+ * </p>
+ * <p>
+ * The coordinates are a snapshot; call updateCoordinates() after moving
+ * atoms. The molecule must not have atoms added or removed.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class GeometryEvaluator {
+
+	/** parallel calculation only for at least this many values.*/
+	private final static int MIN_PARALLEL = 10000;
+
+	private final CMLMolecule molecule;
+	private final int version;
+	private final CMLAtom[] atoms;
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+	private final int[] lengthAtoms;
+	private final int[] angleAtoms;
+	private final int[] torsionAtoms;
+	private final Map<String, Integer> lengthIndex;
+	private final Map<String, Integer> angleIndex;
+	private final Map<String, Integer> torsionIndex;
+
+	/**
+	 * compiles lengths, angles and torsions against molecule.
+	 *
+	 * @param molecule containing all referenced atoms
+	 * @param lengths may be null
+	 * @param angles may be null
+	 * @param torsions may be null
+	 * @throws RuntimeException if atomRefs are missing or reference atoms
+	 * not in molecule
+	 */
+	public GeometryEvaluator(CMLMolecule molecule, List<CMLLength> lengths,
+			List<CMLAngle> angles, List<CMLTorsion> torsions) {
+		this.molecule = molecule;
+		this.version = molecule.getVersion();
+		this.atoms = molecule.getAtomCache();
+		Map<String, Integer> idMap = new HashMap<String, Integer>();
+		for (int i = atoms.length - 1; i >= 0; i--) {
+			// first atom with id, as getAtomById()
+			idMap.put(atoms[i].getId(), i);
+		}
+		if (lengths == null) {
+			lengths = Collections.emptyList();
+		}
+		if (angles == null) {
+			angles = Collections.emptyList();
+		}
+		if (torsions == null) {
+			torsions = Collections.emptyList();
+		}
+		lengthAtoms = new int[2 * lengths.size()];
+		for (int i = 0; i < lengths.size(); i++) {
+			resolve(idMap, lengths.get(i).getAtomRefs2(), 2, lengthAtoms, i, "length");
+		}
+		angleAtoms = new int[3 * angles.size()];
+		for (int i = 0; i < angles.size(); i++) {
+			resolve(idMap, angles.get(i).getAtomRefs3(), 3, angleAtoms, i, "angle");
+		}
+		torsionAtoms = new int[4 * torsions.size()];
+		for (int i = 0; i < torsions.size(); i++) {
+			resolve(idMap, torsions.get(i).getAtomRefs4(), 4, torsionAtoms, i, "torsion");
+		}
+		// same keys as getIndexedLengths(), getIndexedAngles(), getIndexedTorsions()
+		lengthIndex = new HashMap<String, Integer>();
+		for (int i = 0; i < lengths.size(); i++) {
+			lengthIndex.put(lengths.get(i).atomHash(), i);
+		}
+		angleIndex = new HashMap<String, Integer>();
+		for (int i = 0; i < angles.size(); i++) {
+			angleIndex.put(angles.get(i).atomHash(), i);
+		}
+		torsionIndex = new HashMap<String, Integer>();
+		for (int i = 0; i < torsions.size(); i++) {
+			torsionIndex.put(torsions.get(i).atomHash(), i);
+		}
+		x = new double[atoms.length];
+		y = new double[atoms.length];
+		z = new double[atoms.length];
+		updateCoordinates();
+	}
+
+	private static void resolve(Map<String, Integer> idMap, String[] refs, int n,
+			int[] indexes, int i, String name) {
+		if (refs == null || refs.length != n) {
+			throw new RuntimeException(name + " requires atomRefs" + n);
+		}
+		for (int j = 0; j < n; j++) {
+			Integer index = idMap.get(refs[j]);
+			if (index == null) {
+				throw new RuntimeException("cannot find atom " + refs[j]);
+			}
+			indexes[n * i + j] = index.intValue();
+		}
+	}
+
+	/**
+	 * copies current 3D coordinates of atoms.
+	 *
+	 * @throws RuntimeException if atoms have been added to or removed from
+	 * the molecule
+	 */
+	public void updateCoordinates() {
+		if (version != molecule.getVersion()) {
+			throw new RuntimeException("molecule atoms have changed");
+		}
+		for (int i = 0; i < atoms.length; i++) {
+			CMLAtom atom = atoms[i];
+			if (atom.hasCoordinates(CoordinateType.CARTESIAN)) {
+				x[i] = atom.getX3();
+				y[i] = atom.getY3();
+				z[i] = atom.getZ3();
+			} else {
+				x[i] = Double.NaN;
+				y[i] = Double.NaN;
+				z[i] = Double.NaN;
+			}
+		}
+	}
+
+	/** number of lengths.
+	 * @return count
+	 */
+	public int getLengthCount() {
+		return lengthAtoms.length / 2;
+	}
+
+	/** number of angles.
+	 * @return count
+	 */
+	public int getAngleCount() {
+		return angleAtoms.length / 3;
+	}
+
+	/** number of torsions.
+	 * @return count
+	 */
+	public int getTorsionCount() {
+		return torsionAtoms.length / 4;
+	}
+
+	/** position of length in results.
+	 *
+	 * @param atomHash as CMLLength.atomHash()
+	 * @return index or -1
+	 */
+	public int getLengthIndex(String atomHash) {
+		return getIndex(lengthIndex, atomHash);
+	}
+
+	/** position of angle in results.
+	 *
+	 * @param atomHash as CMLAngle.atomHash()
+	 * @return index or -1
+	 */
+	public int getAngleIndex(String atomHash) {
+		return getIndex(angleIndex, atomHash);
+	}
+
+	/** position of torsion in results.
+	 *
+	 * @param atomHash as CMLTorsion.atomHash()
+	 * @return index or -1
+	 */
+	public int getTorsionIndex(String atomHash) {
+		return getIndex(torsionIndex, atomHash);
+	}
+
+	private static int getIndex(Map<String, Integer> map, String atomHash) {
+		Integer index = map.get(atomHash);
+		return (index == null) ? -1 : index.intValue();
+	}
+
+	/**
+	 * lengths in order of constructor list.
+	 *
+	 * @param parallel calculate large lists in several threads
+	 * @return lengths
+	 */
+	public double[] calculateLengths(boolean parallel) {
+		final double[] values = new double[getLengthCount()];
+		run(values.length, parallel, new ParallelRange.Range() {
+			public void calculate(int from, int to) {
+				calculateLengths(values, from, to);
+			}
+		});
+		return values;
+	}
+
+	/**
+	 * angles in degrees in order of constructor list.
+	 *
+	 * @param parallel calculate large lists in several threads
+	 * @return angles
+	 */
+	public double[] calculateAngles(boolean parallel) {
+		final double[] values = new double[getAngleCount()];
+		run(values.length, parallel, new ParallelRange.Range() {
+			public void calculate(int from, int to) {
+				calculateAngles(values, from, to);
+			}
+		});
+		return values;
+	}
+
+	/**
+	 * torsions in degrees (-180 to 180) in order of constructor list.
+	 *
+	 * @param parallel calculate large lists in several threads
+	 * @return torsions
+	 */
+	public double[] calculateTorsions(boolean parallel) {
+		final double[] values = new double[getTorsionCount()];
+		run(values.length, parallel, new ParallelRange.Range() {
+			public void calculate(int from, int to) {
+				calculateTorsions(values, from, to);
+			}
+		});
+		return values;
+	}
+
+	private void calculateLengths(double[] values, int from, int to) {
+		int[] a = lengthAtoms;
+		for (int i = from; i < to; i++) {
+			int i0 = a[2 * i];
+			int i1 = a[2 * i + 1];
+			double dx = x[i1] - x[i0];
+			double dy = y[i1] - y[i0];
+			double dz = z[i1] - z[i0];
+			values[i] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		}
+	}
+
+	private void calculateAngles(double[] values, int from, int to) {
+		int[] a = angleAtoms;
+		for (int i = from; i < to; i++) {
+			int i0 = a[3 * i];
+			int i1 = a[3 * i + 1];
+			int i2 = a[3 * i + 2];
+			double ux = x[i0] - x[i1];
+			double uy = y[i0] - y[i1];
+			double uz = z[i0] - z[i1];
+			double vx = x[i2] - x[i1];
+			double vy = y[i2] - y[i1];
+			double vz = z[i2] - z[i1];
+			double cx = uy * vz - uz * vy;
+			double cy = uz * vx - ux * vz;
+			double cz = ux * vy - uy * vx;
+			double dot = ux * vx + uy * vy + uz * vz;
+			boolean zero = (ux == 0.0 && uy == 0.0 && uz == 0.0) ||
+					(vx == 0.0 && vy == 0.0 && vz == 0.0);
+			values[i] = (zero) ? Double.NaN :
+				Math.toDegrees(Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), dot));
+		}
+	}
+
+	private void calculateTorsions(double[] values, int from, int to) {
+		int[] a = torsionAtoms;
+		for (int i = from; i < to; i++) {
+			int i0 = a[4 * i];
+			int i1 = a[4 * i + 1];
+			int i2 = a[4 * i + 2];
+			int i3 = a[4 * i + 3];
+			double b1x = x[i1] - x[i0];
+			double b1y = y[i1] - y[i0];
+			double b1z = z[i1] - z[i0];
+			double b2x = x[i2] - x[i1];
+			double b2y = y[i2] - y[i1];
+			double b2z = z[i2] - z[i1];
+			double b3x = x[i3] - x[i2];
+			double b3y = y[i3] - y[i2];
+			double b3z = z[i3] - z[i2];
+			// n1 = b1 x b2, n2 = b2 x b3
+			double n1x = b1y * b2z - b1z * b2y;
+			double n1y = b1z * b2x - b1x * b2z;
+			double n1z = b1x * b2y - b1y * b2x;
+			double n2x = b2y * b3z - b2z * b3y;
+			double n2y = b2z * b3x - b2x * b3z;
+			double n2z = b2x * b3y - b2y * b3x;
+			double b2 = Math.sqrt(b2x * b2x + b2y * b2y + b2z * b2z);
+			double sin = b2 * (b1x * n2x + b1y * n2y + b1z * n2z);
+			double cos = n1x * n2x + n1y * n2y + n1z * n2z;
+			values[i] = (sin == 0.0 && cos == 0.0) ? Double.NaN :
+				Math.toDegrees(Math.atan2(sin, cos));
+		}
+	}
+
+	private static void run(int n, boolean parallel, ParallelRange.Range range) {
+		ParallelRange.run(n, parallel && n >= MIN_PARALLEL, range);
+	}
+}
@@ -0,0 +1,338 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import org.xmlcml.molutil.ChemicalElement;
+import org.xmlcml.molutil.ChemicalElement.AS;
+
+/**
+ * <p>
+ * Isotopic distribution of a CMLFormula.
+ * </p>
+ * <p>
+ * The pattern of each element is raised to its count by repeated squaring
+ * and the elements are then convolved together. After every convolution
+ * peaks are merged into bins of width resolution (mass is the
+ * abundance-weighted mean) and peaks less than threshold times the largest
+ * are dropped, so the number of peaks stays small even for large formulae.
+ * A resolution of 1.0 gives nominal masses; 0.01 or less resolves fine
+ * structure.
+ * </p>
+ * <p>
+ * Precise isotope masses are used where known, otherwise the mass number.
+ * D is taken as pure 2H. Counts must be integral.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class IsotopePattern {
+
+	/** default bin width (Da) */
+	public final static double DEFAULT_RESOLUTION = 0.01;
+	/** default fraction of largest peak below which peaks are dropped */
+	public final static double DEFAULT_THRESHOLD = 1.0E-9;
+	/** mass of electron (Da) */
+	public final static double ELECTRON_MASS = 0.000548579909;
+	/** spectrum type for createSpectrum() */
+	public final static String MASS_SPECTRUM = "massSpectrum";
+	/** xUnits of peaks */
+	public final static String MZ_UNITS = "unit:mz";
+	/** yUnits of peaks */
+	public final static String ABUNDANCE_UNITS = "cmls:relativeAbundance";
+
+	/** limit on bins for one convolution */
+	private final static int MAX_BINS = 1 << 22;
+	private final static double COUNT_EPS = 1.0E-6;
+	private final static String DEUTERIUM = "D";
+
+	private final double resolution;
+	private final double threshold;
+	private final int formalCharge;
+	private double[] masses;
+	private double[] abundances;
+
+	/**
+	 * pattern with default resolution and threshold.
+	 *
+	 * @param formula
+	 */
+	public IsotopePattern(CMLFormula formula) {
+		this(formula, DEFAULT_RESOLUTION, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * calculates pattern.
+	 * child formulae and count attributes are included.
+	 *
+	 * @param formula
+	 * @param resolution width of mass bins
+	 * @param threshold peaks less than threshold times the largest are
+	 * dropped
+	 * @throws RuntimeException if counts are not integral, an element has
+	 * no isotopes or resolution is not positive
+	 */
+	public IsotopePattern(CMLFormula formula, double resolution, double threshold) {
+		if (!(resolution > 0.0)) {
+			throw new RuntimeException("resolution must be positive: " + resolution);
+		}
+		this.resolution = resolution;
+		this.threshold = threshold;
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		accumulator.addFormula(formula);
+		formalCharge = accumulator.getFormalCharge();
+		Distribution pattern = new Distribution(new double[] {0.0}, new double[] {1.0}, 1);
+		for (String elementType : accumulator.getElementTypes()) {
+			double count = accumulator.getCount(elementType);
+			int n = (int) Math.round(count);
+			if (Math.abs(count - n) > COUNT_EPS || n < 0) {
+				throw new RuntimeException(
+						"isotope pattern requires integer counts: " + elementType + " " + count);
+			}
+			if (n > 0) {
+				pattern = convolve(pattern, power(getElementDistribution(elementType), n));
+			}
+		}
+		masses = new double[pattern.size];
+		abundances = new double[pattern.size];
+		System.arraycopy(pattern.mass, 0, masses, 0, pattern.size);
+		System.arraycopy(pattern.prob, 0, abundances, 0, pattern.size);
+	}
+
+	/** first size peaks are used, in increasing mass */
+	private static class Distribution {
+		final double[] mass;
+		final double[] prob;
+		final int size;
+		Distribution(double[] mass, double[] prob, int size) {
+			this.mass = mass;
+			this.prob = prob;
+			this.size = size;
+		}
+	}
+
+	/** isotopes of single atom */
+	private static Distribution getElementDistribution(String elementType) {
+		ChemicalElement element = ChemicalElement.getChemicalElement(elementType);
+		if (element == null) {
+			throw new RuntimeException("unknown element: " + elementType);
+		}
+		if (DEUTERIUM.equals(elementType)) {
+			element = ChemicalElement.getChemicalElement(AS.H.value);
+			double mass = getIsotopeMass(element, 2);
+			return new Distribution(new double[] {mass}, new double[] {1.0}, 1);
+		}
+		int[] isotopeMasses = element.getIsotopeMasses();
+		double[] isotopeAbundances = element.getIsotopeAbundances();
+		if (isotopeMasses == null || isotopeMasses.length == 0) {
+			throw new RuntimeException("no isotopes for element: " + elementType);
+		}
+		double total = 0.0;
+		for (double a : isotopeAbundances) {
+			total += a;
+		}
+		double[] mass = new double[isotopeMasses.length];
+		double[] prob = new double[isotopeMasses.length];
+		int size = 0;
+		for (int i = 0; i < isotopeMasses.length; i++) {
+			if (isotopeAbundances[i] > 0.0) {
+				mass[size] = getIsotopeMass(element, isotopeMasses[i]);
+				prob[size] = isotopeAbundances[i] / total;
+				size++;
+			}
+		}
+		return new Distribution(mass, prob, size);
+	}
+
+	/** precise mass or mass number if not known */
+	private static double getIsotopeMass(ChemicalElement element, int massNumber) {
+		int[] isotopeMasses = element.getIsotopeMasses();
+		double[] preciseMasses = element.getIsotopePreciseMasses();
+		for (int i = 0; i < isotopeMasses.length; i++) {
+			if (isotopeMasses[i] == massNumber) {
+				return (preciseMasses == null || i >= preciseMasses.length ||
+						Double.isNaN(preciseMasses[i])) ? massNumber : preciseMasses[i];
+			}
+		}
+		throw new RuntimeException("no isotope " + massNumber + " for " + element.getSymbol());
+	}
+
+	/** distribution of n atoms by repeated squaring */
+	private Distribution power(Distribution single, int n) {
+		Distribution result = null;
+		Distribution base = single;
+		while (true) {
+			if ((n & 1) != 0) {
+				result = (result == null) ? base : convolve(result, base);
+			}
+			n >>= 1;
+			if (n == 0) {
+				break;
+			}
+			base = convolve(base, base);
+		}
+		return result;
+	}
+
+	/** convolves, bins and prunes */
+	private Distribution convolve(Distribution a, Distribution b) {
+		long minBin = Math.round((a.mass[0] + b.mass[0]) / resolution);
+		long maxBin = Math.round((a.mass[a.size - 1] + b.mass[b.size - 1]) / resolution);
+		if (maxBin - minBin >= MAX_BINS) {
+			throw new RuntimeException("resolution too fine for mass range: " + resolution);
+		}
+		int nbins = (int) (maxBin - minBin) + 1;
+		double[] binProb = new double[nbins];
+		double[] binMass = new double[nbins];
+		for (int i = 0; i < a.size; i++) {
+			double ma = a.mass[i];
+			double pa = a.prob[i];
+			for (int j = 0; j < b.size; j++) {
+				double m = ma + b.mass[j];
+				double p = pa * b.prob[j];
+				int bin = (int) (Math.round(m / resolution) - minBin);
+				binProb[bin] += p;
+				binMass[bin] += p * m;
+			}
+		}
+		double max = 0.0;
+		for (int k = 0; k < nbins; k++) {
+			max = Math.max(max, binProb[k]);
+		}
+		double cutoff = threshold * max;
+		int size = 0;
+		for (int k = 0; k < nbins; k++) {
+			if (binProb[k] > 0.0 && binProb[k] >= cutoff) {
+				binMass[size] = binMass[k] / binProb[k];
+				binProb[size] = binProb[k];
+				size++;
+			}
+		}
+		return new Distribution(binMass, binProb, size);
+	}
+
+	/** number of peaks.
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return masses.length;
+	}
+
+	/** neutral masses in increasing order.
+	 *
+	 * @return copy of masses
+	 */
+	public double[] getMasses() {
+		return masses.clone();
+	}
+
+	/** fractional abundances (sum is 1.0 less pruned peaks).
+	 *
+	 * @return copy of abundances
+	 */
+	public double[] getAbundances() {
+		return abundances.clone();
+	}
+
+	/** formal charge of formula.
+	 *
+	 * @return charge
+	 */
+	public int getFormalCharge() {
+		return formalCharge;
+	}
+
+	/**
+	 * mass/charge of peak.
+	 * electrons are removed (or added) for charged formulae; neutral
+	 * formulae give the mass.
+	 *
+	 * @param i
+	 * @return m/z
+	 */
+	public double getMZ(int i) {
+		return (formalCharge == 0) ? masses[i] :
+			(masses[i] - formalCharge * ELECTRON_MASS) / Math.abs(formalCharge);
+	}
+
+	/** mass of most abundant peak.
+	 *
+	 * @return mass
+	 */
+	public double getMostAbundantMass() {
+		return masses[getMostAbundantIndex()];
+	}
+
+	private int getMostAbundantIndex() {
+		int imax = 0;
+		for (int i = 1; i < abundances.length; i++) {
+			if (abundances[i] > abundances[imax]) {
+				imax = i;
+			}
+		}
+		return imax;
+	}
+
+	/** abundance-weighted mean of masses.
+	 *
+	 * @return mass
+	 */
+	public double getAverageMass() {
+		double sum = 0.0;
+		double sumMass = 0.0;
+		for (int i = 0; i < masses.length; i++) {
+			sum += abundances[i];
+			sumMass += abundances[i] * masses[i];
+		}
+		return sumMass / sum;
+	}
+
+	/**
+	 * peaks as peakList.
+	 * xValue is m/z and yValue is abundance relative to the largest peak
+	 * (100.0).
+	 *
+	 * @return peakList
+	 */
+	public CMLPeakList createPeakList() {
+		CMLPeakList peakList = new CMLPeakList();
+		double max = abundances[getMostAbundantIndex()];
+		for (int i = 0; i < masses.length; i++) {
+			CMLPeak peak = new CMLPeak();
+			peak.setId("p" + (i + 1));
+			peak.setXValue(getMZ(i));
+			peak.setXUnits(MZ_UNITS);
+			peak.setYValue(100.0 * abundances[i] / max);
+			peak.setYUnits(ABUNDANCE_UNITS);
+			peakList.addPeak(peak);
+		}
+		return peakList;
+	}
+
+	/**
+	 * mass spectrum containing createPeakList().
+	 *
+	 * @return spectrum
+	 */
+	public CMLSpectrum createSpectrum() {
+		CMLSpectrum spectrum = new CMLSpectrum();
+		spectrum.setType(MASS_SPECTRUM);
+		spectrum.addPeakList(createPeakList());
+		return spectrum;
+	}
+}
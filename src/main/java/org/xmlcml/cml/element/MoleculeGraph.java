@@ -0,0 +1,362 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Immutable connection table of a molecule held in primitive arrays.
+ * </p>
+ * <p>
+ * Atoms are numbered 0..n-1 and bonds 0..m-1 in the order of
+ * CMLMolecule.getAtoms() and getBonds(). The neighbours of atom i are
+ * getNeighbors()[getNeighborStart()[i]] up to (but excluding)
+ * getNeighbors()[getNeighborStart()[i+1]] (compressed sparse rows), and
+ * getNeighborBonds() holds the bond to each neighbour at the same position.
+ * Neighbours are in the order of the bonds.
+ * </p>
+ * <p>
+ * The graph is a snapshot; it does not follow later changes to the
+ * molecule, including changes to bond orders, bond atomRefs2 or element
+ * types. Callers keep the graph for as long as they know the molecule is
+ * unchanged. Arrays returned by the getters are shared and must not be
+ * altered.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public final class MoleculeGraph {
+
+	/** bond order not given or not recognised.*/
+	public final static byte ORDER_UNKNOWN = 0;
+	/** single bond.*/
+	public final static byte ORDER_SINGLE = 1;
+	/** double bond.*/
+	public final static byte ORDER_DOUBLE = 2;
+	/** triple bond.*/
+	public final static byte ORDER_TRIPLE = 3;
+	/** aromatic bond.*/
+	public final static byte ORDER_AROMATIC = 4;
+
+	private final CMLMolecule molecule;
+	private final int version;
+	private final CMLAtom[] atoms;
+	private final CMLBond[] bonds;
+	private final byte[] atomicNumbers;
+	private final byte[] bondOrders;
+	private final int[] bondAtoms0;
+	private final int[] bondAtoms1;
+	private final int[] neighborStart;
+	private final int[] neighbors;
+	private final int[] neighborBonds;
+	private Map<CMLAtom, Integer> atomIndexMap;
+
+	/**
+	 * build graph from current atoms and bonds of molecule.
+	 * bonds are resolved against the atoms of their own (child) molecule.
+	 *
+	 * @param molecule
+	 * @throws RuntimeException if a bond references an atom not in its molecule
+	 */
+	public MoleculeGraph(CMLMolecule molecule) {
+		this.molecule = molecule;
+		this.version = molecule.getVersion();
+		this.atoms = molecule.getAtomCache();
+		this.bonds = molecule.getBondCache();
+		int natoms = atoms.length;
+		int nbonds = bonds.length;
+		atomicNumbers = new byte[natoms];
+		for (int i = 0; i < natoms; i++) {
+			int atomicNumber = atoms[i].getAtomicNumber();
+			// pseudo-elements such as R (149) do not fit
+			atomicNumbers[i] = (atomicNumber > 0 && atomicNumber <= Byte.MAX_VALUE) ?
+				(byte) atomicNumber : 0;
+		}
+		bondOrders = new byte[nbonds];
+		bondAtoms0 = new int[nbonds];
+		bondAtoms1 = new int[nbonds];
+		resolveBonds();
+
+		neighborStart = new int[natoms + 1];
+		for (int i = 0; i < nbonds; i++) {
+			neighborStart[bondAtoms0[i] + 1]++;
+			neighborStart[bondAtoms1[i] + 1]++;
+		}
+		for (int i = 0; i < natoms; i++) {
+			neighborStart[i + 1] += neighborStart[i];
+		}
+		neighbors = new int[2 * nbonds];
+		neighborBonds = new int[2 * nbonds];
+		int[] next = new int[natoms];
+		System.arraycopy(neighborStart, 0, next, 0, natoms);
+		for (int i = 0; i < nbonds; i++) {
+			int a0 = bondAtoms0[i];
+			int a1 = bondAtoms1[i];
+			neighbors[next[a0]] = a1;
+			neighborBonds[next[a0]++] = i;
+			neighbors[next[a1]] = a0;
+			neighborBonds[next[a1]++] = i;
+		}
+	}
+
+	/** finds atom indexes and orders of bonds.
+	 * atoms and bonds of each child molecule are contiguous and in the
+	 * same order as in the molecule caches.
+	 */
+	private void resolveBonds() {
+		int atomOffset = 0;
+		int bondOffset = 0;
+		Map<String, Integer> idMap = new HashMap<String, Integer>();
+		List<CMLMolecule> molecules = molecule.getDescendantsOrMolecule();
+		for (CMLMolecule mol : molecules) {
+			CMLAtomArray atomArray = mol.getAtomArray();
+			CMLAtom[] molAtoms = (atomArray == null) ? new CMLAtom[0] :
+				atomArray.getAtomCache();
+			idMap.clear();
+			for (int i = 0; i < molAtoms.length; i++) {
+				idMap.put(molAtoms[i].getId(), atomOffset + i);
+			}
+			CMLBondArray bondArray = mol.getBondArray();
+			CMLBond[] molBonds = (bondArray == null) ? new CMLBond[0] :
+				bondArray.getBondCache();
+			for (int i = 0; i < molBonds.length; i++) {
+				CMLBond bond = molBonds[i];
+				String[] atomRefs2 = bond.getAtomRefs2();
+				if (atomRefs2 == null || atomRefs2.length != 2) {
+					throw new RuntimeException("bond has no atomRefs2: "+bond.getId());
+				}
+				bondAtoms0[bondOffset + i] = getIndex(idMap, atomRefs2[0], bond);
+				bondAtoms1[bondOffset + i] = getIndex(idMap, atomRefs2[1], bond);
+				bondOrders[bondOffset + i] = getOrder(bond);
+			}
+			atomOffset += molAtoms.length;
+			bondOffset += molBonds.length;
+		}
+	}
+
+	private static int getIndex(Map<String, Integer> idMap, String id, CMLBond bond) {
+		Integer index = idMap.get(id);
+		if (index == null) {
+			throw new RuntimeException("bond "+bond.getId()+" references unknown atom: "+id);
+		}
+		return index.intValue();
+	}
+
+	private static byte getOrder(CMLBond bond) {
+		String order = bond.getOrder();
+		byte b = ORDER_UNKNOWN;
+		if (CMLBond.SINGLE_S.equals(order)) {
+			b = ORDER_SINGLE;
+		} else if (CMLBond.DOUBLE_D.equals(order)) {
+			b = ORDER_DOUBLE;
+		} else if (CMLBond.TRIPLE_T.equals(order)) {
+			b = ORDER_TRIPLE;
+		} else if (CMLBond.AROMATIC.equals(order)) {
+			b = ORDER_AROMATIC;
+		}
+		return b;
+	}
+
+	/** molecule graph was built from.
+	 *
+	 * @return molecule
+	 */
+	public CMLMolecule getMolecule() {
+		return molecule;
+	}
+
+	/** has the molecule had atoms or bonds added or removed since the
+	 * graph was built.
+	 * changes to existing atoms and bonds are not detected.
+	 *
+	 * @return false if atoms or bonds have been added or removed
+	 */
+	public boolean isCurrent() {
+		return version == molecule.getVersion();
+	}
+
+	/** number of atoms.
+	 *
+	 * @return n
+	 */
+	public int getAtomCount() {
+		return atoms.length;
+	}
+
+	/** number of bonds.
+	 *
+	 * @return m
+	 */
+	public int getBondCount() {
+		return bonds.length;
+	}
+
+	/** atom by index.
+	 *
+	 * @param i
+	 * @return atom
+	 */
+	public CMLAtom getAtom(int i) {
+		return atoms[i];
+	}
+
+	/** bond by index.
+	 *
+	 * @param i
+	 * @return bond
+	 */
+	public CMLBond getBond(int i) {
+		return bonds[i];
+	}
+
+	/** index of atom.
+	 *
+	 * @param atom
+	 * @return index or -1 if not in graph
+	 */
+	public int getAtomIndex(CMLAtom atom) {
+		Map<CMLAtom, Integer> indexMap = atomIndexMap;
+		if (indexMap == null) {
+			indexMap = new HashMap<CMLAtom, Integer>(2 * atoms.length);
+			for (int i = 0; i < atoms.length; i++) {
+				indexMap.put(atoms[i], i);
+			}
+			atomIndexMap = indexMap;
+		}
+		Integer index = indexMap.get(atom);
+		return (index == null) ? -1 : index.intValue();
+	}
+
+	/** atomic numbers by atom index (0 if unknown or a pseudo-element such as R).
+	 *
+	 * @return shared array
+	 */
+	public byte[] getAtomicNumbers() {
+		return atomicNumbers;
+	}
+
+	/** bond orders by bond index (ORDER_SINGLE etc.).
+	 *
+	 * @return shared array
+	 */
+	public byte[] getBondOrders() {
+		return bondOrders;
+	}
+
+	/** index of first atom of each bond.
+	 *
+	 * @return shared array
+	 */
+	public int[] getBondAtoms0() {
+		return bondAtoms0;
+	}
+
+	/** index of second atom of each bond.
+	 *
+	 * @return shared array
+	 */
+	public int[] getBondAtoms1() {
+		return bondAtoms1;
+	}
+
+	/** start of the neighbours of each atom in getNeighbors().
+	 * has getAtomCount()+1 elements; the last is 2*getBondCount().
+	 *
+	 * @return shared array
+	 */
+	public int[] getNeighborStart() {
+		return neighborStart;
+	}
+
+	/** neighbouring atom indexes of all atoms.
+	 *
+	 * @return shared array
+	 */
+	public int[] getNeighbors() {
+		return neighbors;
+	}
+
+	/** bond indexes parallel to getNeighbors().
+	 *
+	 * @return shared array
+	 */
+	public int[] getNeighborBonds() {
+		return neighborBonds;
+	}
+
+	/** number of neighbours of atom.
+	 *
+	 * @param i atom index
+	 * @return degree
+	 */
+	public int getDegree(int i) {
+		return neighborStart[i + 1] - neighborStart[i];
+	}
+
+	/** atom at other end of bond.
+	 *
+	 * @param bond bond index
+	 * @param atom atom index
+	 * @return other atom index or -1 if atom is not in bond
+	 */
+	public int getOtherAtom(int bond, int atom) {
+		if (bondAtoms0[bond] == atom) {
+			return bondAtoms1[bond];
+		} else if (bondAtoms1[bond] == atom) {
+			return bondAtoms0[bond];
+		}
+		return -1;
+	}
+
+	/** label connected components.
+	 * components are numbered 0.. in order of their lowest atom index.
+	 *
+	 * @return component of each atom
+	 */
+	public int[] getComponents() {
+		int natoms = atoms.length;
+		int[] component = new int[natoms];
+		Arrays.fill(component, -1);
+		int[] stack = new int[natoms];
+		int ncomponents = 0;
+		for (int i = 0; i < natoms; i++) {
+			if (component[i] != -1) {
+				continue;
+			}
+			int top = 0;
+			stack[top++] = i;
+			component[i] = ncomponents;
+			while (top > 0) {
+				int atom = stack[--top];
+				for (int j = neighborStart[atom]; j < neighborStart[atom + 1]; j++) {
+					int neighbor = neighbors[j];
+					if (component[neighbor] == -1) {
+						component[neighbor] = ncomponents;
+						stack[top++] = neighbor;
+					}
+				}
+			}
+			ncomponents++;
+		}
+		return component;
+	}
+}
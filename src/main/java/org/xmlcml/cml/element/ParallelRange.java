@@ -0,0 +1,115 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Divides the indexes 0 to n between threads of a shared pool.
+ * </p>
+ * <p>
+ * The pool has one daemon thread for each processor and is created on
+ * first use. Calls from a pool thread run in that thread, so nested calls
+ * cannot wait on each other.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+final class ParallelRange {
+
+	/** calculates indexes from (inclusive) to (exclusive).*/
+	interface Range {
+		void calculate(int from, int to);
+	}
+
+	private final static int NTHREADS = Runtime.getRuntime().availableProcessors();
+
+	private static class Worker extends Thread {
+		Worker(Runnable runnable) {
+			super(runnable, "cml-parallel");
+			setDaemon(true);
+		}
+	}
+
+	/** created when the class is first loaded, i.e. on first parallel run */
+	private static class Pool {
+		final static ExecutorService EXECUTOR = Executors.newFixedThreadPool(NTHREADS,
+				new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						return new Worker(runnable);
+					}
+				});
+	}
+
+	private ParallelRange() {
+	}
+
+	/**
+	 * calculates 0 to n in up to one chunk for each processor.
+	 *
+	 * @param n number of indexes
+	 * @param parallel if false, or only one thread is useful, range is
+	 * calculated in this thread
+	 * @param range
+	 * @throws RuntimeException thrown by range, or if interrupted
+	 */
+	static void run(int n, boolean parallel, final Range range) {
+		int nthreads = (parallel) ? Math.min(n, NTHREADS) : 1;
+		if (nthreads <= 1 || Thread.currentThread() instanceof Worker) {
+			range.calculate(0, n);
+			return;
+		}
+		List<Future<Object>> futures = new ArrayList<Future<Object>>();
+		try {
+			int chunk = (n + nthreads - 1) / nthreads;
+			for (int start = 0; start < n; start += chunk) {
+				final int from = start;
+				final int to = Math.min(n, start + chunk);
+				futures.add(Pool.EXECUTOR.submit(new Callable<Object>() {
+					public Object call() {
+						range.calculate(from, to);
+						return null;
+					}
+				}));
+			}
+			for (Future<Object> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while calculating", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw (cause instanceof RuntimeException) ? (RuntimeException) cause :
+				new RuntimeException("cannot calculate", cause);
+		} finally {
+			// chunks still queued after a failure are not needed
+			for (Future<Object> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+}
@@ -0,0 +1,511 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
+import org.xmlcml.cml.base.CMLElements;
+
+/**
+ * <p>
+ * Cell list for finding contacts in a crystal, including those between
+ * atoms in different unit cells.
+ * </p>
+ * <p>
+ * Atoms are placed in the unit cell from their fractional coordinates
+ * (xFract, yFract, zFract) and the cell is divided into bins along a, b
+ * and c whose widths (between the bounding planes) are no smaller than the
+ * cutoff where the cell allows. Bins are searched with periodic wrapping
+ * so only the lattice translations that can give a contact are visited,
+ * rather than comparing every pair of atoms in 27 or more cells.
+ * </p>
+ * <p>
+ * If a CMLSymmetry is given, the images of each atom under the operators
+ * are also placed in the cell (images falling on the same site are only
+ * placed once) and contacts are found from each given atom to all images.
+ * Without symmetry each contact between the atoms is given once.
+ * </p>
+ * <p>
+ * Contacts give the translation (in cell edges) to apply to the second
+ * atom, after its operator, for it to be within the cutoff of the first
+ * atom at its given coordinates.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class PeriodicAtomGrid {
+
+	/** max number of bins per image.*/
+	private final static int BINS_PER_IMAGE = 8;
+
+	/** images of an atom closer than this (in Angstrom) are the same site.*/
+	private final static double SITE_EPS = 1.0E-3;
+
+	/**
+	 * contact between two atoms.
+	 */
+	public static class Contact {
+		private final PeriodicAtomGrid grid;
+		private final int index0;
+		private final int index1;
+		private final int operator;
+		private final int[] translation;
+		private final double distance;
+
+		Contact(PeriodicAtomGrid grid, int index0, int index1, int operator,
+				int[] translation, double distance) {
+			this.grid = grid;
+			this.index0 = index0;
+			this.index1 = index1;
+			this.operator = operator;
+			this.translation = translation;
+			this.distance = distance;
+		}
+
+		/** index of first atom.
+		 * @return index
+		 */
+		public int getIndex0() {
+			return index0;
+		}
+
+		/** index of second atom.
+		 * @return index
+		 */
+		public int getIndex1() {
+			return index1;
+		}
+
+		/** first atom (at its own coordinates).
+		 * @return atom
+		 */
+		public CMLAtom getAtom0() {
+			return grid.getAtom(index0);
+		}
+
+		/** second atom (before operator and translation).
+		 * @return atom
+		 */
+		public CMLAtom getAtom1() {
+			return grid.getAtom(index1);
+		}
+
+		/** index of symmetry operator applied to second atom.
+		 * @return index in CMLSymmetry or -1 if no symmetry was given
+		 */
+		public int getOperator() {
+			return operator;
+		}
+
+		/** lattice translation applied to second atom after operator.
+		 * @return copy of translation along a, b, c
+		 */
+		public int[] getTranslation() {
+			return translation.clone();
+		}
+
+		/** distance.
+		 * @return distance in Angstrom
+		 */
+		public double getDistance() {
+			return distance;
+		}
+
+		/** atom ids, operator and translation.
+		 * @return string
+		 */
+		public String toString() {
+			return getAtom0().getId()+" "+getAtom1().getId()+" "+operator+" "+
+				Arrays.toString(translation)+" "+distance;
+		}
+	}
+
+	private final CMLAtom[] atoms;
+	private final double cutoff;
+	/** orthogonalization matrix; columns are the cell edges */
+	private final double[][] orth;
+	/** fractional coordinates of atoms */
+	private final double[][] fract;
+	/** operators as 16-element row-major matrices (null if none) */
+	private final double[][] operators;
+	/** images: atom, operator, coordinates in cell and shift into cell */
+	private int nimages;
+	private int[] imageAtom;
+	private int[] imageOperator;
+	private double[][] imageFract;
+	private int[][] imageShift;
+	/** number of bins and number of bins to search each side along a, b, c */
+	private final int[] nbins = new int[3];
+	private final int[] nsearch = new int[3];
+	private int[] binStart;
+	private int[] binImages;
+
+	/**
+	 * grid of atoms with fractional coordinates.
+	 *
+	 * @param atomList atoms; those without fractional coordinates are omitted
+	 * @param crystal cell parameters
+	 * @param cutoff largest distance to be searched (must be positive)
+	 */
+	public PeriodicAtomGrid(List<CMLAtom> atomList, CMLCrystal crystal, double cutoff) {
+		this(atomList, crystal, null, cutoff);
+	}
+
+	/**
+	 * grid of atoms and their symmetry images.
+	 *
+	 * @param atomList atoms; those without fractional coordinates are omitted
+	 * @param crystal cell parameters
+	 * @param symmetry operators on fractional coordinates (may be null)
+	 * @param cutoff largest distance to be searched (must be positive)
+	 */
+	public PeriodicAtomGrid(List<CMLAtom> atomList, CMLCrystal crystal,
+			CMLSymmetry symmetry, double cutoff) {
+		if (!(cutoff > 0.0)) {
+			throw new RuntimeException("cutoff must be positive: "+cutoff);
+		}
+		this.cutoff = cutoff;
+		List<CMLAtom> fractAtoms = new ArrayList<CMLAtom>(atomList.size());
+		for (CMLAtom atom : atomList) {
+			if (atom.hasCoordinates(CoordinateType.FRACTIONAL)) {
+				fractAtoms.add(atom);
+			}
+		}
+		atoms = fractAtoms.toArray(new CMLAtom[fractAtoms.size()]);
+		fract = new double[atoms.length][];
+		for (int i = 0; i < atoms.length; i++) {
+			fract[i] = new double[] {
+				atoms[i].getXFract(), atoms[i].getYFract(), atoms[i].getZFract()};
+		}
+		orth = crystal.getOrthogonalizationMatrix().getMatrix();
+		if (symmetry == null) {
+			operators = null;
+		} else {
+			CMLElements<CMLTransform3> transforms = symmetry.getTransform3Elements();
+			operators = new double[transforms.size()][];
+			for (int i = 0; i < operators.length; i++) {
+				operators[i] = transforms.get(i).getMatrixAsArray();
+			}
+		}
+		makeImages();
+		makeBins();
+	}
+
+	private void makeImages() {
+		int nops = (operators == null) ? 1 : operators.length;
+		int maxImages = atoms.length * nops;
+		imageAtom = new int[maxImages];
+		imageOperator = new int[maxImages];
+		imageFract = new double[maxImages][];
+		imageShift = new int[maxImages][];
+		nimages = 0;
+		for (int i = 0; i < atoms.length; i++) {
+			int first = nimages;
+			for (int op = 0; op < nops; op++) {
+				double[] f = (operators == null) ? fract[i] : transform(operators[op], fract[i]);
+				int[] shift = new int[3];
+				double[] w = new double[3];
+				for (int k = 0; k < 3; k++) {
+					shift[k] = (int) Math.floor(f[k]);
+					w[k] = f[k] - shift[k];
+					if (w[k] >= 1.0) {
+						// rounding of small negative values
+						w[k] -= 1.0;
+						shift[k]++;
+					}
+				}
+				if (operators != null && isSameSite(w, first)) {
+					continue;
+				}
+				imageAtom[nimages] = i;
+				imageOperator[nimages] = (operators == null) ? -1 : op;
+				imageFract[nimages] = w;
+				imageShift[nimages] = shift;
+				nimages++;
+			}
+		}
+	}
+
+	private static double[] transform(double[] m, double[] f) {
+		return new double[] {
+			m[0] * f[0] + m[1] * f[1] + m[2] * f[2] + m[3],
+			m[4] * f[0] + m[5] * f[1] + m[6] * f[2] + m[7],
+			m[8] * f[0] + m[9] * f[1] + m[10] * f[2] + m[11],
+		};
+	}
+
+	/** is w (modulo lattice translations) at an image from first onwards */
+	private boolean isSameSite(double[] w, int first) {
+		double[] d = new double[3];
+		for (int j = first; j < nimages; j++) {
+			for (int k = 0; k < 3; k++) {
+				d[k] = w[k] - imageFract[j][k];
+				d[k] -= Math.rint(d[k]);
+			}
+			if (length(d) < SITE_EPS) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** cartesian length of fractional vector */
+	private double length(double[] d) {
+		double x = orth[0][0] * d[0] + orth[0][1] * d[1] + orth[0][2] * d[2];
+		double y = orth[1][0] * d[0] + orth[1][1] * d[1] + orth[1][2] * d[2];
+		double z = orth[2][0] * d[0] + orth[2][1] * d[1] + orth[2][2] * d[2];
+		return Math.sqrt(x * x + y * y + z * z);
+	}
+
+	private void makeBins() {
+		double[][] edges = new double[3][];
+		for (int k = 0; k < 3; k++) {
+			edges[k] = new double[] {orth[0][k], orth[1][k], orth[2][k]};
+		}
+		double volume = Math.abs(dot(edges[0], cross(edges[1], edges[2])));
+		double[] width = new double[3];
+		for (int k = 0; k < 3; k++) {
+			// distance between the planes bounding the cell along edge k
+			width[k] = volume / norm(cross(edges[(k + 1) % 3], edges[(k + 2) % 3]));
+			nbins[k] = Math.max(1, (int) (width[k] / cutoff));
+		}
+		long maxBins = (long) BINS_PER_IMAGE * nimages + 1;
+		while ((long) nbins[0] * nbins[1] * nbins[2] > maxBins) {
+			int k = (nbins[0] >= nbins[1] && nbins[0] >= nbins[2]) ? 0 :
+				(nbins[1] >= nbins[2]) ? 1 : 2;
+			nbins[k] = Math.max(1, nbins[k] / 2);
+		}
+		for (int k = 0; k < 3; k++) {
+			nsearch[k] = (int) Math.ceil(cutoff * nbins[k] / width[k]);
+		}
+		int nbin = nbins[0] * nbins[1] * nbins[2];
+		int[] imageBin = new int[nimages];
+		binStart = new int[nbin + 1];
+		for (int i = 0; i < nimages; i++) {
+			int b = getBin(binIndex(imageFract[i][0], 0),
+					binIndex(imageFract[i][1], 1), binIndex(imageFract[i][2], 2));
+			imageBin[i] = b;
+			binStart[b + 1]++;
+		}
+		for (int b = 0; b < nbin; b++) {
+			binStart[b + 1] += binStart[b];
+		}
+		binImages = new int[nimages];
+		int[] next = Arrays.copyOf(binStart, nbin);
+		for (int i = 0; i < nimages; i++) {
+			binImages[next[imageBin[i]]++] = i;
+		}
+	}
+
+	private int binIndex(double w, int k) {
+		int i = (int) (w * nbins[k]);
+		return (i >= nbins[k]) ? nbins[k] - 1 : i;
+	}
+
+	private int getBin(int ia, int ib, int ic) {
+		return (ic * nbins[1] + ib) * nbins[0] + ia;
+	}
+
+	private static double[] cross(double[] u, double[] v) {
+		return new double[] {
+			u[1] * v[2] - u[2] * v[1],
+			u[2] * v[0] - u[0] * v[2],
+			u[0] * v[1] - u[1] * v[0],
+		};
+	}
+
+	private static double dot(double[] u, double[] v) {
+		return u[0] * v[0] + u[1] * v[1] + u[2] * v[2];
+	}
+
+	private static double norm(double[] u) {
+		return Math.sqrt(dot(u, u));
+	}
+
+	/** number of atoms with fractional coordinates.
+	 *
+	 * @return count
+	 */
+	public int size() {
+		return atoms.length;
+	}
+
+	/** atom by index.
+	 *
+	 * @param i
+	 * @return atom
+	 */
+	public CMLAtom getAtom(int i) {
+		return atoms[i];
+	}
+
+	/** number of distinct images placed in the cell.
+	 * equals size() without symmetry
+	 *
+	 * @return count
+	 */
+	public int getImageCount() {
+		return nimages;
+	}
+
+	/** cutoff.
+	 *
+	 * @return cutoff
+	 */
+	public double getCutoff() {
+		return cutoff;
+	}
+
+	/**
+	 * all contacts no longer than the cutoff.
+	 * ordered by first atom; contacts of an atom with itself (at zero
+	 * translation and identity) are not included.
+	 *
+	 * @return contacts
+	 */
+	public List<Contact> getContacts() {
+		List<Contact> contactList = new ArrayList<Contact>();
+		double cutoff2 = cutoff * cutoff;
+		int[] t = new int[3];
+		int[] bin = new int[3];
+		double[] d = new double[3];
+		double[] w0 = new double[3];
+		int[] shift0 = new int[3];
+		for (int i = 0; i < atoms.length; i++) {
+			for (int k = 0; k < 3; k++) {
+				shift0[k] = (int) Math.floor(fract[i][k]);
+				w0[k] = fract[i][k] - shift0[k];
+			}
+			int ia = binIndex(w0[0], 0);
+			int ib = binIndex(w0[1], 1);
+			int ic = binIndex(w0[2], 2);
+			for (int dc = -nsearch[2]; dc <= nsearch[2]; dc++) {
+				t[2] = Math.floorDiv(ic + dc, nbins[2]);
+				bin[2] = ic + dc - t[2] * nbins[2];
+				for (int db = -nsearch[1]; db <= nsearch[1]; db++) {
+					t[1] = Math.floorDiv(ib + db, nbins[1]);
+					bin[1] = ib + db - t[1] * nbins[1];
+					for (int da = -nsearch[0]; da <= nsearch[0]; da++) {
+						t[0] = Math.floorDiv(ia + da, nbins[0]);
+						bin[0] = ia + da - t[0] * nbins[0];
+						int b = getBin(bin[0], bin[1], bin[2]);
+						for (int m = binStart[b]; m < binStart[b + 1]; m++) {
+							int image = binImages[m];
+							int j = imageAtom[image];
+							if (operators == null && (j < i ||
+									(j == i && !isPositive(t)))) {
+								continue;
+							}
+							for (int k = 0; k < 3; k++) {
+								d[k] = imageFract[image][k] + t[k] - w0[k];
+							}
+							double dist2 = length2(d);
+							if (dist2 <= cutoff2 && !(j == i && dist2 < SITE_EPS * SITE_EPS)) {
+								int[] translation = new int[3];
+								for (int k = 0; k < 3; k++) {
+									translation[k] = t[k] - imageShift[image][k] + shift0[k];
+								}
+								contactList.add(new Contact(this, i, j, imageOperator[image],
+										translation, Math.sqrt(dist2)));
+							}
+						}
+					}
+				}
+			}
+		}
+		return contactList;
+	}
+
+	/** first non-zero component is positive */
+	private static boolean isPositive(int[] t) {
+		for (int k = 0; k < 3; k++) {
+			if (t[k] != 0) {
+				return t[k] > 0;
+			}
+		}
+		return false;
+	}
+
+	private double length2(double[] d) {
+		double x = orth[0][0] * d[0] + orth[0][1] * d[1] + orth[0][2] * d[2];
+		double y = orth[1][0] * d[0] + orth[1][1] * d[1] + orth[1][2] * d[2];
+		double z = orth[2][0] * d[0] + orth[2][1] * d[1] + orth[2][2] * d[2];
+		return x * x + y * y + z * z;
+	}
+
+	/**
+	 * all contacts by comparing each atom with every image in all cells
+	 * that can be within the cutoff. For checking and comparison; gives the
+	 * same contacts as getContacts() but not necessarily in the same order.
+	 *
+	 * @return contacts
+	 */
+	public List<Contact> getContactsBruteForce() {
+		List<Contact> contactList = new ArrayList<Contact>();
+		double cutoff2 = cutoff * cutoff;
+		int[] range = new int[3];
+		double[][] edges = new double[3][];
+		for (int k = 0; k < 3; k++) {
+			edges[k] = new double[] {orth[0][k], orth[1][k], orth[2][k]};
+		}
+		double volume = Math.abs(dot(edges[0], cross(edges[1], edges[2])));
+		for (int k = 0; k < 3; k++) {
+			double width = volume / norm(cross(edges[(k + 1) % 3], edges[(k + 2) % 3]));
+			range[k] = (int) Math.ceil(cutoff / width) + 1;
+		}
+		int[] t = new int[3];
+		double[] d = new double[3];
+		double[] w0 = new double[3];
+		int[] shift0 = new int[3];
+		for (int i = 0; i < atoms.length; i++) {
+			for (int k = 0; k < 3; k++) {
+				shift0[k] = (int) Math.floor(fract[i][k]);
+				w0[k] = fract[i][k] - shift0[k];
+			}
+			for (int image = 0; image < nimages; image++) {
+				int j = imageAtom[image];
+				for (t[0] = -range[0]; t[0] <= range[0]; t[0]++) {
+					for (t[1] = -range[1]; t[1] <= range[1]; t[1]++) {
+						for (t[2] = -range[2]; t[2] <= range[2]; t[2]++) {
+							if (operators == null && (j < i ||
+									(j == i && !isPositive(t)))) {
+								continue;
+							}
+							for (int k = 0; k < 3; k++) {
+								d[k] = imageFract[image][k] + t[k] - w0[k];
+							}
+							double dist2 = length2(d);
+							if (dist2 <= cutoff2 && !(j == i && dist2 < SITE_EPS * SITE_EPS)) {
+								int[] translation = new int[3];
+								for (int k = 0; k < 3; k++) {
+									translation[k] = t[k] - imageShift[image][k] + shift0[k];
+								}
+								contactList.add(new Contact(this, i, j, imageOperator[image],
+										translation, Math.sqrt(dist2)));
+							}
+						}
+					}
+				}
+			}
+		}
+		return contactList;
+	}
+}
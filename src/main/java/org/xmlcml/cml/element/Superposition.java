@@ -0,0 +1,337 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Optimal superposition of points onto a reference set of points.
+ * </p>
+ * <p>
+ * Finds the rotation and translation which minimise the RMS distance
+ * between corresponding points, using the quaternion method (Horn, J. Opt.
+ * Soc. Am. A 4 (1987) 629; equivalent to the Kabsch method but always
+ * giving a proper rotation). The reference is centred once and reused for
+ * every set fitted to it; each fit is then a single pass over the points
+ * and a 4x4 eigenvalue problem.
+ * </p>
+ * <p>
+ * Points are given as arrays of x, y and z and are paired by position.
+ * CMLAtomSet.fitTo() pairs atoms by position, index or CMLMap.
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class Superposition {
+
+	/**
+	 * result of fitting one set of points to the reference.
+	 */
+	public static class Fit {
+		private final double rmsd;
+		private final double[][] rotation;
+		private final double[] translation;
+
+		Fit(double rmsd, double[][] rotation, double[] translation) {
+			this.rmsd = rmsd;
+			this.rotation = rotation;
+			this.translation = translation;
+		}
+
+		/** RMS distance between reference and fitted points.
+		 * @return rmsd
+		 */
+		public double getRMSD() {
+			return rmsd;
+		}
+
+		/** rotation applied to the fitted points (before translation).
+		 * @return copy of 3x3 matrix
+		 */
+		public double[][] getRotation() {
+			double[][] r = new double[3][];
+			for (int i = 0; i < 3; i++) {
+				r[i] = rotation[i].clone();
+			}
+			return r;
+		}
+
+		/** translation applied to the fitted points (after rotation).
+		 * @return copy of translation
+		 */
+		public double[] getTranslation() {
+			return translation.clone();
+		}
+
+		/** transform which superposes the fitted points on the reference.
+		 * @return new transform
+		 */
+		public CMLTransform3 getTransform3() {
+			double[] m = new double[16];
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 3; j++) {
+					m[4 * i + j] = rotation[i][j];
+				}
+				m[4 * i + 3] = translation[i];
+			}
+			m[15] = 1.0;
+			return new CMLTransform3(m);
+		}
+
+		/** transforms points in place.
+		 *
+		 * @param x
+		 * @param y
+		 * @param z
+		 */
+		public void transform(double[] x, double[] y, double[] z) {
+			double[][] r = rotation;
+			for (int i = 0; i < x.length; i++) {
+				double xi = x[i];
+				double yi = y[i];
+				double zi = z[i];
+				x[i] = r[0][0] * xi + r[0][1] * yi + r[0][2] * zi + translation[0];
+				y[i] = r[1][0] * xi + r[1][1] * yi + r[1][2] * zi + translation[1];
+				z[i] = r[2][0] * xi + r[2][1] * yi + r[2][2] * zi + translation[2];
+			}
+		}
+	}
+
+	private final int n;
+	private final double[] centroid;
+	/** centred reference */
+	private final double[] rx;
+	private final double[] ry;
+	private final double[] rz;
+	/** sum of squares of centred reference */
+	private final double rss;
+
+	/**
+	 * reference points.
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @throws RuntimeException if no points or arrays of different lengths
+	 */
+	public Superposition(double[] x, double[] y, double[] z) {
+		checkLengths(x, y, z, x.length);
+		n = x.length;
+		if (n == 0) {
+			throw new RuntimeException("no points to superpose");
+		}
+		centroid = getCentroid(x, y, z);
+		rx = new double[n];
+		ry = new double[n];
+		rz = new double[n];
+		double ss = 0.0;
+		for (int i = 0; i < n; i++) {
+			rx[i] = x[i] - centroid[0];
+			ry[i] = y[i] - centroid[1];
+			rz[i] = z[i] - centroid[2];
+			ss += rx[i] * rx[i] + ry[i] * ry[i] + rz[i] * rz[i];
+		}
+		rss = ss;
+	}
+
+	private static void checkLengths(double[] x, double[] y, double[] z, int n) {
+		if (x.length != n || y.length != n || z.length != n) {
+			throw new RuntimeException("coordinate arrays of wrong length: "+
+					x.length+", "+y.length+", "+z.length+" (expected "+n+")");
+		}
+	}
+
+	private static double[] getCentroid(double[] x, double[] y, double[] z) {
+		double[] c = new double[3];
+		for (int i = 0; i < x.length; i++) {
+			c[0] += x[i];
+			c[1] += y[i];
+			c[2] += z[i];
+		}
+		for (int k = 0; k < 3; k++) {
+			c[k] /= x.length;
+		}
+		return c;
+	}
+
+	/** number of points.
+	 *
+	 * @return count
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * superposes points onto the reference.
+	 *
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return fit
+	 * @throws RuntimeException if arrays are not the size of the reference
+	 */
+	public Fit fit(double[] x, double[] y, double[] z) {
+		checkLengths(x, y, z, n);
+		double[] c = getCentroid(x, y, z);
+		// correlation of centred points with centred reference
+		double sxx = 0.0, sxy = 0.0, sxz = 0.0;
+		double syx = 0.0, syy = 0.0, syz = 0.0;
+		double szx = 0.0, szy = 0.0, szz = 0.0;
+		double ss = 0.0;
+		for (int i = 0; i < n; i++) {
+			double xi = x[i] - c[0];
+			double yi = y[i] - c[1];
+			double zi = z[i] - c[2];
+			ss += xi * xi + yi * yi + zi * zi;
+			sxx += xi * rx[i];
+			sxy += xi * ry[i];
+			sxz += xi * rz[i];
+			syx += yi * rx[i];
+			syy += yi * ry[i];
+			syz += yi * rz[i];
+			szx += zi * rx[i];
+			szy += zi * ry[i];
+			szz += zi * rz[i];
+		}
+		double[][] k = {
+			{sxx + syy + szz, syz - szy, szx - sxz, sxy - syx},
+			{syz - szy, sxx - syy - szz, sxy + syx, szx + sxz},
+			{szx - sxz, sxy + syx, -sxx + syy - szz, syz + szy},
+			{sxy - syx, szx + sxz, syz + szy, -sxx - syy + szz},
+		};
+		double[] q = new double[4];
+		double lambda = getLargestEigenvector(k, q);
+		double rmsd = Math.sqrt(Math.max(0.0, (ss + rss - 2.0 * lambda) / n));
+		double q0 = q[0], q1 = q[1], q2 = q[2], q3 = q[3];
+		double[][] r = {
+			{q0 * q0 + q1 * q1 - q2 * q2 - q3 * q3, 2 * (q1 * q2 - q0 * q3), 2 * (q1 * q3 + q0 * q2)},
+			{2 * (q1 * q2 + q0 * q3), q0 * q0 - q1 * q1 + q2 * q2 - q3 * q3, 2 * (q2 * q3 - q0 * q1)},
+			{2 * (q1 * q3 - q0 * q2), 2 * (q2 * q3 + q0 * q1), q0 * q0 - q1 * q1 - q2 * q2 + q3 * q3},
+		};
+		double[] t = new double[3];
+		for (int i = 0; i < 3; i++) {
+			t[i] = centroid[i] - (r[i][0] * c[0] + r[i][1] * c[1] + r[i][2] * c[2]);
+		}
+		return new Fit(rmsd, r, t);
+	}
+
+	/**
+	 * superposes many sets of points onto the reference.
+	 *
+	 * @param coordinates each element is {x, y, z}
+	 * @param parallel if true the sets are divided between threads (one for
+	 * each processor)
+	 * @return fits in order
+	 * @throws RuntimeException if any arrays are not the size of the reference
+	 */
+	public List<Fit> fitAll(final List<double[][]> coordinates, boolean parallel) {
+		final Fit[] fits = new Fit[coordinates.size()];
+		ParallelRange.run(fits.length, parallel, new ParallelRange.Range() {
+			public void calculate(int from, int to) {
+				fitRange(coordinates, fits, from, to);
+			}
+		});
+		return Arrays.asList(fits);
+	}
+
+	private void fitRange(List<double[][]> coordinates, Fit[] fits, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double[][] xyz = coordinates.get(i);
+			fits[i] = fit(xyz[0], xyz[1], xyz[2]);
+		}
+	}
+
+	/**
+	 * largest eigenvalue and eigenvector of symmetric 4x4 matrix by
+	 * Jacobi rotations.
+	 *
+	 * @param a matrix (destroyed)
+	 * @param v filled with normalized eigenvector
+	 * @return eigenvalue
+	 */
+	private static double getLargestEigenvector(double[][] a, double[] v) {
+		double[][] e = new double[4][4];
+		for (int i = 0; i < 4; i++) {
+			e[i][i] = 1.0;
+		}
+		for (int sweep = 0; sweep < 50; sweep++) {
+			double off = 0.0;
+			double diag = 0.0;
+			for (int p = 0; p < 4; p++) {
+				diag += Math.abs(a[p][p]);
+				for (int q = p + 1; q < 4; q++) {
+					off += Math.abs(a[p][q]);
+				}
+			}
+			if (off <= 1.0E-15 * diag || off == 0.0) {
+				break;
+			}
+			for (int p = 0; p < 3; p++) {
+				for (int q = p + 1; q < 4; q++) {
+					if (a[p][q] == 0.0) {
+						continue;
+					}
+					double theta = (a[q][q] - a[p][p]) / (2.0 * a[p][q]);
+					double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0));
+					if (theta == 0.0) {
+						t = 1.0;
+					}
+					double c = 1.0 / Math.sqrt(t * t + 1.0);
+					double s = t * c;
+					for (int k = 0; k < 4; k++) {
+						double akp = a[k][p];
+						double akq = a[k][q];
+						a[k][p] = c * akp - s * akq;
+						a[k][q] = s * akp + c * akq;
+					}
+					for (int k = 0; k < 4; k++) {
+						double apk = a[p][k];
+						double aqk = a[q][k];
+						a[p][k] = c * apk - s * aqk;
+						a[q][k] = s * apk + c * aqk;
+					}
+					for (int k = 0; k < 4; k++) {
+						double ekp = e[k][p];
+						double ekq = e[k][q];
+						e[k][p] = c * ekp - s * ekq;
+						e[k][q] = s * ekp + c * ekq;
+					}
+				}
+			}
+		}
+		int max = 0;
+		for (int i = 1; i < 4; i++) {
+			if (a[i][i] > a[max][max]) {
+				max = i;
+			}
+		}
+		double norm = 0.0;
+		for (int i = 0; i < 4; i++) {
+			v[i] = e[i][max];
+			norm += v[i] * v[i];
+		}
+		norm = Math.sqrt(norm);
+		for (int i = 0; i < 4; i++) {
+			v[i] /= norm;
+		}
+		return a[max][max];
+	}
+}
@@ -0,0 +1,283 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element;
+
+import java.util.Arrays;
+
+import org.xmlcml.cml.base.CMLElements;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * <p>
+ * Images of fractional coordinates under the operators of a CMLSymmetry,
+ * as used to expand an asymmetric unit into the unit cell.
+ * </p>
+ * <p>
+ * Every operator is applied to every point and the result is moved into
+ * the cell (0 &lt;= x &lt; 1). Images of a point that fall on the same
+ * site, as for a point on a special position, are only kept once. Sites
+ * are the same if each fractional coordinate agrees within eps, allowing
+ * for lattice translations (as Point3.equalsCrystallographically()).
+ * Images are held in a spatial hash so each is compared only with images
+ * of the same point in neighbouring hash cells.
+ * </p>
+ * <p>
+ * Images are ordered by point and then by operator; the first image of
+ * each point comes from the first operator (normally the identity).
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class UnitCellExpansion {
+
+	/** largest number of hash cells along each axis.*/
+	private final static int MAX_CELLS = 1024;
+	/** hash cell edge in units of eps; most images are then far enough
+	 * from the cell boundary not to need the neighbouring cells searched */
+	private final static int CELL_EPS = 8;
+
+	private final double eps;
+	private final int npoints;
+	private int nimages;
+	private double[] xFract;
+	private double[] yFract;
+	private double[] zFract;
+	private int[] source;
+	private int[] operator;
+	private int[] imageCount;
+	/** hash cells along each axis */
+	private int ncells;
+	/** images in hash cell: hashHeads[slot], next[..], next[next[..]] ... */
+	private long[] hashKeys;
+	private int[] hashHeads;
+	private int[] next;
+
+	/**
+	 * images within Point3.CRYSTALFRACTEPSILON are the same site.
+	 *
+	 * @param xFract
+	 * @param yFract
+	 * @param zFract
+	 * @param symmetry operators on fractional coordinates
+	 */
+	public UnitCellExpansion(double[] xFract, double[] yFract, double[] zFract,
+			CMLSymmetry symmetry) {
+		this(xFract, yFract, zFract, symmetry, Point3.CRYSTALFRACTEPSILON);
+	}
+
+	/**
+	 * images of points.
+	 *
+	 * @param xFract
+	 * @param yFract
+	 * @param zFract
+	 * @param symmetry operators on fractional coordinates
+	 * @param eps images are the same site if all coordinates agree within eps
+	 */
+	public UnitCellExpansion(double[] xFract, double[] yFract, double[] zFract,
+			CMLSymmetry symmetry, double eps) {
+		if (xFract.length != yFract.length || xFract.length != zFract.length) {
+			throw new RuntimeException("coordinate arrays of different lengths: "+
+					xFract.length+", "+yFract.length+", "+zFract.length);
+		}
+		if (!(eps > 0.0 && eps < 0.5)) {
+			throw new RuntimeException("eps must be between 0 and 0.5: "+eps);
+		}
+		this.eps = eps;
+		this.npoints = xFract.length;
+		CMLElements<CMLTransform3> transforms = symmetry.getTransform3Elements();
+		double[][] operators = new double[transforms.size()][];
+		for (int i = 0; i < operators.length; i++) {
+			operators[i] = transforms.get(i).getMatrixAsArray();
+		}
+		expand(xFract, yFract, zFract, operators);
+	}
+
+	private void expand(double[] x, double[] y, double[] z, double[][] operators) {
+		int nops = operators.length;
+		int maxImages = npoints * nops;
+		xFract = new double[maxImages];
+		yFract = new double[maxImages];
+		zFract = new double[maxImages];
+		source = new int[maxImages];
+		operator = new int[maxImages];
+		imageCount = new int[npoints];
+		ncells = Math.min(MAX_CELLS, (int) (1.0 / (CELL_EPS * eps)));
+		if (ncells < 3) {
+			ncells = 1;
+		}
+		int capacity = Integer.highestOneBit(Math.max(4, 4 * nops - 1)) << 1;
+		hashKeys = new long[capacity];
+		hashHeads = new int[capacity];
+		next = new int[maxImages];
+		double[] w = new double[3];
+		int[] cell = new int[3];
+		nimages = 0;
+		for (int i = 0; i < npoints; i++) {
+			// hash holds the images of this point only
+			Arrays.fill(hashKeys, -1L);
+			for (int op = 0; op < nops; op++) {
+				double[] m = operators[op];
+				w[0] = wrap(m[0] * x[i] + m[1] * y[i] + m[2] * z[i] + m[3]);
+				w[1] = wrap(m[4] * x[i] + m[5] * y[i] + m[6] * z[i] + m[7]);
+				w[2] = wrap(m[8] * x[i] + m[9] * y[i] + m[10] * z[i] + m[11]);
+				for (int k = 0; k < 3; k++) {
+					cell[k] = Math.min(ncells - 1, (int) (w[k] * ncells));
+				}
+				if (isSameSite(w, cell)) {
+					continue;
+				}
+				xFract[nimages] = w[0];
+				yFract[nimages] = w[1];
+				zFract[nimages] = w[2];
+				source[nimages] = i;
+				operator[nimages] = op;
+				long key = getKey(cell[0], cell[1], cell[2]);
+				int slot = getSlot(key);
+				if (hashKeys[slot] < 0) {
+					hashKeys[slot] = key;
+					hashHeads[slot] = -1;
+				}
+				next[nimages] = hashHeads[slot];
+				hashHeads[slot] = nimages;
+				imageCount[i]++;
+				nimages++;
+			}
+		}
+		hashKeys = null;
+		hashHeads = null;
+		next = null;
+	}
+
+	/** is w at an earlier image of the current point. neighbouring cells
+	 * are only searched if w is within eps of the cell boundary */
+	private boolean isSameSite(double[] w, int[] cell) {
+		int[] lo = new int[3];
+		int[] hi = new int[3];
+		if (ncells > 1) {
+			for (int k = 0; k < 3; k++) {
+				double f = w[k] * ncells - cell[k];
+				lo[k] = (f <= eps * ncells) ? -1 : 0;
+				hi[k] = (f >= 1.0 - eps * ncells) ? 1 : 0;
+			}
+		}
+		for (int dx = lo[0]; dx <= hi[0]; dx++) {
+			for (int dy = lo[1]; dy <= hi[1]; dy++) {
+				for (int dz = lo[2]; dz <= hi[2]; dz++) {
+					int slot = getSlot(getKey(cell[0] + dx, cell[1] + dy, cell[2] + dz));
+					int first = (hashKeys[slot] < 0) ? -1 : hashHeads[slot];
+					for (int j = first; j >= 0; j = next[j]) {
+						if (isEqual(w[0], xFract[j]) && isEqual(w[1], yFract[j]) &&
+								isEqual(w[2], zFract[j])) {
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isEqual(double w0, double w1) {
+		double d = w0 - w1;
+		return Math.abs(d - Math.rint(d)) <= eps;
+	}
+
+	private long getKey(int ix, int iy, int iz) {
+		ix = Math.floorMod(ix, ncells);
+		iy = Math.floorMod(iy, ncells);
+		iz = Math.floorMod(iz, ncells);
+		return ((long) ix * ncells + iy) * ncells + iz;
+	}
+
+	/** slot holding key in open addressing hash, or empty slot for it */
+	private int getSlot(long key) {
+		int mask = hashKeys.length - 1;
+		int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+		while (hashKeys[slot] >= 0 && hashKeys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/** move into 0 &lt;= w &lt; 1 */
+	private static double wrap(double f) {
+		double w = f - Math.floor(f);
+		// rounding of small negative values
+		return (w >= 1.0) ? w - 1.0 : w;
+	}
+
+	/** number of images.
+	 *
+	 * @return count
+	 */
+	public int size() {
+		return nimages;
+	}
+
+	/** x fractional coordinates of images.
+	 *
+	 * @return new array of size()
+	 */
+	public double[] getXFract() {
+		return Arrays.copyOf(xFract, nimages);
+	}
+
+	/** y fractional coordinates of images.
+	 *
+	 * @return new array of size()
+	 */
+	public double[] getYFract() {
+		return Arrays.copyOf(yFract, nimages);
+	}
+
+	/** z fractional coordinates of images.
+	 *
+	 * @return new array of size()
+	 */
+	public double[] getZFract() {
+		return Arrays.copyOf(zFract, nimages);
+	}
+
+	/** point from which each image was made.
+	 *
+	 * @return new array of size() indexes into the original coordinates
+	 */
+	public int[] getSource() {
+		return Arrays.copyOf(source, nimages);
+	}
+
+	/** operator which made each image.
+	 *
+	 * @return new array of size() indexes into the symmetry transforms
+	 */
+	public int[] getOperator() {
+		return Arrays.copyOf(operator, nimages);
+	}
+
+	/** number of distinct images of a point.
+	 * for a spacegroup this is the number of operators divided by
+	 * CMLSymmetry.getSpaceGroupMultiplicity() of the point.
+	 *
+	 * @param i index of point
+	 * @return count
+	 */
+	public int getImageCount(int i) {
+		return imageCount[i];
+	}
+}
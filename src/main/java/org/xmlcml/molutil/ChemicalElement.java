@@ -17,19 +17,12 @@
 package org.xmlcml.molutil;
 
 import java.awt.Color;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Set;
 
-import nu.xom.Document;
-import nu.xom.Element;
-import nu.xom.Elements;
-
 import org.apache.log4j.Logger;
-import org.xmlcml.cml.base.CMLUtil;
 
 //import jumbo.euclid.RealArray;
 
@@ -174,7 +167,8 @@ public class ChemicalElement {
      */
     public static final int MAXELEM = 150;
 
-    /** XML file containing elemental details. */
+    /** XML file containing elemental details.
+     * compiled into PeriodicTableData by PeriodicTableGenerator. */
     final static String ELEMENT_FILE = "org/xmlcml/molutil/elementdata.xml";
 
     final static double DEFAULT_ATOMIC_RADIUS = 1.6;
@@ -187,14 +181,15 @@ public class ChemicalElement {
 
     static double bondingRadiusTolerance = DEFAULT_BONDING_RADIUS_TOLERANCE;
 
-    /** Hashtable of elements, indexed by atomicSymbol. */
-    static Hashtable<String, ChemicalElement> pTable;
+    /** elements indexed as PeriodicTableData, looked up by symbol
+     * through PeriodicTableData.getIndex(). */
+    static ChemicalElement[] pTable;
 
     /** Atomic number to atomicSymbol array. */
     public static ChemicalElement[] periodicTable;
 
     static {
-        pTable = new Hashtable<String, ChemicalElement>();
+        pTable = new ChemicalElement[PeriodicTableData.SIZE];
         periodicTable = new ChemicalElement[MAXELEM];
     };
 
@@ -688,7 +683,7 @@ public class ChemicalElement {
      */
     public static ChemicalElement getChemicalElementIgnoreCase(String symbol) {
         symbol = symbol.toUpperCase();
-        return pTable.get(symbol);
+        return getChemicalElement(symbol);
     }
 
     /** get the element corresponding to a CASE-SENSITIVE atomicSymbol.
@@ -697,7 +692,8 @@ public class ChemicalElement {
      * @return element or null if not found
      */
     public static ChemicalElement getChemicalElement(String symbol) {
-        return pTable.get(symbol);
+        int index = PeriodicTableData.getIndex(symbol);
+        return (index < 0) ? null : pTable[index];
     }
 
     /** get the element corresponding to a Type.
@@ -706,7 +702,7 @@ public class ChemicalElement {
      * @return element or null if not found
      */
     public static ChemicalElement getChemicalElement(AS as) {
-        return pTable.get(as.value);
+        return getChemicalElement(as.value);
     }
 
     
@@ -735,6 +731,8 @@ public class ChemicalElement {
 
     /**
      * get the element corresponding to atomic number; else returns null.
+     * this is an array lookup and should be preferred to symbol lookup
+     * in loops.
      * 
      * @param atomicNumber
      * @return element
@@ -746,198 +744,35 @@ public class ChemicalElement {
         return periodicTable[atomicNumber];
     }
 
-    /** generates periodic table. 
+    /** generates periodic table from PeriodicTableData.
      * Element sysmbols are CASE-SENSITIVE
      * */
     // / @cond DOXYGEN_STATIC_BLOCK_WORKAROUND
     static {
-        ChemicalElement el;
-
-        // Reads elemental data from ELEMENT_FILE
-        // ClassLoader l = ClassLoader.getSystemClassLoader();
-        Document document = null;
-        try {
-            document = CMLUtil.getXMLResource(ELEMENT_FILE);
-        } catch (IOException e1) {
-            throw new RuntimeException("BUG: cannot read PT resource file: "+
-                ELEMENT_FILE);
-        }
-
-        document = null;
-        try {
-            document = CMLUtil.getXMLResource(ELEMENT_FILE);
-        } catch (IOException e1) {
-            throw new RuntimeException("BUG: cannot read PT resource file: "+
-                ELEMENT_FILE);
-        }
-
-        Elements elements = ((Element) document.getRootElement())
-                .getChildElements("element");
-        for (int i = 0; i < elements.size(); i++) {
-            Element element = (Element) elements.get(i);
-
-            String symbol = element.getAttributeValue("id");
-            // logger.info("Adding element: " + atomicSymbol);
-            int atNum = Integer.parseInt(element
-                    .getAttributeValue("atomicnumber"));
-            double atWeight = getWeight(element, "webelements");
-
-            el = new ChemicalElement(symbol, atNum, atWeight);
-//            pTable.put(el.atomicSymbol.toUpperCase(), el);
-            pTable.put(el.atomicSymbol, el);
-
-            String sGroup = element.getAttributeValue("group");
-            if (sGroup != null) {
-                el.group = Integer.parseInt(sGroup);
-            } else {
-                el.group = 0;
-            }
-
-            String sPeriod = element.getAttributeValue("period");
-            if (sPeriod != null) {
-                el.period = Integer.parseInt(sPeriod);
-            } else {
-                el.period = 0;
-            }
-
-            double d = getRadius(element, "webelements", "covalent", "empirical");
-            el.setCovalentRadius(d);
-            d = getRadius(element, "webelements", "atomic", "empirical");
-            el.setAtomicRadius(d);
-            d = getRadius(element, "webelements", "vanderwaals", null);
-            el.setVDWRadius(d);
-
-            el.setElectronegativity(getElectronegativity(element,
-                    "webelements", "pauling"));
-
-            el.electronicGroundState = getElectronicState(element,
-                    "webelements", "groundstate");
-
-            Elements nodelist = element.getChildElements("isotopes");
-            int[] ii = {};
-            double[] aa = {};
-            double[] preciseMasses = {};
-
-            if (nodelist.size() > 0) {
-                Element node = (Element) nodelist.get(0);
-                Elements isotopes = node.getChildElements("isotope");
-
-                if (isotopes.size() > 0) {
-                    ii = new int[isotopes.size()];
-                    aa = new double[isotopes.size()];
-                    preciseMasses = new double[isotopes.size()];
-
-                    for (int j = 0; j < isotopes.size(); j++) {
-                        Element isotope = (Element) isotopes.get(j);
-                        try {
-                            ii[j] = Integer.parseInt(isotope
-                                    .getAttributeValue("mass"));
-                            aa[j] = Double.parseDouble(isotope
-                                    .getAttributeValue("abundance"));
-                            String preciseMass = isotope.getAttributeValue("preciseMass");
-                            if (preciseMass == null) {
-                            	preciseMasses[j] = Double.NaN;
-                            }
-                            else {
-                            	preciseMasses[j] = Double.parseDouble(preciseMass);
-                            }
-                        } catch (NullPointerException e) {
-                            //FIXME squish the nullpointer and leave the value set to 0? this doesn't look right...
-                        	;
-                        }
-                    }
-                }
-            }
-            el.addIsotope(ii, aa);
-            el.setIsotopePreciseMasses(preciseMasses);
-
-            nodelist = element.getChildElements("rgb");
-            if (nodelist.size() > 0) {
-                Element node = (Element) nodelist.get(0);
-
-                float red = Float.parseFloat(node.getAttributeValue("red"));
-                float green = Float.parseFloat(node.getAttributeValue("green"));
-                float blue = Float.parseFloat(node.getAttributeValue("blue"));
-
-                el.setColor(new Color(red, green, blue));
+        for (int i = 0; i < PeriodicTableData.SIZE; i++) {
+            ChemicalElement el = new ChemicalElement(PeriodicTableData.SYMBOL[i],
+                PeriodicTableData.ATOMIC_NUMBER[i], PeriodicTableData.ATOMIC_WEIGHT[i]);
+            pTable[i] = el;
+            el.group = PeriodicTableData.GROUP[i];
+            el.period = PeriodicTableData.PERIOD[i];
+            el.setCovalentRadius(PeriodicTableData.COVALENT_RADIUS[i]);
+            el.setAtomicRadius(PeriodicTableData.ATOMIC_RADIUS[i]);
+            el.setVDWRadius(PeriodicTableData.VDW_RADIUS[i]);
+            el.setElectronegativity(PeriodicTableData.ELECTRONEGATIVITY[i]);
+            el.electronicGroundState = PeriodicTableData.GROUND_STATE[i];
+            // copy arrays as setters are public
+            el.setIsotopes(PeriodicTableData.ISOTOPE_MASS[i].clone(),
+                PeriodicTableData.ISOTOPE_ABUNDANCE[i].clone());
+            el.setIsotopePreciseMasses(PeriodicTableData.ISOTOPE_PRECISE_MASS[i].clone());
+            float[] rgb = PeriodicTableData.RGB[i];
+            if (rgb != null) {
+                el.setColor(new Color(rgb[0], rgb[1], rgb[2]));
             }
         }
     }
 
     // / @endcond
 
-    private static double getWeight(Element element, String source) {
-        Elements weights = element.getChildElements("mass");
-        for (int i = 0; i < weights.size(); i++) {
-            Element weight = (Element) weights.get(i);
-            if (source != null
-                    && source.equals(weight.getAttributeValue("source"))) {
-                return Double.parseDouble(weight.getValue());
-            }
-        }
-        return 0;
-    }
-
-    private static double getRadius(Element element, String source,
-            String type, String context) {
-        Elements radiiList = element.getChildElements("radii");
-        for (int i = 0; i < radiiList.size(); i++) {
-            Element radii = (Element) radiiList.get(i);
-            if (source != null
-                    && !source.equals(radii.getAttributeValue("source"))) {
-                continue;
-            }
-
-            Elements radiusList = radii.getChildElements("radius");
-            for (int j = 0; j < radiusList.size(); j++) {
-                Element radius = (Element) radiusList.get(j);
-                if (type != null
-                    && type.equals(radius.getAttributeValue("type"))
-                    && (context == null ||
-                    context.equals(radius.getAttributeValue("context")))) {
-                    double rad = Double.parseDouble(radius.getValue());
-                    if (radius.getAttributeValue("unit").equals("pm")) {
-                        rad /= 100.0;
-                    }
-                    return rad;
-                }
-            }
-        }
-        return 0;
-    }
-
-    private static double getElectronegativity(Element element, String source,
-            String type) {
-        Elements enegList = element.getChildElements("electronegativity");
-        for (int i = 0; i < enegList.size(); i++) {
-            Element eneg = (Element) enegList.get(i);
-            if (source != null
-                    && source.equals(eneg.getAttributeValue("source"))
-                    && type != null
-                    && type.equals(eneg.getAttributeValue("type"))) {
-                return Double.parseDouble(eneg.getValue());
-            }
-        }
-
-        return 0;
-    }
-
-    private static String getElectronicState(Element element, String source,
-            String type) {
-        Elements eStates = element.getChildElements("electronicconfiguration");
-        for (int i = 0; i < eStates.size(); i++) {
-            Element estate = (Element) eStates.get(i);
-            if (source != null
-                    && source.equals(estate.getAttributeValue("source"))
-                    && type != null
-                    && type.equals(estate.getAttributeValue("type"))) {
-                return estate.getValue();
-            }
-        }
-
-        return "";
-    }
-
     /**
      * Outputs details of element.
      * 
@@ -0,0 +1,968 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.molutil;
+
+/* ======AUTOGENERATED FROM elementdata.xml BY PeriodicTableGenerator; DO NOT EDIT ====== */
+/** constant data for ChemicalElement.
+ * one entry per element in elementdata.xml, in file order.
+ * arrays must not be modified.
+ */
+final class PeriodicTableData {
+
+    /** number of entries */
+    final static int SIZE = 120;
+
+    private PeriodicTableData() {
+    }
+
+    /** element symbols */
+    final static String[] SYMBOL = {
+        "Dummy", "R", "T", "D", "H", "He", "Li", "Be",
+        "B", "C", "N", "O", "F", "Ne", "Na", "Mg",
+        "Al", "Si", "P", "S", "Cl", "Ar", "K", "Ca",
+        "Sc", "Ti", "V", "Cr", "Mn", "Fe", "Co", "Ni",
+        "Cu", "Zn", "Ga", "Ge", "As", "Se", "Br", "Kr",
+        "Rb", "Sr", "Y", "Zr", "Nb", "Mo", "Tc", "Ru",
+        "Rh", "Pd", "Ag", "Cd", "In", "Sn", "Sb", "Te",
+        "I", "Xe", "Cs", "Ba", "La", "Ce", "Pr", "Nd",
+        "Pm", "Sm", "Eu", "Gd", "Tb", "Dy", "Ho", "Er",
+        "Tm", "Yb", "Lu", "Hf", "Ta", "W", "Re", "Os",
+        "Ir", "Pt", "Au", "Hg", "Tl", "Pb", "Bi", "Po",
+        "At", "Rn", "Fr", "Ra", "Ac", "Th", "Pa", "U",
+        "Np", "Pu", "Am", "Cm", "Bk", "Cf", "Es", "Fm",
+        "Md", "No", "Lr", "Rf", "Db", "Sg", "Bh", "Hs",
+        "Mt", "Ds", "Rg", "Uub", "Uut", "Uuq", "Uup", "Uuh",
+    };
+
+    /** atomic numbers */
+    final static int[] ATOMIC_NUMBER = {
+        0, 149, 1, 1, 1, 2, 3, 4,
+        5, 6, 7, 8, 9, 10, 11, 12,
+        13, 14, 15, 16, 17, 18, 19, 20,
+        21, 22, 23, 24, 25, 26, 27, 28,
+        29, 30, 31, 32, 33, 34, 35, 36,
+        37, 38, 39, 40, 41, 42, 43, 44,
+        45, 46, 47, 48, 49, 50, 51, 52,
+        53, 54, 55, 56, 57, 58, 59, 60,
+        61, 62, 63, 64, 65, 66, 67, 68,
+        69, 70, 71, 72, 73, 74, 75, 76,
+        77, 78, 79, 80, 81, 82, 83, 84,
+        85, 86, 87, 88, 89, 90, 91, 92,
+        93, 94, 95, 96, 97, 98, 99, 100,
+        101, 102, 103, 104, 105, 106, 107, 108,
+        109, 110, 111, 112, 113, 114, 115, 116,
+    };
+
+    /** atomic weights */
+    final static double[] ATOMIC_WEIGHT = {
+        0.0, 0.0, 3.016049, 2.01355, 1.00794, 4.002602, 6.941, 9.012182,
+        10.811, 12.0107, 14.0067, 15.9994, 18.9984032, 20.1797, 22.98977, 24.305,
+        26.981538, 28.0855, 30.973761, 32.065, 35.453, 39.948, 39.0983, 40.078,
+        44.95591, 47.867, 50.9415, 51.9961, 54.938049, 55.845, 58.9332, 58.6934,
+        63.546, 65.409, 69.723, 72.64, 74.9216, 78.96, 79.904, 83.798,
+        85.4678, 87.62, 88.90585, 91.224, 92.90638, 95.94, 98.0, 101.07,
+        102.9055, 106.42, 107.8682, 112.411, 114.818, 118.71, 121.76, 127.6,
+        126.90447, 131.293, 132.90545, 137.327, 138.9055, 140.116, 140.90765, 144.24,
+        145.0, 150.36, 151.964, 157.25, 158.92534, 162.5, 164.93032, 167.259,
+        168.93421, 173.04, 174.967, 178.49, 180.9479, 183.84, 186.207, 190.23,
+        192.217, 195.078, 196.96655, 200.59, 204.3833, 207.2, 208.98038, 209.0,
+        210.0, 222.0, 223.0, 226.0, 227.0, 232.0381, 231.03588, 238.02891,
+        237.0, 244.0, 243.0, 247.0, 247.0, 251.0, 252.0, 257.0,
+        258.0, 259.0, 262.0, 261.0, 262.0, 266.0, 264.0, 269.0,
+        268.0, 271.0, 272.0, 285.0, 284.0, 289.0, 288.0, 292.0,
+    };
+
+    /** groups (0 if unknown) */
+    final static int[] GROUP = {
+        0, 0, 1, 1, 1, 18, 1, 2,
+        13, 14, 15, 16, 17, 18, 1, 2,
+        13, 14, 15, 16, 17, 18, 1, 2,
+        3, 4, 5, 6, 7, 8, 9, 10,
+        11, 12, 13, 14, 15, 16, 17, 18,
+        1, 2, 3, 4, 5, 6, 7, 8,
+        9, 10, 11, 12, 13, 14, 15, 16,
+        17, 18, 1, 2, 0, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, 0, 0,
+        0, 0, 3, 4, 5, 6, 7, 8,
+        9, 10, 11, 12, 13, 14, 15, 16,
+        17, 18, 1, 2, 0, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, 0, 0,
+        0, 0, 3, 4, 5, 6, 7, 8,
+        9, 10, 11, 12, 13, 14, 15, 16,
+    };
+
+    /** periods (0 if unknown) */
+    final static int[] PERIOD = {
+        0, 0, 1, 1, 1, 1, 2, 2,
+        2, 2, 2, 2, 2, 2, 3, 3,
+        3, 3, 3, 3, 3, 3, 4, 4,
+        4, 4, 4, 4, 4, 4, 4, 4,
+        4, 4, 4, 4, 4, 4, 4, 4,
+        5, 5, 5, 5, 5, 5, 5, 5,
+        5, 5, 5, 5, 5, 5, 5, 5,
+        5, 5, 6, 6, 6, 6, 6, 6,
+        6, 6, 6, 6, 6, 6, 6, 6,
+        6, 6, 6, 6, 6, 6, 6, 6,
+        6, 6, 6, 6, 6, 6, 6, 6,
+        6, 6, 7, 7, 7, 7, 7, 7,
+        7, 7, 7, 7, 7, 7, 7, 7,
+        7, 7, 7, 7, 7, 7, 7, 7,
+        7, 7, 7, 7, 7, 7, 7, 7,
+    };
+
+    /** covalent radii in angstrom (0 if unknown) */
+    final static double[] COVALENT_RADIUS = {
+        0.0, 0.0, 0.0, 0.0, 0.37, 0.32, 1.34, 0.9,
+        0.82, 0.77, 0.75, 0.73, 0.71, 0.69, 1.54, 1.3,
+        1.18, 1.11, 1.06, 1.02, 0.99, 0.97, 1.96, 1.74,
+        1.44, 1.36, 1.25, 1.27, 1.39, 1.25, 1.26, 1.21,
+        1.38, 1.31, 1.26, 1.22, 1.19, 1.16, 1.14, 1.1,
+        2.11, 1.92, 1.62, 1.48, 1.37, 1.45, 1.56, 1.26,
+        1.35, 1.31, 1.53, 1.48, 1.44, 1.41, 1.38, 1.35,
+        1.33, 1.3, 2.25, 1.98, 1.69, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 1.6, 1.5, 1.38, 1.46, 1.59, 1.28,
+        1.37, 1.28, 1.44, 1.49, 1.48, 1.47, 1.46, 0.0,
+        0.0, 1.45, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+    };
+
+    /** atomic radii in angstrom (0 if unknown) */
+    final static double[] ATOMIC_RADIUS = {
+        0.0, 0.0, 0.0, 0.0, 0.25, 0.0, 1.45, 1.05,
+        0.85, 0.7, 0.65, 0.6, 0.5, 0.0, 1.8, 1.5,
+        1.25, 1.1, 1.0, 1.0, 1.0, 0.0, 2.2, 1.8,
+        1.6, 1.4, 1.35, 1.4, 1.4, 1.4, 1.35, 1.35,
+        1.35, 1.35, 1.3, 1.25, 1.15, 1.15, 1.15, 0.0,
+        2.35, 2.0, 1.8, 1.55, 1.45, 1.45, 1.35, 1.3,
+        1.35, 1.4, 1.6, 1.55, 1.55, 1.45, 1.45, 1.4,
+        1.4, 0.0, 2.6, 2.15, 1.95, 1.85, 1.85, 1.85,
+        1.85, 1.85, 1.85, 1.8, 1.75, 1.75, 1.75, 1.75,
+        1.75, 1.75, 1.75, 1.55, 1.45, 1.35, 1.35, 1.3,
+        1.35, 1.35, 1.35, 1.5, 1.9, 1.8, 1.6, 1.9,
+        0.0, 0.0, 0.0, 2.15, 1.95, 1.8, 1.8, 1.75,
+        1.75, 1.75, 1.75, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+    };
+
+    /** van der Waals radii in angstrom (0 if unknown) */
+    final static double[] VDW_RADIUS = {
+        0.0, 0.0, 0.0, 0.0, 1.2, 1.4, 1.82, 0.0,
+        0.0, 1.7, 1.55, 1.52, 1.47, 1.54, 2.27, 1.73,
+        0.0, 2.1, 1.8, 1.8, 1.75, 1.88, 2.75, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 1.63,
+        1.4, 1.39, 1.87, 0.0, 1.85, 1.9, 1.85, 2.02,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 1.63, 1.72, 1.58, 1.93, 2.17, 0.0, 2.06,
+        1.98, 2.16, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 1.75, 1.66, 1.55, 1.96, 2.02, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 1.86,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+    };
+
+    /** Pauling electronegativities (0 if unknown) */
+    final static double[] ELECTRONEGATIVITY = {
+        0.0, 0.0, 0.0, 0.0, 2.2, 0.0, 0.98, 1.57,
+        2.04, 2.55, 3.04, 3.44, 3.98, 0.0, 0.93, 1.31,
+        1.61, 1.9, 2.19, 2.58, 3.16, 0.0, 0.82, 1.0,
+        1.36, 1.54, 1.63, 1.66, 1.55, 1.83, 1.88, 1.91,
+        1.9, 1.65, 1.81, 2.01, 2.18, 2.55, 2.96, 3.0,
+        0.82, 0.95, 1.22, 1.33, 1.6, 2.16, 1.9, 2.2,
+        2.28, 2.2, 1.93, 1.69, 1.78, 1.96, 2.05, 2.1,
+        2.66, 2.6, 0.79, 0.89, 1.1, 1.12, 1.13, 1.14,
+        0.0, 1.17, 0.0, 1.2, 0.0, 1.22, 1.23, 1.24,
+        1.25, 0.0, 1.27, 1.3, 1.5, 2.36, 1.9, 2.2,
+        2.2, 2.28, 2.54, 2.0, 1.62, 2.33, 2.02, 2.0,
+        2.2, 0.0, 0.7, 0.9, 1.1, 1.3, 1.5, 1.38,
+        1.36, 1.28, 1.3, 1.3, 1.3, 1.3, 1.3, 1.3,
+        1.3, 1.3, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0,
+    };
+
+    /** electronic ground states */
+    final static String[] GROUND_STATE = {
+        "", "", "1s1", "1s1", "1s1", "1s2", "[He].2s1", "[He].2s2",
+        "[He].2s2.2p1", "[He].2s2.2p2", "[He].2s2.2p3", "[He].2s2.2p4", "[He].2s2.2p5", "[He].2s2.2p6", "[Ne].3s1", "[Ne].3s2",
+        "[Ne].3s2.3p1", "[Ne].3s2.3p2", "[Ne].3s2.3p3", "[Ne].3s2.3p4", "[Ne].3s2.3p5", "[Ne].3s2.3p6", "[Ar].4s1", "[Ar].4s2",
+        "[Ar].3d1.4s2", "[Ar].3d2.4s2", "[Ar].3d3.4s2", "[Ar].3d5.4s1", "[Ar].3d5.4s2", "[Ar].3d6.4s2", "[Ar].3d7.4s2", "[Ar].3d8.4s2",
+        "[Ar].3d10.4s1", "[Ar].3d10.4s2", "[Ar].3d10.4s2.4p1", "[Ar].3d10.4s2.4p2", "[Ar].3d10.4s2.4p3", "[Ar].3d10.4s2.4p4", "[Ar].3d10.4s2.4p5", "[Ar].3d10.4s2.4p6",
+        "[Kr].5s1", "[Kr].5s2", "[Kr].4d1.5s2", "[Kr].4d2.5s2", "[Kr].4d4.5s1", "[Kr].4d5.5s1", "[Kr].4d6.5s1", "[Kr].4d75s1",
+        "[Kr].4d85s1", "[Kr].4d10", "[Kr].4d10.5s1", "[Kr].4d10.5s2", "[Kr].4d10.5s2.5p1", "[Kr].4d10.5s2.5p2", "[Kr].4d10.5s2.5p3", "[Kr].4d10.5s2.5p4",
+        "[Kr].4d10.5s2.5p5", "[Kr].4d10.5s2.5p6", "[Xe].6s1", "[Xe].6s2", "[Xe].5d1.6s2", "[Xe].4f1.5d1.6s2", "[Xe].4f3.6s2", "[Xe].4f4.6s2",
+        "[Xe].4f5.6s2", "[Xe].4f6.6s2", "[Xe].4f7.6s2", "[Xe].4f7.5d1.6s2", "[Xe].4f9.6s2", "[Xe].4f10.6s2", "[Xe].4f11.6s2", "[Xe].4f12.6s2",
+        "[Xe].4f13.6s2", "[Xe].4f14.6s2", "[Xe].4f14.5d1.6s2", "[Xe].4f14.5d2.6s2", "[Xe].4f14.5d3.6s2", "[Xe].4f14.5d4.6s2", "[Xe].4f14.5d5.6s2", "[Xe].4f14.5d6.6s2",
+        "[Xe].4f14.5d7.6s2", "[Xe].4f14.5d9.6s1", "[Xe].4f14.5d10.6s1", "[Xe].4f14.5d10.6s2", "[Xe].4f14.5d10.6s2.6p1", "[Xe].4f14.5d10.6s2.6p2", "[Xe].4f14.5d10.6s2.6p3", "[Xe].4f14.5d10.6s2.6p4",
+        "[Xe].4f14.5d10.6s2.6p5", "[Xe].4f14.5d10.6s2.6p6", "[Rn].7s1", "[Rn].7s2", "[Rn].6d1.7s2", "[Rn].6d2.7s2", "[Rn].5f2.6d1.7s2", "[Rn].5f3.6d1.7s2",
+        "[Rn].5f4.6d1.7s2", "[Rn].5f6.7s2", "[Rn].5f7.7s2", "[Rn].5f7.6d1.7s2", "[Rn].5f9.7s2", "[Rn].5f10.7s2", "[Rn].5f11.7s2", "[Rn].5f12.7s2",
+        "[Rn].5f13.7s2", "[Rn].5f14.7s2", "[Rn].5f14.7s2.7p1", "[Rn].5f14.6d2.7s2", "[Rn].5f14.6d3.7s2", "[Rn].5f14.6d4.7s2", "[Rn].5f14.6d5.7s2", "[Rn].5f14.6d6.7s2",
+        "[Rn].5f14.6d7.7s2", "[Rn].5f14.6d9.7s1", "[Rn].5f14.6d10.7s1", "[Rn].5f14.6d10.7s2", "[Rn].5f14.6d10.7s2.7p1", "[Rn].5f14.6d10.7s2.7p2", "[Rn].5f14.6d10.7s2.7p3", "[Rn].5f14.6d10.7s2.7p4",
+    };
+
+    /** isotope masses */
+    final static int[][] ISOTOPE_MASS = {
+        {},
+        {},
+        {},
+        {},
+        {1, 2},
+        {3, 4},
+        {6, 7},
+        {9},
+        {10, 11},
+        {12, 13},
+        {14, 15},
+        {16, 17, 18},
+        {19},
+        {20, 21, 22},
+        {23},
+        {24, 25, 26},
+        {27},
+        {28, 29, 30},
+        {31},
+        {32, 33, 34, 36},
+        {35, 37},
+        {36, 38, 40},
+        {39, 40, 41},
+        {40, 42, 43, 44, 46, 48},
+        {},
+        {46, 47, 48, 49, 50},
+        {50, 51},
+        {50, 52, 53, 54},
+        {55},
+        {54, 56, 57, 58},
+        {59},
+        {58, 60, 61, 62, 64},
+        {63, 65},
+        {64, 66, 67, 68, 70},
+        {69, 71},
+        {70, 72, 73, 74, 76},
+        {75},
+        {74, 76, 77, 78, 80, 82},
+        {79, 81},
+        {78, 80, 82, 83, 84, 86},
+        {85, 87},
+        {84, 86, 87, 88},
+        {89},
+        {90, 91, 92, 94, 96},
+        {93},
+        {92, 94, 95, 96, 97, 98, 100},
+        {},
+        {96, 98, 99, 100, 101, 102, 104},
+        {103},
+        {102, 104, 105, 106, 108, 110},
+        {107, 109},
+        {106, 108, 110, 111, 112, 113, 114, 116},
+        {113, 115},
+        {112, 114, 115, 116, 117, 118, 119, 120, 122},
+        {121, 123},
+        {120, 122, 123, 124, 125, 126, 128, 130},
+        {127},
+        {124, 126, 128, 129, 130, 131, 132, 134, 136},
+        {133},
+        {130, 132, 134, 135, 136, 137, 138},
+        {138, 139},
+        {136, 138, 140, 142},
+        {141},
+        {142, 143, 144, 145, 146, 148, 150},
+        {},
+        {144, 147, 148, 149, 150, 152, 154},
+        {151, 153},
+        {152, 154, 155, 156, 157, 158, 160},
+        {159},
+        {156, 158, 160, 161, 162, 163, 164},
+        {165},
+        {162, 164, 166, 167, 168, 170},
+        {169},
+        {168, 170, 171, 172, 173, 174, 176},
+        {175, 176},
+        {174, 176, 177, 178, 179, 180},
+        {180, 181},
+        {180, 182, 183, 184, 186},
+        {185, 187},
+        {184, 186, 187, 188, 190, 192},
+        {191, 193},
+        {190, 192, 194, 195, 196, 198},
+        {197},
+        {196, 198, 199, 200, 201, 202, 204},
+        {203, 205},
+        {204, 206, 207, 208},
+        {209},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {232},
+        {231},
+        {234, 235, 238},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+    };
+
+    /** isotope abundances */
+    final static double[][] ISOTOPE_ABUNDANCE = {
+        {},
+        {},
+        {},
+        {},
+        {99.9885, 0.0115},
+        {1.37E-4, 99.999863},
+        {7.589, 92.411},
+        {100.0},
+        {19.9, 80.1},
+        {98.93, 1.07},
+        {99.632, 0.368},
+        {99.757, 0.038, 0.205},
+        {100.0},
+        {90.48, 0.27, 9.25},
+        {100.0},
+        {78.99, 10.0, 11.01},
+        {100.0},
+        {92.2297, 4.6832, 3.0872},
+        {100.0},
+        {94.93, 0.76, 4.29, 0.02},
+        {75.78, 24.22},
+        {0.3365, 0.0632, 99.6003},
+        {93.2581, 0.0117, 6.7302},
+        {96.941, 0.647, 0.135, 2.086, 0.004, 0.187},
+        {},
+        {8.25, 7.44, 73.72, 5.41, 5.18},
+        {0.25, 99.75},
+        {4.345, 83.789, 9.501, 2.365},
+        {100.0},
+        {5.845, 91.754, 2.119, 0.282},
+        {100.0},
+        {68.0769, 26.2231, 1.1399, 3.6345, 0.9256},
+        {69.17, 30.83},
+        {48.63, 27.9, 4.1, 18.75, 0.62},
+        {60.108, 39.892},
+        {20.84, 27.54, 7.73, 36.28, 7.61},
+        {100.0},
+        {0.89, 9.37, 7.63, 23.77, 49.61, 8.73},
+        {50.69, 49.31},
+        {0.35, 2.28, 11.58, 11.49, 57.0, 17.3},
+        {72.17, 27.83},
+        {0.56, 9.86, 7.0, 82.58},
+        {100.0},
+        {51.45, 11.22, 17.15, 17.38, 2.8},
+        {100.0},
+        {14.84, 9.25, 15.92, 16.68, 9.55, 24.13, 9.63},
+        {},
+        {5.54, 1.87, 12.76, 12.6, 17.06, 31.55, 18.62},
+        {100.0},
+        {1.02, 11.14, 22.33, 27.33, 26.46, 11.72},
+        {51.839, 48.161},
+        {1.25, 0.89, 12.49, 12.8, 24.13, 12.22, 28.73, 7.49},
+        {4.29, 95.71},
+        {0.97, 0.66, 0.34, 14.54, 7.68, 24.22, 8.59, 32.58, 4.63},
+        {57.21, 42.79},
+        {0.09, 2.55, 0.89, 4.74, 7.07, 18.84, 31.74, 34.08},
+        {100.0},
+        {0.09, 0.09, 1.92, 26.44, 4.08, 21.18, 26.89, 10.44, 8.87},
+        {100.0},
+        {0.106, 0.101, 2.417, 6.592, 7.854, 11.232, 71.698},
+        {0.09, 99.91},
+        {0.185, 0.251, 88.45, 11.114},
+        {100.0},
+        {27.2, 12.2, 23.8, 8.3, 17.2, 5.7, 5.6},
+        {},
+        {3.07, 14.99, 11.24, 13.82, 7.38, 26.75, 22.75},
+        {47.81, 52.19},
+        {0.2, 2.18, 14.8, 20.47, 15.65, 24.84, 21.86},
+        {100.0},
+        {0.06, 0.1, 2.34, 18.91, 25.51, 24.9, 28.18},
+        {100.0},
+        {0.14, 1.61, 33.61, 22.93, 26.78, 14.93},
+        {100.0},
+        {0.13, 3.04, 14.28, 21.83, 16.13, 31.83, 12.76},
+        {97.41, 2.59},
+        {0.16, 5.26, 18.6, 27.28, 13.62, 35.08},
+        {0.012, 99.988},
+        {0.12, 26.5, 14.31, 30.64, 28.43},
+        {37.4, 62.6},
+        {0.02, 1.59, 1.96, 13.24, 26.26, 40.78},
+        {37.3, 62.7},
+        {0.014, 0.782, 32.967, 33.832, 25.242, 7.163},
+        {100.0},
+        {0.15, 9.97, 16.87, 23.1, 13.18, 29.86, 6.87},
+        {29.524, 70.476},
+        {1.4, 24.1, 22.1, 52.4},
+        {100.0},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {100.0},
+        {100.0},
+        {0.00548, 0.72, 99.2745},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+    };
+
+    /** precise isotope masses (NaN if unknown) */
+    final static double[][] ISOTOPE_PRECISE_MASS = {
+        {},
+        {},
+        {},
+        {},
+        {1.007825032, 2.014101778},
+        {3.016029, 4.002603},
+        {6.015122, 7.016004},
+        {9.012182},
+        {10.012937, 11.009305},
+        {12.0, 13.003354},
+        {14.003074, 15.000108},
+        {15.99491463, 16.9991312, 17.9991603},
+        {18.99840322},
+        {19.9924356, 20.9938428, 21.9913831},
+        {22.9897677},
+        {23.9850423, 24.9858374, 25.9825937},
+        {26.9815386},
+        {27.9769271, 28.9764949, 29.9737707},
+        {30.973762},
+        {31.9720707, 32.97145843, 33.96786665, 35.96708062},
+        {34.968852721, 36.96590262},
+        {35.96754552, 37.9627325, 39.9623837},
+        {38.9637074, 39.9639992, 40.9618254},
+        {39.9625906, 41.9586176, 42.9587662, 43.9554806, 45.953689, 47.952533},
+        {},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {78.9183361, 80.916289},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {Double.NaN},
+        {Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+        {},
+    };
+
+    /** display colours as red, green, blue (null if unknown) */
+    final static float[][] RGB = {
+        {0.07f, 0.6f, 0.7f},
+        {0.07f, 0.5f, 0.7f},
+        null,
+        null,
+        {1.0f, 1.0f, 1.0f},
+        {0.85f, 1.0f, 1.0f},
+        {0.8f, 0.5f, 1.0f},
+        {0.76f, 1.0f, 0.0f},
+        {1.0f, 0.71f, 0.71f},
+        {0.5f, 0.5f, 0.5f},
+        {0.05f, 0.05f, 1.0f},
+        {1.0f, 0.05f, 0.05f},
+        {0.7f, 1.0f, 1.0f},
+        {0.7f, 0.89f, 0.96f},
+        {0.67f, 0.36f, 0.95f},
+        {0.54f, 1.0f, 0.0f},
+        {0.75f, 0.65f, 0.65f},
+        {0.5f, 0.6f, 0.6f},
+        {1.0f, 0.5f, 0.0f},
+        {1.0f, 1.0f, 0.19f},
+        {0.12f, 0.94f, 0.12f},
+        {0.5f, 0.82f, 0.89f},
+        {0.56f, 0.25f, 0.83f},
+        {0.24f, 1.0f, 0.0f},
+        {0.9f, 0.9f, 0.9f},
+        {0.75f, 0.76f, 0.78f},
+        {0.65f, 0.65f, 0.67f},
+        {0.54f, 0.6f, 0.78f},
+        {0.61f, 0.48f, 0.78f},
+        {0.5f, 0.48f, 0.78f},
+        {0.44f, 0.48f, 0.78f},
+        {0.36f, 0.48f, 0.76f},
+        {1.0f, 0.48f, 0.38f},
+        {0.49f, 0.5f, 0.69f},
+        {0.76f, 0.56f, 0.56f},
+        {0.4f, 0.56f, 0.56f},
+        {0.74f, 0.5f, 0.89f},
+        {1.0f, 0.63f, 0.0f},
+        {0.65f, 0.16f, 0.16f},
+        {0.36f, 0.72f, 0.82f},
+        {0.44f, 0.18f, 0.69f},
+        {0.0f, 1.0f, 0.0f},
+        {0.58f, 1.0f, 1.0f},
+        {0.58f, 0.88f, 0.88f},
+        {0.45f, 0.76f, 0.79f},
+        {0.33f, 0.71f, 0.71f},
+        {0.23f, 0.62f, 0.62f},
+        {0.14f, 0.56f, 0.56f},
+        {0.04f, 0.49f, 0.55f},
+        {0.0f, 0.41f, 0.52f},
+        {0.88f, 0.88f, 1.0f},
+        {1.0f, 0.85f, 0.56f},
+        {0.65f, 0.46f, 0.45f},
+        {0.4f, 0.5f, 0.5f},
+        {0.62f, 0.39f, 0.71f},
+        {0.83f, 0.48f, 0.0f},
+        {0.58f, 0.0f, 0.58f},
+        {0.26f, 0.62f, 0.69f},
+        {0.34f, 0.09f, 0.56f},
+        {0.0f, 0.79f, 0.0f},
+        {0.44f, 0.83f, 1.0f},
+        {1.0f, 1.0f, 0.78f},
+        {0.85f, 1.0f, 0.78f},
+        {0.78f, 1.0f, 0.78f},
+        {0.64f, 1.0f, 0.78f},
+        {0.56f, 1.0f, 0.78f},
+        {0.38f, 1.0f, 0.78f},
+        {0.27f, 1.0f, 0.78f},
+        {0.19f, 1.0f, 0.78f},
+        {0.12f, 1.0f, 0.78f},
+        {0.0f, 1.0f, 0.61f},
+        {0.0f, 0.9f, 0.46f},
+        {0.0f, 0.83f, 0.32f},
+        {0.0f, 0.75f, 0.22f},
+        {0.0f, 0.67f, 0.14f},
+        {0.3f, 0.76f, 1.0f},
+        {0.3f, 0.65f, 1.0f},
+        {0.13f, 0.58f, 0.84f},
+        {0.15f, 0.49f, 0.67f},
+        {0.15f, 0.4f, 0.59f},
+        {0.09f, 0.33f, 0.53f},
+        {0.96f, 0.93f, 0.82f},
+        {0.8f, 0.82f, 0.12f},
+        {0.71f, 0.71f, 0.76f},
+        {0.65f, 0.33f, 0.3f},
+        {0.34f, 0.35f, 0.38f},
+        {0.62f, 0.31f, 0.71f},
+        {0.67f, 0.36f, 0.0f},
+        {0.46f, 0.31f, 0.27f},
+        {0.26f, 0.51f, 0.59f},
+        {0.26f, 0.0f, 0.4f},
+        {0.0f, 0.49f, 0.0f},
+        {0.44f, 0.67f, 0.98f},
+        {0.0f, 0.73f, 1.0f},
+        {0.0f, 0.63f, 1.0f},
+        {0.0f, 0.56f, 1.0f},
+        {0.0f, 0.5f, 1.0f},
+        {0.0f, 0.42f, 1.0f},
+        {0.33f, 0.36f, 0.95f},
+        {0.47f, 0.36f, 0.89f},
+        {0.54f, 0.31f, 0.89f},
+        {0.63f, 0.21f, 0.83f},
+        {0.7f, 0.12f, 0.83f},
+        {0.7f, 0.12f, 0.73f},
+        {0.7f, 0.05f, 0.65f},
+        {0.74f, 0.05f, 0.53f},
+        {0.78f, 0.0f, 0.4f},
+        {0.8f, 0.0f, 0.35f},
+        {0.82f, 0.0f, 0.31f},
+        {0.85f, 0.0f, 0.27f},
+        {0.88f, 0.0f, 0.22f},
+        {0.9f, 0.0f, 0.18f},
+        {0.92f, 0.0f, 0.15f},
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+    };
+
+    /** index of entry.
+     * @param symbol case-sensitive element symbol
+     * @return index or -1 if not known
+     */
+    static int getIndex(String symbol) {
+        switch (symbol) {
+        case "Dummy":
+            return 0;
+        case "R":
+            return 1;
+        case "T":
+            return 2;
+        case "D":
+            return 3;
+        case "H":
+            return 4;
+        case "He":
+            return 5;
+        case "Li":
+            return 6;
+        case "Be":
+            return 7;
+        case "B":
+            return 8;
+        case "C":
+            return 9;
+        case "N":
+            return 10;
+        case "O":
+            return 11;
+        case "F":
+            return 12;
+        case "Ne":
+            return 13;
+        case "Na":
+            return 14;
+        case "Mg":
+            return 15;
+        case "Al":
+            return 16;
+        case "Si":
+            return 17;
+        case "P":
+            return 18;
+        case "S":
+            return 19;
+        case "Cl":
+            return 20;
+        case "Ar":
+            return 21;
+        case "K":
+            return 22;
+        case "Ca":
+            return 23;
+        case "Sc":
+            return 24;
+        case "Ti":
+            return 25;
+        case "V":
+            return 26;
+        case "Cr":
+            return 27;
+        case "Mn":
+            return 28;
+        case "Fe":
+            return 29;
+        case "Co":
+            return 30;
+        case "Ni":
+            return 31;
+        case "Cu":
+            return 32;
+        case "Zn":
+            return 33;
+        case "Ga":
+            return 34;
+        case "Ge":
+            return 35;
+        case "As":
+            return 36;
+        case "Se":
+            return 37;
+        case "Br":
+            return 38;
+        case "Kr":
+            return 39;
+        case "Rb":
+            return 40;
+        case "Sr":
+            return 41;
+        case "Y":
+            return 42;
+        case "Zr":
+            return 43;
+        case "Nb":
+            return 44;
+        case "Mo":
+            return 45;
+        case "Tc":
+            return 46;
+        case "Ru":
+            return 47;
+        case "Rh":
+            return 48;
+        case "Pd":
+            return 49;
+        case "Ag":
+            return 50;
+        case "Cd":
+            return 51;
+        case "In":
+            return 52;
+        case "Sn":
+            return 53;
+        case "Sb":
+            return 54;
+        case "Te":
+            return 55;
+        case "I":
+            return 56;
+        case "Xe":
+            return 57;
+        case "Cs":
+            return 58;
+        case "Ba":
+            return 59;
+        case "La":
+            return 60;
+        case "Ce":
+            return 61;
+        case "Pr":
+            return 62;
+        case "Nd":
+            return 63;
+        case "Pm":
+            return 64;
+        case "Sm":
+            return 65;
+        case "Eu":
+            return 66;
+        case "Gd":
+            return 67;
+        case "Tb":
+            return 68;
+        case "Dy":
+            return 69;
+        case "Ho":
+            return 70;
+        case "Er":
+            return 71;
+        case "Tm":
+            return 72;
+        case "Yb":
+            return 73;
+        case "Lu":
+            return 74;
+        case "Hf":
+            return 75;
+        case "Ta":
+            return 76;
+        case "W":
+            return 77;
+        case "Re":
+            return 78;
+        case "Os":
+            return 79;
+        case "Ir":
+            return 80;
+        case "Pt":
+            return 81;
+        case "Au":
+            return 82;
+        case "Hg":
+            return 83;
+        case "Tl":
+            return 84;
+        case "Pb":
+            return 85;
+        case "Bi":
+            return 86;
+        case "Po":
+            return 87;
+        case "At":
+            return 88;
+        case "Rn":
+            return 89;
+        case "Fr":
+            return 90;
+        case "Ra":
+            return 91;
+        case "Ac":
+            return 92;
+        case "Th":
+            return 93;
+        case "Pa":
+            return 94;
+        case "U":
+            return 95;
+        case "Np":
+            return 96;
+        case "Pu":
+            return 97;
+        case "Am":
+            return 98;
+        case "Cm":
+            return 99;
+        case "Bk":
+            return 100;
+        case "Cf":
+            return 101;
+        case "Es":
+            return 102;
+        case "Fm":
+            return 103;
+        case "Md":
+            return 104;
+        case "No":
+            return 105;
+        case "Lr":
+            return 106;
+        case "Rf":
+            return 107;
+        case "Db":
+            return 108;
+        case "Sg":
+            return 109;
+        case "Bh":
+            return 110;
+        case "Hs":
+            return 111;
+        case "Mt":
+            return 112;
+        case "Ds":
+            return 113;
+        case "Rg":
+            return 114;
+        case "Uub":
+            return 115;
+        case "Uut":
+            return 116;
+        case "Uuq":
+            return 117;
+        case "Uup":
+            return 118;
+        case "Uuh":
+            return 119;
+        default:
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.molutil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nu.xom.Document;
+import nu.xom.Element;
+import nu.xom.Elements;
+
+import org.apache.commons.io.FileUtils;
+import org.xmlcml.cml.base.CMLUtil;
+
+/**
+ * Generates PeriodicTableData from elementdata.xml.
+ * <p>
+ * ChemicalElement used to parse elementdata.xml on first use. The data are
+ * now compiled into the constant tables of PeriodicTableData, which must be
+ * regenerated with {@link #writeSource(File)} whenever elementdata.xml
+ * changes.
+ * </p>
+ *
+ * @author pm286
+ */
+public class PeriodicTableGenerator {
+
+	/** name of generated class */
+	public final static String PERIODIC_TABLE_DATA = "PeriodicTableData";
+
+	private final static String PACKAGE = "org.xmlcml.molutil";
+	private final static int PER_LINE = 8;
+
+	private List<String> symbols = new ArrayList<String>();
+	private List<Integer> atomicNumbers = new ArrayList<Integer>();
+	private List<Double> atomicWeights = new ArrayList<Double>();
+	private List<Integer> groups = new ArrayList<Integer>();
+	private List<Integer> periods = new ArrayList<Integer>();
+	private List<Double> covalentRadii = new ArrayList<Double>();
+	private List<Double> atomicRadii = new ArrayList<Double>();
+	private List<Double> vdwRadii = new ArrayList<Double>();
+	private List<Double> electronegativities = new ArrayList<Double>();
+	private List<String> groundStates = new ArrayList<String>();
+	private List<int[]> isotopeMasses = new ArrayList<int[]>();
+	private List<double[]> isotopeAbundances = new ArrayList<double[]>();
+	private List<double[]> isotopePreciseMasses = new ArrayList<double[]>();
+	private List<float[]> colors = new ArrayList<float[]>();
+
+	/** reads elementdata.xml.
+	 *
+	 * @throws IOException
+	 */
+	public PeriodicTableGenerator() throws IOException {
+		Document document = CMLUtil.getXMLResource(ChemicalElement.ELEMENT_FILE);
+		Elements elements = document.getRootElement().getChildElements("element");
+		for (int i = 0; i < elements.size(); i++) {
+			addElement(elements.get(i));
+		}
+	}
+
+	private void addElement(Element element) {
+		symbols.add(element.getAttributeValue("id"));
+		atomicNumbers.add(Integer.parseInt(element.getAttributeValue("atomicnumber")));
+		atomicWeights.add(getWeight(element, "webelements"));
+
+		String sGroup = element.getAttributeValue("group");
+		groups.add((sGroup != null) ? Integer.parseInt(sGroup) : 0);
+		String sPeriod = element.getAttributeValue("period");
+		periods.add((sPeriod != null) ? Integer.parseInt(sPeriod) : 0);
+
+		covalentRadii.add(getRadius(element, "webelements", "covalent", "empirical"));
+		atomicRadii.add(getRadius(element, "webelements", "atomic", "empirical"));
+		vdwRadii.add(getRadius(element, "webelements", "vanderwaals", null));
+		electronegativities.add(getElectronegativity(element, "webelements", "pauling"));
+		groundStates.add(getElectronicState(element, "webelements", "groundstate"));
+
+		Elements nodelist = element.getChildElements("isotopes");
+		int[] ii = {};
+		double[] aa = {};
+		double[] preciseMasses = {};
+		if (nodelist.size() > 0) {
+			Elements isotopes = nodelist.get(0).getChildElements("isotope");
+			if (isotopes.size() > 0) {
+				ii = new int[isotopes.size()];
+				aa = new double[isotopes.size()];
+				preciseMasses = new double[isotopes.size()];
+				for (int j = 0; j < isotopes.size(); j++) {
+					Element isotope = isotopes.get(j);
+					try {
+						ii[j] = Integer.parseInt(isotope.getAttributeValue("mass"));
+						aa[j] = Double.parseDouble(isotope.getAttributeValue("abundance"));
+						String preciseMass = isotope.getAttributeValue("preciseMass");
+						preciseMasses[j] = (preciseMass == null) ? Double.NaN :
+							Double.parseDouble(preciseMass);
+					} catch (NullPointerException e) {
+						// missing values are left as 0
+					}
+				}
+			}
+		}
+		isotopeMasses.add(ii);
+		isotopeAbundances.add(aa);
+		isotopePreciseMasses.add(preciseMasses);
+
+		float[] rgb = null;
+		nodelist = element.getChildElements("rgb");
+		if (nodelist.size() > 0) {
+			Element node = nodelist.get(0);
+			rgb = new float[] {
+				Float.parseFloat(node.getAttributeValue("red")),
+				Float.parseFloat(node.getAttributeValue("green")),
+				Float.parseFloat(node.getAttributeValue("blue")),
+			};
+		}
+		colors.add(rgb);
+	}
+
+	private static double getWeight(Element element, String source) {
+		Elements weights = element.getChildElements("mass");
+		for (int i = 0; i < weights.size(); i++) {
+			Element weight = weights.get(i);
+			if (source != null
+					&& source.equals(weight.getAttributeValue("source"))) {
+				return Double.parseDouble(weight.getValue());
+			}
+		}
+		return 0;
+	}
+
+	private static double getRadius(Element element, String source,
+			String type, String context) {
+		Elements radiiList = element.getChildElements("radii");
+		for (int i = 0; i < radiiList.size(); i++) {
+			Element radii = radiiList.get(i);
+			if (source != null
+					&& !source.equals(radii.getAttributeValue("source"))) {
+				continue;
+			}
+			Elements radiusList = radii.getChildElements("radius");
+			for (int j = 0; j < radiusList.size(); j++) {
+				Element radius = radiusList.get(j);
+				if (type != null
+						&& type.equals(radius.getAttributeValue("type"))
+						&& (context == null ||
+						context.equals(radius.getAttributeValue("context")))) {
+					double rad = Double.parseDouble(radius.getValue());
+					if (radius.getAttributeValue("unit").equals("pm")) {
+						rad /= 100.0;
+					}
+					return rad;
+				}
+			}
+		}
+		return 0;
+	}
+
+	private static double getElectronegativity(Element element, String source,
+			String type) {
+		Elements enegList = element.getChildElements("electronegativity");
+		for (int i = 0; i < enegList.size(); i++) {
+			Element eneg = enegList.get(i);
+			if (source != null
+					&& source.equals(eneg.getAttributeValue("source"))
+					&& type != null
+					&& type.equals(eneg.getAttributeValue("type"))) {
+				return Double.parseDouble(eneg.getValue());
+			}
+		}
+		return 0;
+	}
+
+	private static String getElectronicState(Element element, String source,
+			String type) {
+		Elements eStates = element.getChildElements("electronicconfiguration");
+		for (int i = 0; i < eStates.size(); i++) {
+			Element estate = eStates.get(i);
+			if (source != null
+					&& source.equals(estate.getAttributeValue("source"))
+					&& type != null
+					&& type.equals(estate.getAttributeValue("type"))) {
+				return estate.getValue();
+			}
+		}
+		return "";
+	}
+
+	/** creates source of PeriodicTableData.
+	 *
+	 * @return java source
+	 */
+	public String createSource() {
+		// later entries with the same symbol replace earlier ones
+		Map<String, Integer> indexBySymbol = new LinkedHashMap<String, Integer>();
+		for (int i = 0; i < symbols.size(); i++) {
+			indexBySymbol.remove(symbols.get(i));
+			indexBySymbol.put(symbols.get(i), i);
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("/**\n");
+		sb.append(" *    Copyright 2011 Peter Murray-Rust et. al.\n");
+		sb.append(" *\n");
+		sb.append(" *    Licensed under the Apache License, Version 2.0 (the \"License\");\n");
+		sb.append(" *    you may not use this file except in compliance with the License.\n");
+		sb.append(" *    You may obtain a copy of the License at\n");
+		sb.append(" *\n");
+		sb.append(" *        http://www.apache.org/licenses/LICENSE-2.0\n");
+		sb.append(" *\n");
+		sb.append(" *    Unless required by applicable law or agreed to in writing, software\n");
+		sb.append(" *    distributed under the License is distributed on an \"AS IS\" BASIS,\n");
+		sb.append(" *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n");
+		sb.append(" *    See the License for the specific language governing permissions and\n");
+		sb.append(" *    limitations under the License.\n");
+		sb.append(" */\n");
+		sb.append("\n");
+		sb.append("package "+PACKAGE+";\n");
+		sb.append("\n");
+		sb.append("/* ======AUTOGENERATED FROM elementdata.xml BY PeriodicTableGenerator; DO NOT EDIT ====== */\n");
+		sb.append("/** constant data for ChemicalElement.\n");
+		sb.append(" * one entry per element in elementdata.xml, in file order.\n");
+		sb.append(" * arrays must not be modified.\n");
+		sb.append(" */\n");
+		sb.append("final class "+PERIODIC_TABLE_DATA+" {\n");
+		sb.append("\n");
+		sb.append("    /** number of entries */\n");
+		sb.append("    final static int SIZE = "+symbols.size()+";\n");
+		sb.append("\n");
+		sb.append("    private "+PERIODIC_TABLE_DATA+"() {\n");
+		sb.append("    }\n");
+		appendStrings(sb, "element symbols", "SYMBOL", symbols);
+		appendInts(sb, "atomic numbers", "ATOMIC_NUMBER", atomicNumbers);
+		appendDoubles(sb, "atomic weights", "ATOMIC_WEIGHT", atomicWeights);
+		appendInts(sb, "groups (0 if unknown)", "GROUP", groups);
+		appendInts(sb, "periods (0 if unknown)", "PERIOD", periods);
+		appendDoubles(sb, "covalent radii in angstrom (0 if unknown)", "COVALENT_RADIUS", covalentRadii);
+		appendDoubles(sb, "atomic radii in angstrom (0 if unknown)", "ATOMIC_RADIUS", atomicRadii);
+		appendDoubles(sb, "van der Waals radii in angstrom (0 if unknown)", "VDW_RADIUS", vdwRadii);
+		appendDoubles(sb, "Pauling electronegativities (0 if unknown)", "ELECTRONEGATIVITY", electronegativities);
+		appendStrings(sb, "electronic ground states", "GROUND_STATE", groundStates);
+
+		sb.append("\n");
+		sb.append("    /** isotope masses */\n");
+		sb.append("    final static int[][] ISOTOPE_MASS = {\n");
+		for (int[] ii : isotopeMasses) {
+			sb.append("        {");
+			for (int j = 0; j < ii.length; j++) {
+				sb.append((j == 0 ? "" : ", ")+ii[j]);
+			}
+			sb.append("},\n");
+		}
+		sb.append("    };\n");
+		appendDoubleArrays(sb, "isotope abundances", "ISOTOPE_ABUNDANCE", isotopeAbundances);
+		appendDoubleArrays(sb, "precise isotope masses (NaN if unknown)", "ISOTOPE_PRECISE_MASS", isotopePreciseMasses);
+
+		sb.append("\n");
+		sb.append("    /** display colours as red, green, blue (null if unknown) */\n");
+		sb.append("    final static float[][] RGB = {\n");
+		for (float[] rgb : colors) {
+			if (rgb == null) {
+				sb.append("        null,\n");
+			} else {
+				sb.append("        {"+rgb[0]+"f, "+rgb[1]+"f, "+rgb[2]+"f},\n");
+			}
+		}
+		sb.append("    };\n");
+
+		sb.append("\n");
+		sb.append("    /** index of entry.\n");
+		sb.append("     * @param symbol case-sensitive element symbol\n");
+		sb.append("     * @return index or -1 if not known\n");
+		sb.append("     */\n");
+		sb.append("    static int getIndex(String symbol) {\n");
+		sb.append("        switch (symbol) {\n");
+		for (String symbol : indexBySymbol.keySet()) {
+			sb.append("        case \""+symbol+"\":\n");
+			sb.append("            return "+indexBySymbol.get(symbol)+";\n");
+		}
+		sb.append("        default:\n");
+		sb.append("            return -1;\n");
+		sb.append("        }\n");
+		sb.append("    }\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static void appendStrings(StringBuilder sb, String comment, String name, List<String> values) {
+		sb.append("\n");
+		sb.append("    /** "+comment+" */\n");
+		sb.append("    final static String[] "+name+" = {\n");
+		for (int i = 0; i < values.size(); i++) {
+			sb.append((i % PER_LINE == 0) ? "        " : " ");
+			sb.append("\""+values.get(i)+"\",");
+			if (i % PER_LINE == PER_LINE - 1 || i == values.size() - 1) {
+				sb.append("\n");
+			}
+		}
+		sb.append("    };\n");
+	}
+
+	private static void appendInts(StringBuilder sb, String comment, String name, List<Integer> values) {
+		sb.append("\n");
+		sb.append("    /** "+comment+" */\n");
+		sb.append("    final static int[] "+name+" = {\n");
+		for (int i = 0; i < values.size(); i++) {
+			sb.append((i % PER_LINE == 0) ? "        " : " ");
+			sb.append(values.get(i)+",");
+			if (i % PER_LINE == PER_LINE - 1 || i == values.size() - 1) {
+				sb.append("\n");
+			}
+		}
+		sb.append("    };\n");
+	}
+
+	private static void appendDoubles(StringBuilder sb, String comment, String name, List<Double> values) {
+		sb.append("\n");
+		sb.append("    /** "+comment+" */\n");
+		sb.append("    final static double[] "+name+" = {\n");
+		for (int i = 0; i < values.size(); i++) {
+			sb.append((i % PER_LINE == 0) ? "        " : " ");
+			sb.append(toLiteral(values.get(i))+",");
+			if (i % PER_LINE == PER_LINE - 1 || i == values.size() - 1) {
+				sb.append("\n");
+			}
+		}
+		sb.append("    };\n");
+	}
+
+	private static void appendDoubleArrays(StringBuilder sb, String comment, String name, List<double[]> values) {
+		sb.append("\n");
+		sb.append("    /** "+comment+" */\n");
+		sb.append("    final static double[][] "+name+" = {\n");
+		for (double[] dd : values) {
+			sb.append("        {");
+			for (int j = 0; j < dd.length; j++) {
+				sb.append((j == 0 ? "" : ", ")+toLiteral(dd[j]));
+			}
+			sb.append("},\n");
+		}
+		sb.append("    };\n");
+	}
+
+	private static String toLiteral(double d) {
+		return Double.isNaN(d) ? "Double.NaN" : Double.toString(d);
+	}
+
+	/** writes PeriodicTableData source.
+	 *
+	 * @param srcdir top of source tree (e.g. src/main/java)
+	 * @throws IOException
+	 */
+	public void writeSource(File srcdir) throws IOException {
+		File file = new File(srcdir, PACKAGE.replace('.', File.separatorChar)+
+				File.separator+PERIODIC_TABLE_DATA+".java");
+		FileUtils.writeStringToFile(file, createSource(), "UTF-8");
+	}
+}
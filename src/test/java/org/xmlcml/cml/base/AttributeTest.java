@@ -17,9 +17,21 @@
 package org.xmlcml.cml.base;
 
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import nu.xom.Attribute;
+import nu.xom.Nodes;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.xmlcml.cml.attribute.DictRefAttribute;
+import org.xmlcml.cml.attribute.IdAttribute;
 
 /**
  * test for attribute.
@@ -214,4 +226,165 @@ public class AttributeTest {
 		Assert.assertEquals("namespace", "abc", att1.getNamespacePrefix());
 		Assert.assertEquals("namespace", "http://bar", att1.getNamespaceURI());
 	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLAttribute.newInstance(String)'
+	 */
+	@Test
+	public void testNewInstance() {
+		CMLAttribute template = AttributeFactory.attributeFactory.getAttribute("x3", "atom");
+		Assert.assertTrue("template", template.isTemplate());
+		CMLAttribute att = template.newInstance("1.5");
+		Assert.assertEquals("class", DoubleSTAttribute.class, att.getClass());
+		Assert.assertFalse("instance", att.isTemplate());
+		Assert.assertEquals("value", 1.5, ((DoubleSTAttribute) att).getDouble(), 0.0);
+		att = AttributeFactory.attributeFactory.getAttributeByGroupName("dictRef").newInstance("foo:bar");
+		Assert.assertEquals("class", DictRefAttribute.class, att.getClass());
+		Assert.assertEquals("prefix", "foo", ((DictRefAttribute) att).getPrefix());
+		att = AttributeFactory.attributeFactory.getAttributeByGroupName("mandatoryId").newInstance("a1");
+		Assert.assertEquals("class", IdAttribute.class, att.getClass());
+		att = AttributeFactory.attributeFactory.getAttributeByGroupName("atomRefArray").newInstance("a1 a2");
+		Assert.assertEquals("class", StringArraySTAttribute.class, att.getClass());
+		Assert.assertEquals("array", 2, ((String[]) att.getCMLValue()).length);
+		try {
+			template.newInstance("abc");
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			// OK
+		}
+	}
+
+	/**
+	 * templates cannot be modified.
+	 */
+	@Test
+	public void testTemplateIsImmutable() {
+		DoubleSTAttribute template = (DoubleSTAttribute)
+			AttributeFactory.attributeFactory.getAttribute("x3", "atom");
+		try {
+			template.setCMLValue(1.0);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			// OK
+		}
+		try {
+			template.setValue("1.0");
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			// OK
+		}
+		Assert.assertEquals("unchanged", CMLConstants.S_EMPTY, template.getValue());
+		CMLAttribute copy = (CMLAttribute) template.copy();
+		Assert.assertFalse("copy", copy.isTemplate());
+		copy.setCMLValue("2.0");
+	}
+
+	/**
+	 * node factories on many threads share templates; values must not bleed.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentMakeAttribute() throws Exception {
+		final int nThreads = 8;
+		final int nAtts = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<String>> futures = new ArrayList<Future<String>>();
+			for (int t = 0; t < nThreads; t++) {
+				final int thread = t;
+				futures.add(executor.submit(new Callable<String>() {
+					public String call() throws Exception {
+						CMLNodeFactory factory = new CMLNodeFactory();
+						factory.startMakingDocument();
+						factory.startMakingElement("atom", CMLConstants.CML_NS);
+						for (int i = 0; i < nAtts; i++) {
+							String x3 = thread + "." + i;
+							String id = "a" + thread + "_" + i;
+							Attribute xAtt = makeAttribute(factory, "x3", x3);
+							Attribute idAtt = makeAttribute(factory, "id", id);
+							Attribute chargeAtt = makeAttribute(factory, "formalCharge", "" + (thread - i));
+							if (((DoubleSTAttribute) xAtt).getDouble() != Double.parseDouble(x3)) {
+								return "x3 " + xAtt.getValue() + " != " + x3;
+							}
+							if (!id.equals(idAtt.getValue())) {
+								return "id " + idAtt.getValue() + " != " + id;
+							}
+							if (((IntSTAttribute) chargeAtt).getInt() != thread - i) {
+								return "formalCharge " + chargeAtt.getValue();
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<String> future : futures) {
+				Assert.assertNull(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assert.assertEquals("template", CMLConstants.S_EMPTY,
+				AttributeFactory.attributeFactory.getAttribute("x3", "atom").getValue());
+	}
+
+	/**
+	 * XSD patterns are compiled once and translated to Java syntax.
+	 */
+	@Test
+	public void testCheckPattern() {
+		Assert.assertEquals("[ \\t\\n\\r]*\\p{Nd}+", CMLType.translateXSDPattern("\\s*\\d+"));
+		Assert.assertEquals("\\^[a-z&&[^aeiou]]\\$", CMLType.translateXSDPattern("^[a-z-[aeiou]]$"));
+		Assert.assertEquals("[^a\\^\\&]\\p{InBasicLatin}", CMLType.translateXSDPattern("[^a\\^&]\\p{IsBasicLatin}"));
+		CMLType type = new CMLType();
+		type.setName("formulaType");
+		type.setBase(CMLConstants.XSD_STRING);
+		type.setPattern("\\s*([A-Z][a-z]?\\s+(([0-9]+(\\.[0-9]*)?)|(\\.[0-9]*))?\\s*)+");
+		type.checkValue("C 2 H 6 O 1");
+		Assert.assertSame(type.getCompiledPattern(), type.getCompiledPattern());
+		try {
+			type.checkValue("C2H6O");
+			Assert.fail("should fail pattern");
+		} catch (RuntimeException e) {
+		}
+		// ^ and $ are ordinary characters in XSD
+		type.setPattern("a$");
+		type.checkValue("a$");
+		try {
+			type.checkValue("a");
+			Assert.fail("should fail pattern");
+		} catch (RuntimeException e) {
+		}
+	}
+
+	/**
+	 * enumerations.
+	 */
+	@Test
+	public void testCheckEnumeration() {
+		CMLType type = new CMLType();
+		type.setBase(CMLConstants.XSD_STRING);
+		type.setEnumeration(new String[] {"W", "H"});
+		type.checkValue("W");
+		try {
+			type.checkValue("X");
+			Assert.fail("should fail enumeration");
+		} catch (RuntimeException e) {
+		}
+		type.setEnumeration(new String[] {"X"});
+		type.checkValue("X");
+		type = new CMLType();
+		type.setBase(CMLConstants.XSD_INTEGER);
+		type.setEnumeration(new int[] {1, 2, 3});
+		type.checkValue(2);
+		try {
+			type.checkValue(4);
+			Assert.fail("should fail enumeration");
+		} catch (RuntimeException e) {
+		}
+	}
+
+	private static Attribute makeAttribute(CMLNodeFactory factory, String name, String value) {
+		Nodes nodes = factory.makeAttribute(name, CMLConstants.S_EMPTY, value, Attribute.Type.CDATA);
+		return (Attribute) nodes.get(0);
+	}
 }
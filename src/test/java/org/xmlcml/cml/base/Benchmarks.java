@@ -0,0 +1,85 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.util.Random;
+
+import org.xmlcml.euclid.Util;
+
+/**
+ * <p>
+ * Timings of org.xmlcml.cml.base on large inputs.
+ * </p>
+ * <p>
+ * Not part of the unit tests; run with
+ * java org.xmlcml.cml.base.Benchmarks
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class Benchmarks {
+
+	/**
+	 * runs all benchmarks.
+	 *
+	 * @param args ignored
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		schemaStartup();
+		scanDoubles();
+	}
+
+	/**
+	 * startup from index against startup from schema files.
+	 * @throws Exception
+	 */
+	public static void schemaStartup() throws Exception {
+		// load the classes shared by both paths first
+		AttributeFactory.attributeFactory.getSchemaManager();
+		long start = System.nanoTime();
+		SchemaIndex index = SchemaIndex.readResource();
+		index.createAttributeGroupMap();
+		index.createAttributeGroupNameAttributeMap();
+		long indexTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		new SchemaManager().readAndCreateIndexesFromSchemaFiles();
+		long schemaTime = System.nanoTime() - start;
+		Util.println("schema startup: index " + indexTime / 1000000 + " ms, schema files "
+				+ schemaTime / 1000000 + " ms");
+	}
+
+	/**
+	 * scanner against regex split and parse for spectrum and trajectory sized
+	 * arrays.
+	 */
+	public static void scanDoubles() {
+		Random random = new Random(1);
+		for (int n : new int[] {65536, 1000000}) {
+			String content = NumberScannerTest.makeRandomDoubles(n, random);
+			long start = System.nanoTime();
+			Util.splitToDoubleArray(content, CMLConstants.S_WHITEREGEX);
+			long splitTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			NumberScanner.parseDoubles(content, NumberScanner.WHITESPACE);
+			long scanTime = System.nanoTime() - start;
+			Util.println(n + " doubles: split " + splitTime / 1000000 + " ms, scan "
+					+ scanTime / 1000000 + " ms");
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xmlcml.cml.element.CMLMolecule;
+
+/**
+ * test CMLBatchReader.
+ *
+ * @author pm286
+ *
+ */
+public class CMLBatchReaderTest {
+
+	private final static int NFILES = 50;
+
+	/** scratch directory */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CMLBatchReader reader;
+	private File dir;
+
+	/**
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		reader = new CMLBatchReader(4);
+		reader.setQueueSize(3);
+		dir = folder.newFolder("cml");
+		File subdir = new File(dir, "sub");
+		for (int i = 0; i < NFILES; i++) {
+			// files sort as m00..m24, sub/m25..sub/m49
+			File parent = (i < NFILES / 2) ? dir : subdir;
+			FileUtils.writeStringToFile(new File(parent, makeName(i) + ".cml"),
+					makeMolecule(i), "UTF-8");
+		}
+		FileUtils.writeStringToFile(new File(dir, "bad.cml"), "<molecule", "UTF-8");
+		FileUtils.writeStringToFile(new File(dir, "notcml.cml"), "<foo/>", "UTF-8");
+		FileUtils.writeStringToFile(new File(dir, "ignored.txt"), "junk", "UTF-8");
+	}
+
+	/** stops threads.
+	 */
+	@After
+	public void tearDown() {
+		reader.close();
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLBatchReader.readResults(File)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadResultsOrdered() throws Exception {
+		Stream<CMLBatchReader.Result> stream = reader.readResults(dir);
+		List<CMLBatchReader.Result> results = stream.collect(Collectors.<CMLBatchReader.Result>toList());
+		stream.close();
+		Assert.assertEquals("results", NFILES + 2, results.size());
+		Assert.assertTrue(results.get(0).getSource().endsWith("bad.cml"));
+		Assert.assertFalse("bad", results.get(0).isOK());
+		Assert.assertNotNull("bad", results.get(0).getException());
+		for (int i = 0; i < NFILES / 2; i++) {
+			CMLBatchReader.Result result = results.get(i + 1);
+			Assert.assertTrue(result.toString(), result.isOK());
+			Assert.assertEquals(makeName(i), result.getElement().getId());
+		}
+		Assert.assertTrue(results.get(NFILES / 2 + 1).getSource().endsWith("notcml.cml"));
+		Assert.assertFalse("not CML", results.get(NFILES / 2 + 1).isOK());
+		for (int i = NFILES / 2; i < NFILES; i++) {
+			Assert.assertEquals(makeName(i), results.get(i + 2).getElement().getId());
+		}
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLBatchReader.read(File)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadUnordered() throws Exception {
+		reader.setOrdered(false);
+		final List<String> errors = new ArrayList<String>();
+		reader.setErrorHandler(new CMLBatchReader.ErrorHandler() {
+			public void handleError(String source, Exception e) {
+				errors.add(source);
+			}
+		});
+		Stream<CMLElement> stream = reader.read(dir);
+		Set<String> ids = new HashSet<String>();
+		for (CMLElement element : stream.collect(Collectors.<CMLElement>toList())) {
+			Assert.assertTrue(element instanceof CMLMolecule);
+			ids.add(element.getId());
+		}
+		stream.close();
+		Assert.assertEquals("molecules", NFILES, ids.size());
+		Assert.assertEquals("errors", 2, errors.size());
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLBatchReader.read(File)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadZip() throws Exception {
+		File zip = new File(folder.getRoot(), "cml.zip");
+		ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zip));
+		for (int i = 0; i < NFILES; i++) {
+			zos.putNextEntry(new ZipEntry("dir/" + makeName(i) + ".cml"));
+			zos.write(makeMolecule(i).getBytes("UTF-8"));
+			zos.closeEntry();
+		}
+		zos.putNextEntry(new ZipEntry("readme.txt"));
+		zos.write("junk".getBytes("UTF-8"));
+		zos.closeEntry();
+		zos.close();
+
+		Stream<CMLElement> stream = reader.read(zip);
+		List<CMLElement> elements = stream.collect(Collectors.<CMLElement>toList());
+		stream.close();
+		Assert.assertEquals("molecules", NFILES, elements.size());
+		for (int i = 0; i < NFILES; i++) {
+			Assert.assertEquals(makeName(i), elements.get(i).getId());
+			Assert.assertEquals("atoms", i % 4 + 1, ((CMLMolecule) elements.get(i)).getAtomCount());
+		}
+	}
+
+	private static String makeName(int i) {
+		return "m" + (i < 10 ? "0" : "") + i;
+	}
+
+	private static String makeMolecule(int i) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<molecule " + CMLConstants.CML_XMLNS + " id='" + makeName(i) + "'><atomArray>");
+		for (int j = 0; j <= i % 4; j++) {
+			sb.append("<atom id='a" + j + "' elementType='C'/>");
+		}
+		sb.append("</atomArray></molecule>");
+		return sb.toString();
+	}
+}
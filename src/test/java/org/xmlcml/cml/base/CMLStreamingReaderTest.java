@@ -0,0 +1,126 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import nu.xom.Document;
+import nu.xom.Element;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLMolecule;
+
+/**
+ * test CMLStreamingReader.
+ *
+ * @author pm286
+ *
+ */
+public class CMLStreamingReaderTest {
+
+	private static String LIST_S = "" +
+		"<moleculeList " + CMLConstants.CML_XMLNS + ">" +
+		"  <molecule id='m1'>" +
+		"    <atomArray><atom id='a1' elementType='C'/></atomArray>" +
+		"  </molecule>" +
+		"  <molecule id='m2'>" +
+		"    <molecule id='m2a'>" +
+		"      <atomArray><atom id='a1' elementType='N'/></atomArray>" +
+		"    </molecule>" +
+		"  </molecule>" +
+		"  <foo xmlns='http://foo'/>" +
+		"  <molecule id='m3'>" +
+		"    <atomArray><atom id='a1' elementType='O'/><atom id='a2' elementType='H'/></atomArray>" +
+		"  </molecule>" +
+		"</moleculeList>";
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLStreamingReader.read(Reader)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadMolecules() throws Exception {
+		final List<CMLElement> elements = new ArrayList<CMLElement>();
+		CMLStreamingReader reader = new CMLStreamingReader(
+			new CMLStreamingReader.ElementHandler() {
+				public void handleElement(CMLElement element) {
+					Assert.assertNull("detached", element.getParent());
+					elements.add(element);
+				}
+			});
+		Document doc = reader.read(new StringReader(LIST_S));
+		Assert.assertEquals("count", 3, reader.getCount());
+		Assert.assertEquals("molecules", 3, elements.size());
+		Assert.assertEquals("m1", elements.get(0).getId());
+		Assert.assertEquals("m2", elements.get(1).getId());
+		Assert.assertEquals("m3", elements.get(2).getId());
+		CMLMolecule m2 = (CMLMolecule) elements.get(1);
+		Assert.assertEquals("child molecules", 1, m2.getMoleculeElements().size());
+		CMLMolecule m3 = (CMLMolecule) elements.get(2);
+		Assert.assertEquals("atoms", 2, m3.getAtomCount());
+		Assert.assertEquals("H", m3.getAtom(1).getElementType());
+
+		Element root = doc.getRootElement();
+		Assert.assertEquals("moleculeList", root.getLocalName());
+		Assert.assertTrue("root is CML", root instanceof CMLElement);
+		Assert.assertEquals("skeleton", 1, root.getChildCount());
+		Assert.assertEquals("foo", ((Element) root.getChild(0)).getLocalName());
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLStreamingReader.read(Reader)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadOtherElements() throws Exception {
+		final List<CMLElement> elements = new ArrayList<CMLElement>();
+		CMLStreamingReader reader = new CMLStreamingReader("atom",
+			new CMLStreamingReader.ElementHandler() {
+				public void handleElement(CMLElement element) {
+					elements.add(element);
+				}
+			});
+		Document doc = reader.read(new StringReader(LIST_S));
+		Assert.assertEquals("atoms", 4, elements.size());
+		Assert.assertEquals("O", elements.get(2).getAttributeValue("elementType"));
+		Assert.assertEquals("atomArrays kept", 3,
+			doc.getRootElement().query(".//*[local-name()='atomArray']").size());
+		Assert.assertEquals("atoms removed", 0,
+			doc.getRootElement().query(".//*[local-name()='atom']").size());
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLStreamingReader.read(Reader)'
+	 * @throws Exception
+	 */
+	@Test
+	public void testReadRoot() throws Exception {
+		final List<CMLElement> elements = new ArrayList<CMLElement>();
+		CMLStreamingReader reader = new CMLStreamingReader("moleculeList",
+			new CMLStreamingReader.ElementHandler() {
+				public void handleElement(CMLElement element) {
+					elements.add(element);
+				}
+			});
+		Document doc = reader.read(new StringReader(LIST_S));
+		Assert.assertEquals("root", 1, elements.size());
+		Assert.assertSame("root", doc.getRootElement(), elements.get(0));
+	}
+}
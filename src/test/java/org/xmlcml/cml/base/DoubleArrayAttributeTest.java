@@ -93,6 +93,27 @@ public class DoubleArrayAttributeTest {
 		Assert.assertEquals("get Value", "5.6 7.8", daa1.getValue());
 	}
 
+	/**
+	 * string form follows every setCMLValue(), including after a direct
+	 * setValue() and changes made through the array returned by
+	 * getDoubleArray().
+	 */
+	@Test
+	public void testSetCMLValueAfterSetValue() {
+		daa1.setCMLValue(new double[] { 5.6, 7.8 });
+		daa1.setValue("1.0 2.0");
+		daa1.setCMLValue(new double[] { 5.6, 7.8 });
+		Assert.assertEquals("reformatted", "5.6 7.8", daa1.getValue());
+		daa1.setCMLValue("5.60 7.8");
+		Assert.assertEquals("reformatted", "5.6 7.8", daa1.getValue());
+		double[] dd = daa1.getDoubleArray();
+		dd[0] = 1.5;
+		daa1.setCMLValue(dd);
+		Assert.assertEquals("changed in place", "1.5 7.8", daa1.getValue());
+		dd[1] = 2.5;
+		Assert.assertEquals("copied", 7.8, daa1.getDoubleArray()[1], 0.0);
+	}
+
 	/**
 	 * Test method for
 	 * 'org.xmlcml.cml.base.DoubleArraySTAttribute.checkValue(double[])'
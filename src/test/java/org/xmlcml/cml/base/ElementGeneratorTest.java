@@ -0,0 +1,66 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLAtomArray;
+import org.xmlcml.cml.element.ElementFactory;
+
+/**
+ * test ElementGenerator and the generated ElementFactory.
+ *
+ * @author pm286
+ *
+ */
+public class ElementGeneratorTest {
+
+	/**
+	 * checked-in ElementFactory must be up to date with schema.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCreateElementFactorySource() throws Exception {
+		SchemaManager schemaManager = new SchemaManager();
+		schemaManager.readAndCreateIndexesFromSchemaFiles();
+		String source = schemaManager.getElementGenerator().createElementFactorySource();
+		File file = new File("src/main/java/org/xmlcml/cml/element/ElementFactory.java");
+		Assert.assertEquals("regenerate ElementFactory",
+				FileUtils.readFileToString(file, "UTF-8"), source);
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.CMLNodeFactory.createElement(String)'
+	 */
+	@Test
+	public void testCreateElement() {
+		Assert.assertNull("unknown", ElementFactory.createElement("inchi"));
+		CMLElement element = ElementFactory.createElement("atomArray");
+		Assert.assertEquals(CMLAtomArray.class, element.getClass());
+		element = CMLNodeFactory.createElement("atomArray");
+		Assert.assertEquals(CMLAtomArray.class, element.getClass());
+		try {
+			CMLNodeFactory.createElement("inchi");
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			// OK
+		}
+	}
+}
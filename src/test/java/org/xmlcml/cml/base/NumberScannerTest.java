@@ -0,0 +1,145 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.attribute.DelimiterAttribute;
+import org.xmlcml.euclid.Util;
+
+/**
+ * test NumberScanner.
+ *
+ * @author pm286
+ *
+ */
+public class NumberScannerTest {
+	private final static String S_SPACE = CMLConstants.S_SPACE;
+
+	private static void assertSameDoubles(String content, String delimiter) {
+		DelimiterAttribute delim = new DelimiterAttribute(delimiter);
+		String[] ss = delim.getSplitContent(content);
+		double[] dd = NumberScanner.parseDoubles(content, delim.getScannerDelimiter());
+		Assert.assertNotNull(content, dd);
+		Assert.assertEquals(content, ss.length, dd.length);
+		for (int i = 0; i < ss.length; i++) {
+			try {
+				Assert.assertEquals(content, Double.doubleToRawLongBits(Util.parseFlexibleDouble(ss[i])),
+						Double.doubleToRawLongBits(dd[i]));
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * doubles must be bitwise the same as parseFlexibleDouble.
+	 */
+	@Test
+	public void testParseDoubles() {
+		assertSameDoubles("1.0 2.0 3.0", S_SPACE);
+		assertSameDoubles("  1.0\n\t-2.5e-3   +3 .5 6. ", S_SPACE);
+		assertSameDoubles("-0.0 0 00012.50 1E22 1e-22 1e23 1e-300 1.7976931348623157E308", S_SPACE);
+		assertSameDoubles("INF -INF NaN 0x1p3 1d 2.5f 123456789012345678901234567890", S_SPACE);
+		assertSameDoubles("0.1 0.2 0.30000000000000004 9007199254740993 4.9E-324", S_SPACE);
+		assertSameDoubles("|1.0|2.0|3.0|", "|");
+		assertSameDoubles("/1.0/ 2.0/3.0//", "/");
+		assertSameDoubles("1.0,2.0", ",");
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+			sb.append(d).append(' ');
+			sb.append(String.format(Locale.US, "%." + random.nextInt(12) + "f", d)).append(' ');
+			sb.append(random.nextInt(2000000) / 1000.).append(' ');
+		}
+		assertSameDoubles(sb.toString(), S_SPACE);
+	}
+
+	/**
+	 * content the scanner leaves to the regex split.
+	 */
+	@Test
+	public void testFallback() {
+		Assert.assertNull(NumberScanner.parseDoubles("", NumberScanner.WHITESPACE));
+		Assert.assertNull(NumberScanner.parseDoubles("  ", NumberScanner.WHITESPACE));
+		Assert.assertNull(NumberScanner.parseDoubles("1.0 x", NumberScanner.WHITESPACE));
+		Assert.assertNull(NumberScanner.parseDoubles("|1.0||2.0|", '|'));
+		Assert.assertNull(NumberScanner.parseDoubles("+1.0+2.0+", '+'));
+		Assert.assertNull(NumberScanner.parseInts("1 2.0", NumberScanner.WHITESPACE));
+		Assert.assertNull(NumberScanner.parseInts("1 2147483648", NumberScanner.WHITESPACE));
+	}
+
+	/**
+	 * ints as Integer.parseInt.
+	 */
+	@Test
+	public void testParseInts() {
+		int[] ii = NumberScanner.parseInts(" 1 -2 +3 007 2147483647 -2147483648 ", NumberScanner.WHITESPACE);
+		Assert.assertArrayEquals(new int[] {1, -2, 3, 7, Integer.MAX_VALUE, Integer.MIN_VALUE}, ii);
+		ii = NumberScanner.parseInts("/1/2/3/", '/');
+		Assert.assertArrayEquals(new int[] {1, 2, 3}, ii);
+	}
+
+	/**
+	 * booleans as Boolean.parseBoolean.
+	 */
+	@Test
+	public void testParseBooleans() {
+		boolean[] bb = NumberScanner.parseBooleans("true false TRUE yes True", NumberScanner.WHITESPACE);
+		Assert.assertEquals(5, bb.length);
+		Assert.assertTrue(bb[0] && !bb[1] && bb[2] && !bb[3] && bb[4]);
+	}
+
+	/**
+	 * isSplitBy as String.split.
+	 */
+	@Test
+	public void testIsSplitBy() {
+		String[] tests = {"", "a", "a b", " a", "a ", " ", "a  ", "|", "a|", "|a", "a|b", "a||"};
+		for (String test : tests) {
+			Assert.assertEquals(test, test.split("\\s+").length > 1,
+					NumberScanner.isSplitBy(test, NumberScanner.WHITESPACE).booleanValue());
+			Assert.assertEquals(test, test.split("\\|").length > 1,
+					NumberScanner.isSplitBy(test, '|').booleanValue());
+		}
+		Assert.assertNull(NumberScanner.isSplitBy("a+b", '+'));
+	}
+
+	/**
+	 * scanner against regex split and parse for random doubles.
+	 */
+	@Test
+	public void testRandomDoubles() {
+		String content = makeRandomDoubles(1000, new Random(1));
+		double[] dd = Util.splitToDoubleArray(content, CMLConstants.S_WHITEREGEX);
+		double[] dd1 = NumberScanner.parseDoubles(content, NumberScanner.WHITESPACE);
+		Assert.assertArrayEquals(dd, dd1, 0.0);
+	}
+
+	/** n random doubles separated by spaces */
+	static String makeRandomDoubles(int n, Random random) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			sb.append(random.nextDouble() * 100).append(S_SPACE);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.base;
+
+import java.io.File;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * test SchemaIndex.
+ *
+ * @author pm286
+ *
+ */
+public class SchemaIndexTest {
+	private static SchemaManager schemaManager;
+
+	/** index schema files once.
+	 */
+	@BeforeClass
+	public static void setUpClass() {
+		schemaManager = new SchemaManager();
+		schemaManager.readAndCreateIndexesFromSchemaFiles();
+	}
+
+	/**
+	 * checked-in index must be up to date with schema.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCreateIndex() throws Exception {
+		String index = SchemaIndex.createIndex(schemaManager).toIndexString();
+		File file = new File("src/main/resources/" + SchemaIndex.SCHEMA_INDEX);
+		Assert.assertEquals("regenerate schema index",
+				FileUtils.readFileToString(file, "UTF-8"), index);
+	}
+
+	/**
+	 * attribute templates from index must match those from schema.
+	 * @throws Exception
+	 */
+	@Test
+	public void testCreateAttributeMaps() throws Exception {
+		SchemaIndex index = SchemaIndex.readResource();
+		Assert.assertNotNull("index resource", index);
+		Map<String, CMLAttribute> xsdMap = schemaManager.getAttributeGenerator().getAttributeGroupMap();
+		Map<String, CMLAttribute> nameMap = index.createAttributeGroupNameAttributeMap();
+		Map<String, CMLAttribute> groupMap = index.createAttributeGroupMap();
+		Assert.assertEquals("groups", xsdMap.keySet(), nameMap.keySet());
+		Assert.assertEquals("groups", xsdMap.keySet(), groupMap.keySet());
+		for (String groupName : xsdMap.keySet()) {
+			CMLAttribute xsdAtt = xsdMap.get(groupName);
+			assertSameTemplate(groupName, xsdAtt, nameMap.get(groupName));
+			CMLAttribute specialAtt = AttributeFactory.createSpecialAttribute(groupName);
+			assertSameTemplate(groupName, (specialAtt == null) ? xsdAtt : specialAtt,
+					groupMap.get(groupName));
+		}
+		Assert.assertEquals("synonyms",
+				SchemaIndex.createIndex(schemaManager).getElementSynonymMap(),
+				index.getElementSynonymMap());
+		Assert.assertEquals("atom@id", "id",
+				index.getElementSynonymMap().get("atom").get("id"));
+	}
+
+	private static void assertSameTemplate(String groupName, CMLAttribute expected, CMLAttribute found) {
+		Assert.assertEquals(groupName, expected.getClass(), found.getClass());
+		Assert.assertEquals(groupName, expected.getLocalName(), found.getLocalName());
+	}
+
+	/**
+	 * Test method for 'org.xmlcml.cml.base.AttributeFactory.getAttribute(String, String)'
+	 */
+	@Test
+	public void testAttributeFactory() {
+		CMLAttribute att = AttributeFactory.attributeFactory.getAttribute("x3", "atom");
+		Assert.assertEquals(DoubleSTAttribute.class, att.getClass());
+		att = AttributeFactory.attributeFactory.getAttributeByGroupName("id");
+		Assert.assertEquals("id", att.getLocalName());
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.base.CMLXOMTestUtils;
+import org.xmlcml.cml.element.AtomGrid;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLBond;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.euclid.Point3;
+import org.xmlcml.molutil.ChemicalElement;
+import org.xmlcml.molutil.ChemicalElement.AS;
+
+/**
+ * test AtomGrid and 3D bonding.
+ *
+ * @author pm286
+ *
+ */
+public class AtomGridTest {
+	static AtomGrid makeRandomGrid(int n, double size, double cutoff, long seed) {
+		Random random = new Random(seed);
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[] z = new double[n];
+		for (int i = 0; i < n; i++) {
+			x[i] = random.nextDouble() * size;
+			y[i] = random.nextDouble() * size;
+			z[i] = random.nextDouble() * size;
+		}
+		return new AtomGrid(x, y, z, cutoff);
+	}
+
+	/**
+	 * grid finds the same pairs as comparing all pairs.
+	 */
+	@Test
+	public void testGetPairs() {
+		// dense, sparse and all in one cell
+		AtomGrid grid = makeRandomGrid(2000, 20.0, 1.8, 1);
+		Assert.assertArrayEquals(grid.getPairsPairwise(), grid.getPairs());
+		grid = makeRandomGrid(500, 10000.0, 300.0, 2);
+		Assert.assertArrayEquals(grid.getPairsPairwise(), grid.getPairs());
+		grid = makeRandomGrid(200, 1.0, 5.0, 3);
+		Assert.assertEquals(200 * 199, grid.getPairs().length);
+		grid = new AtomGrid(new double[0], new double[0], new double[0], 1.0);
+		Assert.assertEquals(0, grid.getPairs().length);
+		// points exactly at the cutoff are included
+		grid = new AtomGrid(new double[] {0.0, 1.0, 3.0}, new double[3], new double[3], 1.0);
+		Assert.assertArrayEquals(new int[] {0, 1}, grid.getPairs());
+	}
+
+	/**
+	 * very large spreads and non-finite coordinates.
+	 */
+	@Test
+	public void testExtremeCoordinates() {
+		AtomGrid grid = new AtomGrid(new double[] {0.0, 1.0E20}, new double[2], new double[2], 4.0);
+		Assert.assertEquals(0, grid.getPairs().length);
+		grid = new AtomGrid(new double[] {0.0, 1.0, 1.0E20, -1.0E308, 1.0E308},
+				new double[] {0.0, 0.0, -1.0E300, 0.0, 1.0E308}, new double[5], 4.0);
+		Assert.assertArrayEquals(new int[] {0, 1}, grid.getPairs());
+		Assert.assertArrayEquals(grid.getPairsPairwise(), grid.getPairs());
+		try {
+			new AtomGrid(new double[] {0.0, Double.POSITIVE_INFINITY}, new double[2], new double[2], 4.0);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("coordinate is not finite for point 1", e.getMessage());
+		}
+	}
+
+	/**
+	 * bonds from coordinates of water and ethane.
+	 */
+	@Test
+	public void testCreateBondsFromCartesians() {
+		CMLMolecule molecule = (CMLMolecule) CMLXOMTestUtils.parseValidString(
+				"<molecule " + CMLConstants.CML_XMLNS + ">"
+				+ "  <atomArray>"
+				+ "    <atom id='o1' elementType='O' x3='0.0' y3='0.0' z3='0.0'/>"
+				+ "    <atom id='h1' elementType='H' x3='0.96' y3='0.0' z3='0.0'/>"
+				+ "    <atom id='h2' elementType='H' x3='-0.24' y3='0.93' z3='0.0'/>"
+				+ "    <atom id='c1' elementType='C' x3='10.0' y3='0.0' z3='0.0'/>"
+				+ "    <atom id='c2' elementType='C' x3='11.54' y3='0.0' z3='0.0'/>"
+				+ "    <atom id='x1' elementType='C'/>"
+				+ "  </atomArray>"
+				+ "  <bondArray>"
+				+ "    <bond atomRefs2='c1 c2'/>"
+				+ "  </bondArray>"
+				+ "</molecule>");
+		List<CMLBond> bonds = molecule.createBondsFromCartesians();
+		Assert.assertEquals(2, bonds.size());
+		Assert.assertEquals("o1 h1", CMLBond.atomHash(bonds.get(0)).replace(CMLBond.HASH_SYMB, " "));
+		Assert.assertEquals("o1 h2", CMLBond.atomHash(bonds.get(1)).replace(CMLBond.HASH_SYMB, " "));
+		Assert.assertEquals(3, molecule.getBondCount());
+		Assert.assertEquals(2, molecule.getAtomById("o1").getLigandAtoms().size());
+		Assert.assertEquals(0, molecule.createBondsFromCartesians().size());
+		Assert.assertEquals(0, molecule.getCloseContactPairs().size());
+
+		molecule.getAtomById("h2").setXYZ3(new Point3(0.3, 0.0, 0.0));
+		List<CMLAtom[]> contacts = molecule.getCloseContactPairs();
+		Assert.assertEquals(1, contacts.size());
+		Assert.assertEquals("o1", contacts.get(0)[0].getId());
+		Assert.assertEquals("h2", contacts.get(0)[1].getId());
+	}
+
+	/** zigzag carbon chain with 1.51 A bonds */
+	static CMLMolecule makeChain(int n) {
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = new CMLAtom("a" + i, ChemicalElement.getChemicalElement(AS.C.value));
+			atom.setX3(1.25 * i);
+			atom.setY3((i % 2 == 0) ? 0.0 : 0.85);
+			atom.setZ3(0.0);
+			molecule.addAtom(atom);
+		}
+		return molecule;
+	}
+
+	/**
+	 * bonds along a chain.
+	 */
+	@Test
+	public void testChain() {
+		int n = 200;
+		CMLMolecule molecule = makeChain(n);
+		List<CMLBond> bonds = molecule.createBondsFromCartesians();
+		Assert.assertEquals(n - 1, bonds.size());
+		Assert.assertEquals(n - 1, molecule.getBondCount());
+	}
+}
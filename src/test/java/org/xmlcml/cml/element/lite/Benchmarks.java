@@ -0,0 +1,271 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.element.AtomGrid;
+import org.xmlcml.cml.element.CMLAngle;
+import org.xmlcml.cml.element.CMLArray;
+import org.xmlcml.cml.element.CMLCrystal;
+import org.xmlcml.cml.element.CMLFormula;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.CMLSymmetry;
+import org.xmlcml.cml.element.CMLTorsion;
+import org.xmlcml.cml.element.CompiledZMatrix;
+import org.xmlcml.cml.element.FormulaAccumulator;
+import org.xmlcml.cml.element.GeometryEvaluator;
+import org.xmlcml.cml.element.IsotopePattern;
+import org.xmlcml.cml.element.PeriodicAtomGrid;
+import org.xmlcml.cml.element.Superposition;
+import org.xmlcml.cml.element.UnitCellExpansion;
+import org.xmlcml.euclid.Util;
+
+/**
+ * <p>
+ * Timings of CML elements and tools on large inputs.
+ * </p>
+ * <p>
+ * Not part of the unit tests; run with
+ * java org.xmlcml.cml.element.lite.Benchmarks
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class Benchmarks {
+
+	/**
+	 * runs all benchmarks.
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		appendArray();
+		atomGrid();
+		periodicAtomGrid();
+		unitCellExpansion();
+		superposition();
+		geometryEvaluator();
+		compiledZMatrix();
+		formulaAccumulator();
+		isotopePattern();
+	}
+
+	/**
+	 * appending and reading a large array.
+	 */
+	public static void appendArray() {
+		int n = 1000000;
+		CMLArray array = new CMLArray(CMLConstants.XSD_DOUBLE);
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			array.append((double) i);
+		}
+		long appendTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		array.getDoubles();
+		Util.println("append " + n + " doubles: " + appendTime / 1000000
+				+ " ms, read: " + (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * grid against comparing all pairs, and bonds for a long chain.
+	 */
+	public static void atomGrid() {
+		// about the density of atoms in a protein
+		double density = 0.1;
+		for (int n : new int[] {10000, 100000}) {
+			AtomGrid grid = AtomGridTest.makeRandomGrid(n, Math.cbrt(n / density), 2.0, n);
+			long start = System.nanoTime();
+			int[] pairs = grid.getPairs();
+			long gridTime = System.nanoTime() - start;
+			String s = n + " points: grid " + gridTime / 1000000 + " ms";
+			if (n <= 10000) {
+				start = System.nanoTime();
+				grid.getPairsPairwise();
+				s += ", pairwise " + (System.nanoTime() - start) / 1000000 + " ms";
+			}
+			Util.println(s + ", " + pairs.length / 2 + " pairs");
+		}
+		int n = 100000;
+		CMLMolecule molecule = AtomGridTest.makeChain(n);
+		long start = System.nanoTime();
+		int nbonds = molecule.createBondsFromCartesians().size();
+		Util.println(n + " atoms: " + nbonds + " bonds in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * cell list against searching all images for a large cell.
+	 */
+	public static void periodicAtomGrid() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {60.0, 70.0, 80.0, 80.0, 95.0, 100.0});
+		CMLMolecule molecule = PeriodicAtomGridTest.makeRandomMolecule(20000, 3);
+		PeriodicAtomGrid grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, 4.0);
+		long start = System.nanoTime();
+		int ncontacts = grid.getContacts().size();
+		Util.println("20000 atoms: " + ncontacts + " contacts in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+		molecule = PeriodicAtomGridTest.makeRandomMolecule(1000, 4);
+		grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, 4.0);
+		start = System.nanoTime();
+		grid.getContacts();
+		long gridTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		grid.getContactsBruteForce();
+		long bruteTime = System.nanoTime() - start;
+		Util.println("1000 atoms: grid " + gridTime / 1000000 + " ms, brute force "
+				+ bruteTime / 1000000 + " ms");
+	}
+
+	/**
+	 * expansion of many atoms by 192 operators.
+	 */
+	public static void unitCellExpansion() {
+		CMLSymmetry symmetry = UnitCellExpansionTest.makeFm3m();
+		int n = 10000;
+		double[][] xyz = UnitCellExpansionTest.makeRandomFract(n, 1);
+		long start = System.nanoTime();
+		UnitCellExpansion expansion = new UnitCellExpansion(xyz[0], xyz[1], xyz[2], symmetry);
+		Util.println(n + " points: " + expansion.size() + " images in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * many conformations against one reference, serial and parallel.
+	 */
+	public static void superposition() {
+		Random random = new Random(5);
+		int natoms = 200;
+		int nsets = 2000;
+		double[][] ref = SuperpositionTest.makeRandomPoints(natoms, random);
+		List<double[][]> coordinates = SuperpositionTest.makeConformations(ref, nsets, random);
+		Superposition superposition = new Superposition(ref[0], ref[1], ref[2]);
+		long start = System.nanoTime();
+		superposition.fitAll(coordinates, false);
+		long serialTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		superposition.fitAll(coordinates, true);
+		long parallelTime = System.nanoTime() - start;
+		Util.println(nsets + " x " + natoms + " atoms: serial " + serialTime / 1000000
+				+ " ms, parallel " + parallelTime / 1000000 + " ms");
+	}
+
+	/**
+	 * large lists, serial and parallel, and batch against single angles.
+	 */
+	public static void geometryEvaluator() {
+		Random random = new Random(3);
+		int natoms = 5000;
+		int count = 200000;
+		CMLMolecule molecule = GeometryEvaluatorTest.makeMolecule(natoms, random);
+		List<CMLTorsion> torsions = GeometryEvaluatorTest.makeTorsions(count, natoms, random);
+		List<CMLAngle> angles = GeometryEvaluatorTest.makeAngles(2000, natoms, random);
+		long start = System.nanoTime();
+		GeometryEvaluator evaluator = new GeometryEvaluator(molecule, null, angles, torsions);
+		long compileTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		evaluator.calculateTorsions(false);
+		long serialTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		evaluator.calculateTorsions(true);
+		long parallelTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		evaluator.calculateAngles(false);
+		long batchTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (CMLAngle angle : angles) {
+			angle.getCalculatedAngle(molecule);
+		}
+		long singleTime = System.nanoTime() - start;
+		Util.println(count + " torsions: compile " + compileTime / 1000000 + " ms, serial "
+				+ serialTime / 1000000 + " ms, parallel " + parallelTime / 1000000 + " ms; "
+				+ angles.size() + " angles: batch " + batchTime / 1000 + " us, single "
+				+ singleTime / 1000 + " us");
+	}
+
+	/**
+	 * many conformations through one buffer.
+	 */
+	public static void compiledZMatrix() {
+		Random random = new Random(2);
+		int natoms = 50;
+		int nconf = 100000;
+		CompiledZMatrix compiled = CompiledZMatrix.createFromCartesians(
+				CompiledZMatrixTest.makeMolecule(natoms, random));
+		double[] xyz = new double[3 * natoms];
+		long start = System.nanoTime();
+		for (int j = 0; j < nconf; j++) {
+			compiled.setTorsion(3 + j % (natoms - 3), j);
+			compiled.toCartesians(xyz);
+		}
+		long toTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int j = 0; j < nconf; j++) {
+			compiled.fromCartesians(xyz);
+		}
+		long fromTime = System.nanoTime() - start;
+		Util.println(nconf + " conformations of " + natoms + " atoms: to cartesians "
+				+ toTime / 1000000 + " ms, from cartesians " + fromTime / 1000000 + " ms");
+	}
+
+	/**
+	 * formulae for many molecules.
+	 */
+	public static void formulaAccumulator() {
+		Random random = new Random(2);
+		List<CMLMolecule> molecules = new ArrayList<CMLMolecule>();
+		for (int i = 0; i < 1000; i++) {
+			molecules.add(FormulaAccumulatorTest.makeMolecule(20, random));
+		}
+		int n = 100000;
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			accumulator.clear();
+			accumulator.addMolecule(molecules.get(i % molecules.size()));
+			accumulator.createFormula();
+		}
+		long accumulatorTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (CMLMolecule molecule : molecules) {
+			FormulaAccumulatorTest.makeFormulaByAdd(molecule);
+		}
+		long addTime = System.nanoTime() - start;
+		Util.println(n + " formulae: accumulator " + accumulatorTime / 1000000 + " ms; "
+				+ molecules.size() + " formulae: add() " + addTime / 1000000 + " ms");
+	}
+
+	/**
+	 * fine and nominal patterns of a large protein-like formula.
+	 */
+	public static void isotopePattern() {
+		CMLFormula formula = CMLFormula.createFormula("C 500 H 800 N 100 O 150 S 5");
+		long start = System.nanoTime();
+		IsotopePattern pattern = formula.getIsotopePattern();
+		long fineTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		IsotopePattern nominal = formula.getIsotopePattern(1.0, IsotopePattern.DEFAULT_THRESHOLD);
+		long nominalTime = System.nanoTime() - start;
+		Util.println(pattern.size() + " peaks in " + fineTime / 1000000 + " ms; "
+				+ nominal.size() + " nominal peaks in " + nominalTime / 1000000 + " ms");
+	}
+}
@@ -1088,6 +1088,68 @@ public class CMLArrayTest {
 		}
 	}
 
+	/**
+	 * appending past the initial buffer and reading back.
+	 */
+	@Test
+	public void testAppendMany() {
+		int n = 1000;
+		CMLArray array = new CMLArray(CMLConstants.XSD_DOUBLE);
+		for (int i = 0; i < n; i++) {
+			array.append((double) i);
+		}
+		double[] dd = array.getDoubles();
+		Assert.assertEquals("size", n, array.getSize());
+		Assert.assertEquals("size", n, dd.length);
+		Assert.assertEquals("last", n - 1, dd[n - 1], EPS);
+		dd[0] = 99.;
+		Assert.assertEquals("copy", 0., array.getDoubles()[0], EPS);
+		String content = array.getXMLContent();
+		Assert.assertTrue("start", content.startsWith("0.0 1.0 2.0 "));
+		Assert.assertTrue("end", content.endsWith(" 998.0 999.0"));
+		CMLArray copy = (CMLArray) array.copy();
+		Assert.assertEquals("copy", n - 1, copy.getDoubles()[n - 1], EPS);
+
+		CMLArray intArray = new CMLArray(CMLConstants.XSD_INTEGER);
+		intArray.setDelimiter(EC.S_SLASH);
+		for (int i = 0; i < n; i++) {
+			intArray.append(i);
+		}
+		int[] ii = intArray.getInts();
+		Assert.assertEquals("size", n, ii.length);
+		Assert.assertEquals("last", n - 1, ii[n - 1]);
+		Assert.assertTrue("end", intArray.getXMLContent().endsWith("/998/999/"));
+		intArray.setXMLContent("/1/2/");
+		Assert.assertEquals("reset", 2, intArray.getInts().length);
+	}
+
+	/**
+	 * appended values are written as one text child, as by parsing.
+	 */
+	@Test
+	public void testAppendSingleText() {
+		CMLArray array = new CMLArray(CMLConstants.XSD_DOUBLE);
+		for (int i = 0; i < 100; i++) {
+			array.append(i + 0.5);
+		}
+		Assert.assertEquals("children", 1, array.getChildCount());
+		String content = array.getXMLContent();
+		Assert.assertEquals("text", content, array.getStringContent());
+		Element parsed = CMLXOMTestUtils.parseValidString(array.toXML());
+		CMLXOMTestUtils.assertEqualsIncludingFloat("round trip", parsed, array, true, EPS);
+		array.append(100.5);
+		Assert.assertEquals("children", 1, array.getChildCount());
+		Assert.assertTrue("end", array.getStringContent().endsWith(" 99.5 100.5"));
+		Assert.assertEquals("size", 101, array.getDoubles().length);
+
+		CMLArray strings = new CMLArray(CMLConstants.XSD_STRING);
+		strings.setDelimiter(EC.S_SLASH);
+		strings.append("a");
+		strings.append("b c");
+		Assert.assertEquals("content", "/a/b c/", strings.getXMLContent());
+		Assert.assertEquals("children", 1, strings.getChildCount());
+	}
+
 	/**
 	 * Test method for 'org.xmlcml.cml.element.CMLArray.append(int)'
 	 */
@@ -20,6 +20,7 @@
 package org.xmlcml.cml.element.lite;
 
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -208,6 +209,44 @@ public class CMLAtomArrayTest {
 		Assert.assertEquals("atom count ", 5, atomArray.size());
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.xmlcml.cml.element.CMLAtomArray#addAtoms(java.util.List)}
+	 * .
+	 */
+	@Test
+	public final void testAddAtoms() {
+		CMLAtomArray atomArray = new CMLAtomArray();
+		CMLAtom a1 = new CMLAtom("a1");
+		atomArray.addAtoms(Arrays.asList(new CMLAtom[] { a1, new CMLAtom("a2") }));
+		Assert.assertEquals("atom count ", 2, atomArray.size());
+		Assert.assertEquals("atom 2", "a2", atomArray.getAtomById("a2").getId());
+		try {
+			atomArray.addAtoms(Arrays.asList(new CMLAtom[] { new CMLAtom("a3"), a1 }));
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom already added", e.getMessage());
+		}
+		CMLMolecule molecule = new CMLMolecule();
+		CMLAtom b1 = new CMLAtom("b1");
+		molecule.addAtom(b1);
+		try {
+			atomArray.addAtoms(Arrays.asList(new CMLAtom[] { new CMLAtom("a3"), b1 }));
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom already has parent: b1", e.getMessage());
+		}
+		Assert.assertEquals("b1 not moved", 1, molecule.getAtomCount());
+		try {
+			atomArray.addAtoms(Arrays.asList(new CMLAtom[] { new CMLAtom("a3"), new CMLAtom("a3") }));
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom already in array: a3", e.getMessage());
+		}
+		Assert.assertEquals("atom count ", 2, atomArray.size());
+		Assert.assertNull("a3 not added", atomArray.getAtomById("a3"));
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.xmlcml.cml.element.CMLAtomArray#removeChild(org.xmlcml.cml.element.CMLAtom)}
@@ -1444,4 +1444,88 @@ public class CMLMoleculeTest {
 		
 		Assert.assertEquals(6, molecule.calculateHydrogenCount());
 	}
+
+	/**
+	 * indexed atoms and bonds follow additions and removals.
+	 */
+	@Test
+	public void testIndexedAccess() {
+		CMLMolecule molecule = new CMLMolecule();
+		int n = 1000;
+		for (int i = 0; i < n; i++) {
+			molecule.addAtom(new CMLAtom("a" + i, ChemicalElement
+					.getChemicalElement(AS.C.value)));
+			if (i > 0) {
+				molecule.addBond(new CMLBond(molecule.getAtom(i - 1),
+						molecule.getAtom(i)));
+			}
+		}
+		Assert.assertEquals(n, molecule.getAtomCount());
+		Assert.assertEquals(n - 1, molecule.getBondCount());
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = molecule.getAtom(i);
+			Assert.assertEquals("a" + i, atom.getId());
+			Assert.assertEquals(i, molecule.getAtomIndex(atom));
+			Assert.assertEquals(i, molecule.getAtomArray().getAtomIndex(atom));
+		}
+		for (int i = 0; i < n - 1; i++) {
+			CMLBond bond = molecule.getBond(i);
+			Assert.assertEquals(i, molecule.getBondIndex(bond));
+			Assert.assertEquals(i, molecule.getBondArray().getBondIndex(bond));
+		}
+		Assert.assertNull(molecule.getAtom(n));
+		Assert.assertNull(molecule.getBond(-1));
+
+		int version = molecule.getVersion();
+		CMLAtom atom1 = molecule.getAtom(1);
+		molecule.deleteAtom(atom1);
+		Assert.assertTrue(molecule.getVersion() > version);
+		Assert.assertEquals(n - 1, molecule.getAtomCount());
+		Assert.assertEquals(n - 3, molecule.getBondCount());
+		Assert.assertEquals("a2", molecule.getAtom(1).getId());
+		Assert.assertEquals(-1, molecule.getAtomIndex(atom1));
+		Assert.assertEquals(1, molecule.getAtomIndex(molecule.getAtomById("a2")));
+
+		// XOM mutations
+		CMLAtom atom0 = molecule.getAtom(0);
+		molecule.getAtomArray().removeChild((Node) atom0);
+		Assert.assertEquals("a2", molecule.getAtom(0).getId());
+		molecule.getAtomArray().insertChild(atom0, 0);
+		Assert.assertEquals(0, molecule.getAtomIndex(atom0));
+		molecule.getBondArray().removeChildren();
+		Assert.assertEquals(0, molecule.getBondCount());
+		molecule.removeAtomArray();
+		Assert.assertEquals(0, molecule.getAtomCount());
+		Assert.assertNull(molecule.getAtom(0));
+	}
+
+	/**
+	 * indexed atoms of container follow changes to child molecules.
+	 */
+	@Test
+	public void testIndexedAccessContainer() {
+		CMLMolecule parent = (CMLMolecule) CMLXOMTestUtils.parseValidString(
+				"<molecule " + CMLConstants.CML_XMLNS + ">"
+						+ "  <molecule id='m1'><atomArray>"
+						+ "    <atom id='a1' elementType='C'/>"
+						+ "    <atom id='a2' elementType='O'/>"
+						+ "  </atomArray></molecule>"
+						+ "  <molecule id='m2'><atomArray>"
+						+ "    <atom id='a3' elementType='N'/>"
+						+ "  </atomArray></molecule>"
+						+ "</molecule>");
+		Assert.assertEquals(3, parent.getAtomCount());
+		Assert.assertEquals("a3", parent.getAtom(2).getId());
+		CMLMolecule m2 = (CMLMolecule) parent.getChildCMLElement(CMLMolecule.TAG, 1);
+		int version = parent.getVersion();
+		m2.addAtom(new CMLAtom("a4", ChemicalElement.getChemicalElement(AS.S.value)));
+		Assert.assertTrue(parent.getVersion() > version);
+		Assert.assertEquals(4, parent.getAtomCount());
+		Assert.assertEquals(3, parent.getAtomIndex(m2.getAtom(1)));
+		m2.detach();
+		Assert.assertEquals(2, parent.getAtomCount());
+		Assert.assertEquals(-1, parent.getAtomIndex(m2.getAtom(0)));
+		parent.appendChild(m2);
+		Assert.assertEquals(4, parent.getAtomCount());
+	}
 }
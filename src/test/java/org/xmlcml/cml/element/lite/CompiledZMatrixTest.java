@@ -0,0 +1,255 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.base.CMLXOMTestUtils;
+import org.xmlcml.cml.element.CMLAngle;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLBond;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.CMLTorsion;
+import org.xmlcml.cml.element.CMLZMatrix;
+import org.xmlcml.cml.element.CompiledZMatrix;
+import org.xmlcml.cml.element.Superposition;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * test CompiledZMatrix.
+ *
+ * @author pm286
+ *
+ */
+public class CompiledZMatrixTest {
+	private static String ZMATRIX_S = "<molecule " + CMLConstants.CML_XMLNS + ">"
+			+ "  <zMatrix>"
+			+ "    <length atomRefs2='a2 a1'>1.0</length>"
+			+ "    <length atomRefs2='a1 a3'>1.07046</length>"
+			+ "    <angle atomRefs3='a2 a1 a3'>90.08384</angle>"
+			+ "    <length atomRefs2='a1 a4'>1.07046</length>"
+			+ "    <angle atomRefs3='a2 a1 a4'>90.08384</angle>"
+			+ "    <torsion atomRefs4='a3 a2 a1 a4'>120.0</torsion>"
+			+ "    <length atomRefs2='a1 a5'>1.07046</length>"
+			+ "    <angle atomRefs3='a2 a1 a5'>90.08384</angle>"
+			+ "    <torsion atomRefs4='a3 a2 a1 a5'>-120.0</torsion>"
+			+ "    <length atomRefs2='a5 a6'>1.5</length>"
+			+ "    <angle atomRefs3='a1 a5 a6'>109.0</angle>"
+			+ "    <torsion atomRefs4='a4 a1 a5 a6'>75.0</torsion>"
+			+ "  </zMatrix>"
+			+ "  <atomArray>"
+			+ "    <atom elementType='C' id='a1'/>"
+			+ "    <atom elementType='X' id='a2'/>"
+			+ "    <atom elementType='H' id='a3'/>"
+			+ "    <atom elementType='H' id='a4'/>"
+			+ "    <atom elementType='C' id='a5'/>"
+			+ "    <atom elementType='C' id='a6'/>"
+			+ "  </atomArray>"
+			+ "</molecule>";
+
+	/** random tree of atoms about 1.5 apart */
+	static CMLMolecule makeMolecule(int n, Random random) {
+		CMLMolecule molecule = new CMLMolecule();
+		Point3[] points = new Point3[n];
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType("C");
+			if (i == 0) {
+				points[i] = new Point3(0.0, 0.0, 0.0);
+			} else {
+				int parent = random.nextInt(i);
+				double[] d = new double[3];
+				for (int k = 0; k < 3; k++) {
+					d[k] = random.nextGaussian();
+				}
+				double r = 1.5 / Math.sqrt(d[0] * d[0] + d[1] * d[1] + d[2] * d[2]);
+				points[i] = new Point3(points[parent].getArray()[0] + d[0] * r,
+						points[parent].getArray()[1] + d[1] * r,
+						points[parent].getArray()[2] + d[2] * r);
+			}
+			atom.setXYZ3(points[i]);
+			molecule.addAtom(atom);
+			if (i > 0) {
+				int parent = -1;
+				for (int j = 0; j < i; j++) {
+					if (Math.abs(points[i].getDistanceFromPoint(points[j]) - 1.5) < 1.0E-10) {
+						parent = j;
+					}
+				}
+				molecule.addBond(new CMLBond(molecule.getAtom(parent), atom));
+			}
+		}
+		return molecule;
+	}
+
+	private static double[] getCoordinates(CompiledZMatrix zMatrix) {
+		double[] xyz = new double[3 * zMatrix.size()];
+		zMatrix.readCoordinates(xyz);
+		return xyz;
+	}
+
+	/** rmsd after superposition (accurate to about 1.0E-7) */
+	private static double getRMSD(double[] xyz0, double[] xyz1) {
+		int n = xyz0.length / 3;
+		double[][] p = new double[6][n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				p[k][i] = xyz0[3 * i + k];
+				p[k + 3][i] = xyz1[3 * i + k];
+			}
+		}
+		return new Superposition(p[0], p[1], p[2]).fit(p[3], p[4], p[5]).getRMSD();
+	}
+
+	/**
+	 * same coordinates as CMLZMatrix.addCartesiansTo().
+	 */
+	@Test
+	public void testAddCartesiansTo() {
+		CMLMolecule molecule = (CMLMolecule) CMLXOMTestUtils.parseValidString(ZMATRIX_S);
+		CMLZMatrix zMatrix = (CMLZMatrix) molecule.getChildCMLElements(CMLZMatrix.TAG).get(0);
+		CompiledZMatrix compiled = zMatrix.compile(molecule);
+		Assert.assertEquals(6, compiled.size());
+		Assert.assertEquals("a2", compiled.getAtom(0).getId());
+		Assert.assertEquals("a1", compiled.getAtom(1).getId());
+		Assert.assertArrayEquals(new int[] {-1, 0, 1, 1, 1, 4}, compiled.getBondRefs());
+		Assert.assertArrayEquals(new int[] {-1, -1, 0, 0, 0, 1}, compiled.getAngleRefs());
+		Assert.assertArrayEquals(new int[] {-1, -1, -1, 2, 2, 3}, compiled.getTorsionRefs());
+		zMatrix.addCartesiansTo(molecule);
+		double[] expected = getCoordinates(compiled);
+		double[] xyz = new double[3 * compiled.size()];
+		compiled.toCartesians(xyz);
+		Assert.assertArrayEquals(expected, xyz, 1.0E-12);
+
+		CMLMolecule molecule1 = (CMLMolecule) CMLXOMTestUtils.parseValidString(ZMATRIX_S);
+		compiled = new CompiledZMatrix(zMatrix, molecule1);
+		compiled.addCartesians();
+		Assert.assertArrayEquals(expected, getCoordinates(compiled), 1.0E-12);
+		// fromCartesians recovers the values
+		double torsion = compiled.getTorsion(5);
+		compiled.setTorsion(5, 0.0);
+		compiled.fromCartesians(xyz);
+		Assert.assertEquals(torsion, compiled.getTorsion(5), 1.0E-10);
+		Assert.assertEquals(-120.0, compiled.getTorsion(4), 1.0E-10);
+		Assert.assertEquals(90.08384, compiled.getAngle(2), 1.0E-10);
+		Assert.assertEquals(1.5, compiled.getLength(5), 1.0E-10);
+	}
+
+	/**
+	 * zMatrix from cartesians reproduces the molecule.
+	 */
+	@Test
+	public void testCreateFromCartesians() {
+		Random random = new Random(1);
+		CMLMolecule molecule = makeMolecule(40, random);
+		CompiledZMatrix compiled = CompiledZMatrix.createFromCartesians(molecule);
+		Assert.assertEquals(40, compiled.size());
+		int[] bondRefs = compiled.getBondRefs();
+		int[] angleRefs = compiled.getAngleRefs();
+		int[] torsionRefs = compiled.getTorsionRefs();
+		for (int i = 1; i < 40; i++) {
+			// bonded references
+			Assert.assertNotNull(molecule.getBond(compiled.getAtom(i),
+					compiled.getAtom(bondRefs[i])));
+			Assert.assertEquals(1.5, compiled.getLength(i), 1.0E-10);
+			if (i > 2) {
+				CMLTorsion torsion = new CMLTorsion();
+				torsion.setAtomRefs4(new String[] {
+						compiled.getAtom(torsionRefs[i]).getId(),
+						compiled.getAtom(angleRefs[i]).getId(),
+						compiled.getAtom(bondRefs[i]).getId(),
+						compiled.getAtom(i).getId()});
+				Assert.assertEquals(torsion.getCalculatedTorsion(molecule),
+						compiled.getTorsion(i), 1.0E-8);
+				CMLAngle angle = new CMLAngle();
+				angle.setAtomRefs3(new String[] {compiled.getAtom(angleRefs[i]).getId(),
+						compiled.getAtom(bondRefs[i]).getId(), compiled.getAtom(i).getId()});
+				Assert.assertEquals(angle.getCalculatedAngle(molecule),
+						compiled.getAngle(i), 1.0E-8);
+			}
+		}
+		double[] original = getCoordinates(compiled);
+		double[] xyz = new double[3 * 40];
+		compiled.toCartesians(xyz);
+		Assert.assertEquals(0.0, getRMSD(original, xyz), 1.0E-6);
+
+		// through zMatrix element into molecule without coordinates
+		CMLZMatrix zMatrix = compiled.createZMatrix();
+		CMLMolecule molecule1 = new CMLMolecule();
+		for (CMLAtom atom : molecule.getAtoms()) {
+			molecule1.addAtom(new CMLAtom(atom.getId()));
+		}
+		zMatrix.addCartesiansTo(molecule1);
+		CompiledZMatrix compiled1 = zMatrix.compile(molecule1);
+		Assert.assertArrayEquals(xyz, getCoordinates(compiled1), 1.0E-10);
+	}
+
+	/**
+	 * disconnected fragments and collinear atoms.
+	 */
+	@Test
+	public void testDisconnected() {
+		CMLMolecule molecule = new CMLMolecule();
+		double[][] points = {{0.0, 0.0, 0.0}, {1.2, 0.0, 0.0}, {2.4, 0.0, 0.0},
+				{3.6, 0.0, 0.0}, {5.0, 1.0, 0.5}, {-3.0, 2.0, 1.0}, {-3.0, 3.0, 2.0}};
+		for (int i = 0; i < points.length; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType("C");
+			atom.setXYZ3(new Point3(points[i]));
+			molecule.addAtom(atom);
+		}
+		molecule.addBond(new CMLBond(molecule.getAtom(0), molecule.getAtom(1)));
+		molecule.addBond(new CMLBond(molecule.getAtom(1), molecule.getAtom(2)));
+		molecule.addBond(new CMLBond(molecule.getAtom(2), molecule.getAtom(3)));
+		molecule.addBond(new CMLBond(molecule.getAtom(5), molecule.getAtom(6)));
+		CompiledZMatrix compiled = CompiledZMatrix.createFromCartesians(molecule);
+		double[] xyz = new double[3 * compiled.size()];
+		compiled.toCartesians(xyz);
+		Assert.assertEquals(0.0, getRMSD(getCoordinates(compiled), xyz), 1.0E-6);
+		molecule.getAtom(4).removeAttribute("x3");
+		try {
+			CompiledZMatrix.createFromCartesians(molecule);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom has no 3D coordinates: a5", e.getMessage());
+		}
+	}
+
+	/**
+	 * many conformations through one buffer.
+	 */
+	@Test
+	public void testConformations() {
+		Random random = new Random(2);
+		int natoms = 50;
+		int nconf = 100;
+		CMLMolecule molecule = makeMolecule(natoms, random);
+		CompiledZMatrix compiled = CompiledZMatrix.createFromCartesians(molecule);
+		CompiledZMatrix copy = CompiledZMatrix.createFromCartesians(molecule);
+		double[] xyz = new double[3 * natoms];
+		for (int j = 0; j < nconf; j++) {
+			int i = 3 + j % (natoms - 3);
+			compiled.setTorsion(i, j);
+			compiled.toCartesians(xyz);
+			copy.fromCartesians(xyz);
+			Assert.assertEquals(j, copy.getTorsion(i), 1.0E-6);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLBond;
+import org.xmlcml.cml.element.CMLFormula;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.FormulaAccumulator;
+
+/**
+ * test FormulaAccumulator.
+ *
+ * @author pm286
+ *
+ */
+public class FormulaAccumulatorTest {
+	private static String[] ELEMENTS = {"C", "C", "C", "H", "N", "O", "S", "Cl", "Br", "Na", "D"};
+
+	static CMLMolecule makeMolecule(int n, Random random) {
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType(ELEMENTS[random.nextInt(ELEMENTS.length)]);
+			if (random.nextInt(3) == 0) {
+				atom.setHydrogenCount(random.nextInt(4));
+			}
+			if (random.nextInt(5) == 0) {
+				atom.setFormalCharge(random.nextInt(3) - 1);
+			}
+			molecule.addAtom(atom);
+			if (i > 0 && random.nextBoolean()) {
+				molecule.addBond(new CMLBond(molecule.getAtom(random.nextInt(i)), atom));
+			}
+		}
+		return molecule;
+	}
+
+	/** formula built with CMLFormula.add() for each atom */
+	static CMLFormula makeFormulaByAdd(CMLMolecule molecule) {
+		CMLFormula formula = new CMLFormula();
+		int formalCharge = 0;
+		for (CMLAtom atom : molecule.getAtoms()) {
+			String elementType = atom.getElementType();
+			int charge = (atom.getFormalChargeAttribute() == null) ? 0 : atom.getFormalCharge();
+			if (!"H".equals(elementType)) {
+				formula.add(elementType, 1.0);
+				formalCharge += charge;
+				if (atom.getHydrogenCount() > 0) {
+					formula.add("H", atom.getHydrogenCount());
+				}
+			} else {
+				boolean countit = true;
+				for (CMLAtom ligand : atom.getLigandAtoms()) {
+					countit &= "H".equals(ligand.getElementType());
+				}
+				if (countit) {
+					formula.add("H", 1.0);
+					formalCharge += charge;
+				}
+			}
+		}
+		formula.setFormalCharge(formalCharge);
+		return formula;
+	}
+
+	/**
+	 * same formula as adding atoms one at a time.
+	 */
+	@Test
+	public void testMolecule() {
+		Random random = new Random(1);
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		for (int i = 0; i < 50; i++) {
+			CMLMolecule molecule = makeMolecule(1 + random.nextInt(30), random);
+			CMLFormula expected = makeFormulaByAdd(molecule);
+			CMLFormula formula = new CMLFormula(molecule);
+			Assert.assertEquals(expected.getConcise(), formula.getConcise());
+			Assert.assertArrayEquals(expected.getElementTypes(), formula.getElementTypes());
+			Assert.assertEquals(expected.getFormalCharge(), formula.getFormalCharge());
+
+			accumulator.clear();
+			accumulator.addMolecule(molecule);
+			CMLFormula formula1 = accumulator.createFormula();
+			Assert.assertEquals(expected.getConcise(), formula1.getConcise());
+			Assert.assertArrayEquals(expected.getCounts(), formula1.getCounts(), 1.0E-12);
+			formula1.normalize();
+			Assert.assertEquals(expected.getConcise(), formula1.getConcise());
+		}
+	}
+
+	/**
+	 * element order and symbols which are not elements.
+	 */
+	@Test
+	public void testOrder() {
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		Assert.assertTrue(accumulator.isEmpty());
+		accumulator.add("O", 1);
+		accumulator.add("Na", 1);
+		accumulator.add("D", 2);
+		accumulator.add(1, 3);
+		accumulator.add("C", 2);
+		accumulator.add("Cl", 0.5);
+		accumulator.addFormalCharge(-1);
+		Assert.assertArrayEquals(new String[] {"C", "H", "Cl", "D", "Na", "O"},
+				accumulator.getElementTypes());
+		Assert.assertEquals(3.0, accumulator.getCount("H"), 0.0);
+		Assert.assertEquals(2.0, accumulator.getCount("D"), 0.0);
+		Assert.assertEquals(2.0, accumulator.getCount(6), 0.0);
+		CMLFormula formula = accumulator.createFormula();
+		Assert.assertEquals("C 2 H 3 Cl 0.5 D 2 Na 1 O 1 -1", formula.getConcise());
+		Assert.assertEquals(-1, formula.getFormalCharge());
+		accumulator.clear();
+		Assert.assertTrue(accumulator.isEmpty());
+		Assert.assertEquals(0.0, accumulator.getCount("C"), 0.0);
+		Assert.assertNull(accumulator.createFormula().getConciseAttribute());
+		try {
+			accumulator.add(0, 1.0);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("not an element: 0", e.getMessage());
+		}
+	}
+
+	/**
+	 * formulae with counts and children.
+	 */
+	@Test
+	public void testAddFormula() {
+		CMLFormula f1 = CMLFormula.createFormula("C 2 H 6 O 1");
+		CMLFormula f2 = CMLFormula.createFormula("Na 1 1");
+		f2.setCount(2.0);
+		CMLFormula f3 = CMLFormula.createFormula("S 1 O 4 -2");
+		CMLFormula composite = new CMLFormula();
+		composite.appendChild(new CMLFormula(f1));
+		composite.appendChild(new CMLFormula(f2));
+		composite.appendChild(new CMLFormula(f3));
+		FormulaAccumulator accumulator = new FormulaAccumulator();
+		accumulator.addFormula(composite);
+		CMLFormula formula = accumulator.createFormula();
+		Assert.assertEquals("C 2 H 6 Na 2 O 5 S 1", formula.getConcise());
+		Assert.assertEquals(0, accumulator.getFormalCharge());
+		Assert.assertEquals(composite.getAggregateFormula().getConciseNoCharge(),
+				formula.getConciseNoCharge());
+		accumulator.addFormula(f3, 2.0);
+		Assert.assertEquals(-4, accumulator.getFormalCharge());
+		Assert.assertEquals(13.0, accumulator.getCount("O"), 0.0);
+	}
+}
@@ -0,0 +1,186 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLAngle;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLLength;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.CMLTorsion;
+import org.xmlcml.cml.element.GeometryEvaluator;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * test GeometryEvaluator.
+ *
+ * @author pm286
+ *
+ */
+public class GeometryEvaluatorTest {
+	static CMLMolecule makeMolecule(int n, Random random) {
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < n; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType("C");
+			atom.setXYZ3(new Point3(random.nextDouble() * 10.0,
+					random.nextDouble() * 10.0, random.nextDouble() * 10.0));
+			molecule.addAtom(atom);
+		}
+		return molecule;
+	}
+
+	/** distinct random atom ids */
+	private static String[] getIds(int count, int n, Random random) {
+		String[] ids = new String[count];
+		for (int i = 0; i < count; i++) {
+			boolean ok = false;
+			while (!ok) {
+				ids[i] = "a" + (random.nextInt(n) + 1);
+				ok = true;
+				for (int j = 0; j < i; j++) {
+					ok &= !ids[i].equals(ids[j]);
+				}
+			}
+		}
+		return ids;
+	}
+
+	private static List<CMLLength> makeLengths(int count, int n, Random random) {
+		List<CMLLength> lengths = new ArrayList<CMLLength>();
+		for (int i = 0; i < count; i++) {
+			CMLLength length = new CMLLength();
+			length.setAtomRefs2(getIds(2, n, random));
+			lengths.add(length);
+		}
+		return lengths;
+	}
+
+	static List<CMLAngle> makeAngles(int count, int n, Random random) {
+		List<CMLAngle> angles = new ArrayList<CMLAngle>();
+		for (int i = 0; i < count; i++) {
+			CMLAngle angle = new CMLAngle();
+			angle.setAtomRefs3(getIds(3, n, random));
+			angles.add(angle);
+		}
+		return angles;
+	}
+
+	static List<CMLTorsion> makeTorsions(int count, int n, Random random) {
+		List<CMLTorsion> torsions = new ArrayList<CMLTorsion>();
+		for (int i = 0; i < count; i++) {
+			CMLTorsion torsion = new CMLTorsion();
+			torsion.setAtomRefs4(getIds(4, n, random));
+			torsions.add(torsion);
+		}
+		return torsions;
+	}
+
+	/**
+	 * values agree with getCalculatedLength/Angle/Torsion.
+	 */
+	@Test
+	public void testAgreement() {
+		Random random = new Random(1);
+		CMLMolecule molecule = makeMolecule(50, random);
+		List<CMLLength> lengths = makeLengths(200, 50, random);
+		List<CMLAngle> angles = makeAngles(200, 50, random);
+		List<CMLTorsion> torsions = makeTorsions(200, 50, random);
+		GeometryEvaluator evaluator = new GeometryEvaluator(molecule, lengths, angles, torsions);
+		double[] l = evaluator.calculateLengths(false);
+		double[] a = evaluator.calculateAngles(false);
+		double[] t = evaluator.calculateTorsions(false);
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals(lengths.get(i).getCalculatedLength(molecule), l[i], 1.0E-10);
+			Assert.assertEquals(angles.get(i).getCalculatedAngle(molecule), a[i], 1.0E-8);
+			Assert.assertEquals(torsions.get(i).getCalculatedTorsion(molecule), t[i], 1.0E-8);
+		}
+		CMLTorsion torsion = torsions.get(7);
+		Assert.assertEquals(7, evaluator.getTorsionIndex(torsion.atomHash()));
+		String[] refs = torsion.getAtomRefs4();
+		// reversed torsion has the same hash
+		Assert.assertEquals(7, evaluator.getTorsionIndex(CMLTorsion.atomHash(
+				refs[3], refs[2], refs[1], refs[0])));
+		Assert.assertEquals(3, evaluator.getLengthIndex(lengths.get(3).atomHash()));
+		Assert.assertEquals(5, evaluator.getAngleIndex(angles.get(5).atomHash()));
+		Assert.assertEquals(-1, evaluator.getLengthIndex("a1 a1"));
+
+		// moved atom
+		molecule.getAtom(0).setXYZ3(new Point3(-1.0, 2.0, 3.0));
+		evaluator.updateCoordinates();
+		t = evaluator.calculateTorsions(false);
+		for (int i = 0; i < 200; i++) {
+			Assert.assertEquals(torsions.get(i).getCalculatedTorsion(molecule), t[i], 1.0E-8);
+		}
+	}
+
+	/**
+	 * missing coordinates and atoms.
+	 */
+	@Test
+	public void testMissing() {
+		Random random = new Random(2);
+		CMLMolecule molecule = makeMolecule(4, random);
+		molecule.getAtom(3).removeAttribute("x3");
+		CMLLength length = new CMLLength();
+		length.setAtomRefs2(new String[] {"a1", "a4"});
+		List<CMLLength> lengths = new ArrayList<CMLLength>();
+		lengths.add(length);
+		GeometryEvaluator evaluator = new GeometryEvaluator(molecule, lengths, null, null);
+		Assert.assertTrue(Double.isNaN(evaluator.calculateLengths(false)[0]));
+		Assert.assertEquals(0, evaluator.calculateAngles(true).length);
+		length.setAtomRefs2(new String[] {"a1", "a5"});
+		try {
+			new GeometryEvaluator(molecule, lengths, null, null);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("cannot find atom a5", e.getMessage());
+		}
+		molecule.addAtom(new CMLAtom("a5"));
+		try {
+			evaluator.updateCoordinates();
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("molecule atoms have changed", e.getMessage());
+		}
+	}
+
+	/**
+	 * lists large enough to run in parallel.
+	 */
+	@Test
+	public void testParallel() {
+		Random random = new Random(3);
+		int natoms = 200;
+		CMLMolecule molecule = makeMolecule(natoms, random);
+		List<CMLTorsion> torsions = makeTorsions(20000, natoms, random);
+		List<CMLAngle> angles = makeAngles(200, natoms, random);
+		GeometryEvaluator evaluator = new GeometryEvaluator(molecule, null, angles, torsions);
+		double[] serial = evaluator.calculateTorsions(false);
+		double[] parallel = evaluator.calculateTorsions(true);
+		Assert.assertArrayEquals(serial, parallel, 0.0);
+		double[] a = evaluator.calculateAngles(false);
+		for (int i = 0; i < angles.size(); i++) {
+			Assert.assertEquals(angles.get(i).getCalculatedAngle(molecule), a[i], 1.0E-8);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLFormula;
+import org.xmlcml.cml.element.CMLPeak;
+import org.xmlcml.cml.element.CMLPeakList;
+import org.xmlcml.cml.element.CMLSpectrum;
+import org.xmlcml.cml.element.IsotopePattern;
+
+/**
+ * test IsotopePattern.
+ *
+ * @author pm286
+ *
+ */
+public class IsotopePatternTest {
+	private static double sum(double[] values) {
+		double sum = 0.0;
+		for (double v : values) {
+			sum += v;
+		}
+		return sum;
+	}
+
+	/**
+	 * fine structure of methane.
+	 */
+	@Test
+	public void testMethane() {
+		CMLFormula formula = CMLFormula.createFormula("C 1 H 4");
+		IsotopePattern pattern = formula.getIsotopePattern(0.001, 1.0E-12);
+		double[] masses = pattern.getMasses();
+		double[] abundances = pattern.getAbundances();
+		Assert.assertEquals(12.0 + 4 * 1.007825032, masses[0], 1.0E-6);
+		Assert.assertEquals(0.9893 * Math.pow(0.999885, 4), abundances[0], 1.0E-4);
+		Assert.assertEquals(1.0, sum(abundances), 1.0E-9);
+		// 13C and 2H peaks at M+1 are resolved
+		int m1 = 0;
+		for (double mass : masses) {
+			if (Math.round(mass) == 17) {
+				m1++;
+			}
+		}
+		Assert.assertEquals(2, m1);
+		Assert.assertEquals(masses[0], pattern.getMostAbundantMass(), 0.0);
+	}
+
+	/**
+	 * nominal masses of Cl2.
+	 */
+	@Test
+	public void testNominal() {
+		CMLFormula formula = CMLFormula.createFormula("Cl 2");
+		IsotopePattern pattern = formula.getIsotopePattern(1.0, 1.0E-6);
+		Assert.assertEquals(3, pattern.size());
+		double[] masses = pattern.getMasses();
+		Assert.assertEquals(70, Math.round(masses[0]));
+		Assert.assertEquals(72, Math.round(masses[1]));
+		Assert.assertEquals(74, Math.round(masses[2]));
+		double[] abundances = pattern.getAbundances();
+		Assert.assertEquals(2 * 0.2424 / 0.7576, abundances[1] / abundances[0], 1.0E-3);
+		Assert.assertEquals(formula.getCalculatedMolecularMass(), pattern.getAverageMass(), 0.01);
+	}
+
+	/**
+	 * deuterium and child formulae with counts.
+	 */
+	@Test
+	public void testDeuteriumAndChildren() {
+		CMLFormula formula = CMLFormula.createFormula("C 1 D 4");
+		IsotopePattern pattern = formula.getIsotopePattern(1.0, 1.0E-6);
+		Assert.assertEquals(2, pattern.size());
+		Assert.assertEquals(20, Math.round(pattern.getMasses()[0]));
+
+		CMLFormula water = CMLFormula.createFormula("H 2 O 1");
+		water.setCount(2.0);
+		CMLFormula composite = new CMLFormula();
+		composite.appendChild(new CMLFormula(CMLFormula.createFormula("Na 1 S 1")));
+		composite.appendChild(water);
+		IsotopePattern pattern1 = composite.getIsotopePattern(1.0, 1.0E-6);
+		IsotopePattern pattern2 = CMLFormula.createFormula("H 4 Na 1 O 2 S 1").getIsotopePattern(1.0, 1.0E-6);
+		Assert.assertArrayEquals(pattern2.getMasses(), pattern1.getMasses(), 1.0E-9);
+		Assert.assertArrayEquals(pattern2.getAbundances(), pattern1.getAbundances(), 1.0E-12);
+	}
+
+	/**
+	 * spectrum with relative abundance and m/z.
+	 */
+	@Test
+	public void testSpectrum() {
+		CMLFormula formula = CMLFormula.createFormula("C 6 H 6 1");
+		IsotopePattern pattern = formula.getIsotopePattern();
+		Assert.assertEquals(1, pattern.getFormalCharge());
+		CMLSpectrum spectrum = pattern.createSpectrum();
+		Assert.assertEquals(IsotopePattern.MASS_SPECTRUM, spectrum.getType());
+		CMLPeakList peakList = spectrum.getPeakListElements().get(0);
+		List<CMLPeak> peaks = peakList.getPeakChildren();
+		Assert.assertEquals(pattern.size(), peaks.size());
+		CMLPeak peak = peaks.get(0);
+		Assert.assertEquals(100.0, peak.getYValue(), 1.0E-9);
+		Assert.assertEquals(pattern.getMasses()[0] - IsotopePattern.ELECTRON_MASS, peak.getXValue(), 1.0E-9);
+		Assert.assertEquals(IsotopePattern.MZ_UNITS, peak.getXUnits());
+		Assert.assertEquals(IsotopePattern.ABUNDANCE_UNITS, peak.getYUnits());
+		Assert.assertEquals(6.6, peaks.get(1).getYValue(), 0.1);
+	}
+
+	/**
+	 * invalid formulae.
+	 */
+	@Test
+	public void testErrors() {
+		try {
+			CMLFormula.createFormula("C 1 Cl 0.5").getIsotopePattern();
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("isotope pattern requires integer counts: Cl 0.5", e.getMessage());
+		}
+		try {
+			CMLFormula.createFormula("C 1 H 4").getIsotopePattern(0.0, 1.0E-6);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("resolution must be positive: 0.0", e.getMessage());
+		}
+	}
+
+	/**
+	 * large protein-like formula.
+	 */
+	@Test
+	public void testLarge() {
+		CMLFormula formula = CMLFormula.createFormula("C 500 H 800 N 100 O 150 S 5");
+		IsotopePattern pattern = formula.getIsotopePattern();
+		IsotopePattern nominal = formula.getIsotopePattern(1.0, IsotopePattern.DEFAULT_THRESHOLD);
+		Assert.assertEquals(1.0, sum(pattern.getAbundances()), 1.0E-6);
+		Assert.assertEquals(1.0, sum(nominal.getAbundances()), 1.0E-6);
+		Assert.assertEquals(formula.getCalculatedMolecularMass(), pattern.getAverageMass(), 0.2);
+		Assert.assertEquals(pattern.getAverageMass(), nominal.getAverageMass(), 1.0E-3);
+	}
+}
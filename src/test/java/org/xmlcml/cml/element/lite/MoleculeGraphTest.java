@@ -0,0 +1,193 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.base.CMLXOMTestUtils;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLBond;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.MoleculeGraph;
+import org.xmlcml.molutil.ChemicalElement;
+import org.xmlcml.molutil.ChemicalElement.AS;
+
+/**
+ * test MoleculeGraph.
+ *
+ * @author pm286
+ *
+ */
+public class MoleculeGraphTest {
+
+	private static CMLMolecule parse(String s) {
+		return (CMLMolecule) CMLXOMTestUtils.parseValidString(s);
+	}
+
+	/** ethanol with explicit O-H */
+	private CMLMolecule makeEthanol() {
+		return parse("<molecule " + CMLConstants.CML_XMLNS + ">"
+				+ "  <atomArray>"
+				+ "    <atom id='a1' elementType='C'/>"
+				+ "    <atom id='a2' elementType='C'/>"
+				+ "    <atom id='a3' elementType='O'/>"
+				+ "    <atom id='a4' elementType='H'/>"
+				+ "  </atomArray>"
+				+ "  <bondArray>"
+				+ "    <bond atomRefs2='a1 a2' order='1'/>"
+				+ "    <bond atomRefs2='a2 a3' order='S'/>"
+				+ "    <bond atomRefs2='a3 a4'/>"
+				+ "  </bondArray>"
+				+ "</molecule>");
+	}
+
+	/**
+	 * arrays as ligands and bonds.
+	 */
+	@Test
+	public void testMoleculeGraph() {
+		CMLMolecule molecule = makeEthanol();
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		Assert.assertEquals(4, graph.getAtomCount());
+		Assert.assertEquals(3, graph.getBondCount());
+		Assert.assertArrayEquals(new byte[] {6, 6, 8, 1}, graph.getAtomicNumbers());
+		Assert.assertArrayEquals(new byte[] {MoleculeGraph.ORDER_SINGLE,
+				MoleculeGraph.ORDER_SINGLE, MoleculeGraph.ORDER_UNKNOWN},
+				graph.getBondOrders());
+		Assert.assertArrayEquals(new int[] {0, 1, 3, 5, 6}, graph.getNeighborStart());
+		Assert.assertArrayEquals(new int[] {1, 0, 2, 1, 3, 2}, graph.getNeighbors());
+		Assert.assertArrayEquals(new int[] {0, 0, 1, 1, 2, 2}, graph.getNeighborBonds());
+		Assert.assertEquals(2, graph.getDegree(2));
+		Assert.assertEquals(3, graph.getOtherAtom(2, 2));
+		Assert.assertEquals(-1, graph.getOtherAtom(2, 0));
+		for (int i = 0; i < graph.getAtomCount(); i++) {
+			CMLAtom atom = graph.getAtom(i);
+			Assert.assertEquals(i, graph.getAtomIndex(atom));
+			List<CMLAtom> ligands = atom.getLigandAtoms();
+			Assert.assertEquals(ligands.size(), graph.getDegree(i));
+			for (int j = graph.getNeighborStart()[i]; j < graph.getNeighborStart()[i + 1]; j++) {
+				Assert.assertTrue(ligands.contains(graph.getAtom(graph.getNeighbors()[j])));
+				CMLBond bond = graph.getBond(graph.getNeighborBonds()[j]);
+				Assert.assertTrue(bond.getAtoms().contains(atom));
+			}
+		}
+		Assert.assertArrayEquals(new int[] {0, 0, 0, 0}, graph.getComponents());
+	}
+
+	/**
+	 * snapshot does not follow the molecule.
+	 */
+	@Test
+	public void testIsCurrent() {
+		CMLMolecule molecule = makeEthanol();
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		Assert.assertTrue(graph.isCurrent());
+		byte order = graph.getBondOrders()[0];
+		molecule.getBonds().get(0).setOrder("D");
+		Assert.assertEquals(order, graph.getBondOrders()[0]);
+		Assert.assertEquals(MoleculeGraph.ORDER_DOUBLE, new MoleculeGraph(molecule).getBondOrders()[0]);
+		CMLAtom atom = new CMLAtom("a5", ChemicalElement.getChemicalElement(AS.Cl.value));
+		molecule.addAtom(atom);
+		Assert.assertFalse(graph.isCurrent());
+		Assert.assertEquals(4, graph.getAtomCount());
+		MoleculeGraph graph1 = new MoleculeGraph(molecule);
+		Assert.assertNotSame(graph, graph1);
+		Assert.assertEquals(5, graph1.getAtomCount());
+		Assert.assertEquals(-1, graph.getAtomIndex(atom));
+		Assert.assertArrayEquals(new int[] {0, 0, 0, 0, 1}, graph1.getComponents());
+		molecule.addBond(new CMLBond(molecule.getAtom(0), atom));
+		Assert.assertFalse(graph1.isCurrent());
+		Assert.assertArrayEquals(new int[] {0, 0, 0, 0, 0},
+				new MoleculeGraph(molecule).getComponents());
+	}
+
+	/**
+	 * child molecules may reuse atom ids.
+	 */
+	@Test
+	public void testContainer() {
+		CMLMolecule molecule = parse("<molecule " + CMLConstants.CML_XMLNS + ">"
+				+ "  <molecule id='m1'>"
+				+ "    <atomArray><atom id='a1' elementType='N'/><atom id='a2' elementType='N'/></atomArray>"
+				+ "    <bondArray><bond atomRefs2='a1 a2' order='3'/></bondArray>"
+				+ "  </molecule>"
+				+ "  <molecule id='m2'>"
+				+ "    <atomArray><atom id='a1' elementType='O'/><atom id='a2' elementType='C'/></atomArray>"
+				+ "    <bondArray><bond atomRefs2='a2 a1' order='D'/></bondArray>"
+				+ "  </molecule>"
+				+ "</molecule>");
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		Assert.assertEquals(4, graph.getAtomCount());
+		Assert.assertArrayEquals(new int[] {0, 3}, graph.getBondAtoms0());
+		Assert.assertArrayEquals(new int[] {1, 2}, graph.getBondAtoms1());
+		Assert.assertArrayEquals(new byte[] {MoleculeGraph.ORDER_TRIPLE,
+				MoleculeGraph.ORDER_DOUBLE}, graph.getBondOrders());
+		Assert.assertArrayEquals(new int[] {0, 0, 1, 1}, graph.getComponents());
+	}
+
+	/**
+	 * pseudo-elements and unknown elements have atomic number 0.
+	 */
+	@Test
+	public void testPseudoElement() {
+		CMLMolecule molecule = makeEthanol();
+		molecule.getAtom(0).setElementType(AS.R.value);
+		molecule.getAtom(1).setElementType("Xx");
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		Assert.assertArrayEquals(new byte[] {0, 0, 8, 1}, graph.getAtomicNumbers());
+	}
+
+	/**
+	 * bond to missing atom.
+	 */
+	@Test
+	public void testBadAtomRef() {
+		CMLMolecule molecule = makeEthanol();
+		molecule.getBondArray().getBond(2).setAtomRefs2(new String[] {"a3", "a9"});
+		try {
+			new MoleculeGraph(molecule);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getMessage().indexOf("a9") != -1);
+		}
+	}
+
+	/**
+	 * chain large enough that list based access would show.
+	 */
+	@Test
+	public void testChain() {
+		CMLMolecule molecule = new CMLMolecule();
+		int n = 1000;
+		for (int i = 0; i < n; i++) {
+			molecule.addAtom(new CMLAtom("a" + i, ChemicalElement.getChemicalElement(AS.C.value)));
+			if (i > 0) {
+				molecule.addBond(new CMLBond(molecule.getAtom(i - 1), molecule.getAtom(i)));
+			}
+		}
+		MoleculeGraph graph = new MoleculeGraph(molecule);
+		Assert.assertEquals(n - 1, graph.getBondCount());
+		Assert.assertEquals(1, graph.getDegree(0));
+		Assert.assertEquals(2, graph.getDegree(n / 2));
+		Assert.assertEquals(2 * (n - 1), graph.getNeighborStart()[n]);
+		int[] components = graph.getComponents();
+		Assert.assertEquals(0, components[n - 1]);
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLCrystal;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.CMLSymmetry;
+import org.xmlcml.cml.element.PeriodicAtomGrid;
+import org.xmlcml.cml.element.PeriodicAtomGrid.Contact;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * test PeriodicAtomGrid.
+ *
+ * @author pm286
+ *
+ */
+public class PeriodicAtomGridTest {
+	private static CMLMolecule makeMolecule(double[][] fract) {
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < fract.length; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType("C");
+			atom.setXYZFract(new Point3(fract[i]));
+			molecule.addAtom(atom);
+		}
+		return molecule;
+	}
+
+	static CMLMolecule makeRandomMolecule(int n, long seed) {
+		Random random = new Random(seed);
+		double[][] fract = new double[n][3];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				// some outside the cell
+				fract[i][k] = random.nextDouble() * 1.4 - 0.2;
+			}
+		}
+		return makeMolecule(fract);
+	}
+
+	private static List<String> getKeys(List<Contact> contacts) {
+		List<String> keys = new ArrayList<String>();
+		for (Contact contact : contacts) {
+			keys.add(contact.getIndex0() + " " + contact.getIndex1() + " " +
+					contact.getOperator() + " " + Arrays.toString(contact.getTranslation()));
+		}
+		Collections.sort(keys);
+		return keys;
+	}
+
+	/** distance recalculated from the contact translation */
+	private static double getDistance(Contact contact, CMLCrystal crystal, CMLSymmetry symmetry) {
+		Point3 p1 = contact.getAtom1().getXYZFract();
+		if (contact.getOperator() >= 0) {
+			p1 = p1.transform(symmetry.getTransform3Elements()
+					.get(contact.getOperator()).getEuclidTransform3());
+		}
+		int[] t = contact.getTranslation();
+		double[] d = new double[3];
+		Point3 p0 = contact.getAtom0().getXYZFract();
+		for (int k = 0; k < 3; k++) {
+			d[k] = p1.elementAt(k) + t[k] - p0.elementAt(k);
+		}
+		Point3 dd = new Point3(d).transform(crystal.getOrthogonalizationTransform());
+		return dd.getDistanceFromOrigin();
+	}
+
+	/**
+	 * single atom in a cubic cell contacts its own images.
+	 */
+	@Test
+	public void testCubic() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {3.0, 3.0, 3.0, 90.0, 90.0, 90.0});
+		CMLMolecule molecule = makeMolecule(new double[][] {{0.1, 0.2, 1.3}});
+		PeriodicAtomGrid grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, 3.1);
+		List<Contact> contacts = grid.getContacts();
+		Assert.assertEquals(Arrays.asList(
+				"0 0 -1 [0, 0, 1]", "0 0 -1 [0, 1, 0]", "0 0 -1 [1, 0, 0]"),
+				getKeys(contacts));
+		Assert.assertEquals(3.0, contacts.get(0).getDistance(), 1.0E-10);
+		grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, 4.3);
+		Assert.assertEquals(9, grid.getContacts().size());
+	}
+
+	/**
+	 * cell list finds the same contacts as searching all images.
+	 */
+	@Test
+	public void testTriclinic() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {7.0, 9.0, 11.0, 70.0, 100.0, 115.0});
+		CMLMolecule molecule = makeRandomMolecule(60, 1);
+		for (double cutoff : new double[] {2.5, 6.0, 10.0}) {
+			PeriodicAtomGrid grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, cutoff);
+			List<Contact> contacts = grid.getContacts();
+			Assert.assertEquals(getKeys(grid.getContactsBruteForce()), getKeys(contacts));
+			for (Contact contact : contacts) {
+				Assert.assertTrue(contact.getDistance() <= cutoff);
+				Assert.assertEquals(contact.getDistance(),
+						getDistance(contact, crystal, null), 1.0E-8);
+			}
+		}
+	}
+
+	/**
+	 * contacts to symmetry images.
+	 */
+	@Test
+	public void testSymmetry() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {6.0, 7.0, 8.0, 90.0, 105.0, 90.0});
+		// P21/c
+		CMLSymmetry symmetry = new CMLSymmetry(new String[] {
+				"x,y,z", "-x,1/2+y,1/2-z", "-x,-y,-z", "x,1/2-y,1/2+z"});
+		// second atom on inversion centre
+		CMLMolecule molecule = makeMolecule(new double[][] {
+				{0.1, 0.2, 0.3}, {0.5, 0.0, 0.5}, {1.2, -0.3, 0.45}});
+		PeriodicAtomGrid grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, symmetry, 5.0);
+		Assert.assertEquals(3, grid.size());
+		Assert.assertEquals(4 + 2 + 4, grid.getImageCount());
+		List<Contact> contacts = grid.getContacts();
+		Assert.assertEquals(getKeys(grid.getContactsBruteForce()), getKeys(contacts));
+		Assert.assertTrue(contacts.size() > 0);
+		for (Contact contact : contacts) {
+			Assert.assertEquals(contact.getDistance(),
+					getDistance(contact, crystal, symmetry), 1.0E-8);
+		}
+
+		molecule = makeRandomMolecule(50, 2);
+		grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, symmetry, 4.0);
+		Assert.assertEquals(getKeys(grid.getContactsBruteForce()), getKeys(grid.getContacts()));
+	}
+
+	/**
+	 * cell list against searching all images for a large cell.
+	 */
+	@Test
+	public void testLargeCell() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {30.0, 35.0, 40.0, 80.0, 95.0, 100.0});
+		CMLMolecule molecule = makeRandomMolecule(300, 4);
+		PeriodicAtomGrid grid = new PeriodicAtomGrid(molecule.getAtoms(), crystal, 4.0);
+		List<Contact> contacts = grid.getContacts();
+		Assert.assertTrue(contacts.size() > 0);
+		Assert.assertEquals(getKeys(grid.getContactsBruteForce()), getKeys(contacts));
+	}
+}
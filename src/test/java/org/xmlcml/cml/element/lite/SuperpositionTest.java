@@ -0,0 +1,292 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLAtomSet;
+import org.xmlcml.cml.element.CMLLink;
+import org.xmlcml.cml.element.CMLMap;
+import org.xmlcml.cml.element.CMLMap.Direction;
+import org.xmlcml.cml.element.Superposition;
+import org.xmlcml.cml.element.Superposition.Fit;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * test Superposition and CMLAtomSet.fitTo().
+ *
+ * @author pm286
+ *
+ */
+public class SuperpositionTest {
+	static double[][] makeRandomPoints(int n, Random random) {
+		double[][] xyz = new double[3][n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				xyz[k][i] = random.nextDouble() * 10.0 - 5.0;
+			}
+		}
+		return xyz;
+	}
+
+	/** rotation about axis by angle */
+	private static double[][] makeRotation(double[] axis, double angle) {
+		double norm = Math.sqrt(axis[0] * axis[0] + axis[1] * axis[1] + axis[2] * axis[2]);
+		double x = axis[0] / norm, y = axis[1] / norm, z = axis[2] / norm;
+		double c = Math.cos(angle), s = Math.sin(angle), t = 1.0 - c;
+		return new double[][] {
+				{t * x * x + c, t * x * y - s * z, t * x * z + s * y},
+				{t * x * y + s * z, t * y * y + c, t * y * z - s * x},
+				{t * x * z - s * y, t * y * z + s * x, t * z * z + c}};
+	}
+
+	/** r.p + t */
+	private static double[][] move(double[][] xyz, double[][] r, double[] t) {
+		int n = xyz[0].length;
+		double[][] moved = new double[3][n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				moved[k][i] = r[k][0] * xyz[0][i] + r[k][1] * xyz[1][i] + r[k][2] * xyz[2][i] + t[k];
+			}
+		}
+		return moved;
+	}
+
+	private static double getRMSD(double[][] a, double[][] b) {
+		double ss = 0.0;
+		for (int i = 0; i < a[0].length; i++) {
+			for (int k = 0; k < 3; k++) {
+				double d = a[k][i] - b[k][i];
+				ss += d * d;
+			}
+		}
+		return Math.sqrt(ss / a[0].length);
+	}
+
+	private static CMLAtomSet makeAtomSet(double[][] xyz, String prefix) {
+		CMLAtomSet atomSet = new CMLAtomSet();
+		for (int i = 0; i < xyz[0].length; i++) {
+			CMLAtom atom = new CMLAtom(prefix + (i + 1));
+			atom.setElementType("C");
+			atom.setXYZ3(new Point3(xyz[0][i], xyz[1][i], xyz[2][i]));
+			atomSet.addAtom(atom);
+		}
+		return atomSet;
+	}
+
+	/**
+	 * recovers a known rotation and translation.
+	 */
+	@Test
+	public void testExactFit() {
+		Random random = new Random(1);
+		double[][] ref = makeRandomPoints(20, random);
+		double[][] r = makeRotation(new double[] {1.0, -2.0, 0.5}, 2.0);
+		double[][] moved = move(ref, r, new double[] {3.0, -1.0, 7.0});
+		Fit fit = new Superposition(ref[0], ref[1], ref[2]).fit(moved[0], moved[1], moved[2]);
+		Assert.assertEquals(0.0, fit.getRMSD(), 1.0E-6);
+		// fitted rotation is the inverse of r
+		double[][] rot = fit.getRotation();
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				Assert.assertEquals(r[j][i], rot[i][j], 1.0E-10);
+			}
+		}
+		fit.transform(moved[0], moved[1], moved[2]);
+		Assert.assertEquals(0.0, getRMSD(ref, moved), 1.0E-10);
+		// transform3 agrees
+		moved = move(ref, r, new double[] {3.0, -1.0, 7.0});
+		double[] m = fit.getTransform3().getMatrixAsArray();
+		Point3 p = new Point3(moved[0][5], moved[1][5], moved[2][5]);
+		p = p.transform(fit.getTransform3().getEuclidTransform3());
+		Assert.assertTrue(p.isEqualTo(new Point3(ref[0][5], ref[1][5], ref[2][5]), 1.0E-10));
+		Assert.assertEquals(1.0, m[15], 0.0);
+	}
+
+	/**
+	 * rmsd from the eigenvalue agrees with the rmsd of the transformed points
+	 * and is not improved by small changes to the rotation.
+	 */
+	@Test
+	public void testNoisyFit() {
+		Random random = new Random(2);
+		double[][] ref = makeRandomPoints(30, random);
+		double[][] moved = move(ref, makeRotation(new double[] {0.3, 0.2, 1.0}, -1.0),
+				new double[] {-2.0, 0.0, 1.0});
+		for (int k = 0; k < 3; k++) {
+			for (int i = 0; i < 30; i++) {
+				moved[k][i] += random.nextGaussian() * 0.3;
+			}
+		}
+		Fit fit = new Superposition(ref[0], ref[1], ref[2]).fit(moved[0], moved[1], moved[2]);
+		Assert.assertTrue(fit.getRMSD() > 0.1);
+		double[][] fitted = move(moved, fit.getRotation(), fit.getTranslation());
+		double rmsd = getRMSD(ref, fitted);
+		Assert.assertEquals(rmsd, fit.getRMSD(), 1.0E-8);
+		for (int axis = 0; axis < 3; axis++) {
+			double[] a = new double[3];
+			a[axis] = 1.0;
+			for (double angle : new double[] {-0.01, 0.01}) {
+				double[][] perturbed = move(fitted, makeRotation(a, angle), new double[3]);
+				// rotate about the centroid: best translation is still the centroid difference
+				Fit refit = new Superposition(ref[0], ref[1], ref[2]).fit(
+						perturbed[0], perturbed[1], perturbed[2]);
+				Assert.assertEquals(fit.getRMSD(), refit.getRMSD(), 1.0E-8);
+				Assert.assertTrue(getRMSD(ref, perturbed) > rmsd);
+			}
+		}
+	}
+
+	/**
+	 * mirror image cannot be fitted by a proper rotation.
+	 */
+	@Test
+	public void testMirror() {
+		Random random = new Random(3);
+		double[][] ref = makeRandomPoints(10, random);
+		double[][] mirror = {ref[0], ref[1], new double[10]};
+		for (int i = 0; i < 10; i++) {
+			mirror[2][i] = -ref[2][i];
+		}
+		Fit fit = new Superposition(ref[0], ref[1], ref[2]).fit(mirror[0], mirror[1], mirror[2]);
+		Assert.assertTrue(fit.getRMSD() > 0.1);
+		double[][] r = fit.getRotation();
+		double det = r[0][0] * (r[1][1] * r[2][2] - r[1][2] * r[2][1])
+				- r[0][1] * (r[1][0] * r[2][2] - r[1][2] * r[2][0])
+				+ r[0][2] * (r[1][0] * r[2][1] - r[1][1] * r[2][0]);
+		Assert.assertEquals(1.0, det, 1.0E-10);
+		Assert.assertEquals(getRMSD(ref, move(mirror, r, fit.getTranslation())),
+				fit.getRMSD(), 1.0E-8);
+	}
+
+	/**
+	 * atomSets paired by position, index and map.
+	 */
+	@Test
+	public void testFitTo() {
+		Random random = new Random(4);
+		double[][] ref = makeRandomPoints(5, random);
+		double[][] moved = move(ref, makeRotation(new double[] {1.0, 1.0, 1.0}, 0.7),
+				new double[] {1.0, 2.0, 3.0});
+		CMLAtomSet refSet = makeAtomSet(ref, "r");
+		CMLAtomSet atomSet = makeAtomSet(moved, "m");
+		Assert.assertEquals(0.0, atomSet.fitTo(refSet).getRMSD(), 1.0E-6);
+
+		// reversed order
+		double[][] reversed = new double[3][5];
+		for (int k = 0; k < 3; k++) {
+			for (int i = 0; i < 5; i++) {
+				reversed[k][i] = moved[k][4 - i];
+			}
+		}
+		CMLAtomSet reversedSet = makeAtomSet(reversed, "m");
+		Assert.assertTrue(reversedSet.fitTo(refSet).getRMSD() > 0.1);
+		Assert.assertEquals(0.0, reversedSet.fitTo(refSet,
+				new int[] {0, 4, 1, 3, 2, 2, 3, 1, 4, 0}).getRMSD(), 1.0E-6);
+		// subset
+		Assert.assertEquals(0.0, reversedSet.fitTo(refSet,
+				new int[] {0, 4, 2, 2, 3, 1}).getRMSD(), 1.0E-6);
+
+		CMLMap map = new CMLMap();
+		for (int i = 0; i < 4; i++) {
+			CMLLink link = new CMLLink();
+			link.setFrom("m" + (i + 1));
+			link.setTo("r" + (5 - i));
+			map.addLink(link);
+		}
+		Fit fit = reversedSet.fitTo(refSet, map, Direction.FROM);
+		Assert.assertEquals(0.0, fit.getRMSD(), 1.0E-6);
+		// unmapped atom m5 is moved onto r1 by the same transform
+		Point3 p = reversedSet.getAtomById("m5").getXYZ3().transform(
+				fit.getTransform3().getEuclidTransform3());
+		Assert.assertTrue(p.isEqualTo(refSet.getAtomById("r1").getXYZ3(), 1.0E-8));
+
+		refSet.getAtom(2).removeAttribute("z3");
+		try {
+			atomSet.fitTo(refSet);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom has no 3D coordinates: r3", e.getMessage());
+		}
+	}
+
+	/** randomly moved copies of ref with noise increasing for j % 10 */
+	static List<double[][]> makeConformations(double[][] ref, int nsets, Random random) {
+		int natoms = ref[0].length;
+		List<double[][]> coordinates = new ArrayList<double[][]>();
+		for (int j = 0; j < nsets; j++) {
+			double[][] moved = move(ref, makeRotation(new double[] {
+					random.nextGaussian(), random.nextGaussian(), random.nextGaussian()},
+					random.nextDouble() * Math.PI), new double[] {j, -j, 0.5 * j});
+			for (int k = 0; k < 3; k++) {
+				for (int i = 0; i < natoms; i++) {
+					moved[k][i] += random.nextGaussian() * 0.01 * (j % 10);
+				}
+			}
+			coordinates.add(moved);
+		}
+		return coordinates;
+	}
+
+	/**
+	 * many conformations against one reference, serial and parallel.
+	 */
+	@Test
+	public void testFitAll() {
+		Random random = new Random(5);
+		int natoms = 200;
+		int nsets = 100;
+		double[][] ref = makeRandomPoints(natoms, random);
+		List<double[][]> coordinates = makeConformations(ref, nsets, random);
+		Superposition superposition = new Superposition(ref[0], ref[1], ref[2]);
+		List<Fit> serial = superposition.fitAll(coordinates, false);
+		List<Fit> parallel = superposition.fitAll(coordinates, true);
+		Assert.assertEquals(nsets, parallel.size());
+		for (int j = 0; j < nsets; j++) {
+			Assert.assertEquals(serial.get(j).getRMSD(), parallel.get(j).getRMSD(), 0.0);
+			double[][] xyz = coordinates.get(j);
+			Assert.assertEquals(superposition.fit(xyz[0], xyz[1], xyz[2]).getRMSD(),
+					serial.get(j).getRMSD(), 0.0);
+		}
+		Assert.assertEquals(0.0, serial.get(0).getRMSD(), 1.0E-6);
+		Assert.assertTrue(serial.get(9).getRMSD() > serial.get(1).getRMSD());
+
+		List<CMLAtomSet> atomSets = new ArrayList<CMLAtomSet>();
+		for (int j = 0; j < 20; j++) {
+			atomSets.add(makeAtomSet(coordinates.get(j), "a"));
+		}
+		List<Fit> fits = CMLAtomSet.fitAllTo(atomSets, makeAtomSet(ref, "r"), true);
+		for (int j = 0; j < 20; j++) {
+			Assert.assertEquals(serial.get(j).getRMSD(), fits.get(j).getRMSD(), 1.0E-12);
+		}
+
+		// errors in other threads reach the caller
+		coordinates.set(nsets - 1, makeRandomPoints(natoms - 1, random));
+		try {
+			superposition.fitAll(coordinates, true);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("coordinate arrays of wrong length: 199, 199, 199 (expected 200)",
+					e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,241 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.lite;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
+import org.xmlcml.cml.base.CMLXOMTestUtils;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.cml.element.CMLSymmetry;
+import org.xmlcml.cml.element.CMLTransform3;
+import org.xmlcml.cml.element.UnitCellExpansion;
+import org.xmlcml.euclid.Point3;
+
+/**
+ * test UnitCellExpansion and CMLMolecule.expandToUnitCell().
+ *
+ * @author pm286
+ *
+ */
+public class UnitCellExpansionTest {
+	private static CMLSymmetry P21C = new CMLSymmetry(new String[] {
+			"x, y, z", "-x, y+1/2, -z+1/2", "-x, -y, -z", "x, -y+1/2, z+1/2"});
+
+	static CMLSymmetry makeFm3m() {
+		return new CMLSymmetry(new String[] { "-y, x, z", "z, x, y",
+				"-x, -y, -z", "x, y+1/2, z+1/2", "x+1/2, y, z+1/2" }).generateSpaceGroup();
+	}
+
+	/**
+	 * general and special positions in P21/c.
+	 */
+	@Test
+	public void testExpansion() {
+		UnitCellExpansion expansion = new UnitCellExpansion(
+				new double[] {0.1, 0.5, 1.0E-4}, new double[] {-0.2, 0.0, 0.0},
+				new double[] {0.3, 0.5, 0.0}, P21C);
+		Assert.assertEquals(4, expansion.getImageCount(0));
+		// inversion centre
+		Assert.assertEquals(2, expansion.getImageCount(1));
+		// within eps of inversion centre at origin, across the cell boundary
+		Assert.assertEquals(2, expansion.getImageCount(2));
+		Assert.assertEquals(8, expansion.size());
+		Assert.assertArrayEquals(new int[] {0, 0, 0, 0, 1, 1, 2, 2}, expansion.getSource());
+		Assert.assertArrayEquals(new int[] {0, 1, 2, 3, 0, 1, 0, 1}, expansion.getOperator());
+		double[] x = expansion.getXFract();
+		double[] y = expansion.getYFract();
+		double[] z = expansion.getZFract();
+		Assert.assertEquals(0.8, y[0], 1.0E-12);
+		Assert.assertEquals(0.9, x[1], 1.0E-12);
+		Assert.assertEquals(0.3, y[1], 1.0E-12);
+		Assert.assertEquals(0.2, z[1], 1.0E-12);
+		for (int i = 0; i < expansion.size(); i++) {
+			Assert.assertTrue(x[i] >= 0.0 && x[i] < 1.0);
+			Assert.assertTrue(y[i] >= 0.0 && y[i] < 1.0);
+			Assert.assertTrue(z[i] >= 0.0 && z[i] < 1.0);
+		}
+	}
+
+	/**
+	 * image counts agree with getSpaceGroupMultiplicity() for 192 operators.
+	 */
+	@Test
+	public void testMultiplicity() {
+		CMLSymmetry symmetry = makeFm3m();
+		int nops = symmetry.getTransform3Elements().size();
+		double[][] points = {
+				{0.0, 0.0, 0.0}, {0.25, 0.25, 0.25}, {0.5, 0.0, 0.0},
+				{0.13, 0.0, 0.0}, {0.13, 0.13, 0.13}, {0.0, 0.13, 0.29},
+				{0.11, 0.23, 0.37}};
+		int[] counts = {4, 8, 4, 24, 32, 96, 192};
+		double[] x = new double[points.length];
+		double[] y = new double[points.length];
+		double[] z = new double[points.length];
+		for (int i = 0; i < points.length; i++) {
+			x[i] = points[i][0];
+			y[i] = points[i][1];
+			z[i] = points[i][2];
+		}
+		UnitCellExpansion expansion = new UnitCellExpansion(x, y, z, symmetry);
+		for (int i = 0; i < points.length; i++) {
+			Assert.assertEquals("point " + i, counts[i], expansion.getImageCount(i));
+			Assert.assertEquals("point " + i, nops / symmetry.getSpaceGroupMultiplicity(
+					new Point3(points[i])), expansion.getImageCount(i));
+		}
+	}
+
+	/**
+	 * atoms added to molecule.
+	 */
+	@Test
+	public void testExpandToUnitCell() {
+		CMLMolecule molecule = (CMLMolecule) CMLXOMTestUtils.parseValidString(
+				"<molecule " + CMLConstants.CML_XMLNS + ">"
+				+ "  <atomArray>"
+				+ "    <atom id='c1' elementType='C' xFract='0.1' yFract='0.2' zFract='0.3' x3='1.0' y3='2.0' z3='3.0'/>"
+				+ "    <atom id='o1' elementType='O' xFract='0.15' yFract='0.25' zFract='0.35'/>"
+				+ "    <atom id='n1' elementType='N' xFract='1.5' yFract='0.0' zFract='0.5' x3='0.0' y3='0.0' z3='0.0'/>"
+				+ "    <atom id='x1' elementType='C'/>"
+				+ "  </atomArray>"
+				+ "  <bondArray>"
+				+ "    <bond atomRefs2='c1 o1'/>"
+				+ "  </bondArray>"
+				+ "</molecule>");
+		List<CMLAtom> added = molecule.expandToUnitCell(P21C);
+		Assert.assertEquals(3 + 3 + 1, added.size());
+		Assert.assertEquals(4 + 7, molecule.getAtomCount());
+		Assert.assertEquals("c1_2", added.get(0).getId());
+		Assert.assertEquals("n1_2", added.get(6).getId());
+		Assert.assertSame(added.get(0), molecule.getAtomById("c1_2"));
+		Assert.assertEquals(4, molecule.getAtomArray().getAtomIndex(added.get(0)));
+		Assert.assertEquals("C", added.get(0).getElementType());
+		Assert.assertFalse(added.get(0).hasCoordinates(CoordinateType.CARTESIAN));
+		// unmoved atom keeps its coordinates; moved atom loses 3D
+		CMLAtom c1 = molecule.getAtomById("c1");
+		Assert.assertTrue(c1.hasCoordinates(CoordinateType.CARTESIAN));
+		CMLAtom n1 = molecule.getAtomById("n1");
+		Assert.assertEquals(0.5, n1.getXFract(), 1.0E-12);
+		Assert.assertFalse(n1.hasCoordinates(CoordinateType.CARTESIAN));
+		Assert.assertEquals(1, molecule.getBondCount());
+		Assert.assertEquals(1, c1.getLigandAtoms().size());
+		try {
+			molecule.expandToUnitCell(P21C);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom already in array: c1_2", e.getMessage());
+		}
+	}
+
+	/**
+	 * no molecule is changed if an image id is already used.
+	 */
+	@Test
+	public void testExpandToUnitCellIdClash() {
+		CMLMolecule parent = (CMLMolecule) CMLXOMTestUtils.parseValidString(
+				"<molecule " + CMLConstants.CML_XMLNS + ">"
+				+ "  <molecule id='m1'><atomArray>"
+				+ "    <atom id='a1' elementType='C' xFract='1.2' yFract='0.2' zFract='0.3' x3='1.0' y3='2.0' z3='3.0'/>"
+				+ "  </atomArray></molecule>"
+				+ "  <molecule id='m2'><atomArray>"
+				+ "    <atom id='C1' elementType='C' xFract='1.2' yFract='0.2' zFract='0.3' x3='1.0' y3='2.0' z3='3.0'/>"
+				+ "    <atom id='C1_2' elementType='C'/>"
+				+ "  </atomArray></molecule>"
+				+ "</molecule>");
+		try {
+			parent.expandToUnitCell(P21C);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertEquals("atom already in array: C1_2", e.getMessage());
+		}
+		Assert.assertEquals(3, parent.getAtomCount());
+		for (String id : new String[] {"a1", "C1"}) {
+			CMLAtom atom = parent.getAtomById(id);
+			Assert.assertEquals(id, 1.2, atom.getXFract(), 1.0E-12);
+			Assert.assertTrue(id, atom.hasCoordinates(CoordinateType.CARTESIAN));
+		}
+	}
+
+	/** random fractional coordinates as x, y, z */
+	static double[][] makeRandomFract(int n, long seed) {
+		Random random = new Random(seed);
+		double[][] xyz = new double[3][n];
+		for (int i = 0; i < n; i++) {
+			for (int k = 0; k < 3; k++) {
+				xyz[k][i] = random.nextDouble();
+			}
+		}
+		return xyz;
+	}
+
+	/**
+	 * expansion of random atoms by 192 operators against comparing all images.
+	 */
+	@Test
+	public void testRandomPoints() {
+		CMLSymmetry symmetry = makeFm3m();
+		int n = 20;
+		double[][] xyz = makeRandomFract(n, 1);
+		double[] x = xyz[0];
+		double[] y = xyz[1];
+		double[] z = xyz[2];
+		UnitCellExpansion expansion = new UnitCellExpansion(x, y, z, symmetry);
+		// distinct images by comparing all images of each point
+		double[] xx = expansion.getXFract();
+		double[] yy = expansion.getYFract();
+		double[] zz = expansion.getZFract();
+		int total = 0;
+		for (int i = 0; i < n; i++) {
+			double[][] images = new double[192][];
+			int count = 0;
+			for (CMLTransform3 tr : symmetry.getTransform3Elements()) {
+				Point3 p = tr.transform(new Point3(x[i], y[i], z[i]));
+				boolean found = false;
+				for (int j = 0; j < count && !found; j++) {
+					found = isSameSite(images[j], p.getArray());
+				}
+				if (!found) {
+					images[count++] = p.getArray();
+				}
+			}
+			Assert.assertEquals(count, expansion.getImageCount(i));
+			total += count;
+		}
+		Assert.assertEquals(total, expansion.size());
+		Assert.assertTrue(total < 192 * n);
+		for (int i = 0; i < expansion.size(); i++) {
+			Assert.assertTrue(xx[i] >= 0.0 && xx[i] < 1.0);
+			Assert.assertTrue(yy[i] >= 0.0 && yy[i] < 1.0);
+			Assert.assertTrue(zz[i] >= 0.0 && zz[i] < 1.0);
+		}
+	}
+
+	private static boolean isSameSite(double[] p, double[] q) {
+		for (int k = 0; k < 3; k++) {
+			double d = p[k] - q[k];
+			if (Math.abs(d - Math.rint(d)) > Point3.CRYSTALFRACTEPSILON) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ *    Copyright 2011 Peter Murray-Rust et. al.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.xmlcml.cml.element.main;
+
+import java.util.List;
+
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLAtomSet;
+import org.xmlcml.cml.element.CMLMolecule;
+import org.xmlcml.euclid.Point3;
+import org.xmlcml.euclid.Util;
+import org.xmlcml.euclid.Vector3;
+import org.xmlcml.molutil.ChemicalElement.AS;
+
+/**
+ * <p>
+ * Timings of CML elements on large inputs.
+ * </p>
+ * <p>
+ * Not part of the unit tests; run with
+ * java org.xmlcml.cml.element.main.Benchmarks
+ * </p>
+ *
+ * @author pm286
+ *
+ */
+public class Benchmarks {
+
+	/**
+	 * runs all benchmarks.
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		translate3D();
+		addAtoms();
+	}
+
+	/**
+	 * repeated translate3D of a large atomSet.
+	 */
+	public static void translate3D() {
+		int natoms = 20000;
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < natoms; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType(AS.C.value);
+			atom.setXYZ3(new Point3(i, 2 * i, 3 * i));
+			molecule.addAtom(atom);
+		}
+		CMLAtomSet atomSet = new CMLAtomSet(molecule);
+		Vector3 v3 = new Vector3(1., 1., 1.);
+		int ncycles = 10;
+		long start = System.nanoTime();
+		for (int i = 0; i < ncycles; i++) {
+			atomSet.translate3D(v3);
+		}
+		Util.println("translate3D " + natoms + " atoms x " + ncycles + ": "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * single additions and set algebra on a large molecule.
+	 */
+	public static void addAtoms() {
+		int natoms = 50000;
+		CMLMolecule molecule = CMLAtomSetTest.makeChain("a", natoms);
+		List<CMLAtom> atoms = molecule.getAtoms();
+		long start = System.nanoTime();
+		CMLAtomSet even = new CMLAtomSet();
+		CMLAtomSet odd = new CMLAtomSet();
+		for (int i = 0; i < natoms; i++) {
+			((i % 2 == 0) ? even : odd).addAtom(atoms.get(i));
+		}
+		CMLAtomSet all = even.union(odd);
+		all.complement(even).intersection(even);
+		Util.println("addAtom and set algebra " + natoms + " atoms: "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+}
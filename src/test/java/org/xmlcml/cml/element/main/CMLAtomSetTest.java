@@ -18,6 +18,7 @@ package org.xmlcml.cml.element.main;
 
 import static org.xmlcml.euclid.EuclidConstants.EPS;
 import static org.xmlcml.euclid.EuclidConstants.S_RBRAK;
+import static org.xmlcml.euclid.EuclidConstants.S_SPACE;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -25,9 +26,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import nu.xom.Attribute;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.xmlcml.cml.base.CMLBuilder;
 import org.xmlcml.cml.base.CMLConstants;
 import org.xmlcml.cml.base.CMLElement.CoordinateType;
 import org.xmlcml.cml.element.CMLAtom;
@@ -46,6 +50,7 @@ import org.xmlcml.euclid.Real2;
 import org.xmlcml.euclid.Real2Vector;
 import org.xmlcml.euclid.RealMatrix;
 import org.xmlcml.euclid.Transform2;
+import org.xmlcml.euclid.Util;
 import org.xmlcml.euclid.Vector3;
 import org.xmlcml.euclid.test.DoubleTestBase;
 import org.xmlcml.molutil.ChemicalElement.AS;
@@ -446,6 +451,137 @@ public class CMLAtomSetTest {
 		Assert.assertEquals("point 3d z", 33.0, p.getArray()[2], 0.0001);
 	}
 
+	/**
+	 * translate3D must update coordinate attributes in place.
+	 */
+	@Test
+	public void testTranslate3DInPlace() {
+		int natoms = 10;
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < natoms; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setElementType(AS.C.value);
+			atom.setXYZ3(new Point3(i, 2 * i, 3 * i));
+			molecule.addAtom(atom);
+		}
+		CMLAtomSet atomSet = new CMLAtomSet(molecule);
+		CMLAtom atom = molecule.getAtom(natoms - 1);
+		Attribute x3 = atom.getX3Attribute();
+		Vector3 v3 = new Vector3(1., 1., 1.);
+		int ncycles = 3;
+		for (int i = 0; i < ncycles; i++) {
+			atomSet.translate3D(v3);
+		}
+		Assert.assertSame("x3 updated in place", x3, atom.getX3Attribute());
+		atomSet.setId("s1");
+		Attribute id = atomSet.getIdAttribute();
+		atomSet.setId("s2");
+		Assert.assertSame("id updated in place", id, atomSet.getIdAttribute());
+		Assert.assertEquals("id", "s2", atomSet.getId());
+		Assert.assertEquals("x3", natoms - 1 + ncycles, atom.getX3(), 0.0001);
+		Assert.assertEquals("y3", 2 * (natoms - 1) + ncycles, atom.getY3(), 0.0001);
+		Assert.assertEquals("z3", 3 * (natoms - 1) + ncycles, atom.getZ3(), 0.0001);
+		Assert.assertEquals("x3 string", String.valueOf((double) (natoms - 1 + ncycles)),
+				atom.getX3Attribute().getValue());
+	}
+
+	static CMLMolecule makeChain(String prefix, int natoms) {
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < natoms; i++) {
+			CMLAtom atom = new CMLAtom(prefix + (i + 1));
+			atom.setElementType(AS.C.value);
+			molecule.addAtom(atom);
+		}
+		return molecule;
+	}
+
+	/**
+	 * set algebra within one molecule (bits) and across molecules
+	 * (LinkedHashSet) must give the same atoms in the same order.
+	 */
+	@Test
+	public void testSetAlgebraNumbering() {
+		CMLMolecule molecule = makeChain("a", 10);
+		List<CMLAtom> atoms = molecule.getAtoms();
+		CMLAtomSet set1 = new CMLAtomSet();
+		CMLAtomSet set2 = new CMLAtomSet();
+		for (int i : new int[] {7, 1, 2, 5, 3}) {
+			set1.addAtom(atoms.get(i));
+		}
+		for (int i : new int[] {4, 5, 0, 3, 9}) {
+			set2.addAtom(atoms.get(i));
+		}
+		Assert.assertEquals("a6 a4", Util.concatenate(set1.intersection(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3", Util.concatenate(set1.complement(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3 a6 a4 a5 a1 a10",
+				Util.concatenate(set1.union(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3 a5 a1 a10",
+				Util.concatenate(set1.symmetricDifference(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3", set1.complement(set2).getValue());
+		Assert.assertEquals(3, set1.complement(set2).getSize());
+		Assert.assertFalse(set1.hasContentEqualTo(set2));
+		// atom without molecule forces fallback; same results
+		CMLAtomSet set3 = new CMLAtomSet(set1);
+		CMLAtom free = new CMLAtom("z1");
+		set3.addAtom(free);
+		set3.removeAtom(free);
+		Assert.assertTrue(set3.hasContentEqualTo(set1));
+		Assert.assertEquals("a6 a4", Util.concatenate(set3.intersection(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3 a6 a4 a5 a1 a10",
+				Util.concatenate(set3.union(set2).getAtomIDs(), S_SPACE));
+		Assert.assertEquals("a8 a2 a3 a5 a1 a10",
+				Util.concatenate(set3.symmetricDifference(set2).getAtomIDs(), S_SPACE));
+		// removal and re-addition moves atom to end
+		set1.removeAtom(atoms.get(1));
+		set1.addAtom(atoms.get(1));
+		Assert.assertEquals("a8 a3 a6 a4 a2", set1.getValue());
+		Assert.assertSame(atoms.get(5), set1.getAtom(2));
+		Assert.assertEquals(5, set1.getSize());
+	}
+
+	/**
+	 * content is written when read and keeps ids from parsed content.
+	 */
+	@Test
+	public void testLazyContent() {
+		CMLMolecule molecule = makeChain("a", 3);
+		CMLAtomSet atomSet = new CMLAtomSet();
+		atomSet.addAtom(molecule.getAtom(0));
+		atomSet.addAtom(molecule.getAtom(2));
+		Assert.assertEquals("<atomSet xmlns=\"http://www.xml-cml.org/schema\" size=\"2\">a1 a3</atomSet>",
+				atomSet.toXML());
+		CMLAtomSet copy = (CMLAtomSet) atomSet.copy();
+		Assert.assertEquals("a1 a3", copy.getValue());
+		atomSet.removeAtom(molecule.getAtom(0));
+		Assert.assertEquals("a3", Util.concatenate(atomSet.getXMLContent(), S_SPACE));
+		CMLAtomSet parsed = (CMLAtomSet) new CMLBuilder().parseString(
+				"<atomSet " + CMLConstants.CML_XMLNS + " size='2'>x1 x2</atomSet>");
+		parsed.addAtom(molecule.getAtom(1));
+		Assert.assertEquals("x1 x2 a2", parsed.getValue());
+		Assert.assertEquals(3, parsed.getSize());
+	}
+
+	/**
+	 * single additions and set algebra on alternate atoms.
+	 */
+	@Test
+	public void testAddAtomAlternate() {
+		int natoms = 100;
+		CMLMolecule molecule = makeChain("a", natoms);
+		List<CMLAtom> atoms = molecule.getAtoms();
+		CMLAtomSet even = new CMLAtomSet();
+		CMLAtomSet odd = new CMLAtomSet();
+		for (int i = 0; i < natoms; i++) {
+			((i % 2 == 0) ? even : odd).addAtom(atoms.get(i));
+		}
+		CMLAtomSet all = even.union(odd);
+		CMLAtomSet none = all.complement(even).intersection(even);
+		Assert.assertEquals(natoms, all.size());
+		Assert.assertEquals(0, none.size());
+		Assert.assertSame(atoms.get(natoms - 1), odd.getAtom(natoms / 2 - 1));
+		Assert.assertEquals(natoms / 2, even.getXMLContent().length);
+	}
+
 	/**
 	 * Test method for 'org.xmlcml.cml.element.CMLAtomSet.getCentroid3D()'
 	 */
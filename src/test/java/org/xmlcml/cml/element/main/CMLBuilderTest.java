@@ -19,6 +19,12 @@ package org.xmlcml.cml.element.main;
 import static org.xmlcml.cml.element.main.AbstractTestBase.COMPLEX_RESOURCE;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.Assert;
 import nu.xom.NodeFactory;
@@ -26,6 +32,8 @@ import nu.xom.NodeFactory;
 import org.junit.Test;
 import org.xmlcml.cml.base.CMLBuilder;
 import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLMolecule;
 import org.xmlcml.euclid.EuclidRuntimeException;
 import org.xmlcml.euclid.Util;
 
@@ -160,4 +168,70 @@ public class CMLBuilderTest {
 		}
 	}
 
+	/**
+	 * independent builders must be usable concurrently.
+	 * each document carries values unique to its thread and iteration
+	 * so any shared parse state shows up as wrong structure or values.
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentBuilders() throws Exception {
+		final int nThreads = 8;
+		final int nParses = 200;
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<String>> futures = new ArrayList<Future<String>>();
+			for (int t = 0; t < nThreads; t++) {
+				final int thread = t;
+				futures.add(executor.submit(new Callable<String>() {
+					public String call() throws Exception {
+						CMLBuilder builder = new CMLBuilder();
+						for (int i = 0; i < nParses; i++) {
+							int nAtoms = 1 + (thread + i) % 5;
+							String id = "m" + thread + "_" + i;
+							CMLMolecule molecule = (CMLMolecule) builder.parseString(
+									makeMolecule(id, nAtoms, thread, i));
+							if (!id.equals(molecule.getId())) {
+								return "molecule id " + molecule.getId() + " != " + id;
+							}
+							if (molecule.getAtomCount() != nAtoms) {
+								return id + " atoms " + molecule.getAtomCount() + " != " + nAtoms;
+							}
+							for (int j = 0; j < nAtoms; j++) {
+								CMLAtom atom = molecule.getAtom(j);
+								if (!(id + "_a" + j).equals(atom.getId())) {
+									return id + " atom id " + atom.getId();
+								}
+								if (atom.getX3() != thread + 0.001 * i + j) {
+									return id + " x3 " + atom.getX3();
+								}
+								if (atom.getFormalCharge() != thread - i) {
+									return id + " formalCharge " + atom.getFormalCharge();
+								}
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<String> future : futures) {
+				Assert.assertNull(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static String makeMolecule(String id, int nAtoms, int thread, int i) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<molecule " + CMLConstants.CML_XMLNS + " id='" + id + "'><atomArray>");
+		for (int j = 0; j < nAtoms; j++) {
+			sb.append("<atom id='" + id + "_a" + j + "' elementType='C'" +
+					" x3='" + (thread + 0.001 * i + j) + "' y3='0.0' z3='0.0'" +
+					" formalCharge='" + (thread - i) + "'/>");
+		}
+		sb.append("</atomArray></molecule>");
+		return sb.toString();
+	}
+
 }
@@ -28,18 +28,24 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.xmlcml.cml.base.CMLConstants;
+import org.xmlcml.cml.base.CMLElement.CoordinateType;
 import org.xmlcml.cml.base.CMLElements;
 import org.xmlcml.cml.base.CMLXOMTestUtils;
+import org.xmlcml.cml.element.CMLAtom;
+import org.xmlcml.cml.element.CMLAtomSet;
 import org.xmlcml.cml.element.CMLCellParameter;
 import org.xmlcml.cml.element.CMLCrystal;
 import org.xmlcml.cml.element.CMLLattice;
 import org.xmlcml.cml.element.CMLLatticeVector;
+import org.xmlcml.cml.element.CMLMolecule;
 import org.xmlcml.cml.element.CMLScalar;
 import org.xmlcml.cml.element.CMLSymmetry;
 import org.xmlcml.cml.element.CMLVector3;
 import org.xmlcml.cml.element.CMLCrystal.Centering;
 import org.xmlcml.euclid.EC;
+import org.xmlcml.euclid.Point3;
 import org.xmlcml.euclid.RealSquareMatrix;
+import org.xmlcml.euclid.Transform3;
 import org.xmlcml.euclid.test.DoubleTestBase;
 
 /**
@@ -184,6 +190,87 @@ public class CMLCrystalTest {
 				EPS);
 	}
 
+	/**
+	 * orthogonalization is cached until the cell parameters change.
+	 */
+	@Test
+	public void testOrthogonalizationCache() {
+		RealSquareMatrix matrix = crystal1.getOrthogonalizationMatrix();
+		matrix.getMatrix()[0][0] = 99.0;
+		Assert.assertEquals(4.5, crystal1.getOrthogonalizationMatrix().getMatrix()[0][0], EPS);
+		crystal1.setCellParameters(new double[] { 10, 11, 12, 80, 90, 100 });
+		Assert.assertEquals(9.8433, crystal1.getOrthogonalizationMatrix().getMatrix()[0][0], 0.0001);
+		// change a scalar directly
+		crystal1.getCellScalars().get(2).setValue(15.0);
+		Assert.assertEquals(15.0, crystal1.getOrthogonalizationMatrix().getMatrix()[2][2], EPS);
+		Assert.assertEquals(15.0, crystal1.getOrthogonalizationTransform()
+				.getMatrixAsArray()[10], EPS);
+	}
+
+	/**
+	 * Test method for
+	 * 'org.xmlcml.cml.element.CMLCrystal.getDeorthogonalizationMatrix()'
+	 */
+	@Test
+	public void testGetDeorthogonalizationMatrix() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {7.0, 9.0, 11.0, 70.0, 100.0, 115.0});
+		RealSquareMatrix product = crystal.getOrthogonalizationMatrix().multiply(
+				crystal.getDeorthogonalizationMatrix());
+		DoubleTestBase.assertEquals("inverse", new double[] {
+				1.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 1.0 }, product.getMatrixAsArray(),
+				1.0E-12);
+	}
+
+	/**
+	 * Test method for
+	 * 'org.xmlcml.cml.element.CMLCrystal.fractionalToCartesian()'
+	 */
+	@Test
+	public void testFractionalToCartesian() {
+		CMLCrystal crystal = new CMLCrystal(new double[] {7.0, 9.0, 11.0, 70.0, 100.0, 115.0});
+		double[] x = {0.1, 0.5, -1.2};
+		double[] y = {0.2, 0.0, 0.7};
+		double[] z = {0.3, 0.5, 2.25};
+		double[] x3 = new double[3];
+		double[] y3 = new double[3];
+		double[] z3 = new double[3];
+		crystal.fractionalToCartesian(x, y, z, x3, y3, z3);
+		Transform3 orth = crystal.getOrthogonalizationTransform();
+		for (int i = 0; i < 3; i++) {
+			Point3 p = new Point3(x[i], y[i], z[i]).transform(orth);
+			Assert.assertEquals(p.getArray()[0], x3[i], 1.0E-12);
+			Assert.assertEquals(p.getArray()[1], y3[i], 1.0E-12);
+			Assert.assertEquals(p.getArray()[2], z3[i], 1.0E-12);
+		}
+		// in place
+		crystal.cartesianToFractional(x3, y3, z3, x3, y3, z3);
+		DoubleTestBase.assertEquals("x", x, x3, 1.0E-12);
+		DoubleTestBase.assertEquals("y", y, y3, 1.0E-12);
+		DoubleTestBase.assertEquals("z", z, z3, 1.0E-12);
+		try {
+			crystal.fractionalToCartesian(x, y, z, x3, y3, new double[2]);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+		}
+
+		CMLMolecule molecule = new CMLMolecule();
+		for (int i = 0; i < 3; i++) {
+			CMLAtom atom = new CMLAtom("a" + (i + 1));
+			atom.setXYZFract(new Point3(x[i], y[i], z[i]));
+			molecule.addAtom(atom);
+		}
+		molecule.addAtom(new CMLAtom("a4"));
+		Assert.assertEquals(3, crystal.fractionalToCartesian(molecule));
+		CMLAtom atom = molecule.getAtom(2);
+		Assert.assertTrue(atom.getXYZ3().isEqualTo(
+				atom.getXYZFract().transform(orth), 1.0E-12));
+		CMLAtomSet atomSet = new CMLAtomSet(molecule);
+		atom.setXFract(0.0);
+		Assert.assertEquals(3, crystal.cartesianToFractional(atomSet));
+		Assert.assertEquals(-1.2, atom.getXFract(), 1.0E-12);
+		Assert.assertFalse(molecule.getAtom(3).hasCoordinates(CoordinateType.FRACTIONAL));
+	}
+
 	/**
 	 * Test method for
 	 * 'org.xmlcml.cml.element.CMLCrystal.setCellParameters(double, double,
@@ -181,6 +181,52 @@ public class CMLSymmetryTest {
 		Assert.assertEquals("group", true, symmetry.isSpaceGroup());
 	}
 
+	/**
+	 * Test method for 'org.xmlcml.cml.element.CMLSymmetry.generateSpaceGroup()'
+	 */
+	@Test
+	public void testGenerateSpaceGroup() {
+		CMLSymmetry group = new CMLSymmetry(new String[] { "y, -x, -z",
+				"x, -y+1/2, -z+1/4", "x+1/2, y+1/2, z+1/2" }).generateSpaceGroup();
+		Assert.assertEquals("operators", 16, group.getTransform3Elements().size());
+		Assert.assertTrue("identity", group.getTransform3Elements().get(0).isUnit());
+		Assert.assertTrue("is group", group.isSpaceGroup());
+		Assert.assertTrue("i-42d", group.isEqualTo(new CMLSymmetry(ibar42d), EPS));
+		group = new CMLSymmetry(new String[] { "-y, x-y, z", "-x, -y, -z",
+				"x+2/3, y+1/3, z+1/3" }).generateSpaceGroup();
+		Assert.assertTrue("r-3", group.isEqualTo(new CMLSymmetry(rbar3), EPS));
+		// already complete
+		group = new CMLSymmetry(p21c).generateSpaceGroup();
+		Assert.assertTrue("p21/c", group.isEqualTo(new CMLSymmetry(p21c), EPS));
+
+		try {
+			List<CMLTransform3> trList = new ArrayList<CMLTransform3>();
+			trList.add(new CMLTransform3(2, 0.3));
+			CMLSymmetry.generateSpaceGroup(trList);
+			Assert.fail("should throw");
+		} catch (RuntimeException e) {
+			Assert.assertTrue(e.getMessage().startsWith("not a crystallographic operator"));
+		}
+	}
+
+	/**
+	 * closure and group test for a spacegroup with 192 operators.
+	 */
+	@Test
+	public void testLargeSpaceGroup() {
+		// Fm-3m
+		CMLSymmetry group = new CMLSymmetry(new String[] { "-y, x, z", "z, x, y",
+				"-x, -y, -z", "x, y+1/2, z+1/2", "x+1/2, y, z+1/2" }).generateSpaceGroup();
+		Assert.assertEquals("operators", 192, group.getTransform3Elements().size());
+		Assert.assertTrue("is space group", group.isSpaceGroup());
+		Assert.assertFalse("is group", new CMLSymmetry(group).isGroup());
+		CMLSymmetry incomplete = new CMLSymmetry(group);
+		incomplete.getTransform3Elements().get(100).detach();
+		Assert.assertFalse("is space group", incomplete.isSpaceGroup());
+		Assert.assertEquals("operators", 192, incomplete.generateSpaceGroup()
+				.getTransform3Elements().size());
+	}
+
 	/**
 	 * Test method for 'org.xmlcml.cml.element.CMLSymmetry.multiplyCMLSymmetry
 	 * sym)
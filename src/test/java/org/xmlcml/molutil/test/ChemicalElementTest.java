@@ -20,15 +20,18 @@ import static org.xmlcml.euclid.EuclidConstants.EPS;
 import static org.xmlcml.euclid.EuclidConstants.S_EMPTY;
 
 import java.awt.Color;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.xmlcml.euclid.Int;
 import org.xmlcml.euclid.test.DoubleTestBase;
 import org.xmlcml.molutil.ChemicalElement;
 import org.xmlcml.molutil.ChemicalElement.AS;
+import org.xmlcml.molutil.PeriodicTableGenerator;
 
 /**
  * tests Chemical Element.
@@ -443,6 +446,24 @@ public class ChemicalElementTest {
 		Assert.assertNull("elem", el);
 	}
 
+	/**
+	 * checked-in PeriodicTableData must be up to date with elementdata.xml.
+	 * @throws Exception
+	 */
+	@Test
+	public void testPeriodicTableData() throws Exception {
+		String source = new PeriodicTableGenerator().createSource();
+		File file = new File("src/main/java/org/xmlcml/molutil/"+
+				PeriodicTableGenerator.PERIODIC_TABLE_DATA+".java");
+		Assert.assertEquals("regenerate PeriodicTableData",
+				FileUtils.readFileToString(file, "UTF-8"), source);
+		// later entries replace earlier ones with the same atomic number
+		Assert.assertEquals("H", ChemicalElement.getElement(1).getSymbol());
+		Assert.assertEquals("D", 1, ChemicalElement.getChemicalElement("D").getAtomicNumber());
+		Assert.assertEquals("Cl", 35.453, ChemicalElement.getChemicalElement("Cl").getAtomicWeight(), 0.001);
+		Assert.assertNull("cl", ChemicalElement.getChemicalElement("cl"));
+	}
+
 	/**
 	 * Test method for
 	 * 'org.xmlcml.molutil.ChemicalElement.getBondingRadiusTolerance()'